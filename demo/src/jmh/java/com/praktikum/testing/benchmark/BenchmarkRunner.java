@@ -0,0 +1,44 @@
+package com.praktikum.testing.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Titik masuk benchmark: menjalankan semua benchmark sekali untuk setiap jumlah thread,
+ * dalam mode throughput dan average time, dengan GC profiler (alokasi per operasi).
+ *
+ * Konfigurasi lewat system property (lihat profile "benchmark" di pom.xml):
+ * benchmark.include, benchmark.threads, benchmark.ukuranKatalog, benchmark.heap.
+ * Argumen baris perintah JMH biasa (mis. -wi 1 -i 1) tetap bisa diberikan.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        String include = System.getProperty("benchmark.include", ".*");
+        String[] daftarThread = System.getProperty("benchmark.threads", "1").split(",");
+        String[] ukuranKatalog = System.getProperty("benchmark.ukuranKatalog", "1000").split(",");
+        String heap = System.getProperty("benchmark.heap", "-Xmx4g");
+
+        for (String thread : daftarThread) {
+            int jumlahThread = Integer.parseInt(thread.trim());
+
+            ChainedOptionsBuilder opsi = new OptionsBuilder()
+                    .parent(new CommandLineOptions(args))
+                    .include(include)
+                    .threads(jumlahThread)
+                    .param("ukuranKatalog", ukuranKatalog)
+                    .addProfiler(GCProfiler.class)
+                    .jvmArgsAppend(heap)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-hasil-" + jumlahThread + "-thread.json");
+
+            new Runner(opsi.build()).run();
+        }
+    }
+}
\ No newline at end of file
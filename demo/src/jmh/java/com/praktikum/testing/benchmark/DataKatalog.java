@@ -0,0 +1,89 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import java.util.Random;
+
+/**
+ * Pembangkit data katalog deterministik untuk benchmark.
+ * Buku ke-i selalu memiliki ISBN, judul, dan pengarang yang sama antar-run
+ * sehingga hasil benchmark bisa dibandingkan.
+ */
+final class DataKatalog {
+
+    private static final String[] KATA_JUDUL = {
+            "Pemrograman", "Java", "Algoritma", "Struktur", "Data", "Basis", "Jaringan", "Sistem",
+            "Operasi", "Kecerdasan", "Buatan", "Statistika", "Kalkulus", "Fisika", "Kimia", "Biologi"
+    };
+
+    private static final String[] PENGARANG = {
+            "John Doe", "Jane Smith", "Budi Santoso", "Siti Rahayu", "Andi Wijaya", "Dewi Lestari",
+            "Rudi Hartono", "Maya Sari", "Agus Salim", "Rina Kusuma"
+    };
+
+    // Stok besar agar benchmark pinjam/kembali tidak pernah kehabisan salinan
+    static final int STOK_PER_BUKU = 1_000_000;
+
+    // Jumlah kunci acak yang disiapkan di @Setup (pangkat 2, dipilih dengan mask)
+    static final int JUMLAH_SAMPEL = 1 << 16;
+    static final int MASK_SAMPEL = JUMLAH_SAMPEL - 1;
+
+    private DataKatalog() {
+    }
+
+    /**
+     * ISBN dari JUMLAH_SAMPEL buku acak (seed tetap). Disiapkan di @Setup agar method
+     * @Benchmark hanya mengindeks array dan tidak membuat String yang ikut terukur di -prof gc.
+     */
+    static String[] sampelIsbn(int ukuranKatalog) {
+        Random random = new Random(42);
+        String[] sampel = new String[JUMLAH_SAMPEL];
+        for (int i = 0; i < sampel.length; i++) {
+            sampel[i] = isbn(random.nextInt(ukuranKatalog));
+        }
+        return sampel;
+    }
+
+    /**
+     * Kata kunci "Jilid i" untuk JUMLAH_SAMPEL buku acak; masing-masing hanya cocok dengan satu buku.
+     */
+    static String[] sampelJilid(int ukuranKatalog) {
+        Random random = new Random(43);
+        String[] sampel = new String[JUMLAH_SAMPEL];
+        for (int i = 0; i < sampel.length; i++) {
+            sampel[i] = "Jilid " + random.nextInt(ukuranKatalog);
+        }
+        return sampel;
+    }
+
+    /**
+     * ISBN 13 digit untuk buku ke-i (978 + 10 digit indeks).
+     */
+    static String isbn(int i) {
+        String angka = Integer.toString(i);
+        StringBuilder sb = new StringBuilder(13).append("978");
+        for (int j = angka.length(); j < 10; j++) {
+            sb.append('0');
+        }
+        return sb.append(angka).toString();
+    }
+
+    static Buku buku(int i) {
+        String judul = KATA_JUDUL[i % KATA_JUDUL.length] + " "
+                + KATA_JUDUL[(i / KATA_JUDUL.length) % KATA_JUDUL.length] + " Jilid " + i;
+        String pengarang = PENGARANG[(i * 7) % PENGARANG.length];
+        return new Buku(isbn(i), judul, pengarang, STOK_PER_BUKU, 50000.0 + (i % 100) * 1000);
+    }
+
+    static void isi(RepositoryBuku repository, int ukuranKatalog) {
+        for (int i = 0; i < ukuranKatalog; i++) {
+            repository.simpan(buku(i));
+        }
+    }
+
+    static Anggota anggota(String id, Anggota.TipeAnggota tipe) {
+        return new Anggota(id, "Anggota " + id, "anggota." + id.toLowerCase() + "@univ.ac.id",
+                "081234567890", tipe);
+    }
+}
\ No newline at end of file
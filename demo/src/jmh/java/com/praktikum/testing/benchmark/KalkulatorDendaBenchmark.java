@@ -0,0 +1,56 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark KalkulatorDenda.hitungDenda untuk beberapa lama keterlambatan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KalkulatorDendaBenchmark {
+
+    // 0 = belum jatuh tempo, 2 = masa toleransi, 10 = denda normal, 100 = kena batas maksimal
+    @Param({"0", "2", "10", "100"})
+    public int hariTerlambat;
+
+    private Peminjaman peminjaman;
+    private Anggota anggota;
+
+    @Setup
+    public void setUp() {
+        LocalDate jatuhTempo = LocalDate.now().minusDays(hariTerlambat);
+        peminjaman = new Peminjaman("P001", "A001", DataKatalog.isbn(1),
+                jatuhTempo.minusDays(7), jatuhTempo);
+        anggota = DataKatalog.anggota("A001", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Benchmark
+    public double hitungDenda() {
+        return KalkulatorDenda.hitungDenda(peminjaman, anggota);
+    }
+
+    @Benchmark
+    public boolean adaDenda() {
+        return KalkulatorDenda.adaDenda(peminjaman);
+    }
+}
\ No newline at end of file
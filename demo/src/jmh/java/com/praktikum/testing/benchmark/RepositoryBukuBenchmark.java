@@ -0,0 +1,70 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark operasi baca RepositoryBuku dengan ukuran katalog bervariasi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBukuBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int ukuranKatalog;
+
+    @Param({"mock", "inmemory"})
+    public String implementasi;
+
+    private RepositoryBuku repository;
+    private String[] sampelIsbn;
+    private String[] sampelJilid;
+
+    @Setup
+    public void setUp() {
+        repository = "mock".equals(implementasi)
+                ? new MockRepositoryBuku()
+                : new InMemoryRepositoryBuku(ukuranKatalog);
+        DataKatalog.isi(repository, ukuranKatalog);
+        sampelIsbn = DataKatalog.sampelIsbn(ukuranKatalog);
+        sampelJilid = DataKatalog.sampelJilid(ukuranKatalog);
+    }
+
+    @Benchmark
+    public Optional<Buku> cariByIsbn() {
+        return repository.cariByIsbn(sampelIsbn[ThreadLocalRandom.current().nextInt() & DataKatalog.MASK_SAMPEL]);
+    }
+
+    @Benchmark
+    public List<Buku> cariByJudul() {
+        // Hasil selektif: hanya satu buku dengan nomor jilid ini
+        return repository.cariByJudul(sampelJilid[ThreadLocalRandom.current().nextInt() & DataKatalog.MASK_SAMPEL]);
+    }
+
+    @Benchmark
+    public List<Buku> cariByPengarang() {
+        return repository.cariByPengarang("budi santoso");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark alur transaksi ServicePerpustakaan (pinjam lalu kembalikan).
+ * Setiap thread benchmark memakai Anggota sendiri, katalog dibagi bersama.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServicePerpustakaanBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Katalog {
+
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int ukuranKatalog;
+
+        ServicePerpustakaan service;
+        String[] sampelIsbn;
+
+        final AtomicInteger nomorAnggota = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            RepositoryBuku repository = new InMemoryRepositoryBuku(ukuranKatalog);
+            DataKatalog.isi(repository, ukuranKatalog);
+            service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+            sampelIsbn = DataKatalog.sampelIsbn(ukuranKatalog);
+        }
+
+        String isbnAcak() {
+            return sampelIsbn[ThreadLocalRandom.current().nextInt() & DataKatalog.MASK_SAMPEL];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Peminjam {
+
+        Anggota anggota;
+
+        @Setup
+        public void setUp(Katalog katalog) {
+            anggota = DataKatalog.anggota("A" + katalog.nomorAnggota.incrementAndGet(), Anggota.TipeAnggota.DOSEN);
+        }
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikan(Katalog katalog, Peminjam peminjam) {
+        String isbn = katalog.isbnAcak();
+        boolean dipinjam = katalog.service.pinjamBuku(isbn, peminjam.anggota);
+        return katalog.service.kembalikanBuku(isbn, peminjam.anggota) && dipinjam;
+    }
+
+    @Benchmark
+    public boolean bukuTersedia(Katalog katalog) {
+        return katalog.service.bukuTersedia(katalog.isbnAcak());
+    }
+}
\ No newline at end of file
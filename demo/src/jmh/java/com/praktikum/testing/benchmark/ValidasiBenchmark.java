@@ -0,0 +1,58 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark method ValidationUtils yang dipanggil di setiap pinjamBuku.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidasiBenchmark {
+
+    private final String isbn10 = "1234567890";
+    private final String isbn13DenganHubung = "978-0-306-40615-7";
+    private final String email = "mahasiswa.teladan@univ.ac.id";
+    private final String telepon = "0812-3456-7890";
+    private final Anggota anggota = DataKatalog.anggota("A001", Anggota.TipeAnggota.MAHASISWA);
+
+    @Benchmark
+    public boolean isValidIsbn10() {
+        return ValidationUtils.isValidIsbn(isbn10);
+    }
+
+    @Benchmark
+    public boolean isValidIsbn13DenganHubung() {
+        return ValidationUtils.isValidIsbn(isbn13DenganHubung);
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtils.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidNomorTelepon() {
+        return ValidationUtils.isValidNomorTelepon(telepon);
+    }
+
+    @Benchmark
+    public boolean isValidAnggota() {
+        return ValidationUtils.isValidAnggota(anggota);
+    }
+}
\ No newline at end of file
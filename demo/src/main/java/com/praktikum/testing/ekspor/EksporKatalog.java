@@ -0,0 +1,327 @@
+package com.praktikum.testing.ekspor;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Ekspor katalog secara streaming ke CSV atau JSON per baris (NDJSON).
+ *
+ * Buku diambil satu per satu dari stream (mis. RepositoryBuku.streamSemua), dan setiap field
+ * di-encode langsung ke satu ByteBuffer direct yang dipakai ulang: teks di-encode ke UTF-8
+ * karakter demi karakter dan angka ditulis digit demi digit, tanpa String per record.
+ * Buffer ditulis ke channel hanya saat penuh, sehingga setiap write ke disk berukuran besar.
+ *
+ * Kolom CSV sama dengan FormatCsv.BUKU (isbn,judul,pengarang,jumlahTotal,harga,jumlahTersedia),
+ * jadi hasil ekspor bisa diimpor ulang dengan PipelineImpor. Pengarang null ditulis sebagai
+ * kolom kosong di CSV dan null di JSON.
+ *
+ * Satu instance memakai satu buffer; jangan dipakai dari beberapa thread sekaligus.
+ */
+public class EksporKatalog {
+
+    static final int UKURAN_BUFFER_DEFAULT = 256 * 1024;
+    // Cukup untuk satu angka terpanjang atau satu escape JSON, yang ditulis tanpa dipotong
+    static final int UKURAN_BUFFER_MIN = 64;
+
+    private static final byte[] HEADER_CSV = ascii("isbn,judul,pengarang,jumlahTotal,harga,jumlahTersedia\n");
+    private static final byte[] JSON_ISBN = ascii("{\"isbn\":");
+    private static final byte[] JSON_JUDUL = ascii(",\"judul\":");
+    private static final byte[] JSON_PENGARANG = ascii(",\"pengarang\":");
+    private static final byte[] JSON_JUMLAH_TOTAL = ascii(",\"jumlahTotal\":");
+    private static final byte[] JSON_JUMLAH_TERSEDIA = ascii(",\"jumlahTersedia\":");
+    private static final byte[] JSON_HARGA = ascii(",\"harga\":");
+    private static final byte[] JSON_NULL = ascii("null");
+    private static final byte[] HEKSA = ascii("0123456789abcdef");
+
+    // Harga bulat di bawah batas ini ditulis lewat jalur digit long (tanpa Double.toString)
+    private static final double BATAS_HARGA_BULAT = 1e15;
+
+    private final ByteBuffer buffer;
+    private WritableByteChannel keluar;
+
+    public EksporKatalog() {
+        this(UKURAN_BUFFER_DEFAULT);
+    }
+
+    public EksporKatalog(int ukuranBuffer) {
+        if (ukuranBuffer < UKURAN_BUFFER_MIN) {
+            throw new IllegalArgumentException("Ukuran buffer minimal " + UKURAN_BUFFER_MIN + " byte");
+        }
+        this.buffer = ByteBuffer.allocateDirect(ukuranBuffer);
+    }
+
+    /**
+     * Mengekspor seluruh katalog ke file CSV (file ditimpa).
+     * @return jumlah Buku yang ditulis
+     */
+    public long eksporCsv(RepositoryBuku repository, Path file) throws IOException {
+        try (FileChannel channel = bukaTulis(file); Stream<Buku> stream = repository.streamSemua()) {
+            return eksporCsv(stream, channel);
+        }
+    }
+
+    /**
+     * Mengekspor seluruh katalog ke file NDJSON (file ditimpa).
+     * @return jumlah Buku yang ditulis
+     */
+    public long eksporNdjson(RepositoryBuku repository, Path file) throws IOException {
+        try (FileChannel channel = bukaTulis(file); Stream<Buku> stream = repository.streamSemua()) {
+            return eksporNdjson(stream, channel);
+        }
+    }
+
+    /**
+     * Menulis header dan satu baris CSV per Buku ke channel. Channel tidak ditutup.
+     */
+    public long eksporCsv(Stream<Buku> daftarBuku, WritableByteChannel channel) throws IOException {
+        mulai(channel);
+        try {
+            tulis(HEADER_CSV);
+            long jumlah = 0;
+            for (Iterator<Buku> it = daftarBuku.iterator(); it.hasNext(); ) {
+                Buku buku = it.next();
+                kolomCsv(buku.getIsbn());
+                tulis((byte) ',');
+                kolomCsv(buku.getJudul());
+                tulis((byte) ',');
+                kolomCsv(buku.getPengarang());
+                tulis((byte) ',');
+                tulisLong(buku.getJumlahTotal());
+                tulis((byte) ',');
+                tulisHarga(buku.getHarga());
+                tulis((byte) ',');
+                tulisLong(buku.getJumlahTersedia());
+                tulis((byte) '\n');
+                jumlah++;
+            }
+            flush();
+            return jumlah;
+        } finally {
+            selesai();
+        }
+    }
+
+    /**
+     * Menulis satu objek JSON per baris untuk setiap Buku. Channel tidak ditutup.
+     */
+    public long eksporNdjson(Stream<Buku> daftarBuku, WritableByteChannel channel) throws IOException {
+        mulai(channel);
+        try {
+            long jumlah = 0;
+            for (Iterator<Buku> it = daftarBuku.iterator(); it.hasNext(); ) {
+                Buku buku = it.next();
+                tulis(JSON_ISBN);
+                teksJson(buku.getIsbn());
+                tulis(JSON_JUDUL);
+                teksJson(buku.getJudul());
+                tulis(JSON_PENGARANG);
+                teksJson(buku.getPengarang());
+                tulis(JSON_JUMLAH_TOTAL);
+                tulisLong(buku.getJumlahTotal());
+                tulis(JSON_JUMLAH_TERSEDIA);
+                tulisLong(buku.getJumlahTersedia());
+                tulis(JSON_HARGA);
+                tulisHarga(buku.getHarga());
+                tulis((byte) '}');
+                tulis((byte) '\n');
+                jumlah++;
+            }
+            flush();
+            return jumlah;
+        } finally {
+            selesai();
+        }
+    }
+
+    private void mulai(WritableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel tidak boleh null");
+        }
+        this.keluar = channel;
+        buffer.clear();
+    }
+
+    private void selesai() {
+        this.keluar = null;
+        buffer.clear();
+    }
+
+    // --- Encoding ---
+
+    /**
+     * Kolom CSV; dikutip hanya jika berisi koma, kutip, atau baris baru.
+     */
+    private void kolomCsv(String teks) throws IOException {
+        if (teks == null) {
+            return;
+        }
+        boolean perluKutip = false;
+        for (int i = 0; i < teks.length() && !perluKutip; i++) {
+            char c = teks.charAt(i);
+            perluKutip = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!perluKutip) {
+            tulisUtf8(teks, false);
+            return;
+        }
+        tulis((byte) '"');
+        tulisUtf8(teks, false);
+        tulis((byte) '"');
+    }
+
+    private void teksJson(String teks) throws IOException {
+        if (teks == null) {
+            tulis(JSON_NULL);
+            return;
+        }
+        tulis((byte) '"');
+        tulisUtf8(teks, true);
+        tulis((byte) '"');
+    }
+
+    /**
+     * Encode UTF-8 langsung ke buffer. Mode CSV menggandakan tanda kutip; mode JSON
+     * meng-escape kutip, backslash, dan karakter kontrol.
+     */
+    private void tulisUtf8(String teks, boolean json) throws IOException {
+        int n = teks.length();
+        for (int i = 0; i < n; i++) {
+            char c = teks.charAt(i);
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer.put(json ? (byte) '\\' : (byte) '"').put((byte) '"');
+                } else if (json && c == '\\') {
+                    buffer.put((byte) '\\').put((byte) '\\');
+                } else if (json && c < 0x20) {
+                    escapeKontrol(c);
+                } else {
+                    buffer.put((byte) c);
+                }
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(teks.charAt(i + 1))) {
+                int kode = Character.toCodePoint(c, teks.charAt(++i));
+                buffer.put((byte) (0xF0 | (kode >> 18)))
+                        .put((byte) (0x80 | ((kode >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((kode >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (kode & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?'); // surrogate tanpa pasangan, sama seperti String.getBytes
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void escapeKontrol(char c) {
+        switch (c) {
+            case '\n':
+                buffer.put((byte) '\\').put((byte) 'n');
+                break;
+            case '\r':
+                buffer.put((byte) '\\').put((byte) 'r');
+                break;
+            case '\t':
+                buffer.put((byte) '\\').put((byte) 't');
+                break;
+            default:
+                buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEKSA[c >> 4]).put(HEKSA[c & 0xF]);
+        }
+    }
+
+    /**
+     * Menulis bilangan bulat digit demi digit (dari kanan) langsung ke buffer.
+     */
+    private void tulisLong(long nilai) throws IOException {
+        if (buffer.remaining() < 20) {
+            flush();
+        }
+        if (nilai == Long.MIN_VALUE) {
+            tulis(ascii(Long.toString(nilai)));
+            return;
+        }
+        if (nilai < 0) {
+            buffer.put((byte) '-');
+            nilai = -nilai;
+        }
+        int jumlahDigit = 1;
+        for (long sisa = nilai / 10; sisa != 0; sisa /= 10) {
+            jumlahDigit++;
+        }
+        int akhir = buffer.position() + jumlahDigit;
+        for (int i = akhir - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + nilai % 10));
+            nilai /= 10;
+        }
+        buffer.position(akhir);
+    }
+
+    /**
+     * Harga bulat (kasus umum Rupiah) ditulis sebagai "1500.0" tanpa alokasi; harga pecahan,
+     * sangat besar, atau bukan angka memakai Double.toString.
+     */
+    private void tulisHarga(double harga) throws IOException {
+        if (harga == Math.rint(harga) && Math.abs(harga) < BATAS_HARGA_BULAT) {
+            if (harga == 0 && 1 / harga < 0) {
+                tulis((byte) '-');
+            }
+            tulisLong((long) harga);
+            tulis((byte) '.');
+            tulis((byte) '0');
+        } else {
+            tulis(ascii(Double.toString(harga)));
+        }
+    }
+
+    private void tulis(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private void tulis(byte[] bytes) throws IOException {
+        int posisi = 0;
+        while (posisi < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int panjang = Math.min(bytes.length - posisi, buffer.remaining());
+            buffer.put(bytes, posisi, panjang);
+            posisi += panjang;
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            keluar.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static FileChannel bukaTulis(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    private static byte[] ascii(String teks) {
+        return teks.getBytes(StandardCharsets.US_ASCII);
+    }
+}
\ No newline at end of file
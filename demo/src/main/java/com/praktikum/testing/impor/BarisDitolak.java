@@ -0,0 +1,42 @@
+package com.praktikum.testing.impor;
+
+/**
+ * Satu baris CSV yang tidak diimpor, beserta alasannya.
+ */
+public final class BarisDitolak {
+
+    private final long nomorBaris;
+    private final String isi;
+    private final String alasan;
+
+    BarisDitolak(long nomorBaris, String isi, String alasan) {
+        this.nomorBaris = nomorBaris;
+        this.isi = isi;
+        this.alasan = alasan;
+    }
+
+    /**
+     * Nomor record di file, dimulai dari 1 (termasuk header). Baris baru di dalam
+     * kolom berkutip tidak menambah nomor.
+     */
+    public long getNomorBaris() {
+        return nomorBaris;
+    }
+
+    public String getIsi() {
+        return isi;
+    }
+
+    public String getAlasan() {
+        return alasan;
+    }
+
+    @Override
+    public String toString() {
+        return "BarisDitolak{" +
+                "nomorBaris=" + nomorBaris +
+                ", alasan='" + alasan + '\'' +
+                ", isi='" + isi + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
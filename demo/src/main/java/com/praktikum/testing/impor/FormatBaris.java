@@ -0,0 +1,24 @@
+package com.praktikum.testing.impor;
+
+/**
+ * Aturan mengubah satu baris CSV (sudah dipecah per kolom) menjadi objek dan memvalidasinya.
+ * Implementasi harus aman dipanggil dari banyak thread sekaligus.
+ */
+public interface FormatBaris<T> {
+
+    /**
+     * Nama kolom header. Baris pertama yang sama persis (tanpa membedakan huruf besar/kecil) dilewati.
+     */
+    String[] getHeader();
+
+    /**
+     * Mengubah kolom menjadi objek.
+     * @throws IllegalArgumentException jika kolom tidak bisa diubah; pesannya menjadi alasan penolakan
+     */
+    T parse(String[] kolom);
+
+    /**
+     * Validasi objek hasil parse (mis. ValidationUtils.isValidBuku).
+     */
+    boolean valid(T objek);
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.praktikum.testing.impor;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Format CSV bawaan untuk feed katalog dan anggota, plus pemecah kolom CSV.
+ *
+ * - Buku: isbn,judul,pengarang,jumlahTotal,harga[,jumlahTersedia]
+ *   (jumlahTersedia default sama dengan jumlahTotal), divalidasi dengan ValidationUtils.isValidBuku.
+ * - Anggota: idAnggota,nama,email,telepon,tipeAnggota, divalidasi dengan ValidationUtils.isValidAnggota.
+ *
+ * Kolom boleh diapit tanda kutip ganda; di dalam kutip, koma dan baris baru adalah bagian
+ * dari isi dan "" berarti satu tanda kutip.
+ */
+public final class FormatCsv {
+
+    public static final FormatBaris<Buku> BUKU = new FormatBaris<Buku>() {
+        private final String[] header = {"isbn", "judul", "pengarang", "jumlahTotal", "harga", "jumlahTersedia"};
+
+        @Override
+        public String[] getHeader() {
+            return header.clone();
+        }
+
+        @Override
+        public Buku parse(String[] kolom) {
+            if (kolom.length != 5 && kolom.length != 6) {
+                throw new IllegalArgumentException("Jumlah kolom harus 5 atau 6, bukan " + kolom.length);
+            }
+            Buku buku = new Buku(kolom[0].trim(), kolom[1], kolom[2],
+                    parseInt(kolom[3], "jumlahTotal"), parseDouble(kolom[4], "harga"));
+            if (kolom.length == 6) {
+                buku.setJumlahTersedia(parseInt(kolom[5], "jumlahTersedia"));
+            }
+            return buku;
+        }
+
+        @Override
+        public boolean valid(Buku buku) {
+            return ValidationUtils.isValidBuku(buku);
+        }
+    };
+
+    public static final FormatBaris<Anggota> ANGGOTA = new FormatBaris<Anggota>() {
+        private final String[] header = {"idAnggota", "nama", "email", "telepon", "tipeAnggota"};
+
+        @Override
+        public String[] getHeader() {
+            return header.clone();
+        }
+
+        @Override
+        public Anggota parse(String[] kolom) {
+            if (kolom.length != 5) {
+                throw new IllegalArgumentException("Jumlah kolom harus 5, bukan " + kolom.length);
+            }
+            Anggota.TipeAnggota tipe;
+            try {
+                tipe = Anggota.TipeAnggota.valueOf(kolom[4].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("tipeAnggota tidak dikenal: " + kolom[4]);
+            }
+            return new Anggota(kolom[0].trim(), kolom[1], kolom[2].trim(), kolom[3].trim(), tipe);
+        }
+
+        @Override
+        public boolean valid(Anggota anggota) {
+            return ValidationUtils.isValidAnggota(anggota);
+        }
+    };
+
+    private FormatCsv() {
+    }
+
+    /**
+     * Memecah satu record CSV menjadi kolom. Seperti RFC 4180, tanda kutip hanya membuka kolom
+     * berkutip jika berada di awal kolom; di tengah kolom ia karakter biasa.
+     * @throws IllegalArgumentException jika tanda kutip tidak ditutup
+     */
+    public static String[] pecahKolom(String baris) {
+        List<String> kolom = new ArrayList<>();
+        StringBuilder isi = new StringBuilder();
+        boolean dalamKutip = false;
+        boolean awalKolom = true;
+        for (int i = 0; i < baris.length(); i++) {
+            char c = baris.charAt(i);
+            if (dalamKutip) {
+                if (c != '"') {
+                    isi.append(c);
+                } else if (i + 1 < baris.length() && baris.charAt(i + 1) == '"') {
+                    isi.append('"');
+                    i++;
+                } else {
+                    dalamKutip = false;
+                }
+            } else if (c == '"' && awalKolom) {
+                dalamKutip = true;
+            } else if (c == ',') {
+                kolom.add(isi.toString());
+                isi.setLength(0);
+                awalKolom = true;
+                continue;
+            } else {
+                isi.append(c);
+            }
+            awalKolom = false;
+        }
+        if (dalamKutip) {
+            throw new IllegalArgumentException("Tanda kutip tidak ditutup");
+        }
+        kolom.add(isi.toString());
+        return kolom.toArray(new String[0]);
+    }
+
+    private static int parseInt(String teks, String nama) {
+        try {
+            return Integer.parseInt(teks.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(nama + " bukan bilangan bulat: " + teks);
+        }
+    }
+
+    private static double parseDouble(String teks, String nama) {
+        try {
+            return Double.parseDouble(teks.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(nama + " bukan angka: " + teks);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.praktikum.testing.impor;
+
+/**
+ * Ringkasan satu proses impor.
+ */
+public class HasilImpor {
+
+    private final long jumlahBaris;
+    private final long jumlahDisimpan;
+    private final long jumlahDitolak;
+    private final long durasiMillis;
+
+    HasilImpor(long jumlahBaris, long jumlahDisimpan, long jumlahDitolak, long durasiMillis) {
+        this.jumlahBaris = jumlahBaris;
+        this.jumlahDisimpan = jumlahDisimpan;
+        this.jumlahDitolak = jumlahDitolak;
+        this.durasiMillis = durasiMillis;
+    }
+
+    /**
+     * Jumlah baris data yang diproses (tanpa header dan baris kosong).
+     */
+    public long getJumlahBaris() {
+        return jumlahBaris;
+    }
+
+    public long getJumlahDisimpan() {
+        return jumlahDisimpan;
+    }
+
+    /**
+     * Baris yang gagal di-parse, tidak lolos validasi, atau ditolak saat disimpan.
+     */
+    public long getJumlahDitolak() {
+        return jumlahDitolak;
+    }
+
+    public long getDurasiMillis() {
+        return durasiMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "HasilImpor{" +
+                "jumlahBaris=" + jumlahBaris +
+                ", jumlahDisimpan=" + jumlahDisimpan +
+                ", jumlahDitolak=" + jumlahDitolak +
+                ", durasiMillis=" + durasiMillis +
+                '}';
+    }
+}
\ No newline at end of file
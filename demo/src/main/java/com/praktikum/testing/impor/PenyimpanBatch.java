@@ -0,0 +1,17 @@
+package com.praktikum.testing.impor;
+
+import java.util.List;
+
+/**
+ * Tahap tulis pipeline impor: menyimpan satu batch objek yang sudah lolos validasi,
+ * mis. RepositoryBuku::simpanBatch atau ServicePerpustakaan::tambahBukuBatch.
+ * Selalu dipanggil dari satu thread penulis.
+ */
+@FunctionalInterface
+public interface PenyimpanBatch<T> {
+
+    /**
+     * @return hasil simpan per item, urutannya sama dengan batch (false dilaporkan sebagai baris ditolak)
+     */
+    List<Boolean> simpan(List<T> batch);
+}
\ No newline at end of file
@@ -0,0 +1,473 @@
+package com.praktikum.testing.impor;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline impor CSV berukuran besar dengan tiga tahap yang berjalan bersamaan:
+ *
+ * 1. Pembaca (thread pemanggil) membaca file per potongan ukuranPotongan byte lewat NIO
+ *    dan memotongnya di batas record terakhir (baris baru di luar tanda kutip). Seperti
+ *    RFC 4180, tanda kutip hanya membuka kolom berkutip di awal kolom; di tengah kolom
+ *    (mis. judul 5" Floppy) ia karakter biasa.
+ * 2. jumlahPekerja thread men-decode, memecah kolom, mem-parse, dan memvalidasi potongan
+ *    secara paralel (FormatBaris).
+ * 3. Satu thread penulis menyimpan objek valid per ukuranBatch lewat PenyimpanBatch dan
+ *    melaporkan baris yang ditolak ke pelapor.
+ *
+ * Antar tahap dipakai antrian berkapasitas tetap, sehingga pembaca berhenti membaca ketika
+ * pekerja atau penulis tertinggal (backpressure). Memori yang dipakai kira-kira
+ * (kapasitasAntrian * 2 + jumlahPekerja) potongan, berapa pun ukuran file.
+ *
+ * Baris yang gagal di-parse, tidak lolos validasi, atau ditolak penyimpan tidak menghentikan
+ * impor. Record yang lebih panjang dari KELIPATAN_MAKS_RECORD potongan (mis. kutip yang tidak
+ * ditutup) ditolak, dan pembaca melanjutkan dari baris baru berikutnya, sehingga memori tetap
+ * terbatas. Urutan penyimpanan antar potongan tidak dijamin; jika ISBN yang sama muncul lebih dari
+ * sekali, hasilnya mengikuti aturan penyimpan (mis. tambahBukuBatch menolak duplikat).
+ * Kesalahan baca file atau exception dari penyimpan menghentikan impor dan dilempar ulang.
+ */
+public class PipelineImpor<T> {
+
+    static final int UKURAN_POTONGAN_DEFAULT = 1 << 20;
+    static final int UKURAN_BATCH_DEFAULT = 1000;
+    static final int KELIPATAN_MAKS_RECORD = 4;
+    // Awal record terlalu panjang yang disimpan di BarisDitolak
+    private static final int ISI_DITOLAK_MAKS = 200;
+    private static final long JEDA_CEK_GAGAL_MILLIS = 50;
+
+    private final FormatBaris<T> format;
+    private final PenyimpanBatch<T> penyimpan;
+    private final int jumlahPekerja;
+    private final int ukuranPotongan;
+    private final int ukuranBatch;
+    private final int kapasitasAntrian;
+
+    public PipelineImpor(FormatBaris<T> format, PenyimpanBatch<T> penyimpan) {
+        this(format, penyimpan, Runtime.getRuntime().availableProcessors(), UKURAN_POTONGAN_DEFAULT,
+                UKURAN_BATCH_DEFAULT, 4);
+    }
+
+    /**
+     * @param jumlahPekerja thread parse dan validasi
+     * @param ukuranPotongan byte yang dibaca per potongan (record sampai KELIPATAN_MAKS_RECORD kali
+     *                       ukuran ini tetap didukung)
+     * @param ukuranBatch objek per panggilan penyimpan
+     * @param kapasitasAntrian potongan yang boleh menunggu di setiap antrian
+     */
+    public PipelineImpor(FormatBaris<T> format, PenyimpanBatch<T> penyimpan, int jumlahPekerja,
+                         int ukuranPotongan, int ukuranBatch, int kapasitasAntrian) {
+        if (format == null || penyimpan == null) {
+            throw new IllegalArgumentException("Format dan penyimpan tidak boleh null");
+        }
+        if (jumlahPekerja <= 0 || ukuranPotongan <= 0 || ukuranBatch <= 0 || kapasitasAntrian <= 0) {
+            throw new IllegalArgumentException("Parameter pipeline harus positif");
+        }
+        this.format = format;
+        this.penyimpan = penyimpan;
+        this.jumlahPekerja = jumlahPekerja;
+        this.ukuranPotongan = ukuranPotongan;
+        this.ukuranBatch = ukuranBatch;
+        this.kapasitasAntrian = kapasitasAntrian;
+    }
+
+    /**
+     * Pipeline impor Buku yang menyimpan lewat ServicePerpustakaan.tambahBukuBatch,
+     * sehingga aturannya sama dengan tambahBuku (ISBN yang sudah ada ditolak).
+     */
+    public static PipelineImpor<Buku> untukBuku(ServicePerpustakaan service) {
+        return new PipelineImpor<>(FormatCsv.BUKU, service::tambahBukuBatch);
+    }
+
+    public HasilImpor impor(Path file) throws IOException, InterruptedException {
+        return impor(file, baris -> { });
+    }
+
+    /**
+     * Mengimpor file CSV UTF-8.
+     * @param pelapor menerima setiap baris yang ditolak; dipanggil dari satu thread
+     */
+    public HasilImpor impor(Path file, Consumer<BarisDitolak> pelapor) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return impor(channel, pelapor);
+        }
+    }
+
+    /**
+     * Mengimpor CSV UTF-8 dari channel sembarang. Channel tidak ditutup.
+     */
+    public HasilImpor impor(ReadableByteChannel channel, Consumer<BarisDitolak> pelapor)
+            throws IOException, InterruptedException {
+        long mulai = System.nanoTime();
+        BlockingQueue<Potongan> antrianPotongan = new ArrayBlockingQueue<>(kapasitasAntrian);
+        BlockingQueue<HasilPotongan<T>> antrianHasil = new ArrayBlockingQueue<>(kapasitasAntrian);
+        AtomicReference<Throwable> gagal = new AtomicReference<>();
+        AtomicInteger pekerjaAktif = new AtomicInteger(jumlahPekerja);
+        long[] hitungan = new long[3]; // baris, disimpan, ditolak; hanya ditulis thread penulis
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahPekerja + 1);
+        try {
+            // Tahap 2: pekerja parse dan validasi
+            for (int i = 0; i < jumlahPekerja; i++) {
+                executor.execute(() -> {
+                    try {
+                        Potongan potongan;
+                        while ((potongan = antrianPotongan.take()) != Potongan.SELESAI) {
+                            kirim(antrianHasil, prosesPotongan(potongan), gagal);
+                        }
+                    } catch (Throwable e) {
+                        gagal.compareAndSet(null, e);
+                    } finally {
+                        // Pekerja terakhir yang selesai memberi tahu penulis
+                        if (pekerjaAktif.decrementAndGet() == 0) {
+                            try {
+                                kirim(antrianHasil, HasilPotongan.<T>selesai(), gagal);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }
+                });
+            }
+
+            // Tahap 3: penulis batch
+            executor.execute(() -> {
+                try {
+                    HasilPotongan<T> hasil;
+                    while (!(hasil = antrianHasil.take()).isSelesai()) {
+                        tulisHasil(hasil, pelapor, hitungan);
+                    }
+                } catch (Throwable e) {
+                    gagal.compareAndSet(null, e);
+                }
+            });
+
+            // Tahap 1: pembaca di thread pemanggil
+            try {
+                baca(channel, antrianPotongan, gagal);
+            } catch (IOException | RuntimeException e) {
+                gagal.compareAndSet(null, e);
+            } finally {
+                for (int i = 0; i < jumlahPekerja; i++) {
+                    kirim(antrianPotongan, Potongan.SELESAI, gagal);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            if (gagal.get() != null) {
+                // Hentikan tahap lain yang mungkin menunggu antrian penuh
+                executor.shutdownNow();
+            }
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        Throwable e = gagal.get();
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new IOException("Impor gagal", e);
+        }
+        return new HasilImpor(hitungan[0], hitungan[1], hitungan[2],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mulai));
+    }
+
+    /**
+     * Membaca channel dan mengirim potongan yang selalu berakhir di batas record.
+     */
+    private void baca(ReadableByteChannel channel, BlockingQueue<Potongan> antrian,
+                      AtomicReference<Throwable> gagal) throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ukuranPotongan);
+        byte[] sisa = new byte[ukuranPotongan];
+        long maksRecord = (long) ukuranPotongan * KELIPATAN_MAKS_RECORD;
+        int panjangSisa = 0;
+        int pindaiDari = 0;       // byte sisa sebelum posisi ini sudah dipindai
+        StatusKutip kutip = new StatusKutip();
+        boolean buang = false;    // sedang membuang record terlalu panjang sampai baris baru
+        long nomorBaris = 1;
+        int recordDiSisa = 0;     // record lengkap yang sudah dipindai di sisa
+        int akhirRecord = 0;      // posisi sesudah baris baru terakhir di luar kutip
+
+        while (gagal.get() == null) {
+            // 1. Isi buffer dari channel, lalu tambahkan ke sisa potongan sebelumnya
+            buffer.clear();
+            int dibaca = channel.read(buffer);
+            if (dibaca < 0) {
+                break;
+            }
+            buffer.flip();
+            if (panjangSisa + dibaca > sisa.length) {
+                sisa = Arrays.copyOf(sisa, Math.max(sisa.length * 2, panjangSisa + dibaca));
+            }
+            buffer.get(sisa, panjangSisa, dibaca);
+            panjangSisa += dibaca;
+
+            // 2. Cari batas record; tanda kutip membuat baris baru menjadi bagian isi kolom
+            int i = pindaiDari;
+            while (i < panjangSisa) {
+                if (buang) {
+                    // Lanjutkan sesudah baris baru berikutnya, apa pun status kutipnya
+                    if (sisa[i] == '\n') {
+                        buang = false;
+                        panjangSisa = buangAwal(sisa, panjangSisa, i + 1);
+                        i = 0;
+                    } else {
+                        i++;
+                    }
+                    continue;
+                }
+                if (kutip.akhirRecord(sisa[i])) {
+                    recordDiSisa++;
+                    akhirRecord = i + 1;
+                } else if (i - akhirRecord >= maksRecord) {
+                    // Record terlalu panjang: kirim record lengkap sebelumnya, tolak record ini
+                    if (akhirRecord > 0) {
+                        kirim(antrian, new Potongan(Arrays.copyOf(sisa, akhirRecord), nomorBaris), gagal);
+                        nomorBaris += recordDiSisa;
+                    }
+                    byte[] awal = Arrays.copyOfRange(sisa, akhirRecord,
+                            Math.min(akhirRecord + ISI_DITOLAK_MAKS, i + 1));
+                    kirim(antrian, Potongan.terlaluPanjang(awal, nomorBaris), gagal);
+                    nomorBaris++;
+                    panjangSisa = buangAwal(sisa, panjangSisa, i + 1);
+                    i = 0;
+                    akhirRecord = 0;
+                    recordDiSisa = 0;
+                    kutip = new StatusKutip();
+                    buang = true;
+                    continue;
+                }
+                i++;
+            }
+            if (buang) {
+                panjangSisa = 0; // bagian record terlalu panjang tidak perlu disimpan
+            }
+            pindaiDari = panjangSisa;
+
+            // 3. Kirim record lengkap jika sudah sebesar satu potongan; sisanya dibawa ke putaran berikutnya
+            if (akhirRecord > 0 && panjangSisa >= ukuranPotongan) {
+                kirim(antrian, new Potongan(Arrays.copyOf(sisa, akhirRecord), nomorBaris), gagal);
+                nomorBaris += recordDiSisa;
+                System.arraycopy(sisa, akhirRecord, sisa, 0, panjangSisa - akhirRecord);
+                panjangSisa -= akhirRecord;
+                pindaiDari -= akhirRecord;
+                akhirRecord = 0;
+                recordDiSisa = 0;
+            }
+        }
+
+        // 4. Sisa terakhir (file boleh tidak diakhiri baris baru)
+        if (panjangSisa > 0 && gagal.get() == null) {
+            kirim(antrian, new Potongan(Arrays.copyOf(sisa, panjangSisa), nomorBaris), gagal);
+        }
+    }
+
+    /**
+     * Tahap parse dan validasi untuk satu potongan.
+     */
+    private HasilPotongan<T> prosesPotongan(Potongan potongan) {
+        String teks = new String(potongan.data, StandardCharsets.UTF_8);
+        HasilPotongan<T> hasil = new HasilPotongan<>();
+        long nomorBaris = potongan.nomorBarisAwal;
+        if (potongan.terlaluPanjang) {
+            hasil.jumlahBaris++;
+            hasil.ditolak.add(new BarisDitolak(nomorBaris, teks,
+                    "Record melebihi " + (long) ukuranPotongan * KELIPATAN_MAKS_RECORD + " byte"));
+            return hasil;
+        }
+        int awal = 0;
+        StatusKutip kutip = new StatusKutip();
+        for (int i = 0; i <= teks.length(); i++) {
+            char c = i < teks.length() ? teks.charAt(i) : '\n';
+            if (kutip.akhirRecord(c) || i == teks.length()) {
+                int akhir = i > awal && teks.charAt(i - 1) == '\r' ? i - 1 : i;
+                if (akhir > awal || i < teks.length()) {
+                    prosesBaris(teks.substring(awal, akhir), nomorBaris, hasil);
+                }
+                nomorBaris++;
+                awal = i + 1;
+                kutip = new StatusKutip();
+            }
+        }
+        return hasil;
+    }
+
+    private void prosesBaris(String baris, long nomorBaris, HasilPotongan<T> hasil) {
+        if (baris.trim().isEmpty()) {
+            return;
+        }
+        try {
+            String[] kolom = FormatCsv.pecahKolom(baris);
+            if (nomorBaris == 1 && isHeader(kolom)) {
+                return;
+            }
+            hasil.jumlahBaris++;
+            T objek = format.parse(kolom);
+            if (!format.valid(objek)) {
+                hasil.ditolak.add(new BarisDitolak(nomorBaris, baris, "Tidak lolos validasi"));
+                return;
+            }
+            hasil.objek.add(objek);
+            hasil.nomorBaris.add(nomorBaris);
+            hasil.isiBaris.add(baris);
+        } catch (IllegalArgumentException e) {
+            hasil.ditolak.add(new BarisDitolak(nomorBaris, baris, e.getMessage()));
+        }
+    }
+
+    private boolean isHeader(String[] kolom) {
+        String[] header = format.getHeader();
+        if (kolom.length > header.length) {
+            return false;
+        }
+        for (int i = 0; i < kolom.length; i++) {
+            if (!kolom[i].trim().equalsIgnoreCase(header[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tahap tulis: simpan objek valid per batch dan laporkan penolakan.
+     */
+    private void tulisHasil(HasilPotongan<T> hasil, Consumer<BarisDitolak> pelapor, long[] hitungan) {
+        hitungan[0] += hasil.jumlahBaris;
+        for (BarisDitolak baris : hasil.ditolak) {
+            hitungan[2]++;
+            pelapor.accept(baris);
+        }
+
+        for (int awal = 0; awal < hasil.objek.size(); awal += ukuranBatch) {
+            int akhir = Math.min(awal + ukuranBatch, hasil.objek.size());
+            List<Boolean> status = penyimpan.simpan(hasil.objek.subList(awal, akhir));
+            for (int i = awal; i < akhir; i++) {
+                if (Boolean.TRUE.equals(status.get(i - awal))) {
+                    hitungan[1]++;
+                } else {
+                    hitungan[2]++;
+                    pelapor.accept(new BarisDitolak(hasil.nomorBaris.get(i), hasil.isiBaris.get(i),
+                            "Ditolak saat disimpan"));
+                }
+            }
+        }
+    }
+
+    /**
+     * put yang berhenti jika tahap lain sudah gagal, agar pembaca dan pekerja tidak
+     * menunggu selamanya di antrian yang tidak lagi dikosongkan.
+     */
+    private static <E> void kirim(BlockingQueue<E> antrian, E elemen, AtomicReference<Throwable> gagal)
+            throws InterruptedException {
+        while (!antrian.offer(elemen, JEDA_CEK_GAGAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (gagal.get() != null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Menggeser sisa[dari..panjang) ke awal array.
+     * @return panjang sisa yang baru
+     */
+    private static int buangAwal(byte[] sisa, int panjang, int dari) {
+        System.arraycopy(sisa, dari, sisa, 0, panjang - dari);
+        return panjang - dari;
+    }
+
+    /**
+     * Pelacak batas record CSV (RFC 4180), dipakai pembaca (byte) dan pekerja (char).
+     * Tanda kutip membuka kolom berkutip hanya di awal kolom; di dalam kutip, "" adalah
+     * kutip literal. Baris baru di luar kutip mengakhiri record.
+     */
+    static final class StatusKutip {
+        private boolean dalamKutip;
+        private boolean awalKolom = true;
+        private boolean baruDitutup;
+
+        /**
+         * @return true jika c adalah baris baru yang mengakhiri record
+         */
+        boolean akhirRecord(int c) {
+            if (c == '"') {
+                if (dalamKutip) {
+                    dalamKutip = false;
+                    baruDitutup = true;
+                } else if (awalKolom || baruDitutup) {
+                    dalamKutip = true; // awal kolom berkutip, atau "" di dalam kutip
+                    baruDitutup = false;
+                }
+                awalKolom = false;
+                return false;
+            }
+            baruDitutup = false;
+            if (dalamKutip) {
+                return false;
+            }
+            awalKolom = c == ',' || c == '\n';
+            return c == '\n';
+        }
+    }
+
+    private static final class Potongan {
+        static final Potongan SELESAI = new Potongan(new byte[0], 0);
+
+        final byte[] data;
+        final long nomorBarisAwal;
+        // data hanya awal satu record yang ditolak karena terlalu panjang
+        final boolean terlaluPanjang;
+
+        Potongan(byte[] data, long nomorBarisAwal) {
+            this(data, nomorBarisAwal, false);
+        }
+
+        private Potongan(byte[] data, long nomorBarisAwal, boolean terlaluPanjang) {
+            this.data = data;
+            this.nomorBarisAwal = nomorBarisAwal;
+            this.terlaluPanjang = terlaluPanjang;
+        }
+
+        static Potongan terlaluPanjang(byte[] awal, long nomorBaris) {
+            return new Potongan(awal, nomorBaris, true);
+        }
+    }
+
+    private static final class HasilPotongan<T> {
+        final List<T> objek = new ArrayList<>();
+        final List<Long> nomorBaris = new ArrayList<>();
+        final List<String> isiBaris = new ArrayList<>();
+        final List<BarisDitolak> ditolak = new ArrayList<>();
+        long jumlahBaris;
+        private boolean selesai;
+
+        static <T> HasilPotongan<T> selesai() {
+            HasilPotongan<T> penanda = new HasilPotongan<>();
+            penanda.selesai = true;
+            return penanda;
+        }
+
+        boolean isSelesai() {
+            return selesai;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.praktikum.testing.metrik;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi lock-free dengan bucket log-linear (gaya HdrHistogram).
+ *
+ * Nilai 0..63 ns punya bucket sendiri; di atasnya setiap rentang pangkat dua dibagi
+ * menjadi 32 sub-bucket, sehingga galat relatif persentil paling besar sekitar 3%
+ * untuk nilai sampai sekitar 18 menit (2^40 ns). Nilai yang lebih besar masuk bucket terakhir.
+ *
+ * catat() hanya melakukan satu increment atomik pada array dan dua LongAdder/LongAccumulator,
+ * tanpa lock dan tanpa alokasi, sehingga aman dipanggil dari banyak thread di jalur produksi.
+ */
+public final class HistogramLatensi {
+
+    private static final int BIT_SUB_BUCKET = 5;
+    private static final int JUMLAH_SUB_BUCKET = 1 << BIT_SUB_BUCKET;   // 32
+    private static final int BATAS_LINEAR = JUMLAH_SUB_BUCKET * 2;       // 64
+    static final long NILAI_MAKS = (1L << 40) - 1;
+    static final int JUMLAH_BUCKET = indeksBucket(NILAI_MAKS) + 1;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator maksimum = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Mencatat satu nilai latensi dalam nanodetik (nilai negatif dianggap 0).
+     */
+    public void catat(long nanos) {
+        long nilai = Math.max(0, nanos);
+        bucket.incrementAndGet(indeksBucket(Math.min(nilai, NILAI_MAKS)));
+        total.add(nilai);
+        maksimum.accumulate(nilai);
+    }
+
+    /**
+     * Ringkasan saat ini. Karena pencatatan tidak dihentikan, ringkasan bisa sedikit
+     * tidak sinkron antar field jika diambil saat ada pencatatan bersamaan.
+     */
+    public RingkasanLatensi ringkasan() {
+        long[] salinan = new long[JUMLAH_BUCKET];
+        long jumlah = 0;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            salinan[i] = bucket.get(i);
+            jumlah += salinan[i];
+        }
+        long maks = maksimum.get();
+        if (jumlah == 0) {
+            return new RingkasanLatensi(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new RingkasanLatensi(jumlah, total.sum() / jumlah,
+                persentil(salinan, jumlah, 0.50, maks), persentil(salinan, jumlah, 0.90, maks),
+                persentil(salinan, jumlah, 0.99, maks), persentil(salinan, jumlah, 0.999, maks), maks);
+    }
+
+    /**
+     * Mengosongkan histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            bucket.set(i, 0);
+        }
+        total.reset();
+        maksimum.reset();
+    }
+
+    /**
+     * Nilai tertinggi yang setara dengan bucket tempat persentil jatuh (dibatasi maksimum tercatat).
+     */
+    private static long persentil(long[] salinan, long jumlah, double rasio, long maks) {
+        long target = Math.max(1, (long) Math.ceil(rasio * jumlah));
+        long kumulatif = 0;
+        for (int i = 0; i < salinan.length; i++) {
+            kumulatif += salinan[i];
+            if (kumulatif >= target) {
+                return Math.min(nilaiBawah(i + 1) - 1, maks);
+            }
+        }
+        return maks;
+    }
+
+    static int indeksBucket(long nilai) {
+        if (nilai < BATAS_LINEAR) {
+            return (int) nilai;
+        }
+        int bitTertinggi = 63 - Long.numberOfLeadingZeros(nilai);
+        int geser = bitTertinggi - BIT_SUB_BUCKET;
+        int sub = (int) (nilai >>> geser) & (JUMLAH_SUB_BUCKET - 1);
+        return BATAS_LINEAR + (geser - 1) * JUMLAH_SUB_BUCKET + sub;
+    }
+
+    static long nilaiBawah(int indeks) {
+        if (indeks < BATAS_LINEAR) {
+            return indeks;
+        }
+        int geser = (indeks - BATAS_LINEAR) / JUMLAH_SUB_BUCKET + 1;
+        int sub = (indeks - BATAS_LINEAR) % JUMLAH_SUB_BUCKET;
+        return (long) (JUMLAH_SUB_BUCKET + sub) << geser;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.praktikum.testing.metrik;
+
+import java.util.Map;
+
+/**
+ * Antarmuka JMX untuk RegistriMetrik. Atribut dibuat datar (nama -> angka)
+ * agar mudah dibaca dari JConsole/VisualVM maupun exporter JMX.
+ */
+public interface MetrikPerpustakaanMXBean {
+
+    /**
+     * Semua penghitung (mis. "ServicePerpustakaan.pinjamBuku.STOK_TIDAK_TERSEDIA").
+     */
+    Map<String, Long> getPenghitung();
+
+    /**
+     * Ringkasan latensi dalam nanodetik dengan kunci "operasi.statistik"
+     * (jumlah, rataRata, p50, p90, p99, p999, maksimum).
+     */
+    Map<String, Long> getLatensiNanos();
+
+    /**
+     * Mengosongkan semua histogram dan penghitung.
+     */
+    void reset();
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.praktikum.testing.metrik;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Kumpulan histogram latensi dan penghitung berdasarkan nama.
+ *
+ * histogram()/penghitung() sebaiknya dipanggil sekali lalu referensinya disimpan
+ * (seperti di decorator Instrumented*), sehingga jalur panas tidak perlu lookup map.
+ */
+public class RegistriMetrik implements MetrikPerpustakaanMXBean {
+
+    private final ConcurrentHashMap<String, HistogramLatensi> histogram = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> penghitung = new ConcurrentHashMap<>();
+
+    /**
+     * Histogram untuk nama operasi (dibuat jika belum ada).
+     */
+    public HistogramLatensi histogram(String nama) {
+        return histogram.computeIfAbsent(nama, k -> new HistogramLatensi());
+    }
+
+    /**
+     * Penghitung untuk nama (dibuat jika belum ada).
+     */
+    public LongAdder penghitung(String nama) {
+        return penghitung.computeIfAbsent(nama, k -> new LongAdder());
+    }
+
+    /**
+     * Salinan semua metrik saat ini.
+     */
+    public SnapshotMetrik snapshot() {
+        Map<String, RingkasanLatensi> latensi = new HashMap<>();
+        for (Map.Entry<String, HistogramLatensi> entri : histogram.entrySet()) {
+            latensi.put(entri.getKey(), entri.getValue().ringkasan());
+        }
+        Map<String, Long> nilaiPenghitung = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entri : penghitung.entrySet()) {
+            nilaiPenghitung.put(entri.getKey(), entri.getValue().sum());
+        }
+        return new SnapshotMetrik(latensi, nilaiPenghitung);
+    }
+
+    @Override
+    public Map<String, Long> getPenghitung() {
+        return snapshot().getPenghitung();
+    }
+
+    @Override
+    public Map<String, Long> getLatensiNanos() {
+        Map<String, Long> hasil = new TreeMap<>();
+        for (Map.Entry<String, RingkasanLatensi> entri : snapshot().getLatensi().entrySet()) {
+            String nama = entri.getKey();
+            RingkasanLatensi r = entri.getValue();
+            hasil.put(nama + ".jumlah", r.getJumlah());
+            hasil.put(nama + ".rataRata", r.getRataRata());
+            hasil.put(nama + ".p50", r.getP50());
+            hasil.put(nama + ".p90", r.getP90());
+            hasil.put(nama + ".p99", r.getP99());
+            hasil.put(nama + ".p999", r.getP999());
+            hasil.put(nama + ".maksimum", r.getMaksimum());
+        }
+        return hasil;
+    }
+
+    @Override
+    public void reset() {
+        for (HistogramLatensi h : histogram.values()) {
+            h.reset();
+        }
+        for (LongAdder p : penghitung.values()) {
+            p.reset();
+        }
+    }
+
+    /**
+     * Mendaftarkan registri ini ke platform MBeanServer.
+     * @param namaObjek nama JMX, mis. "com.praktikum.testing:type=MetrikPerpustakaan"
+     * @return ObjectName yang didaftarkan (untuk unregister)
+     */
+    public ObjectName daftarkanJmx(String namaObjek) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nama = new ObjectName(namaObjek);
+        server.registerMBean(this, nama);
+        return nama;
+    }
+}
\ No newline at end of file
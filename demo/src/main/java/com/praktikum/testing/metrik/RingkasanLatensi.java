@@ -0,0 +1,66 @@
+package com.praktikum.testing.metrik;
+
+/**
+ * Ringkasan satu HistogramLatensi. Semua nilai dalam nanodetik.
+ */
+public final class RingkasanLatensi {
+
+    private final long jumlah;
+    private final long rataRata;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long maksimum;
+
+    RingkasanLatensi(long jumlah, long rataRata, long p50, long p90, long p99, long p999, long maksimum) {
+        this.jumlah = jumlah;
+        this.rataRata = rataRata;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.maksimum = maksimum;
+    }
+
+    public long getJumlah() {
+        return jumlah;
+    }
+
+    public long getRataRata() {
+        return rataRata;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMaksimum() {
+        return maksimum;
+    }
+
+    @Override
+    public String toString() {
+        return "RingkasanLatensi{" +
+                "jumlah=" + jumlah +
+                ", rataRata=" + rataRata +
+                ", p50=" + p50 +
+                ", p90=" + p90 +
+                ", p99=" + p99 +
+                ", p999=" + p999 +
+                ", maksimum=" + maksimum +
+                '}';
+    }
+}
\ No newline at end of file
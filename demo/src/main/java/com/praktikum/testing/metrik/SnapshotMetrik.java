@@ -0,0 +1,42 @@
+package com.praktikum.testing.metrik;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Salinan semua metrik pada satu saat, terurut menurut nama.
+ */
+public final class SnapshotMetrik {
+
+    private final Map<String, RingkasanLatensi> latensi;
+    private final Map<String, Long> penghitung;
+
+    SnapshotMetrik(Map<String, RingkasanLatensi> latensi, Map<String, Long> penghitung) {
+        this.latensi = Collections.unmodifiableMap(new TreeMap<>(latensi));
+        this.penghitung = Collections.unmodifiableMap(new TreeMap<>(penghitung));
+    }
+
+    public Map<String, RingkasanLatensi> getLatensi() {
+        return latensi;
+    }
+
+    public Map<String, Long> getPenghitung() {
+        return penghitung;
+    }
+
+    /**
+     * Nilai penghitung, 0 jika belum pernah dinaikkan.
+     */
+    public long penghitung(String nama) {
+        Long nilai = penghitung.get(nama);
+        return nilai == null ? 0 : nilai;
+    }
+
+    /**
+     * Ringkasan latensi, atau null jika operasi belum pernah dicatat.
+     */
+    public RingkasanLatensi latensi(String nama) {
+        return latensi.get(nama);
+    }
+}
\ No newline at end of file
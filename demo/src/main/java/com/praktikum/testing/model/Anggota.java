@@ -1,8 +1,10 @@
 package com.praktikum.testing.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class Anggota {
     private String idAnggota;
@@ -10,15 +12,22 @@ public class Anggota {
     private String email;
     private String telepon;
     private TipeAnggota tipeAnggota;
-    private List<String> idBukuDipinjam; // Daftar ID buku yang sedang dipinjam
+    // Daftar ID buku yang sedang dipinjam: array kecil berkapasitas getBatasPinjam(),
+    // hanya slot [0, jumlahDipinjam) yang terisi. Semua akses dijaga kunci.
+    private String[] idBukuDipinjam;
+    private int jumlahDipinjam;
     private boolean aktif;
+    // ReentrantLock, bukan monitor: anggota juga dipakai dari virtual thread (ServicePerpustakaanAsync)
+    private final ReentrantLock kunci = new ReentrantLock();
 
     public enum TipeAnggota {
         MAHASISWA, DOSEN, UMUM
     }
 
+    private static final String[] KOSONG = new String[0];
+
     public Anggota() {
-        this.idBukuDipinjam = new ArrayList<>();
+        this.idBukuDipinjam = KOSONG;
         this.aktif = true;
     }
 
@@ -28,7 +37,7 @@ public class Anggota {
         this.email = email;
         this.telepon = telepon;
         this.tipeAnggota = tipeAnggota;
-        this.idBukuDipinjam = new ArrayList<>();
+        this.idBukuDipinjam = tipeAnggota == null ? KOSONG : new String[getBatasPinjam()];
         this.aktif = true;
     }
 
@@ -66,55 +75,175 @@ public class Anggota {
     }
 
     public TipeAnggota getTipeAnggota() {
-        return tipeAnggota;
+        kunci.lock();
+        try {
+            return tipeAnggota;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public void setTipeAnggota(TipeAnggota tipeAnggota) {
-        this.tipeAnggota = tipeAnggota;
+        kunci.lock();
+        try {
+            this.tipeAnggota = tipeAnggota;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public List<String> getIdBukuDipinjam() {
-        return new ArrayList<>(idBukuDipinjam);
+        kunci.lock();
+        try {
+            return new ArrayList<>(Arrays.asList(idBukuDipinjam).subList(0, jumlahDipinjam));
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public void setIdBukuDipinjam(List<String> idBukuDipinjam) {
-        this.idBukuDipinjam = new ArrayList<>(idBukuDipinjam);
+        kunci.lock();
+        try {
+            int kapasitas = tipeAnggota == null ? 0 : getBatasPinjam();
+            this.idBukuDipinjam = new String[Math.max(kapasitas, idBukuDipinjam.size())];
+            this.jumlahDipinjam = 0;
+            for (String idBuku : idBukuDipinjam) {
+                this.idBukuDipinjam[jumlahDipinjam++] = idBuku;
+            }
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public boolean isAktif() {
-        return aktif;
+        kunci.lock();
+        try {
+            return aktif;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public void setAktif(boolean aktif) {
-        this.aktif = aktif;
+        kunci.lock();
+        try {
+            this.aktif = aktif;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public int getJumlahBukuDipinjam() {
-        return idBukuDipinjam.size();
+        kunci.lock();
+        try {
+            return jumlahDipinjam;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public int getBatasPinjam() {
-        switch (tipeAnggota) {
-            case MAHASISWA: return 3;
-            case DOSEN: return 5;
-            case UMUM: return 2;
-            default: return 0;
+        kunci.lock();
+        try {
+            switch (tipeAnggota) {
+                case MAHASISWA: return 3;
+                case DOSEN: return 5;
+                case UMUM: return 2;
+                default: return 0;
+            }
+        } finally {
+            kunci.unlock();
         }
     }
 
     public boolean bolehPinjamLagi() {
-        // Asumsi: getBatasPinjam() adalah method yang dimaksud pada kode asli 'getBatasPinjam()' (Baris 106)
-        return aktif && (getJumlahBukuDipinjam() < getBatasPinjam());
+        kunci.lock();
+        try {
+            // Asumsi: getBatasPinjam() adalah method yang dimaksud pada kode asli 'getBatasPinjam()' (Baris 106)
+            return aktif && (getJumlahBukuDipinjam() < getBatasPinjam());
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Mengecek apakah buku sedang dipinjam, tanpa menyalin daftar pinjaman.
+     */
+    public boolean sedangMeminjam(String idBuku) {
+        kunci.lock();
+        try {
+            return indeksDari(idBuku) >= 0;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Menambahkan buku ke daftar pinjaman hanya jika bolehPinjamLagi() dan buku belum dipinjam.
+     * Pengecekan dan penambahan terjadi dalam satu langkah atomik, sehingga dua pinjaman
+     * bersamaan oleh anggota yang sama tidak bisa melewati batas pinjam.
+     * @return true jika buku ditambahkan
+     */
+    public boolean tambahBukuDipinjamJikaBoleh(String idBuku) {
+        kunci.lock();
+        try {
+            if (!bolehPinjamLagi() || indeksDari(idBuku) >= 0) {
+                return false;
+            }
+            tambahDiAkhir(idBuku);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     public void tambahBukuDipinjam(String idBuku) {
-        if (!idBukuDipinjam.contains(idBuku)) {
-            idBukuDipinjam.add(idBuku);
+        kunci.lock();
+        try {
+            if (indeksDari(idBuku) < 0) {
+                tambahDiAkhir(idBuku);
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Menghapus buku dari daftar pinjaman.
+     * @return true jika buku memang sedang dipinjam
+     */
+    public boolean hapusBukuDipinjam(String idBuku) {
+        kunci.lock();
+        try {
+            int indeks = indeksDari(idBuku);
+            if (indeks < 0) {
+                return false;
+            }
+            // Geser sisa elemen agar urutan pinjam tetap terjaga
+            System.arraycopy(idBukuDipinjam, indeks + 1, idBukuDipinjam, indeks, jumlahDipinjam - indeks - 1);
+            idBukuDipinjam[--jumlahDipinjam] = null;
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private int indeksDari(String idBuku) {
+        for (int i = 0; i < jumlahDipinjam; i++) {
+            if (Objects.equals(idBukuDipinjam[i], idBuku)) {
+                return i;
+            }
         }
+        return -1;
     }
 
-    public void hapusBukuDipinjam(String idBuku) {
-        idBukuDipinjam.remove(idBuku);
+    private void tambahDiAkhir(String idBuku) {
+        if (jumlahDipinjam == idBukuDipinjam.length) {
+            // Hanya terjadi jika tipe berubah atau tambahBukuDipinjam melewati batas
+            idBukuDipinjam = Arrays.copyOf(idBukuDipinjam, Math.max(jumlahDipinjam + 1,
+                    tipeAnggota == null ? 0 : getBatasPinjam()));
+        }
+        idBukuDipinjam[jumlahDipinjam++] = idBuku;
     }
 
     @Override
@@ -132,15 +261,20 @@ public class Anggota {
 
     @Override
     public String toString() {
-        // Perbaikan format toString() agar lebih rapi dan sesuai standar Java
-        return "Anggota{" +
-                "idAnggota='" + idAnggota + '\'' +
-                ", nama='" + nama + '\'' +
-                ", email='" + email + '\'' +
-                ", telepon='" + telepon + '\'' +
-                ", tipeAnggota=" + tipeAnggota +
-                ", jumlahBukuDipinjam=" + idBukuDipinjam.size() +
-                ", aktif=" + aktif +
-                '}';
+        kunci.lock();
+        try {
+            // Perbaikan format toString() agar lebih rapi dan sesuai standar Java
+            return "Anggota{" +
+                    "idAnggota='" + idAnggota + '\'' +
+                    ", nama='" + nama + '\'' +
+                    ", email='" + email + '\'' +
+                    ", telepon='" + telepon + '\'' +
+                    ", tipeAnggota=" + tipeAnggota +
+                    ", jumlahBukuDipinjam=" + jumlahDipinjam +
+                    ", aktif=" + aktif +
+                    '}';
+        } finally {
+            kunci.unlock();
+        }
     }
 }
\ No newline at end of file
@@ -87,36 +87,56 @@ public class Peminjaman {
      * Mengecek apakah peminjaman terhitung terlambat.
      */
     public boolean isTerlambat() {
+        return isTerlambat(LocalDate.now());
+    }
+
+    /**
+     * Mengecek apakah peminjaman terhitung terlambat pada tanggal acuan tertentu.
+     * @param tanggalAcuan tanggal yang dianggap "hari ini" untuk peminjaman yang belum dikembalikan
+     */
+    public boolean isTerlambat(LocalDate tanggalAcuan) {
         if (sudahDikembalikan) {
             // Jika sudah dikembalikan, cek apakah tanggalKembali > tanggalJatuhTempo
             return tanggalKembali.isAfter(tanggalJatuhTempo);
         }
-        // Jika belum dikembalikan, cek apakah hari ini > tanggalJatuhTempo
-        return LocalDate.now().isAfter(tanggalJatuhTempo);
+        // Jika belum dikembalikan, cek apakah tanggal acuan > tanggalJatuhTempo
+        return tanggalAcuan.isAfter(tanggalJatuhTempo);
     }
 
     /**
      * Menghitung jumlah hari keterlambatan.
      */
     public long getHariTerlambat() {
-        if (sudahDikembalikan) {
-            // Jika sudah dikembalikan: hitung selisih jika tanggalKembali > tanggalJatuhTempo, jika tidak 0
-            return tanggalKembali.isAfter(tanggalJatuhTempo)
-                    ? ChronoUnit.DAYS.between(tanggalJatuhTempo, tanggalKembali) : 0;
-        }
+        return getHariTerlambat(LocalDate.now());
+    }
 
-        // Jika belum dikembalikan: hitung selisih jika hari ini > tanggalJatuhTempo, jika tidak 0
-        LocalDate hari_ini = LocalDate.now();
-        return hari_ini.isAfter(tanggalJatuhTempo)
-                ? ChronoUnit.DAYS.between(tanggalJatuhTempo, hari_ini) : 0;
+    /**
+     * Menghitung jumlah hari keterlambatan pada tanggal acuan tertentu.
+     * @param tanggalAcuan tanggal yang dianggap "hari ini" untuk peminjaman yang belum dikembalikan
+     */
+    public long getHariTerlambat(LocalDate tanggalAcuan) {
+        // Tanggal akhir: tanggalKembali jika sudah dikembalikan, jika tidak tanggal acuan
+        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : tanggalAcuan;
+
+        // Hitung selisih jika tanggalAkhir > tanggalJatuhTempo, jika tidak 0
+        return tanggalAkhir.isAfter(tanggalJatuhTempo)
+                ? ChronoUnit.DAYS.between(tanggalJatuhTempo, tanggalAkhir) : 0;
     }
 
     /**
      * Menghitung total durasi peminjaman (sampai dikembalikan atau sampai hari ini).
      */
     public long getDurasiPeminjaman() {
-        // Tentukan tanggal akhir: jika sudah dikembalikan gunakan tanggalKembali, jika tidak gunakan hari ini
-        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : LocalDate.now();
+        return getDurasiPeminjaman(LocalDate.now());
+    }
+
+    /**
+     * Menghitung total durasi peminjaman (sampai dikembalikan atau sampai tanggal acuan).
+     * @param tanggalAcuan tanggal yang dianggap "hari ini" untuk peminjaman yang belum dikembalikan
+     */
+    public long getDurasiPeminjaman(LocalDate tanggalAcuan) {
+        // Tentukan tanggal akhir: jika sudah dikembalikan gunakan tanggalKembali, jika tidak gunakan tanggal acuan
+        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : tanggalAcuan;
         
         // Hitung selisih antara tanggalPinjam dan tanggalAkhir
         return ChronoUnit.DAYS.between(tanggalPinjam, tanggalAkhir);
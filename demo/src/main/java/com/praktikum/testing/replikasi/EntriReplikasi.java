@@ -0,0 +1,124 @@
+package com.praktikum.testing.replikasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Satu perubahan katalog di log replikasi.
+ *
+ * Entri membawa keadaan akhir (bukan operasi relatif): SIMPAN membawa seluruh isi Buku,
+ * STOK membawa jumlah tersedia yang baru, HAPUS membawa ISBN. Menerapkan entri yang sama
+ * dua kali memberi hasil yang sama, sehingga follower aman menerapkan ulang log setelah
+ * snapshot atau setelah tersambung kembali.
+ */
+final class EntriReplikasi {
+
+    static final byte SIMPAN = 1;
+    static final byte HAPUS = 2;
+    static final byte STOK = 3;
+
+    private final byte jenis;
+    private final String isbn;
+    private final String judul;
+    private final String pengarang;
+    private final int jumlahTotal;
+    private final int jumlahTersedia;
+    private final double harga;
+
+    private EntriReplikasi(byte jenis, String isbn, String judul, String pengarang,
+                           int jumlahTotal, int jumlahTersedia, double harga) {
+        this.jenis = jenis;
+        this.isbn = isbn;
+        this.judul = judul;
+        this.pengarang = pengarang;
+        this.jumlahTotal = jumlahTotal;
+        this.jumlahTersedia = jumlahTersedia;
+        this.harga = harga;
+    }
+
+    static EntriReplikasi simpan(Buku buku) {
+        return new EntriReplikasi(SIMPAN, buku.getIsbn(), buku.getJudul(), buku.getPengarang(),
+                buku.getJumlahTotal(), buku.getJumlahTersedia(), buku.getHarga());
+    }
+
+    static EntriReplikasi hapus(String isbn) {
+        return new EntriReplikasi(HAPUS, isbn, null, null, 0, 0, 0);
+    }
+
+    static EntriReplikasi stok(String isbn, int jumlahTersedia) {
+        return new EntriReplikasi(STOK, isbn, null, null, 0, jumlahTersedia, 0);
+    }
+
+    /**
+     * Menerapkan entri ke repository lokal follower.
+     */
+    void terapkan(RepositoryBuku repository) {
+        switch (jenis) {
+            case SIMPAN:
+                repository.simpan(keBuku());
+                break;
+            case HAPUS:
+                repository.hapus(isbn);
+                break;
+            case STOK:
+                repository.updateJumlahTersedia(isbn, jumlahTersedia);
+                break;
+            default:
+                throw new IllegalStateException("Jenis entri tidak dikenal: " + jenis);
+        }
+    }
+
+    Buku keBuku() {
+        Buku buku = new Buku(isbn, judul, pengarang, jumlahTotal, harga);
+        buku.setJumlahTersedia(jumlahTersedia);
+        return buku;
+    }
+
+    void tulis(DataOutputStream out) throws IOException {
+        out.writeByte(jenis);
+        out.writeUTF(isbn);
+        if (jenis == SIMPAN) {
+            tulisTeks(out, judul);
+            tulisTeks(out, pengarang);
+            out.writeInt(jumlahTotal);
+            out.writeInt(jumlahTersedia);
+            out.writeDouble(harga);
+        } else if (jenis == STOK) {
+            out.writeInt(jumlahTersedia);
+        }
+    }
+
+    static EntriReplikasi baca(DataInputStream in) throws IOException {
+        byte jenis = in.readByte();
+        String isbn = in.readUTF();
+        switch (jenis) {
+            case SIMPAN:
+                String judul = bacaTeks(in);
+                String pengarang = bacaTeks(in);
+                int jumlahTotal = in.readInt();
+                int jumlahTersedia = in.readInt();
+                double harga = in.readDouble();
+                return new EntriReplikasi(SIMPAN, isbn, judul, pengarang, jumlahTotal, jumlahTersedia, harga);
+            case HAPUS:
+                return hapus(isbn);
+            case STOK:
+                return stok(isbn, in.readInt());
+            default:
+                throw new IOException("Jenis entri tidak dikenal: " + jenis);
+        }
+    }
+
+    private static void tulisTeks(DataOutputStream out, String teks) throws IOException {
+        out.writeBoolean(teks != null);
+        if (teks != null) {
+            out.writeUTF(teks);
+        }
+    }
+
+    private static String bacaTeks(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,356 @@
+package com.praktikum.testing.replikasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.HalamanBuku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * RepositoryBuku baca-saja yang mengikuti LeaderReplikasi lewat TCP.
+ *
+ * - Satu thread penerima membaca batch dari leader, menerapkannya ke repository lokal,
+ *   lalu mengirim ack seq terakhir yang diterapkan. Jika koneksi putus, thread ini
+ *   menyambung ulang dan melanjutkan dari epoch dan seq terakhir (atau menerima snapshot
+ *   jika leader sudah dibuat ulang dengan log baru).
+ * - Pencarian dilayani dari repository lokal dengan kebasian terbatas: jika follower
+ *   sudah lebih lama dari batasKebasianMillis tidak sinkron dengan leader, pembacaan
+ *   melempar IllegalStateException alih-alih mengembalikan data lama.
+ * - Semua operasi perubahan melempar UnsupportedOperationException; tulis ke leader.
+ */
+public class FollowerReplikasi implements RepositoryBuku, Closeable {
+
+    private static final long JEDA_SAMBUNG_ULANG_MAKS_MILLIS = 1000;
+
+    private final InetSocketAddress alamatLeader;
+    private final RepositoryBuku repositoryLokal;
+    private final long batasKebasianMillis;
+
+    private final Object monitorSeq = new Object();
+    private volatile long seqDiterapkan;
+    private volatile long epochLeader; // 0 = belum pernah menerima snapshot
+    // nanoTime terakhir kali follower tahu dirinya sudah menerapkan semua perubahan leader
+    private volatile long waktuSinkron;
+    private volatile boolean pernahSinkron;
+    private volatile boolean tersambung;
+    private volatile boolean ditutup;
+    private volatile Socket socket;
+    private final Thread penerima;
+
+    /**
+     * Follower dengan repository lokal InMemoryRepositoryBuku.
+     * @param alamatLeader alamat LeaderReplikasi
+     * @param batasKebasianMillis umur maksimum data yang boleh dilayani
+     */
+    public FollowerReplikasi(InetSocketAddress alamatLeader, long batasKebasianMillis) {
+        this(alamatLeader, new InMemoryRepositoryBuku(), batasKebasianMillis);
+    }
+
+    /**
+     * @param repositoryLokal repository kosong yang diisi hanya oleh replikasi
+     */
+    public FollowerReplikasi(InetSocketAddress alamatLeader, RepositoryBuku repositoryLokal,
+                             long batasKebasianMillis) {
+        if (alamatLeader == null || repositoryLokal == null) {
+            throw new IllegalArgumentException("Alamat leader dan repository lokal tidak boleh null");
+        }
+        if (batasKebasianMillis <= 0) {
+            throw new IllegalArgumentException("Batas kebasian harus positif");
+        }
+        this.alamatLeader = alamatLeader;
+        this.repositoryLokal = repositoryLokal;
+        this.batasKebasianMillis = batasKebasianMillis;
+        this.penerima = new Thread(this::jalankan, "replikasi-follower-" + alamatLeader.getPort());
+        penerima.setDaemon(true);
+        penerima.start();
+    }
+
+    /**
+     * Seq log leader terakhir yang sudah diterapkan ke repository lokal.
+     */
+    public long getSeqDiterapkan() {
+        return seqDiterapkan;
+    }
+
+    public boolean isTersambung() {
+        return tersambung;
+    }
+
+    /**
+     * Lama sejak follower terakhir kali terbukti sinkron dengan leader,
+     * atau Long.MAX_VALUE jika belum pernah sinkron.
+     */
+    public long getKebasianMillis() {
+        if (!pernahSinkron) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waktuSinkron);
+    }
+
+    /**
+     * Menunggu sampai seq leader tertentu sudah diterapkan dan follower pernah sinkron
+     * (read-your-writes setelah menulis ke leader).
+     * @return true jika tercapai sebelum batas waktu
+     */
+    public boolean tungguSampai(long seq, long timeoutMillis) throws InterruptedException {
+        long batasWaktu = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (monitorSeq) {
+            while (!pernahSinkron || seqDiterapkan < seq) {
+                long sisa = TimeUnit.NANOSECONDS.toMillis(batasWaktu - System.nanoTime());
+                if (sisa <= 0) {
+                    return false;
+                }
+                monitorSeq.wait(sisa);
+            }
+            return true;
+        }
+    }
+
+    private void periksaKebasian() {
+        long kebasian = getKebasianMillis();
+        if (kebasian > batasKebasianMillis) {
+            throw new IllegalStateException("Data follower terlalu basi: "
+                    + (kebasian == Long.MAX_VALUE ? "belum pernah sinkron" : kebasian + " ms")
+                    + " (batas " + batasKebasianMillis + " ms)");
+        }
+    }
+
+    // --- Pembacaan: dari repository lokal ---
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        periksaKebasian();
+        return repositoryLokal.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        periksaKebasian();
+        return repositoryLokal.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        periksaKebasian();
+        return repositoryLokal.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        periksaKebasian();
+        return repositoryLokal.cariSemua();
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        periksaKebasian();
+        return repositoryLokal.cariByIsbnBatch(daftarIsbn);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        periksaKebasian();
+        return repositoryLokal.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        periksaKebasian();
+        return repositoryLokal.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        periksaKebasian();
+        return repositoryLokal.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        periksaKebasian();
+        return repositoryLokal.cariSemuaPerHalaman(tokenLanjutan, batas);
+    }
+
+    // --- Perubahan: tidak didukung di follower ---
+
+    @Override
+    public boolean simpan(Buku buku) {
+        throw bacaSaja();
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        throw bacaSaja();
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        throw bacaSaja();
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        throw bacaSaja();
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        throw bacaSaja();
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        throw bacaSaja();
+    }
+
+    private static UnsupportedOperationException bacaSaja() {
+        return new UnsupportedOperationException("Follower replikasi hanya bisa dibaca; tulis ke leader");
+    }
+
+    // --- Jaringan ---
+
+    private void jalankan() {
+        long jeda = 10;
+        while (!ditutup) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(alamatLeader);
+                s.setTcpNoDelay(true);
+                tersambung = true;
+                jeda = 10;
+                ikutiLeader(s);
+            } catch (IOException e) {
+                // Leader belum siap atau koneksi putus; coba lagi dengan jeda bertambah
+            } finally {
+                tersambung = false;
+            }
+            if (ditutup) {
+                break;
+            }
+            try {
+                Thread.sleep(jeda);
+            } catch (InterruptedException e) {
+                break;
+            }
+            jeda = Math.min(jeda * 2, JEDA_SAMBUNG_ULANG_MAKS_MILLIS);
+        }
+    }
+
+    private void ikutiLeader(Socket s) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+        // 1. Beri tahu leader posisi terakhir kita
+        out.writeLong(epochLeader);
+        out.writeLong(seqDiterapkan);
+        out.flush();
+
+        while (!ditutup) {
+            // 2. Terapkan satu pesan (batch, detak, atau snapshot)
+            byte tipe = in.readByte();
+            long seqLeader;
+            if (tipe == LeaderReplikasi.TIPE_SNAPSHOT) {
+                seqLeader = terapkanSnapshot(in);
+            } else if (tipe == LeaderReplikasi.TIPE_BATCH) {
+                seqLeader = terapkanBatch(in);
+            } else {
+                throw new IOException("Tipe pesan replikasi tidak dikenal: " + tipe);
+            }
+
+            // 3. Catat waktu sinkron jika sudah mengejar leader, lalu kirim ack
+            if (seqDiterapkan >= seqLeader) {
+                synchronized (monitorSeq) {
+                    waktuSinkron = System.nanoTime();
+                    pernahSinkron = true;
+                    monitorSeq.notifyAll();
+                }
+            }
+            out.writeLong(seqDiterapkan);
+            out.flush();
+        }
+    }
+
+    private long terapkanBatch(DataInputStream in) throws IOException {
+        long epoch = in.readLong();
+        if (epoch != epochLeader) {
+            throw new IOException("Batch replikasi dari epoch log lain; sambung ulang untuk snapshot");
+        }
+        long seqLeader = in.readLong();
+        long seqAwal = in.readLong();
+        int jumlah = in.readInt();
+        if (jumlah > 0 && seqAwal != seqDiterapkan + 1) {
+            throw new IOException("Batch replikasi tidak berurutan: diharapkan seq "
+                    + (seqDiterapkan + 1) + ", diterima " + seqAwal);
+        }
+        for (int i = 0; i < jumlah; i++) {
+            EntriReplikasi.baca(in).terapkan(repositoryLokal);
+        }
+        majukanSeq(seqDiterapkan + jumlah);
+        return seqLeader;
+    }
+
+    private long terapkanSnapshot(DataInputStream in) throws IOException {
+        long epoch = in.readLong();
+        long seqSnapshot = in.readLong();
+        int jumlah = in.readInt();
+        List<Buku> isi = new ArrayList<>(jumlah);
+        Set<String> isbnSnapshot = new HashSet<>(jumlah * 4 / 3 + 1);
+        for (int i = 0; i < jumlah; i++) {
+            Buku buku = EntriReplikasi.baca(in).keBuku();
+            isi.add(buku);
+            isbnSnapshot.add(buku.getIsbn());
+        }
+
+        // Hapus buku lokal yang sudah tidak ada di leader, lalu timpa sisanya
+        for (Buku lokal : repositoryLokal.cariSemua()) {
+            if (!isbnSnapshot.contains(lokal.getIsbn())) {
+                repositoryLokal.hapus(lokal.getIsbn());
+            }
+        }
+        repositoryLokal.simpanBatch(isi);
+        epochLeader = epoch;
+        majukanSeq(seqSnapshot);
+        return seqSnapshot;
+    }
+
+    private void majukanSeq(long seq) {
+        synchronized (monitorSeq) {
+            seqDiterapkan = seq;
+            monitorSeq.notifyAll();
+        }
+    }
+
+    /**
+     * Menghentikan replikasi. Data lokal tetap ada, tetapi pembacaan akan gagal
+     * setelah batas kebasian terlewati.
+     */
+    @Override
+    public void close() {
+        ditutup = true;
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException e) {
+                // abaikan, sedang menutup
+            }
+        }
+        penerima.interrupt();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.praktikum.testing.replikasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.HalamanBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.util.KodeIsbn;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Decorator RepositoryBuku di sisi leader yang mereplikasi perubahan ke follower lewat TCP.
+ *
+ * - Setiap perubahan yang berhasil (simpan, hapus, updateJumlahTersedia, kurangi/tambahJumlahTersedia)
+ *   dicatat ke LogReplikasi sebagai keadaan akhir Buku tersebut. Perubahan dan pencatatan untuk
+ *   ISBN yang sama dijaga satu lock stripe, sehingga urutan di log sama dengan urutan di leader.
+ * - Setiap follower dilayani satu thread pengirim. Pengirim mengambil semua entri yang sudah ada
+ *   (paling banyak BATAS_BATCH) dan mengirimnya sebagai satu batch dengan satu flush, tanpa
+ *   menunggu ack batch sebelumnya (pipelined). Ack dari follower dibaca tanpa blocking.
+ * - Jika tidak ada perubahan, detak (batch kosong) dikirim setiap intervalDetakMillis agar
+ *   follower tahu dirinya masih sinkron (lihat FollowerReplikasi.getKebasianMillis).
+ * - Follower yang posisinya sudah tidak ada di log (tertinggal terlalu jauh, baru, atau
+ *   berasal dari epoch log lain, mis. sebelum leader dibuat ulang) menerima snapshot katalog
+ *   lebih dulu, lalu log sesudah snapshot. Setiap batch dan snapshot membawa epoch log.
+ *
+ * Semua pembacaan diteruskan langsung ke repository asal.
+ */
+public class LeaderReplikasi implements RepositoryBuku, Closeable {
+
+    static final byte TIPE_BATCH = 1;
+    static final byte TIPE_SNAPSHOT = 2;
+
+    static final int BATAS_BATCH = 512;
+    private static final int JUMLAH_STRIPE = 64;
+
+    private final RepositoryBuku repositoryAsal;
+    private final LogReplikasi log;
+    private final long intervalDetakMillis;
+    private final Object[] stripe = new Object[JUMLAH_STRIPE];
+
+    private final ServerSocket serverSocket;
+    private final List<PengirimFollower> pengirim = new CopyOnWriteArrayList<>();
+    private volatile boolean ditutup;
+
+    /**
+     * Leader di 127.0.0.1 dengan log 100.000 entri dan detak 50 ms.
+     * @param port port TCP, atau 0 untuk port bebas (lihat getPort)
+     */
+    public LeaderReplikasi(RepositoryBuku repositoryAsal, int port) {
+        this(repositoryAsal, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 100_000, 50);
+    }
+
+    /**
+     * @param repositoryAsal repository yang dibungkus (sumber kebenaran)
+     * @param alamat alamat yang didengarkan untuk follower
+     * @param kapasitasLog jumlah entri terakhir yang disimpan untuk follower yang tertinggal
+     * @param intervalDetakMillis jeda maksimum antar pesan ke follower saat tidak ada perubahan
+     */
+    public LeaderReplikasi(RepositoryBuku repositoryAsal, InetSocketAddress alamat, int kapasitasLog,
+                           long intervalDetakMillis) {
+        if (repositoryAsal == null) {
+            throw new IllegalArgumentException("Repository asal tidak boleh null");
+        }
+        if (intervalDetakMillis <= 0) {
+            throw new IllegalArgumentException("Interval detak harus positif");
+        }
+        this.repositoryAsal = repositoryAsal;
+        this.log = new LogReplikasi(kapasitasLog);
+        this.intervalDetakMillis = intervalDetakMillis;
+        for (int i = 0; i < JUMLAH_STRIPE; i++) {
+            stripe[i] = new Object();
+        }
+
+        try {
+            this.serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true); // leader yang dibuat ulang bisa memakai port yang sama
+            serverSocket.bind(alamat);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka port replikasi " + alamat, e);
+        }
+        Thread penerima = new Thread(this::terimaFollower, "replikasi-leader-" + getPort());
+        penerima.setDaemon(true);
+        penerima.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Seq perubahan terakhir; follower yang sudah menerapkan seq ini melihat semua perubahan sebelumnya.
+     */
+    public long getSeqTerakhir() {
+        return log.getSeqTerakhir();
+    }
+
+    public int getJumlahFollower() {
+        return pengirim.size();
+    }
+
+    /**
+     * Seq terendah yang sudah di-ack oleh follower yang tersambung (Long.MAX_VALUE jika tidak ada).
+     */
+    public long getSeqDiakuiTerendah() {
+        long terendah = Long.MAX_VALUE;
+        for (PengirimFollower p : pengirim) {
+            terendah = Math.min(terendah, p.seqDiakui);
+        }
+        return terendah;
+    }
+
+    // --- Perubahan: diteruskan lalu dicatat ke log ---
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return repositoryAsal.simpan(buku);
+        }
+        synchronized (stripeUntuk(buku.getIsbn())) {
+            if (!repositoryAsal.simpan(buku)) {
+                return false;
+            }
+            log.tambah(EntriReplikasi.simpan(buku));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return repositoryAsal.hapus(null);
+        }
+        synchronized (stripeUntuk(isbn)) {
+            // ISBN dalam bentuk yang tersimpan, agar follower menghapus entri yang sama
+            Optional<Buku> lama = repositoryAsal.cariByIsbn(isbn);
+            if (!repositoryAsal.hapus(isbn)) {
+                return false;
+            }
+            log.tambah(EntriReplikasi.hapus(lama.map(Buku::getIsbn).orElse(isbn)));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null) {
+            return repositoryAsal.updateJumlahTersedia(null, jumlahTersediaBaru);
+        }
+        synchronized (stripeUntuk(isbn)) {
+            return repositoryAsal.updateJumlahTersedia(isbn, jumlahTersediaBaru) && catatStok(isbn);
+        }
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return repositoryAsal.kurangiJumlahTersedia(null);
+        }
+        synchronized (stripeUntuk(isbn)) {
+            return repositoryAsal.kurangiJumlahTersedia(isbn) && catatStok(isbn);
+        }
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return repositoryAsal.tambahJumlahTersedia(null);
+        }
+        synchronized (stripeUntuk(isbn)) {
+            return repositoryAsal.tambahJumlahTersedia(isbn) && catatStok(isbn);
+        }
+    }
+
+    /**
+     * Mencatat stok terkini ISBN (dipanggil di dalam lock stripe setelah perubahan berhasil).
+     */
+    private boolean catatStok(String isbn) {
+        repositoryAsal.cariByIsbn(isbn).ifPresent(
+                buku -> log.tambah(EntriReplikasi.stok(buku.getIsbn(), buku.getJumlahTersedia())));
+        return true;
+    }
+
+    private Object stripeUntuk(String isbn) {
+        long kode = KodeIsbn.kode(isbn);
+        int hash = kode != KodeIsbn.TIDAK_VALID ? Long.hashCode(kode) : isbn.hashCode();
+        return stripe[(hash ^ (hash >>> 16)) & (JUMLAH_STRIPE - 1)];
+    }
+
+    // --- Pembacaan: langsung ke repository asal ---
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return repositoryAsal.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return repositoryAsal.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return repositoryAsal.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return repositoryAsal.cariSemua();
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        return repositoryAsal.cariByIsbnBatch(daftarIsbn);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return repositoryAsal.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return repositoryAsal.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return repositoryAsal.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        return repositoryAsal.cariSemuaPerHalaman(tokenLanjutan, batas);
+    }
+
+    // --- Jaringan ---
+
+    private void terimaFollower() {
+        while (!ditutup) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                PengirimFollower p = new PengirimFollower(socket);
+                pengirim.add(p);
+                Thread thread = new Thread(p, "replikasi-pengirim-" + socket.getRemoteSocketAddress());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!ditutup) {
+                    // Gagal menerima satu koneksi tidak menghentikan leader
+                    continue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Menutup port replikasi dan semua koneksi follower. Repository asal tidak ditutup.
+     */
+    @Override
+    public void close() {
+        ditutup = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // abaikan, sedang menutup
+        }
+        for (PengirimFollower p : pengirim) {
+            p.tutup();
+        }
+        log.bangunkanSemua();
+    }
+
+    /**
+     * Mengirim log ke satu follower.
+     */
+    private final class PengirimFollower implements Runnable {
+
+        private final Socket socket;
+        private volatile long seqDiakui;
+
+        PengirimFollower(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+
+                // 1. Follower memberi tahu epoch dan seq terakhir yang sudah ia terapkan
+                long epochFollower = in.readLong();
+                long posisi = in.readLong();
+                if (posisi == 0 || epochFollower != log.getEpoch()) {
+                    // Follower baru: isi katalog yang sudah ada sebelum log dimulai tidak ada di log.
+                    // Epoch lain: seq-nya milik log lain dan tidak bisa dilanjutkan.
+                    posisi = kirimSnapshot(out);
+                    out.flush();
+                }
+                seqDiakui = posisi;
+                List<EntriReplikasi> batch = new ArrayList<>(BATAS_BATCH);
+
+                while (!ditutup) {
+                    // 2. Ambil semua entri yang sudah ada, atau tunggu sampai interval detak
+                    batch.clear();
+                    long seqLeader = log.ambil(posisi, BATAS_BATCH, intervalDetakMillis, batch);
+                    if (seqLeader < 0) {
+                        posisi = kirimSnapshot(out);
+                    } else {
+                        out.writeByte(TIPE_BATCH);
+                        out.writeLong(log.getEpoch());
+                        out.writeLong(seqLeader);
+                        out.writeLong(posisi + 1);
+                        out.writeInt(batch.size());
+                        for (EntriReplikasi entri : batch) {
+                            entri.tulis(out);
+                        }
+                        posisi += batch.size();
+                    }
+                    out.flush();
+
+                    // 3. Baca ack yang sudah tiba tanpa menunggu (pipelined)
+                    while (in.available() >= Long.BYTES) {
+                        seqDiakui = in.readLong();
+                    }
+                }
+            } catch (IOException e) {
+                // Follower terputus; ia akan tersambung ulang dengan seq terakhirnya
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                tutup();
+                pengirim.remove(this);
+            }
+        }
+
+        /**
+         * Mengirim seluruh katalog. Seq snapshot diambil sebelum membaca katalog; perubahan
+         * yang terjadi selama membaca ikut terkirim lagi lewat log dan menimpa dengan keadaan akhir.
+         */
+        private long kirimSnapshot(DataOutputStream out) throws IOException {
+            long seqSnapshot = log.getSeqTerakhir();
+            List<Buku> semua = repositoryAsal.cariSemua();
+            out.writeByte(TIPE_SNAPSHOT);
+            out.writeLong(log.getEpoch());
+            out.writeLong(seqSnapshot);
+            out.writeInt(semua.size());
+            for (Buku buku : semua) {
+                EntriReplikasi.simpan(buku).tulis(out);
+            }
+            return seqSnapshot;
+        }
+
+        void tutup() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // abaikan, sedang menutup
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.praktikum.testing.replikasi;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log perubahan leader dalam ring buffer berkapasitas tetap.
+ *
+ * Nomor urut (seq) dimulai dari 1 dan entri dengan seq s disimpan di slot (s - 1) % kapasitas,
+ * jadi seq tidak perlu disimpan di entri. Hanya kapasitas entri terakhir yang tersedia; follower
+ * yang tertinggal lebih jauh harus memulai ulang dari snapshot.
+ *
+ * Setiap log punya epoch acak. Seq hanya bermakna bersama epoch-nya: setelah leader dibuat
+ * ulang, seq mulai lagi dari 1, jadi posisi follower dari epoch lain harus diabaikan.
+ */
+final class LogReplikasi {
+
+    private final EntriReplikasi[] cincin;
+    private final long epoch;
+    private long seqTerakhir; // dijaga monitor this
+
+    LogReplikasi(int kapasitas) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas log harus positif");
+        }
+        this.cincin = new EntriReplikasi[kapasitas];
+        long acak;
+        do {
+            acak = ThreadLocalRandom.current().nextLong();
+        } while (acak == 0); // 0 dipakai follower yang belum pernah menerima data
+        this.epoch = acak;
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Menambah entri dan membangunkan pengirim yang menunggu.
+     * @return seq entri ini
+     */
+    synchronized long tambah(EntriReplikasi entri) {
+        long seq = ++seqTerakhir;
+        cincin[(int) ((seq - 1) % cincin.length)] = entri;
+        notifyAll();
+        return seq;
+    }
+
+    synchronized long getSeqTerakhir() {
+        return seqTerakhir;
+    }
+
+    /**
+     * Mengambil entri sesudah posisi, menunggu paling lama tungguMillis jika belum ada.
+     * @param posisi seq terakhir yang sudah dimiliki follower
+     * @param maks jumlah maksimum entri yang diambil
+     * @param keluaran daftar yang diisi entri seq posisi+1, posisi+2, ...
+     * @return seq terakhir log saat pengambilan, atau -1 jika posisi sudah tidak ada di log
+     *         (terlalu tertinggal) dan follower perlu snapshot. Posisi dari epoch lain tidak
+     *         bisa dikenali di sini; pemanggil harus mencocokkan epoch lebih dulu.
+     */
+    synchronized long ambil(long posisi, int maks, long tungguMillis, List<EntriReplikasi> keluaran)
+            throws InterruptedException {
+        if (posisi > seqTerakhir || posisi < seqTerakhir - cincin.length) {
+            return -1;
+        }
+        if (posisi == seqTerakhir && tungguMillis > 0) {
+            wait(tungguMillis);
+            if (posisi < seqTerakhir - cincin.length) {
+                return -1;
+            }
+        }
+        long sampai = Math.min(seqTerakhir, posisi + maks);
+        for (long seq = posisi + 1; seq <= sampai; seq++) {
+            keluaran.add(cincin[(int) ((seq - 1) % cincin.length)]);
+        }
+        return seqTerakhir;
+    }
+
+    /**
+     * Membangunkan semua pengirim (dipakai saat leader ditutup).
+     */
+    synchronized void bangunkanSemua() {
+        notifyAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,450 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Decorator RepositoryBuku dengan cache read-through untuk cariByIsbn.
+ *
+ * Ukuran cache dibatasi dan eviction-nya memakai kebijakan mirip W-TinyLFU:
+ * - Entri baru masuk ke window LRU kecil (1% kapasitas).
+ * - Entri yang keluar dari window hanya diterima ke area utama jika frekuensinya
+ *   (perkiraan dari SketsaFrekuensi) lebih tinggi dari korban area utama. Akibatnya
+ *   pemindaian sekali lewat tidak menggeser ISBN yang populer.
+ * - Area utama berupa SLRU: probation dan protected (80%). Hit di probation
+ *   mempromosikan entri ke protected.
+ *
+ * Penulisan (simpan, hapus, updateJumlahTersedia) diteruskan ke repository asal lalu
+ * meng-invalidate entri ISBN tersebut. Load yang sedang berjalan didaftarkan per ISBN dengan
+ * nomor versi; invalidasi hanya menaikkan versi ISBN yang ditulis, sehingga hasil load ISBN itu
+ * yang dimulai sebelum penulisan tidak dimasukkan ke cache (nilai basi tidak bisa masuk kembali),
+ * sedangkan load ISBN lain tetap diterima.
+ *
+ * kurangi/tambahJumlahTersedia (jalur pinjam/kembali) tidak meng-invalidate: stok entri cache
+ * diubah di tempat dengan computeIfPresent, tanpa lock global dan tanpa mengeluarkan entri
+ * dari segmen LRU. Selama penulisan stok berjalan, hasil load ISBN itu tidak dimasukkan, dan
+ * versi load yang dimulai sebelumnya dinaikkan, sehingga delta tidak pernah diterapkan ke nilai
+ * yang sudah memuatnya atau hilang dari nilai yang dimuat sebelum penulisan.
+ *
+ * Hit dibaca tanpa lock dari ConcurrentHashMap; pembaruan urutan LRU saat hit hanya
+ * dilakukan jika lock bebas (boleh hilang, seperti buffer baca yang lossy).
+ * Pencarian judul/pengarang, cariSemua, dan varian streaming/paginasi tidak di-cache
+ * dan diteruskan langsung ke repository asal.
+ */
+public class CachingRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku repositoryAsal;
+    private final int kapasitasWindow;
+    private final int kapasitasUtama;
+    private final int kapasitasDilindungi;
+
+    // Data cache (key: ISBN); objek Buku di sini tidak pernah keluar tanpa disalin
+    private final ConcurrentHashMap<String, Buku> data = new ConcurrentHashMap<>();
+
+    // Urutan LRU per segmen (access-order), dijaga kunci
+    private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> percobaan = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> dilindungi = new LinkedHashMap<>(16, 0.75f, true);
+    private final SketsaFrekuensi sketsa;
+    private final ReentrantLock kunci = new ReentrantLock();
+    // Load yang sedang berjalan (key: ISBN); diubah dengan kunci, dibaca penulisan stok tanpa kunci.
+    // Entri dihapus saat load terakhir selesai
+    private final ConcurrentHashMap<String, Pemuatan> sedangDimuat = new ConcurrentHashMap<>();
+    // Jumlah penulisan stok yang sedang berjalan per ISBN; entri dihapus saat kembali ke 0
+    private final ConcurrentHashMap<String, Integer> tulisStokBerjalan = new ConcurrentHashMap<>();
+
+    private final LongAdder jumlahHit = new LongAdder();
+    private final LongAdder jumlahMiss = new LongAdder();
+    private final LongAdder jumlahEviksi = new LongAdder();
+
+    /**
+     * @param repositoryAsal repository yang dibungkus
+     * @param kapasitas jumlah maksimum Buku di cache
+     */
+    public CachingRepositoryBuku(RepositoryBuku repositoryAsal, int kapasitas) {
+        if (repositoryAsal == null) {
+            throw new IllegalArgumentException("Repository asal tidak boleh null");
+        }
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas cache harus positif");
+        }
+        this.repositoryAsal = repositoryAsal;
+        this.kapasitasWindow = Math.max(1, kapasitas / 100);
+        this.kapasitasUtama = kapasitas - kapasitasWindow;
+        this.kapasitasDilindungi = kapasitasUtama * 80 / 100;
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        // 1. Hit: baca tanpa lock
+        Buku tersimpan = data.get(isbn);
+        if (tersimpan != null) {
+            jumlahHit.increment();
+            catatHit(isbn);
+            return Optional.of(salin(tersimpan));
+        }
+
+        // 2. Miss: load dari repository asal, lalu masukkan jika ISBN ini tidak ditulis di tengah jalan
+        jumlahMiss.increment();
+        long versiAwal = mulaiMuat(isbn);
+        Buku dimuat = null;
+        try {
+            Optional<Buku> hasil = repositoryAsal.cariByIsbn(isbn);
+            if (hasil.isPresent()) {
+                dimuat = salin(hasil.get());
+            }
+            return hasil;
+        } finally {
+            selesaiMuat(isbn, dimuat, versiAwal);
+        }
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        Map<String, Buku> hasil = new HashMap<>();
+        List<String> belumAda = new ArrayList<>();
+        for (String isbn : daftarIsbn) {
+            Buku tersimpan = isbn == null ? null : data.get(isbn);
+            if (tersimpan != null) {
+                jumlahHit.increment();
+                catatHit(isbn);
+                hasil.put(isbn, salin(tersimpan));
+            } else if (isbn != null) {
+                jumlahMiss.increment();
+                belumAda.add(isbn);
+            }
+        }
+        if (belumAda.isEmpty()) {
+            return hasil;
+        }
+
+        // Semua miss diambil dengan satu multi-get
+        long[] versiAwal = new long[belumAda.size()];
+        for (int i = 0; i < versiAwal.length; i++) {
+            versiAwal[i] = mulaiMuat(belumAda.get(i));
+        }
+        Map<String, Buku> dariAsal = null;
+        try {
+            dariAsal = repositoryAsal.cariByIsbnBatch(belumAda);
+            hasil.putAll(dariAsal);
+            return hasil;
+        } finally {
+            for (int i = 0; i < versiAwal.length; i++) {
+                Buku buku = dariAsal == null ? null : dariAsal.get(belumAda.get(i));
+                selesaiMuat(belumAda.get(i), buku == null ? null : salin(buku), versiAwal[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        boolean berhasil = repositoryAsal.simpan(buku);
+        if (buku != null && buku.getIsbn() != null) {
+            invalidasi(buku.getIsbn());
+        }
+        return berhasil;
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        List<Boolean> hasil = repositoryAsal.simpanBatch(daftarBuku);
+        for (Buku buku : daftarBuku) {
+            if (buku != null && buku.getIsbn() != null) {
+                invalidasi(buku.getIsbn());
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        boolean berhasil = repositoryAsal.hapus(isbn);
+        if (isbn != null) {
+            invalidasi(isbn);
+        }
+        return berhasil;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        boolean berhasil = repositoryAsal.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        if (berhasil) {
+            invalidasi(isbn);
+        }
+        return berhasil;
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        return ubahStok(isbn, -1);
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        return ubahStok(isbn, 1);
+    }
+
+    /**
+     * Meneruskan kurangi/tambah ke repository asal lalu mengubah stok entri cache di tempat.
+     */
+    private boolean ubahStok(String isbn, int delta) {
+        if (isbn == null) {
+            return delta < 0 ? repositoryAsal.kurangiJumlahTersedia(null) : repositoryAsal.tambahJumlahTersedia(null);
+        }
+
+        // 1. Tandai penulisan berjalan: load ISBN ini tidak dimasukkan sampai langkah 4
+        tulisStokBerjalan.merge(isbn, 1, Integer::sum);
+        try {
+            boolean berhasil = delta < 0 ? repositoryAsal.kurangiJumlahTersedia(isbn)
+                    : repositoryAsal.tambahJumlahTersedia(isbn);
+            if (berhasil) {
+                // 2. Ganti nilai entri dengan salinan berstok baru; posisi LRU tidak berubah
+                data.computeIfPresent(isbn, (k, lama) -> {
+                    Buku baru = salin(lama);
+                    baru.setJumlahTersedia(lama.getJumlahTersedia() + delta);
+                    return baru;
+                });
+
+                // 3. Load yang dimulai sebelum langkah 4 mungkin membaca stok lama
+                Pemuatan pemuatan = sedangDimuat.get(isbn);
+                if (pemuatan != null) {
+                    pemuatan.versi.incrementAndGet();
+                }
+            }
+            return berhasil;
+        } finally {
+            // 4. Selesai
+            tulisStokBerjalan.computeIfPresent(isbn, (k, jumlah) -> jumlah == 1 ? null : jumlah - 1);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return repositoryAsal.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return repositoryAsal.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return repositoryAsal.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return repositoryAsal.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return repositoryAsal.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return repositoryAsal.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        return repositoryAsal.cariSemuaPerHalaman(tokenLanjutan, batas);
+    }
+
+    // --- Statistik ---
+
+    public long getJumlahHit() {
+        return jumlahHit.sum();
+    }
+
+    public long getJumlahMiss() {
+        return jumlahMiss.sum();
+    }
+
+    public long getJumlahEviksi() {
+        return jumlahEviksi.sum();
+    }
+
+    /**
+     * Rasio hit terhadap semua permintaan cariByIsbn (0 jika belum ada permintaan).
+     */
+    public double getRasioHit() {
+        long hit = getJumlahHit();
+        long total = hit + getJumlahMiss();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    /**
+     * Jumlah Buku yang sedang ada di cache.
+     */
+    public int ukuran() {
+        return data.size();
+    }
+
+    // --- Kebijakan cache (semua dengan kunci) ---
+
+    /**
+     * Versi load yang sedang berjalan untuk satu ISBN.
+     */
+    private static final class Pemuatan {
+        int jumlah; // dijaga kunci
+        final AtomicLong versi = new AtomicLong();
+    }
+
+    /**
+     * Mendaftarkan load untuk ISBN ini.
+     * @return versi saat load dimulai
+     */
+    private long mulaiMuat(String isbn) {
+        kunci.lock();
+        try {
+            Pemuatan pemuatan = sedangDimuat.get(isbn);
+            if (pemuatan == null) {
+                pemuatan = new Pemuatan();
+                sedangDimuat.put(isbn, pemuatan);
+            }
+            pemuatan.jumlah++;
+            return pemuatan.versi.get();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void catatHit(String isbn) {
+        // Lossy: jika lock sedang dipakai, urutan LRU dan frekuensi untuk hit ini dilewati
+        if (!kunci.tryLock()) {
+            return;
+        }
+        try {
+            sketsa.tambah(isbn);
+            if (window.get(isbn) != null || dilindungi.get(isbn) != null) {
+                return; // get() sudah memindahkan entri ke posisi paling baru
+            }
+            if (percobaan.remove(isbn) != null) {
+                // Hit kedua di area utama: promosikan ke protected
+                dilindungi.put(isbn, Boolean.TRUE);
+                if (dilindungi.size() > kapasitasDilindungi) {
+                    percobaan.put(ambilLru(dilindungi), Boolean.TRUE);
+                }
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Mengakhiri load dan memasukkan hasilnya (jika ada) ke cache, kecuali ISBN ini
+     * ditulis sejak load dimulai atau penulisan stoknya sedang berjalan.
+     */
+    private void selesaiMuat(String isbn, Buku buku, long versiAwal) {
+        kunci.lock();
+        try {
+            Pemuatan pemuatan = sedangDimuat.get(isbn);
+            boolean[] dimasukkan = new boolean[1];
+            if (buku != null) {
+                sketsa.tambah(isbn);
+                // Dicek di dalam compute agar tidak bersilangan dengan computeIfPresent di ubahStok.
+                // Pemuatan baru dilepas sesudahnya, agar ubahStok masih bisa menaikkan versinya
+                data.compute(isbn, (k, lama) -> {
+                    if (lama != null || pemuatan.versi.get() != versiAwal || tulisStokBerjalan.containsKey(k)) {
+                        return lama;
+                    }
+                    dimasukkan[0] = true;
+                    return buku;
+                });
+            }
+            if (--pemuatan.jumlah == 0) {
+                sedangDimuat.remove(isbn);
+            }
+            if (!dimasukkan[0]) {
+                return; // ada penulisan sejak load dimulai, atau thread lain sudah memasukkan
+            }
+            window.put(isbn, Boolean.TRUE);
+            if (window.size() > kapasitasWindow) {
+                terimaAtauTolak(ambilLru(window));
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Filter admisi TinyLFU: kandidat dari window hanya menggantikan korban area utama
+     * jika perkiraan frekuensinya lebih tinggi.
+     */
+    private void terimaAtauTolak(String kandidat) {
+        if (percobaan.size() + dilindungi.size() < kapasitasUtama) {
+            percobaan.put(kandidat, Boolean.TRUE);
+            return;
+        }
+        if (kapasitasUtama == 0) {
+            usir(kandidat);
+            return;
+        }
+
+        LinkedHashMap<String, Boolean> segmenKorban = percobaan.isEmpty() ? dilindungi : percobaan;
+        String korban = segmenKorban.keySet().iterator().next();
+        if (sketsa.frekuensi(kandidat) > sketsa.frekuensi(korban)) {
+            segmenKorban.remove(korban);
+            usir(korban);
+            percobaan.put(kandidat, Boolean.TRUE);
+        } else {
+            usir(kandidat);
+        }
+    }
+
+    private void invalidasi(String isbn) {
+        kunci.lock();
+        try {
+            Pemuatan pemuatan = sedangDimuat.get(isbn);
+            if (pemuatan != null) {
+                pemuatan.versi.incrementAndGet();
+            }
+            if (data.remove(isbn) != null) {
+                if (window.remove(isbn) == null && percobaan.remove(isbn) == null) {
+                    dilindungi.remove(isbn);
+                }
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void usir(String isbn) {
+        data.remove(isbn);
+        jumlahEviksi.increment();
+    }
+
+    private static String ambilLru(LinkedHashMap<String, Boolean> segmen) {
+        Iterator<String> iterator = segmen.keySet().iterator();
+        String lru = iterator.next();
+        iterator.remove();
+        return lru;
+    }
+
+    private static Buku salin(Buku buku) {
+        Buku salinan = new Buku(buku.getIsbn(), buku.getJudul(), buku.getPengarang(), buku.getJumlahTotal(),
+                buku.getHarga());
+        salinan.setJumlahTersedia(buku.getJumlahTersedia());
+        return salinan;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.praktikum.testing.repository;
+
+/**
+ * Checkpoint jurnal transaksi yang disimpan bersama katalog persisten.
+ *
+ * Nomor checkpoint adalah nomor entri jurnal terakhir yang perubahan stoknya sudah
+ * tercermin di katalog. Replay hanya menerapkan stok untuk entri sesudahnya, sehingga
+ * katalog yang bertahan setelah restart tidak dikurangi/ditambah dua kali.
+ */
+public interface CheckpointJurnal {
+
+    /**
+     * Nomor entri jurnal terakhir yang stoknya sudah tercermin di katalog (0 = belum ada).
+     */
+    long getNomorJurnal();
+
+    /**
+     * Menaikkan nomor checkpoint. Nomor yang tidak lebih besar dari yang tersimpan diabaikan,
+     * sehingga aman dipanggil dari beberapa thread dengan urutan selesai yang berbeda.
+     */
+    void naikkanNomorJurnal(long nomor);
+}
\ No newline at end of file
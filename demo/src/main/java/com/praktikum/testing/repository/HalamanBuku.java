@@ -0,0 +1,95 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Satu halaman hasil paginasi keyset (terurut menurut ISBN).
+ *
+ * Token lanjutan bersifat opaque bagi pemanggil: berikan kembali ke
+ * cariSemuaPerHalaman untuk mengambil halaman berikutnya. Karena posisi halaman
+ * ditentukan oleh kunci (bukan offset), buku yang ditambah atau dihapus di antara
+ * dua permintaan tidak membuat hasil bergeser atau terulang.
+ */
+public final class HalamanBuku {
+
+    private final List<Buku> isi;
+    private final String tokenLanjutan;
+
+    HalamanBuku(List<Buku> isi, String tokenLanjutan) {
+        this.isi = Collections.unmodifiableList(isi);
+        this.tokenLanjutan = tokenLanjutan;
+    }
+
+    /**
+     * Membuat halaman dari kandidat terurut berisi paling banyak batas + 1 buku;
+     * buku ke-(batas + 1) hanya menandakan masih ada halaman berikutnya.
+     */
+    static HalamanBuku dari(List<Buku> kandidatTerurut, int batas) {
+        if (kandidatTerurut.size() <= batas) {
+            return new HalamanBuku(kandidatTerurut, null);
+        }
+        List<Buku> isi = new ArrayList<>(kandidatTerurut.subList(0, batas));
+        return new HalamanBuku(isi, isi.get(batas - 1).getIsbn());
+    }
+
+    /**
+     * Memilih paling banyak batas + 1 elemen dengan ISBN terkecil sesudah token dari sumber
+     * tak terurut. Heap-nya berukuran tetap, jadi satu halaman butuh O(n log batas) waktu dan
+     * O(batas) memori, tanpa mengurutkan atau menampung seluruh katalog.
+     * @return kandidat terurut menurut ISBN, untuk dari()
+     */
+    static <E> List<E> pilihKandidat(Iterator<E> sumber, Function<E, String> isbn, String tokenLanjutan,
+                                     int batas) {
+        // batas + 1 disaturasi agar batas = Integer.MAX_VALUE tidak overflow
+        int kapasitas = batas == Integer.MAX_VALUE ? batas : batas + 1;
+        Comparator<E> urutan = Comparator.comparing(isbn);
+        // Heap maksimum: akar adalah kandidat terbesar, yang pertama diganti
+        PriorityQueue<E> heap = new PriorityQueue<>(Math.min(kapasitas, 1024), urutan.reversed());
+        while (sumber.hasNext()) {
+            E elemen = sumber.next();
+            if (tokenLanjutan != null && isbn.apply(elemen).compareTo(tokenLanjutan) <= 0) {
+                continue;
+            }
+            if (heap.size() < kapasitas) {
+                heap.add(elemen);
+            } else if (urutan.compare(elemen, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(elemen);
+            }
+        }
+        List<E> kandidat = new ArrayList<>(heap);
+        kandidat.sort(urutan);
+        return kandidat;
+    }
+
+    static void validasiBatas(int batas) {
+        if (batas <= 0) {
+            throw new IllegalArgumentException("Batas halaman harus positif");
+        }
+    }
+
+    /**
+     * Buku di halaman ini, terurut menurut ISBN.
+     */
+    public List<Buku> getIsi() {
+        return isi;
+    }
+
+    /**
+     * Token untuk halaman berikutnya, atau null jika ini halaman terakhir.
+     */
+    public String getTokenLanjutan() {
+        return tokenLanjutan;
+    }
+
+    public boolean adaLanjutan() {
+        return tokenLanjutan != null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku in-memory untuk produksi, dirancang untuk banyak core.
+ *
+ * - Penyimpanan memakai ConcurrentHashMap: baca tanpa lock, tulis ter-stripe per bin,
+ *   sehingga cariByIsbn O(1) dan throughput baca naik seiring jumlah thread.
+ * - Data Buku disimpan sebagai EntriBuku yang field-nya final (terpublikasi aman),
+ *   kecuali jumlahTersedia yang volatile dan diubah dengan CAS.
+ * - Objek Buku tidak pernah dibagi antar pemanggil: simpan() menyalin masukan,
+ *   dan setiap hasil pencarian adalah salinan baru milik pemanggil.
+ * - Judul dan pengarang disimpan lewat KumpulanTeks: teks yang sama dipakai bersama oleh
+ *   semua buku, beserta kunci normal (lowercase + trim) yang dihitung sekali saat simpan.
+ *   Kunci pencarian yang sama persis dengan teks tersimpan memakai kunci normal yang sudah ada.
+ * - cariByJudul/cariByPengarang memakai indeks n-gram (lihat IndeksNGram) yang diperbarui
+ *   saat simpan/hapus, sehingga biayanya sebanding dengan jumlah kandidat, bukan ukuran katalog.
+ *   Indeks memakan memori sekitar 3 posting per karakter teks; bisa dimatikan lewat konstruktor
+ *   untuk katalog yang jarang dicari (pencarian kembali ke scan penuh).
+ * - Varian stream* bersifat lazy: Buku disalin satu per satu saat dikonsumsi, dan
+ *   spliterator ConcurrentHashMap bisa dibagi untuk konsumen parallel.
+ * - cariSemuaPerHalaman memakai set ISBN terurut (skip list) untuk paginasi keyset.
+ */
+public class InMemoryRepositoryBuku implements RepositoryBuku {
+
+    // Map untuk menyimpan entri, key: ISBN (String), value: EntriBuku
+    private final ConcurrentHashMap<String, EntriBuku> bukuMap;
+
+    // Indeks pencarian substring, null jika indeks dimatikan
+    private final IndeksNGram indeksJudul;
+    private final IndeksNGram indeksPengarang;
+
+    // ISBN terurut untuk paginasi keyset
+    private final ConcurrentSkipListSet<String> isbnTerurut = new ConcurrentSkipListSet<>();
+
+    // Judul dan pengarang kanonik, dipakai bersama antar buku
+    private final KumpulanTeks kumpulanTeks = new KumpulanTeks();
+
+    public InMemoryRepositoryBuku() {
+        this(16);
+    }
+
+    /**
+     * @param kapasitasAwal perkiraan jumlah buku, untuk menghindari resize saat pemuatan awal
+     */
+    public InMemoryRepositoryBuku(int kapasitasAwal) {
+        this(kapasitasAwal, true);
+    }
+
+    /**
+     * @param kapasitasAwal perkiraan jumlah buku, untuk menghindari resize saat pemuatan awal
+     * @param indeksPencarian true untuk memelihara indeks n-gram judul dan pengarang
+     */
+    public InMemoryRepositoryBuku(int kapasitasAwal, boolean indeksPencarian) {
+        this.bukuMap = new ConcurrentHashMap<>(kapasitasAwal, 0.75f,
+                Runtime.getRuntime().availableProcessors());
+        this.indeksJudul = indeksPencarian ? new IndeksNGram() : null;
+        this.indeksPengarang = indeksPencarian ? new IndeksNGram() : null;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+
+        // Simpan salinan agar perubahan objek milik pemanggil tidak bocor ke repository.
+        // compute() mengunci key ini, sehingga indeks untuk ISBN yang sama tidak pernah
+        // diperbarui oleh dua penulis sekaligus.
+        EntriBuku baru = new EntriBuku(buku, kumpulanTeks);
+        bukuMap.compute(baru.isbn, (isbn, lama) -> {
+            if (lama != null) {
+                hapusDariIndeks(lama);
+                lepasTeks(lama);
+            } else {
+                isbnTerurut.add(isbn);
+            }
+            tambahKeIndeks(baru);
+            return baru;
+        });
+        return true;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        EntriBuku entri = bukuMap.get(isbn);
+        return entri == null ? Optional.empty() : Optional.of(entri.keBuku());
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return streamByJudul(judul).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = kumpulanTeks.normalKunci(judul);
+        return cariCocok(indeksJudul, kunci, entri -> entri.judul.normal.contains(kunci));
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = kumpulanTeks.normalKunci(pengarang);
+        return cariCocok(indeksPengarang, kunci, entri -> entri.pengarang.normal.contains(kunci));
+    }
+
+    /**
+     * Stream lazy Buku yang lolos verifikasi. Tanpa indeks: scan semua entri.
+     * Dengan indeks: hanya kandidat, diverifikasi ulang karena indeks bisa memberi
+     * superset untuk kunci > 3 karakter.
+     */
+    private Stream<Buku> cariCocok(IndeksNGram indeks, String kunci, Predicate<EntriBuku> cocok) {
+        Stream<EntriBuku> entri = indeks == null
+                ? bukuMap.values().stream()
+                : indeks.kandidat(kunci).stream().map(bukuMap::get).filter(Objects::nonNull);
+        return entri.filter(cocok).map(EntriBuku::keBuku);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        boolean[] dihapus = new boolean[1];
+        bukuMap.computeIfPresent(isbn, (key, lama) -> {
+            hapusDariIndeks(lama);
+            lepasTeks(lama);
+            isbnTerurut.remove(key);
+            dihapus[0] = true;
+            return null;
+        });
+        return dihapus[0];
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null || jumlahTersediaBaru < 0) {
+            return false;
+        }
+
+        EntriBuku entri = bukuMap.get(isbn);
+        if (entri == null || jumlahTersediaBaru > entri.jumlahTotal) {
+            return false;
+        }
+
+        entri.jumlahTersedia = jumlahTersediaBaru;
+        return true;
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        EntriBuku entri = bukuMap.get(isbn);
+        return entri != null && entri.kurangiJikaAda();
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        EntriBuku entri = bukuMap.get(isbn);
+        return entri != null && entri.tambahJikaBelumPenuh();
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        List<Buku> hasil = new ArrayList<>(bukuMap.size());
+        for (EntriBuku entri : bukuMap.values()) {
+            hasil.add(entri.keBuku());
+        }
+        return hasil;
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return bukuMap.values().stream().map(EntriBuku::keBuku);
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        HalamanBuku.validasiBatas(batas);
+        Iterable<String> urutan = tokenLanjutan == null ? isbnTerurut : isbnTerurut.tailSet(tokenLanjutan, false);
+
+        // Ambil batas + 1 untuk mengetahui apakah masih ada halaman berikutnya
+        List<Buku> kandidat = new ArrayList<>(Math.min(batas, 1024) + 1);
+        for (String isbn : urutan) {
+            EntriBuku entri = bukuMap.get(isbn);
+            if (entri != null) {
+                kandidat.add(entri.keBuku());
+                if (kandidat.size() > batas) {
+                    break;
+                }
+            }
+        }
+        return HalamanBuku.dari(kandidat, batas);
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        Map<String, Buku> hasil = new HashMap<>(daftarIsbn.size() * 4 / 3 + 1);
+        for (String isbn : daftarIsbn) {
+            if (isbn == null) {
+                continue;
+            }
+            // Langsung ke map, tanpa membungkus setiap hasil dalam Optional
+            EntriBuku entri = bukuMap.get(isbn);
+            if (entri != null) {
+                hasil.put(isbn, entri.keBuku());
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Jumlah buku yang tersimpan.
+     */
+    public int ukuran() {
+        return bukuMap.size();
+    }
+
+    /**
+     * Jumlah judul dan pengarang unik yang tersimpan di kumpulan teks.
+     */
+    int jumlahTeksUnik() {
+        return kumpulanTeks.ukuran();
+    }
+
+    private void tambahKeIndeks(EntriBuku entri) {
+        if (indeksJudul != null) {
+            indeksJudul.tambah(entri.isbn, entri.judul.normal);
+            indeksPengarang.tambah(entri.isbn, entri.pengarang.normal);
+        }
+    }
+
+    private void hapusDariIndeks(EntriBuku entri) {
+        if (indeksJudul != null) {
+            indeksJudul.hapus(entri.isbn, entri.judul.normal);
+            indeksPengarang.hapus(entri.isbn, entri.pengarang.normal);
+        }
+    }
+
+    private void lepasTeks(EntriBuku entri) {
+        kumpulanTeks.lepas(entri.judul);
+        kumpulanTeks.lepas(entri.pengarang);
+    }
+
+    /**
+     * Snapshot internal satu Buku. Semua field final kecuali stok tersedia.
+     */
+    static final class EntriBuku {
+
+        private static final AtomicIntegerFieldUpdater<EntriBuku> JUMLAH_TERSEDIA =
+                AtomicIntegerFieldUpdater.newUpdater(EntriBuku.class, "jumlahTersedia");
+
+        final String isbn;
+        // Teks kanonik beserta kunci pencarian yang sudah dinormalisasi sekali saat simpan
+        final KumpulanTeks.Teks judul;
+        final KumpulanTeks.Teks pengarang;
+        final int jumlahTotal;
+        final double harga;
+
+        volatile int jumlahTersedia;
+
+        EntriBuku(Buku buku, KumpulanTeks kumpulanTeks) {
+            this.isbn = buku.getIsbn();
+            this.judul = kumpulanTeks.ambil(buku.getJudul());
+            this.pengarang = kumpulanTeks.ambil(buku.getPengarang());
+            this.jumlahTotal = buku.getJumlahTotal();
+            this.harga = buku.getHarga();
+            this.jumlahTersedia = buku.getJumlahTersedia();
+        }
+
+        boolean kurangiJikaAda() {
+            for (;;) {
+                int sekarang = jumlahTersedia;
+                if (sekarang <= 0) {
+                    return false;
+                }
+                if (JUMLAH_TERSEDIA.compareAndSet(this, sekarang, sekarang - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean tambahJikaBelumPenuh() {
+            for (;;) {
+                int sekarang = jumlahTersedia;
+                if (sekarang >= jumlahTotal) {
+                    return false;
+                }
+                if (JUMLAH_TERSEDIA.compareAndSet(this, sekarang, sekarang + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Membuat objek Buku baru (milik pemanggil) dari snapshot ini.
+         */
+        Buku keBuku() {
+            Buku buku = new Buku(isbn, judul.asli, pengarang.asli, jumlahTotal, harga);
+            buku.setJumlahTersedia(jumlahTersedia);
+            return buku;
+        }
+    }
+}
\ No newline at end of file
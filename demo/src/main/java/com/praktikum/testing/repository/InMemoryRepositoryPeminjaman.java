@@ -0,0 +1,228 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Implementasi RepositoryPeminjaman in-memory dengan indeks sekunder.
+ *
+ * - Indeks hash idAnggota -> ID dan isbnBuku -> ID, sehingga cariByAnggota/cariByIsbn
+ *   sebanding dengan jumlah hasil, bukan jumlah seluruh peminjaman.
+ * - Indeks (idAnggota, isbnBuku) -> ID untuk peminjaman aktif: cariAktif adalah point lookup.
+ * - Indeks jatuh tempo per hari (epoch day) untuk peminjaman aktif saja, terurut di
+ *   ConcurrentSkipListMap: cariTerlambat(D) cukup membaca range hari sebelum D.
+ *
+ * Penulisan diserialisasi dengan satu lock agar data utama dan semua indeks selalu konsisten;
+ * pembacaan tanpa lock. Seperti InMemoryRepositoryBuku, objek Peminjaman selalu disalin
+ * saat masuk dan keluar repository.
+ */
+public class InMemoryRepositoryPeminjaman implements RepositoryPeminjaman {
+
+    private static final char PEMISAH_KUNCI = '\u0000';
+
+    // key: idPeminjaman
+    private final Map<String, Peminjaman> peminjamanMap = new ConcurrentHashMap<>();
+
+    // Indeks sekunder, value: kumpulan idPeminjaman
+    private final Map<String, Set<String>> indeksAnggota = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> indeksIsbn = new ConcurrentHashMap<>();
+    // key: idAnggota + PEMISAH_KUNCI + isbnBuku, hanya peminjaman aktif
+    private final Map<String, String> indeksAktif = new ConcurrentHashMap<>();
+    // key: tanggalJatuhTempo.toEpochDay(), hanya peminjaman aktif
+    private final ConcurrentSkipListMap<Long, Set<String>> indeksJatuhTempo = new ConcurrentSkipListMap<>();
+
+    private final Object kunciTulis = new Object();
+
+    @Override
+    public boolean simpan(Peminjaman peminjaman) {
+        if (peminjaman == null || peminjaman.getIdPeminjaman() == null || peminjaman.getIdAnggota() == null
+                || peminjaman.getIsbnBuku() == null || peminjaman.getTanggalJatuhTempo() == null) {
+            return false;
+        }
+
+        Peminjaman salinan = salin(peminjaman);
+        synchronized (kunciTulis) {
+            // Peminjaman aktif lain untuk pasangan (anggota, buku) yang sama tidak boleh ada
+            String idAktif = indeksAktif.get(kunciAktif(salinan));
+            if (!salinan.isSudahDikembalikan() && idAktif != null && !idAktif.equals(salinan.getIdPeminjaman())) {
+                return false;
+            }
+
+            Peminjaman lama = peminjamanMap.put(salinan.getIdPeminjaman(), salinan);
+            if (lama != null) {
+                hapusDariIndeks(lama);
+            }
+            tambahKeIndeks(salinan);
+            return true;
+        }
+    }
+
+    @Override
+    public Optional<Peminjaman> cariById(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(peminjamanMap.get(idPeminjaman)).map(InMemoryRepositoryPeminjaman::salin);
+    }
+
+    @Override
+    public List<Peminjaman> cariByAnggota(String idAnggota) {
+        return idAnggota == null ? new ArrayList<>() : ambil(indeksAnggota.get(idAnggota));
+    }
+
+    @Override
+    public List<Peminjaman> cariByIsbn(String isbnBuku) {
+        return isbnBuku == null ? new ArrayList<>() : ambil(indeksIsbn.get(isbnBuku));
+    }
+
+    @Override
+    public Optional<Peminjaman> cariAktif(String idAnggota, String isbnBuku) {
+        if (idAnggota == null || isbnBuku == null) {
+            return Optional.empty();
+        }
+        String id = indeksAktif.get(idAnggota + PEMISAH_KUNCI + isbnBuku);
+        return id == null ? Optional.empty() : cariById(id);
+    }
+
+    @Override
+    public List<Peminjaman> cariTerlambat(LocalDate tanggalAcuan) {
+        List<Peminjaman> hasil = new ArrayList<>();
+        if (tanggalAcuan == null) {
+            return hasil;
+        }
+
+        // Range scan: semua hari jatuh tempo sebelum tanggal acuan
+        for (Set<String> ids : indeksJatuhTempo.headMap(tanggalAcuan.toEpochDay(), false).values()) {
+            for (String id : ids) {
+                // Indeks dibaca tanpa lock: peminjaman bisa saja baru dikembalikan atau diubah jatuh temponya
+                Peminjaman p = peminjamanMap.get(id);
+                if (p != null && !p.isSudahDikembalikan() && p.getTanggalJatuhTempo().isBefore(tanggalAcuan)) {
+                    hasil.add(salin(p));
+                }
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali) {
+        if (idPeminjaman == null || tanggalKembali == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Peminjaman lama = peminjamanMap.get(idPeminjaman);
+            if (lama == null || lama.isSudahDikembalikan()) {
+                return false;
+            }
+            // Ganti dengan salinan baru, objek lama mungkin sedang dibaca thread lain
+            Peminjaman baru = salin(lama);
+            baru.setSudahDikembalikan(true);
+            baru.setTanggalKembali(tanggalKembali);
+
+            hapusDariIndeks(lama);
+            peminjamanMap.put(idPeminjaman, baru);
+            tambahKeIndeks(baru);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean hapus(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Peminjaman lama = peminjamanMap.remove(idPeminjaman);
+            if (lama == null) {
+                return false;
+            }
+            hapusDariIndeks(lama);
+            return true;
+        }
+    }
+
+    @Override
+    public List<Peminjaman> cariSemua() {
+        List<Peminjaman> hasil = new ArrayList<>(peminjamanMap.size());
+        for (Peminjaman peminjaman : peminjamanMap.values()) {
+            hasil.add(salin(peminjaman));
+        }
+        return hasil;
+    }
+
+    /**
+     * Jumlah peminjaman yang tersimpan.
+     */
+    public int ukuran() {
+        return peminjamanMap.size();
+    }
+
+    // --- Pemeliharaan indeks (dipanggil dengan kunciTulis) ---
+
+    private void tambahKeIndeks(Peminjaman p) {
+        String id = p.getIdPeminjaman();
+        indeksAnggota.computeIfAbsent(p.getIdAnggota(), k -> ConcurrentHashMap.newKeySet()).add(id);
+        indeksIsbn.computeIfAbsent(p.getIsbnBuku(), k -> ConcurrentHashMap.newKeySet()).add(id);
+        if (!p.isSudahDikembalikan()) {
+            indeksAktif.put(kunciAktif(p), id);
+            indeksJatuhTempo.computeIfAbsent(p.getTanggalJatuhTempo().toEpochDay(),
+                    k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void hapusDariIndeks(Peminjaman p) {
+        String id = p.getIdPeminjaman();
+        hapusDariPosting(indeksAnggota, p.getIdAnggota(), id);
+        hapusDariPosting(indeksIsbn, p.getIsbnBuku(), id);
+        if (!p.isSudahDikembalikan()) {
+            indeksAktif.remove(kunciAktif(p), id);
+            hapusDariPosting(indeksJatuhTempo, p.getTanggalJatuhTempo().toEpochDay(), id);
+        }
+    }
+
+    private static <K> void hapusDariPosting(Map<K, Set<String>> indeks, K kunci, String id) {
+        Set<String> ids = indeks.get(kunci);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                indeks.remove(kunci);
+            }
+        }
+    }
+
+    private static String kunciAktif(Peminjaman p) {
+        return p.getIdAnggota() + PEMISAH_KUNCI + p.getIsbnBuku();
+    }
+
+    private List<Peminjaman> ambil(Collection<String> ids) {
+        List<Peminjaman> hasil = new ArrayList<>();
+        if (ids == null) {
+            return hasil;
+        }
+        for (String id : ids) {
+            Peminjaman p = peminjamanMap.get(id);
+            if (p != null) {
+                hasil.add(salin(p));
+            }
+        }
+        return hasil;
+    }
+
+    private static Peminjaman salin(Peminjaman p) {
+        Peminjaman salinan = new Peminjaman(p.getIdPeminjaman(), p.getIdAnggota(), p.getIsbnBuku(),
+                p.getTanggalPinjam(), p.getTanggalJatuhTempo());
+        salinan.setTanggalKembali(p.getTanggalKembali());
+        salinan.setSudahDikembalikan(p.isSudahDikembalikan());
+        return salinan;
+    }
+}
\ No newline at end of file
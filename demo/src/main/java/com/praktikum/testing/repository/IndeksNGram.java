@@ -0,0 +1,102 @@
+package com.praktikum.testing.repository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indeks terbalik n-gram (panjang 1 sampai 3) untuk pencarian substring.
+ *
+ * Setiap teks yang sudah dinormalisasi (lowercase + trim) dipecah menjadi semua
+ * substring sepanjang 1, 2, dan 3 karakter. Untuk setiap n-gram disimpan posting list
+ * berisi ISBN buku yang teksnya mengandung n-gram tersebut.
+ *
+ * - Kunci pencarian <= 3 karakter: posting list n-gram itu sendiri adalah jawabannya.
+ * - Kunci lebih panjang: posting list trigram terkecil dari kunci dipakai sebagai kandidat,
+ *   lalu pemanggil memverifikasi dengan contains() pada teks yang sudah dinormalisasi.
+ *
+ * Biaya pencarian sebanding dengan ukuran posting list, bukan ukuran katalog.
+ * Indeks ini diperbarui secara inkremental saat simpan/hapus.
+ */
+final class IndeksNGram {
+
+    static final int PANJANG_MAKS = 3;
+
+    // key: n-gram, value: set ISBN (set konkuren agar aman dibaca saat diubah)
+    private final ConcurrentHashMap<String, Set<String>> posting = new ConcurrentHashMap<>();
+
+    /**
+     * Mendaftarkan teks milik ISBN ke indeks.
+     */
+    void tambah(String isbn, String teksNormal) {
+        for (String gram : nGramUnik(teksNormal)) {
+            posting.compute(gram, (key, daftar) -> {
+                Set<String> hasil = daftar != null ? daftar : ConcurrentHashMap.<String>newKeySet();
+                hasil.add(isbn);
+                return hasil;
+            });
+        }
+    }
+
+    /**
+     * Menghapus teks milik ISBN dari indeks. Posting list yang kosong ikut dibuang.
+     */
+    void hapus(String isbn, String teksNormal) {
+        for (String gram : nGramUnik(teksNormal)) {
+            posting.computeIfPresent(gram, (key, daftar) -> {
+                daftar.remove(isbn);
+                return daftar.isEmpty() ? null : daftar;
+            });
+        }
+    }
+
+    /**
+     * Mengambil kandidat ISBN untuk kunci pencarian yang sudah dinormalisasi.
+     * Untuk kunci > 3 karakter hasilnya superset dan harus diverifikasi pemanggil.
+     * @return set kandidat (view read-only), kosong jika pasti tidak ada yang cocok
+     */
+    Set<String> kandidat(String kunciNormal) {
+        if (kunciNormal.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (kunciNormal.length() <= PANJANG_MAKS) {
+            return postingAtauKosong(kunciNormal);
+        }
+
+        // Pilih posting list trigram terkecil sebagai kandidat
+        Set<String> terkecil = null;
+        for (int i = 0; i + PANJANG_MAKS <= kunciNormal.length(); i++) {
+            Set<String> daftar = posting.get(kunciNormal.substring(i, i + PANJANG_MAKS));
+            if (daftar == null) {
+                return Collections.emptySet(); // ada trigram yang tidak muncul di teks mana pun
+            }
+            if (terkecil == null || daftar.size() < terkecil.size()) {
+                terkecil = daftar;
+            }
+        }
+        return Collections.unmodifiableSet(terkecil);
+    }
+
+    /**
+     * Jumlah n-gram berbeda di indeks.
+     */
+    int jumlahNGram() {
+        return posting.size();
+    }
+
+    private Set<String> postingAtauKosong(String gram) {
+        Set<String> daftar = posting.get(gram);
+        return daftar == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(daftar);
+    }
+
+    private static Set<String> nGramUnik(String teks) {
+        Set<String> hasil = new HashSet<>();
+        for (int panjang = 1; panjang <= PANJANG_MAKS; panjang++) {
+            for (int i = 0; i + panjang <= teks.length(); i++) {
+                hasil.add(teks.substring(i, i + panjang));
+            }
+        }
+        return hasil;
+    }
+}
\ No newline at end of file
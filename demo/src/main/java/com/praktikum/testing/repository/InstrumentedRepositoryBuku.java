@@ -0,0 +1,240 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.metrik.HistogramLatensi;
+import com.praktikum.testing.metrik.RegistriMetrik;
+import com.praktikum.testing.model.Buku;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorator RepositoryBuku yang mencatat latensi dan hasil setiap operasi ke RegistriMetrik.
+ *
+ * Nama metrik: "RepositoryBuku.<method>" untuk histogram latensi (nanodetik), ditambah
+ * penghitung ".berhasil", ".gagal" (false / Optional kosong / hasil kosong), dan ".error"
+ * (exception). Referensi histogram dan penghitung diambil sekali di konstruktor sehingga
+ * biaya per panggilan hanya dua System.nanoTime() dan beberapa increment tanpa lock.
+ *
+ * Varian stream* diteruskan tanpa pengukuran waktu karena hasilnya lazy
+ * (waktu sebenarnya terpakai saat pemanggil mengonsumsi stream).
+ */
+public class InstrumentedRepositoryBuku implements RepositoryBuku {
+
+    static final String PREFIKS = "RepositoryBuku.";
+
+    private final RepositoryBuku repositoryAsal;
+
+    private final Operasi opSimpan;
+    private final Operasi opCariByIsbn;
+    private final Operasi opCariByJudul;
+    private final Operasi opCariByPengarang;
+    private final Operasi opHapus;
+    private final Operasi opUpdateJumlahTersedia;
+    private final Operasi opKurangiJumlahTersedia;
+    private final Operasi opTambahJumlahTersedia;
+    private final Operasi opCariSemua;
+    private final Operasi opSimpanBatch;
+    private final Operasi opCariByIsbnBatch;
+    private final Operasi opCariSemuaPerHalaman;
+
+    public InstrumentedRepositoryBuku(RepositoryBuku repositoryAsal, RegistriMetrik registri) {
+        if (repositoryAsal == null || registri == null) {
+            throw new IllegalArgumentException("Repository asal dan registri tidak boleh null");
+        }
+        this.repositoryAsal = repositoryAsal;
+        this.opSimpan = new Operasi(registri, "simpan");
+        this.opCariByIsbn = new Operasi(registri, "cariByIsbn");
+        this.opCariByJudul = new Operasi(registri, "cariByJudul");
+        this.opCariByPengarang = new Operasi(registri, "cariByPengarang");
+        this.opHapus = new Operasi(registri, "hapus");
+        this.opUpdateJumlahTersedia = new Operasi(registri, "updateJumlahTersedia");
+        this.opKurangiJumlahTersedia = new Operasi(registri, "kurangiJumlahTersedia");
+        this.opTambahJumlahTersedia = new Operasi(registri, "tambahJumlahTersedia");
+        this.opCariSemua = new Operasi(registri, "cariSemua");
+        this.opSimpanBatch = new Operasi(registri, "simpanBatch");
+        this.opCariByIsbnBatch = new Operasi(registri, "cariByIsbnBatch");
+        this.opCariSemuaPerHalaman = new Operasi(registri, "cariSemuaPerHalaman");
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        long mulai = System.nanoTime();
+        try {
+            return opSimpan.hasil(repositoryAsal.simpan(buku), mulai);
+        } catch (RuntimeException e) {
+            throw opSimpan.error(e, mulai);
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            Optional<Buku> hasil = repositoryAsal.cariByIsbn(isbn);
+            opCariByIsbn.hasil(hasil.isPresent(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariByIsbn.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        long mulai = System.nanoTime();
+        try {
+            List<Buku> hasil = repositoryAsal.cariByJudul(judul);
+            opCariByJudul.hasil(!hasil.isEmpty(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariByJudul.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        long mulai = System.nanoTime();
+        try {
+            List<Buku> hasil = repositoryAsal.cariByPengarang(pengarang);
+            opCariByPengarang.hasil(!hasil.isEmpty(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariByPengarang.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opHapus.hasil(repositoryAsal.hapus(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opHapus.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        long mulai = System.nanoTime();
+        try {
+            return opUpdateJumlahTersedia.hasil(repositoryAsal.updateJumlahTersedia(isbn, jumlahTersediaBaru), mulai);
+        } catch (RuntimeException e) {
+            throw opUpdateJumlahTersedia.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opKurangiJumlahTersedia.hasil(repositoryAsal.kurangiJumlahTersedia(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opKurangiJumlahTersedia.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opTambahJumlahTersedia.hasil(repositoryAsal.tambahJumlahTersedia(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opTambahJumlahTersedia.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        long mulai = System.nanoTime();
+        try {
+            List<Buku> hasil = repositoryAsal.cariSemua();
+            opCariSemua.hasil(!hasil.isEmpty(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariSemua.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        long mulai = System.nanoTime();
+        try {
+            List<Boolean> hasil = repositoryAsal.simpanBatch(daftarBuku);
+            opSimpanBatch.hasil(!hasil.contains(Boolean.FALSE), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opSimpanBatch.error(e, mulai);
+        }
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        long mulai = System.nanoTime();
+        try {
+            Map<String, Buku> hasil = repositoryAsal.cariByIsbnBatch(daftarIsbn);
+            opCariByIsbnBatch.hasil(!hasil.isEmpty(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariByIsbnBatch.error(e, mulai);
+        }
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        long mulai = System.nanoTime();
+        try {
+            HalamanBuku hasil = repositoryAsal.cariSemuaPerHalaman(tokenLanjutan, batas);
+            opCariSemuaPerHalaman.hasil(!hasil.getIsi().isEmpty(), mulai);
+            return hasil;
+        } catch (RuntimeException e) {
+            throw opCariSemuaPerHalaman.error(e, mulai);
+        }
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return repositoryAsal.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return repositoryAsal.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return repositoryAsal.streamByPengarang(pengarang);
+    }
+
+    /**
+     * Histogram dan penghitung satu method, diambil sekali dari registri.
+     */
+    private static final class Operasi {
+        private final HistogramLatensi latensi;
+        private final LongAdder berhasil;
+        private final LongAdder gagal;
+        private final LongAdder error;
+
+        Operasi(RegistriMetrik registri, String method) {
+            String nama = PREFIKS + method;
+            this.latensi = registri.histogram(nama);
+            this.berhasil = registri.penghitung(nama + ".berhasil");
+            this.gagal = registri.penghitung(nama + ".gagal");
+            this.error = registri.penghitung(nama + ".error");
+        }
+
+        boolean hasil(boolean sukses, long mulai) {
+            latensi.catat(System.nanoTime() - mulai);
+            (sukses ? berhasil : gagal).increment();
+            return sukses;
+        }
+
+        RuntimeException error(RuntimeException e, long mulai) {
+            latensi.catat(System.nanoTime() - mulai);
+            error.increment();
+            return e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.praktikum.testing.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kumpulan teks kanonik (judul, pengarang) yang dipakai bersama oleh banyak Buku.
+ *
+ * Setiap teks asli disimpan sekali bersama kunci normalnya (lowercase + trim), sehingga
+ * seribu buku dari pengarang yang sama hanya memegang satu String asli dan satu String normal.
+ * Jumlah pemakai dihitung per teks: teks dibuang dari kumpulan saat buku terakhir yang
+ * memakainya dihapus atau diganti, jadi kumpulan tidak tumbuh tanpa batas.
+ *
+ * Kumpulan ini juga dipakai untuk menormalkan kunci pencarian: jika kunci sama persis dengan
+ * teks yang sudah dikenal, kunci normal yang sudah ada langsung dipakai tanpa membuat String baru.
+ */
+final class KumpulanTeks {
+
+    /**
+     * Pasangan teks asli dan kunci normalnya. Untuk teks null dipakai KOSONG.
+     */
+    static final class Teks {
+
+        static final Teks KOSONG = new Teks(null, "");
+
+        final String asli;
+        final String normal;
+        // Hanya diubah di dalam compute() pada key teks ini
+        private int jumlahPemakai;
+
+        private Teks(String asli, String normal) {
+            this.asli = asli;
+            this.normal = normal;
+        }
+    }
+
+    // key: teks asli, value: teks kanonik beserta kunci normalnya
+    private final ConcurrentHashMap<String, Teks> kumpulan = new ConcurrentHashMap<>();
+
+    /**
+     * Mengambil teks kanonik untuk teks asli dan menambah jumlah pemakainya.
+     * Setiap ambil() harus diimbangi satu lepas() saat teks tidak dipakai lagi.
+     */
+    Teks ambil(String asli) {
+        if (asli == null) {
+            return Teks.KOSONG;
+        }
+        return kumpulan.compute(asli, (key, teks) -> {
+            Teks hasil = teks != null ? teks : new Teks(key, normalisasi(key));
+            hasil.jumlahPemakai++;
+            return hasil;
+        });
+    }
+
+    /**
+     * Mengurangi jumlah pemakai; teks dibuang dari kumpulan jika tidak ada pemakai lagi.
+     */
+    void lepas(Teks teks) {
+        if (teks == Teks.KOSONG) {
+            return;
+        }
+        kumpulan.computeIfPresent(teks.asli, (key, ada) -> {
+            if (ada != teks) {
+                return ada;
+            }
+            return --ada.jumlahPemakai == 0 ? null : ada;
+        });
+    }
+
+    /**
+     * Kunci normal untuk kunci pencarian. Tidak membuat String baru jika kunci sudah dikenal
+     * atau sudah dalam bentuk normal.
+     */
+    String normalKunci(String kunci) {
+        Teks teks = kumpulan.get(kunci);
+        return teks != null ? teks.normal : normalisasi(kunci);
+    }
+
+    /**
+     * Jumlah teks unik yang sedang dipakai.
+     */
+    int ukuran() {
+        return kumpulan.size();
+    }
+
+    /**
+     * Normalisasi yang sama dengan pencarian lama (lowercase + trim). String.toLowerCase dan
+     * String.trim mengembalikan objek yang sama jika tidak ada yang berubah, sehingga teks
+     * yang sudah normal tidak disalin.
+     */
+    static String normalisasi(String teks) {
+        return teks.toLowerCase().trim();
+    }
+}
\ No newline at end of file
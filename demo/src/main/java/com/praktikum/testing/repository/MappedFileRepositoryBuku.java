@@ -0,0 +1,570 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku yang disimpan di file memory-mapped (FileChannel.map).
+ *
+ * Katalog bertahan setelah restart tanpa perlu deserialisasi penuh ke objek Buku di heap:
+ * saat dibuka hanya indeks ISBN -> slot yang dibangun, dan Buku di-decode saat diminta.
+ *
+ * Format file:
+ * - Header 512 byte: magic, versi, ukuran record, jumlah slot yang pernah dipakai,
+ *   nomor checkpoint jurnal transaksi (lihat CheckpointJurnal).
+ * - Record slot dengan lebar tetap 512 byte (lihat konstanta OFFSET_*). Teks disimpan
+ *   sebagai UTF-8 dengan prefix panjang; teks yang melebihi batas kolom ditolak oleh simpan().
+ * - File dipetakan per segmen sehingga bisa tumbuh melebihi batas 2 GB satu MappedByteBuffer.
+ *
+ * updateJumlahTersedia, kurangiJumlahTersedia, dan tambahJumlahTersedia hanya menulis
+ * field 4 byte jumlahTersedia di tempat, tanpa menulis ulang record.
+ *
+ * Konkurensi: perubahan struktur (slot baru, hapus) diserialisasi dengan satu lock,
+ * sedangkan akses isi record memakai lock ter-stripe per slot. Semuanya ReentrantLock,
+ * bukan monitor: page fault, map(), dan force() di dalamnya adalah I/O yang tidak boleh
+ * mem-pin virtual thread.
+ * cariByJudul/cariByPengarang memindai semua record (tidak ada indeks teks di file).
+ * Varian stream* men-decode record satu per satu saat dikonsumsi.
+ */
+public class MappedFileRepositoryBuku implements RepositoryBuku, CheckpointJurnal, Closeable {
+
+    static final int MAGIC = 0x42554B55; // "BUKU"
+    static final int VERSI = 1;
+
+    static final int UKURAN_HEADER = 512;
+    static final int UKURAN_RECORD = 512;
+
+    // Offset header
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSI = 4;
+    private static final int HEADER_UKURAN_RECORD = 8;
+    private static final int HEADER_JUMLAH_SLOT = 12;
+    private static final int HEADER_NOMOR_JURNAL = 16; // long; 0 pada file lama
+
+    // Offset dan batas kolom di dalam satu record
+    static final byte STATUS_KOSONG = 0;
+    static final byte STATUS_TERISI = 1;
+    private static final int OFFSET_STATUS = 0;
+    private static final int OFFSET_ISBN = 1;            // 1 byte panjang + isi
+    static final int MAKS_ISBN = 32;
+    private static final int OFFSET_JUDUL = 34;          // 2 byte panjang + isi
+    static final int MAKS_JUDUL = 300;
+    private static final int OFFSET_PENGARANG = 336;     // 2 byte panjang + isi
+    static final int MAKS_PENGARANG = 150;
+    private static final int OFFSET_JUMLAH_TOTAL = 488;
+    private static final int OFFSET_JUMLAH_TERSEDIA = 492;
+    private static final int OFFSET_HARGA = 496;
+
+    // Penanda teks null
+    private static final short PANJANG_NULL = -1;
+
+    private static final int JUMLAH_STRIPE = 64;
+    static final int SLOT_PER_SEGMEN_DEFAULT = 8192; // 4 MB per segmen
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int slotPerSegmen;
+
+    // Array segmen diganti (copy-on-write) saat file tumbuh
+    private volatile MappedByteBuffer[] segmen;
+
+    // key: ISBN, value: nomor slot
+    private final Map<String, Integer> indeksIsbn = new ConcurrentHashMap<>();
+    private final Deque<Integer> slotBebas = new ArrayDeque<>();
+    private final ReentrantLock kunciStruktur = new ReentrantLock();
+    private final ReentrantLock kunciCheckpoint = new ReentrantLock();
+    private final ReentrantLock[] kunciSlot = new ReentrantLock[JUMLAH_STRIPE];
+    private int jumlahSlot;
+    private volatile boolean ditutup;
+
+    /**
+     * Membuka file katalog (dibuat jika belum ada).
+     */
+    public MappedFileRepositoryBuku(Path file) throws IOException {
+        this(file, SLOT_PER_SEGMEN_DEFAULT);
+    }
+
+    MappedFileRepositoryBuku(Path file, int slotPerSegmen) throws IOException {
+        this.slotPerSegmen = slotPerSegmen;
+        for (int i = 0; i < JUMLAH_STRIPE; i++) {
+            kunciSlot[i] = new ReentrantLock();
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean fileBaru = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER);
+
+        if (fileBaru) {
+            header.putInt(HEADER_MAGIC, MAGIC);
+            header.putInt(HEADER_VERSI, VERSI);
+            header.putInt(HEADER_UKURAN_RECORD, UKURAN_RECORD);
+            header.putInt(HEADER_JUMLAH_SLOT, 0);
+            header.putLong(HEADER_NOMOR_JURNAL, 0);
+        } else if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_UKURAN_RECORD) != UKURAN_RECORD) {
+            channel.close();
+            throw new IOException("Bukan file katalog yang valid: " + file);
+        }
+
+        this.jumlahSlot = header.getInt(HEADER_JUMLAH_SLOT);
+        this.segmen = new MappedByteBuffer[0];
+        pastikanKapasitas(jumlahSlot);
+
+        // Bangun indeks ISBN -> slot; slot kosong masuk daftar slot bebas
+        for (int slot = 0; slot < jumlahSlot; slot++) {
+            if (buffer(slot).get(posisi(slot) + OFFSET_STATUS) == STATUS_TERISI) {
+                indeksIsbn.put(bacaIsbn(slot), slot);
+            } else {
+                slotBebas.push(slot);
+            }
+        }
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+        byte[] isbn = buku.getIsbn().getBytes(StandardCharsets.UTF_8);
+        byte[] judul = buku.getJudul() == null ? null : buku.getJudul().getBytes(StandardCharsets.UTF_8);
+        byte[] pengarang = buku.getPengarang() == null ? null : buku.getPengarang().getBytes(StandardCharsets.UTF_8);
+        if (isbn.length > MAKS_ISBN || (judul != null && judul.length > MAKS_JUDUL)
+                || (pengarang != null && pengarang.length > MAKS_PENGARANG)) {
+            return false; // tidak muat di slot dengan lebar tetap
+        }
+
+        kunciStruktur.lock();
+        try {
+            pastikanTerbuka();
+            Integer slotLama = indeksIsbn.get(buku.getIsbn());
+            int slot = slotLama != null ? slotLama : ambilSlotBaru();
+
+            ReentrantLock kunciRecord = kunciUntuk(slot);
+            kunciRecord.lock();
+            try {
+                MappedByteBuffer buf = buffer(slot);
+                int awal = posisi(slot);
+                buf.put(awal + OFFSET_ISBN, (byte) isbn.length);
+                tulisBytes(buf, awal + OFFSET_ISBN + 1, isbn);
+                tulisTeks(buf, awal + OFFSET_JUDUL, judul);
+                tulisTeks(buf, awal + OFFSET_PENGARANG, pengarang);
+                buf.putInt(awal + OFFSET_JUMLAH_TOTAL, buku.getJumlahTotal());
+                buf.putInt(awal + OFFSET_JUMLAH_TERSEDIA, buku.getJumlahTersedia());
+                buf.putDouble(awal + OFFSET_HARGA, buku.getHarga());
+                // Status ditulis terakhir agar record setengah jadi tidak terbaca sebagai terisi
+                buf.put(awal + OFFSET_STATUS, STATUS_TERISI);
+            } finally {
+                kunciRecord.unlock();
+            }
+            if (slotLama == null) {
+                indeksIsbn.put(buku.getIsbn(), slot);
+            }
+            return true;
+        } finally {
+            kunciStruktur.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+        pastikanTerbuka();
+
+        Integer slot = indeksIsbn.get(isbn);
+        return slot == null ? Optional.empty() : Optional.ofNullable(bacaBuku(slot, isbn));
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return streamByJudul(judul).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        kunciStruktur.lock();
+        try {
+            pastikanTerbuka();
+            Integer slot = indeksIsbn.remove(isbn);
+            if (slot == null) {
+                return false;
+            }
+            ReentrantLock kunciRecord = kunciUntuk(slot);
+            kunciRecord.lock();
+            try {
+                buffer(slot).put(posisi(slot) + OFFSET_STATUS, STATUS_KOSONG);
+            } finally {
+                kunciRecord.unlock();
+            }
+            slotBebas.push(slot);
+            return true;
+        } finally {
+            kunciStruktur.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null || jumlahTersediaBaru < 0) {
+            return false;
+        }
+        pastikanTerbuka();
+
+        Integer slot = indeksIsbn.get(isbn);
+        if (slot == null) {
+            return false;
+        }
+        ReentrantLock kunciRecord = kunciUntuk(slot);
+        kunciRecord.lock();
+        try {
+            MappedByteBuffer buf = buffer(slot);
+            int awal = posisi(slot);
+            if (!masihMilik(buf, awal, isbn) || jumlahTersediaBaru > buf.getInt(awal + OFFSET_JUMLAH_TOTAL)) {
+                return false;
+            }
+            // Tulis di tempat: hanya 4 byte
+            buf.putInt(awal + OFFSET_JUMLAH_TERSEDIA, jumlahTersediaBaru);
+            return true;
+        } finally {
+            kunciRecord.unlock();
+        }
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        pastikanTerbuka();
+
+        Integer slot = indeksIsbn.get(isbn);
+        if (slot == null) {
+            return false;
+        }
+        ReentrantLock kunciRecord = kunciUntuk(slot);
+        kunciRecord.lock();
+        try {
+            MappedByteBuffer buf = buffer(slot);
+            int awal = posisi(slot);
+            int sekarang = buf.getInt(awal + OFFSET_JUMLAH_TERSEDIA);
+            if (!masihMilik(buf, awal, isbn) || sekarang <= 0) {
+                return false;
+            }
+            buf.putInt(awal + OFFSET_JUMLAH_TERSEDIA, sekarang - 1);
+            return true;
+        } finally {
+            kunciRecord.unlock();
+        }
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        pastikanTerbuka();
+
+        Integer slot = indeksIsbn.get(isbn);
+        if (slot == null) {
+            return false;
+        }
+        ReentrantLock kunciRecord = kunciUntuk(slot);
+        kunciRecord.lock();
+        try {
+            MappedByteBuffer buf = buffer(slot);
+            int awal = posisi(slot);
+            int sekarang = buf.getInt(awal + OFFSET_JUMLAH_TERSEDIA);
+            if (!masihMilik(buf, awal, isbn) || sekarang >= buf.getInt(awal + OFFSET_JUMLAH_TOTAL)) {
+                return false;
+            }
+            buf.putInt(awal + OFFSET_JUMLAH_TERSEDIA, sekarang + 1);
+            return true;
+        } finally {
+            kunciRecord.unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        pastikanTerbuka();
+        List<Buku> hasil = new ArrayList<>(indeksIsbn.size());
+        for (Map.Entry<String, Integer> entri : indeksIsbn.entrySet()) {
+            Buku buku = bacaBuku(entri.getValue(), entri.getKey());
+            if (buku != null) {
+                hasil.add(buku);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        pastikanTerbuka();
+        return indeksIsbn.entrySet().stream()
+                .map(entri -> bacaBuku(entri.getValue(), entri.getKey()))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = judul.toLowerCase().trim();
+        return streamSemua().filter(buku -> buku.getJudul() != null
+                && buku.getJudul().toLowerCase().trim().contains(kunci));
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = pengarang.toLowerCase().trim();
+        return streamSemua().filter(buku -> buku.getPengarang() != null
+                && buku.getPengarang().toLowerCase().trim().contains(kunci));
+    }
+
+    /**
+     * Halaman dipilih dari kunci indeks ISBN saja (seleksi top-k), lalu hanya slot
+     * yang terpilih yang di-decode.
+     */
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        HalamanBuku.validasiBatas(batas);
+        pastikanTerbuka();
+        List<Map.Entry<String, Integer>> kandidat = HalamanBuku.pilihKandidat(indeksIsbn.entrySet().iterator(),
+                Map.Entry::getKey, tokenLanjutan, batas);
+        List<Buku> isi = new ArrayList<>(kandidat.size());
+        for (Map.Entry<String, Integer> entri : kandidat) {
+            Buku buku = bacaBuku(entri.getValue(), entri.getKey());
+            if (buku != null) {
+                isi.add(buku);
+            }
+        }
+        if (kandidat.size() > batas && isi.size() <= batas) {
+            // Ada slot terpilih yang dihapus di tengah jalan; halaman berikutnya tetap ada
+            String token = isi.isEmpty() ? kandidat.get(kandidat.size() - 1).getKey()
+                    : isi.get(isi.size() - 1).getIsbn();
+            return new HalamanBuku(isi, token);
+        }
+        return HalamanBuku.dari(isi, batas);
+    }
+
+    @Override
+    public long getNomorJurnal() {
+        kunciCheckpoint.lock();
+        try {
+            pastikanTerbuka();
+            return header.getLong(HEADER_NOMOR_JURNAL);
+        } finally {
+            kunciCheckpoint.unlock();
+        }
+    }
+
+    /**
+     * Ditulis ke header yang di-map, sehingga ikut tersimpan bersama stok pada flush()/close().
+     */
+    @Override
+    public void naikkanNomorJurnal(long nomor) {
+        kunciCheckpoint.lock();
+        try {
+            pastikanTerbuka();
+            if (nomor > header.getLong(HEADER_NOMOR_JURNAL)) {
+                header.putLong(HEADER_NOMOR_JURNAL, nomor);
+            }
+        } finally {
+            kunciCheckpoint.unlock();
+        }
+    }
+
+    /**
+     * Jumlah buku yang tersimpan.
+     */
+    public int ukuran() {
+        return indeksIsbn.size();
+    }
+
+    /**
+     * Memaksa semua perubahan ditulis ke disk.
+     */
+    public void flush() {
+        kunciStruktur.lock();
+        try {
+            pastikanTerbuka();
+            header.force();
+            for (MappedByteBuffer buf : segmen) {
+                buf.force();
+            }
+        } finally {
+            kunciStruktur.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunciStruktur.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            flush();
+            ditutup = true;
+            channel.close();
+        } finally {
+            kunciStruktur.unlock();
+        }
+    }
+
+    // --- Pengelolaan slot dan segmen ---
+
+    private int ambilSlotBaru() {
+        if (!slotBebas.isEmpty()) {
+            return slotBebas.pop();
+        }
+        int slot = jumlahSlot;
+        pastikanKapasitas(slot + 1);
+        jumlahSlot = slot + 1;
+        header.putInt(HEADER_JUMLAH_SLOT, jumlahSlot);
+        return slot;
+    }
+
+    private void pastikanKapasitas(int slotDibutuhkan) {
+        int segmenDibutuhkan = (slotDibutuhkan + slotPerSegmen - 1) / slotPerSegmen;
+        MappedByteBuffer[] lama = segmen;
+        if (segmenDibutuhkan <= lama.length) {
+            return;
+        }
+
+        MappedByteBuffer[] baru = new MappedByteBuffer[segmenDibutuhkan];
+        System.arraycopy(lama, 0, baru, 0, lama.length);
+        long ukuranSegmen = (long) slotPerSegmen * UKURAN_RECORD;
+        try {
+            for (int i = lama.length; i < segmenDibutuhkan; i++) {
+                // Memetakan di luar akhir file otomatis memperbesar file
+                baru[i] = channel.map(FileChannel.MapMode.READ_WRITE, UKURAN_HEADER + i * ukuranSegmen, ukuranSegmen);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal memperbesar file katalog", e);
+        }
+        segmen = baru;
+    }
+
+    private MappedByteBuffer buffer(int slot) {
+        return segmen[slot / slotPerSegmen];
+    }
+
+    private int posisi(int slot) {
+        return (slot % slotPerSegmen) * UKURAN_RECORD;
+    }
+
+    private ReentrantLock kunciUntuk(int slot) {
+        return kunciSlot[slot & (JUMLAH_STRIPE - 1)];
+    }
+
+    private void pastikanTerbuka() {
+        if (ditutup) {
+            throw new IllegalStateException("Repository sudah ditutup");
+        }
+    }
+
+    // --- Decode/encode record ---
+
+    /**
+     * Decode satu record menjadi Buku baru, atau null jika slot sudah tidak dimiliki ISBN ini
+     * (dihapus setelah indeks dibaca, lalu mungkin dipakai ulang oleh buku lain).
+     */
+    private Buku bacaBuku(int slot, String isbn) {
+        ReentrantLock kunciRecord = kunciUntuk(slot);
+        kunciRecord.lock();
+        try {
+            MappedByteBuffer buf = buffer(slot);
+            int awal = posisi(slot);
+            if (!masihMilik(buf, awal, isbn)) {
+                return null;
+            }
+            Buku buku = new Buku(isbn, bacaTeks(buf, awal + OFFSET_JUDUL),
+                    bacaTeks(buf, awal + OFFSET_PENGARANG), buf.getInt(awal + OFFSET_JUMLAH_TOTAL),
+                    buf.getDouble(awal + OFFSET_HARGA));
+            buku.setJumlahTersedia(buf.getInt(awal + OFFSET_JUMLAH_TERSEDIA));
+            return buku;
+        } finally {
+            kunciRecord.unlock();
+        }
+    }
+
+    private String bacaIsbn(int slot) {
+        return bacaIsbn(slot % slotPerSegmen, buffer(slot));
+    }
+
+    private static String bacaIsbn(int slotDalamSegmen, MappedByteBuffer buf) {
+        int awal = slotDalamSegmen * UKURAN_RECORD + OFFSET_ISBN;
+        return new String(bacaBytes(buf, awal + 1, buf.get(awal)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Memastikan slot masih terisi oleh ISBN yang sama (slot bisa dihapus lalu dipakai ulang).
+     */
+    private boolean masihMilik(MappedByteBuffer buf, int awal, String isbn) {
+        return buf.get(awal + OFFSET_STATUS) == STATUS_TERISI && isbn.equals(bacaIsbn(awal / UKURAN_RECORD, buf));
+    }
+
+    private static void tulisTeks(MappedByteBuffer buf, int posisi, byte[] teks) {
+        if (teks == null) {
+            buf.putShort(posisi, PANJANG_NULL);
+            return;
+        }
+        buf.putShort(posisi, (short) teks.length);
+        tulisBytes(buf, posisi + 2, teks);
+    }
+
+    private static String bacaTeks(MappedByteBuffer buf, int posisi) {
+        short panjang = buf.getShort(posisi);
+        if (panjang == PANJANG_NULL) {
+            return null;
+        }
+        return new String(bacaBytes(buf, posisi + 2, panjang), StandardCharsets.UTF_8);
+    }
+
+    private static void tulisBytes(MappedByteBuffer buf, int posisi, byte[] data) {
+        for (int i = 0; i < data.length; i++) {
+            buf.put(posisi + i, data[i]);
+        }
+    }
+
+    private static byte[] bacaBytes(MappedByteBuffer buf, int posisi, int panjang) {
+        byte[] data = new byte[panjang];
+        for (int i = 0; i < panjang; i++) {
+            data[i] = buf.get(posisi + i);
+        }
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku.EntriBuku;
+import com.praktikum.testing.util.KodeIsbn;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku yang dikunci dengan kode ISBN numerik (lihat KodeIsbn).
+ *
+ * - Setiap ISBN diubah sekali ke long kanonik, lalu disimpan di PetaIsbn (open addressing
+ *   long ke EntriBuku). Cari, kurangi, dan tambah stok tidak membuat objek sementara:
+ *   tidak ada boxing, tidak ada hashCode/equals String.
+ * - "978-0-306-40615-7", "9780306406157", dan ISBN-10 "0-306-40615-2" menunjuk ke entri
+ *   yang sama. Buku hasil pencarian membawa ISBN dalam bentuk yang terakhir disimpan.
+ * - Hanya ISBN 10 atau 13 digit yang diterima; simpan() dengan ISBN lain mengembalikan false.
+ * - Pencarian judul/pengarang adalah scan penuh atas kunci normal yang sudah disiapkan
+ *   saat simpan (KumpulanTeks); repository ini dioptimalkan untuk pencarian per ISBN.
+ */
+public class NumericIsbnRepositoryBuku implements RepositoryBuku {
+
+    private final PetaIsbn<EntriBuku> peta;
+    private final KumpulanTeks kumpulanTeks = new KumpulanTeks();
+
+    public NumericIsbnRepositoryBuku() {
+        this(16);
+    }
+
+    /**
+     * @param kapasitasAwal perkiraan jumlah buku, untuk menghindari resize saat pemuatan awal
+     */
+    public NumericIsbnRepositoryBuku(int kapasitasAwal) {
+        this.peta = new PetaIsbn<>(kapasitasAwal);
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null) {
+            return false;
+        }
+        long kode = KodeIsbn.kode(buku.getIsbn());
+        if (kode == KodeIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        // Simpan salinan; teks entri yang tergantikan dilepas dari kumpulan
+        EntriBuku lama = peta.put(kode, new EntriBuku(buku, kumpulanTeks));
+        if (lama != null) {
+            lepasTeks(lama);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        EntriBuku entri = peta.get(KodeIsbn.kode(isbn));
+        return entri == null ? Optional.empty() : Optional.of(entri.keBuku());
+    }
+
+    /**
+     * Mengecek keberadaan buku tanpa membuat salinan Buku.
+     */
+    public boolean ada(String isbn) {
+        return peta.get(KodeIsbn.kode(isbn)) != null;
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return streamByJudul(judul).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = kumpulanTeks.normalKunci(judul);
+        return cariCocok(entri -> entri.judul.normal.contains(kunci));
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kunci = kumpulanTeks.normalKunci(pengarang);
+        return cariCocok(entri -> entri.pengarang.normal.contains(kunci));
+    }
+
+    private Stream<Buku> cariCocok(Predicate<EntriBuku> cocok) {
+        return peta.nilai().stream().filter(cocok).map(EntriBuku::keBuku);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        EntriBuku lama = peta.remove(KodeIsbn.kode(isbn));
+        if (lama == null) {
+            return false;
+        }
+        lepasTeks(lama);
+        return true;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (jumlahTersediaBaru < 0) {
+            return false;
+        }
+        EntriBuku entri = peta.get(KodeIsbn.kode(isbn));
+        if (entri == null || jumlahTersediaBaru > entri.jumlahTotal) {
+            return false;
+        }
+        entri.jumlahTersedia = jumlahTersediaBaru;
+        return true;
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        EntriBuku entri = peta.get(KodeIsbn.kode(isbn));
+        return entri != null && entri.kurangiJikaAda();
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        EntriBuku entri = peta.get(KodeIsbn.kode(isbn));
+        return entri != null && entri.tambahJikaBelumPenuh();
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        List<EntriBuku> semua = peta.nilai();
+        List<Buku> hasil = new ArrayList<>(semua.size());
+        for (EntriBuku entri : semua) {
+            hasil.add(entri.keBuku());
+        }
+        return hasil;
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return peta.nilai().stream().map(EntriBuku::keBuku);
+    }
+
+    /**
+     * Jumlah buku yang tersimpan.
+     */
+    public int ukuran() {
+        return peta.size();
+    }
+
+    private void lepasTeks(EntriBuku entri) {
+        kumpulanTeks.lepas(entri.judul);
+        kumpulanTeks.lepas(entri.pengarang);
+    }
+}
\ No newline at end of file
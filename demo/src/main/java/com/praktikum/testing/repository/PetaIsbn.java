@@ -0,0 +1,256 @@
+package com.praktikum.testing.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Map open addressing dari kode ISBN (long, lihat KodeIsbn) ke nilai.
+ *
+ * - Kunci disimpan di long[] dan nilai di Object[] paralel: tidak ada boxing, tidak ada
+ *   objek entri, dan pencarian hanya membandingkan long (tanpa hashCode/equals String).
+ * - Linear probing dengan kapasitas pangkat dua dan hapus dengan backward shift, sehingga
+ *   tidak ada tombstone dan rantai probing tetap pendek setelah banyak penghapusan.
+ * - Baca memakai optimistic read StampedLock (tanpa lock dan tanpa alokasi pada jalur umum);
+ *   tulis memegang write lock. Cocok untuk katalog yang jauh lebih sering dibaca daripada ditulis.
+ */
+final class PetaIsbn<V> {
+
+    private static final long KOSONG = -1L;
+    private static final int KAPASITAS_MIN = 16;
+
+    /**
+     * Pasangan array kunci dan nilai, diganti utuh saat resize agar pembaca
+     * optimistic tidak pernah melihat array dengan panjang berbeda.
+     */
+    private static final class Tabel {
+        final long[] kunci;
+        final Object[] nilai;
+        final int mask;
+        final int ambangResize;
+
+        Tabel(int kapasitas) {
+            this.kunci = new long[kapasitas];
+            Arrays.fill(kunci, KOSONG);
+            this.nilai = new Object[kapasitas];
+            this.mask = kapasitas - 1;
+            // Faktor muat maksimum 2/3
+            this.ambangResize = kapasitas / 3 * 2;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Tabel tabel;
+    private int ukuran;
+
+    PetaIsbn() {
+        this(KAPASITAS_MIN);
+    }
+
+    PetaIsbn(int perkiraanUkuran) {
+        this.tabel = new Tabel(kapasitasUntuk(perkiraanUkuran));
+    }
+
+    /**
+     * Mengambil nilai untuk kode; null jika tidak ada.
+     */
+    V get(long kode) {
+        if (kode < 0) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        V hasil = cari(tabel, kode);
+        if (!lock.validate(stamp)) {
+            // Ada penulis di tengah pembacaan: ulangi dengan read lock
+            stamp = lock.readLock();
+            try {
+                hasil = cari(tabel, kode);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Menyimpan nilai untuk kode.
+     * @return nilai lama, atau null jika kode belum ada
+     */
+    V put(long kode, V nilaiBaru) {
+        validasiKode(kode);
+        if (nilaiBaru == null) {
+            throw new IllegalArgumentException("Nilai tidak boleh null!");
+        }
+        long stamp = lock.writeLock();
+        try {
+            Tabel t = tabel;
+            int i = slotAwal(kode, t.mask);
+            while (t.kunci[i] != KOSONG) {
+                if (t.kunci[i] == kode) {
+                    @SuppressWarnings("unchecked")
+                    V lama = (V) t.nilai[i];
+                    t.nilai[i] = nilaiBaru;
+                    return lama;
+                }
+                i = (i + 1) & t.mask;
+            }
+            t.kunci[i] = kode;
+            t.nilai[i] = nilaiBaru;
+            if (++ukuran > t.ambangResize) {
+                resize(t);
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Menghapus kode.
+     * @return nilai yang dihapus, atau null jika kode tidak ada
+     */
+    V remove(long kode) {
+        if (kode < 0) {
+            return null;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Tabel t = tabel;
+            int i = slotAwal(kode, t.mask);
+            while (t.kunci[i] != kode) {
+                if (t.kunci[i] == KOSONG) {
+                    return null;
+                }
+                i = (i + 1) & t.mask;
+            }
+            @SuppressWarnings("unchecked")
+            V lama = (V) t.nilai[i];
+            geserMundur(t, i);
+            ukuran--;
+            return lama;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return ukuran;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Salinan semua nilai (urutan tidak ditentukan).
+     */
+    List<V> nilai() {
+        long stamp = lock.readLock();
+        try {
+            Tabel t = tabel;
+            List<V> hasil = new ArrayList<>(ukuran);
+            for (int i = 0; i < t.kunci.length; i++) {
+                if (t.kunci[i] != KOSONG) {
+                    @SuppressWarnings("unchecked")
+                    V v = (V) t.nilai[i];
+                    hasil.add(v);
+                }
+            }
+            return hasil;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Pencarian linear probing. Dipanggil juga tanpa lock (optimistic), jadi jumlah
+     * langkah dibatasi kapasitas agar tidak berputar selamanya saat tabel sedang diubah.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V cari(Tabel t, long kode) {
+        int i = slotAwal(kode, t.mask);
+        for (int langkah = 0; langkah <= t.mask; langkah++) {
+            long k = t.kunci[i];
+            if (k == kode) {
+                return (V) t.nilai[i];
+            }
+            if (k == KOSONG) {
+                return null;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Hapus tanpa tombstone: entri sesudah slot kosong digeser mundur jika slot awalnya
+     * tidak berada di antara slot kosong dan posisinya sekarang.
+     */
+    private static void geserMundur(Tabel t, int kosong) {
+        int i = kosong;
+        for (;;) {
+            i = (i + 1) & t.mask;
+            long k = t.kunci[i];
+            if (k == KOSONG) {
+                break;
+            }
+            int awal = slotAwal(k, t.mask);
+            // Jarak probing dari slot awal ke posisi sekarang vs ke slot kosong
+            if (((i - awal) & t.mask) >= ((i - kosong) & t.mask)) {
+                t.kunci[kosong] = k;
+                t.nilai[kosong] = t.nilai[i];
+                kosong = i;
+            }
+        }
+        t.kunci[kosong] = KOSONG;
+        t.nilai[kosong] = null;
+    }
+
+    private void resize(Tabel lama) {
+        Tabel baru = new Tabel(lama.kunci.length * 2);
+        for (int i = 0; i < lama.kunci.length; i++) {
+            long k = lama.kunci[i];
+            if (k != KOSONG) {
+                int j = slotAwal(k, baru.mask);
+                while (baru.kunci[j] != KOSONG) {
+                    j = (j + 1) & baru.mask;
+                }
+                baru.kunci[j] = k;
+                baru.nilai[j] = lama.nilai[i];
+            }
+        }
+        tabel = baru;
+    }
+
+    private static int slotAwal(long kode, int mask) {
+        return sebar(kode) & mask;
+    }
+
+    /**
+     * Hash kode yang tersebar merata. Kode ISBN berurutan sangat rapat di digit terakhir,
+     * jadi bit dicampur dulu (finalizer murmur3). Dipakai juga untuk memilih shard.
+     */
+    static int sebar(long kode) {
+        long h = kode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int kapasitasUntuk(int perkiraanUkuran) {
+        int kapasitas = KAPASITAS_MIN;
+        while (kapasitas / 3 * 2 < perkiraanUkuran) {
+            kapasitas <<= 1;
+        }
+        return kapasitas;
+    }
+
+    private static void validasiKode(long kode) {
+        if (kode < 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+    }
+}
\ No newline at end of file
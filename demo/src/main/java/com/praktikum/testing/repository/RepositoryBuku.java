@@ -1,8 +1,13 @@
 package com.praktikum.testing.repository;
 
 import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RepositoryBuku {
 
@@ -49,9 +54,101 @@ public interface RepositoryBuku {
      */
     boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
 
+    /**
+     * Mengurangi stok tersedia sebanyak 1 secara atomik, hanya jika stok masih > 0.
+     * Pengecekan dan pengurangan terjadi dalam satu operasi, sehingga peminjam yang
+     * bersamaan tidak bisa meminjam melebihi jumlah salinan.
+     * @param isbn ISBN Buku
+     * @return true jika satu salinan berhasil dipesan, false jika buku tidak ditemukan atau stok habis
+     */
+    boolean kurangiJumlahTersedia(String isbn);
+
+    /**
+     * Menambah stok tersedia sebanyak 1 secara atomik, hanya jika stok masih < jumlah total.
+     * @param isbn ISBN Buku
+     * @return true jika satu salinan berhasil dilepas, false jika buku tidak ditemukan atau stok sudah penuh
+     */
+    boolean tambahJumlahTersedia(String isbn);
+
     /**
      * Mengambil semua objek Buku yang ada.
      * @return List<Buku> semua buku
      */
     List<Buku> cariSemua();
+
+    // --- Operasi Batch ---
+    // Implementasi default memanggil operasi tunggal satu per satu; implementasi yang
+    // bisa menggabungkan banyak operasi dalam satu round trip sebaiknya meng-override.
+
+    /**
+     * Menyimpan banyak Buku sekaligus.
+     * @param daftarBuku daftar Buku yang akan disimpan
+     * @return hasil simpan per item, urutannya sama dengan daftarBuku
+     */
+    default List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        List<Boolean> hasil = new ArrayList<>(daftarBuku.size());
+        for (Buku buku : daftarBuku) {
+            hasil.add(simpan(buku));
+        }
+        return hasil;
+    }
+
+    /**
+     * Mencari banyak Buku sekaligus berdasarkan ISBN (multi-get).
+     * @param daftarIsbn kumpulan ISBN yang dicari
+     * @return Map<String, Buku> berisi ISBN yang ditemukan saja
+     */
+    default Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        Map<String, Buku> hasil = new HashMap<>();
+        for (String isbn : daftarIsbn) {
+            cariByIsbn(isbn).ifPresent(buku -> hasil.put(isbn, buku));
+        }
+        return hasil;
+    }
+
+    // --- Operasi Streaming ---
+    // Implementasi default membungkus hasil List (tidak lazy); implementasi yang bisa
+    // menghasilkan Buku satu per satu sebaiknya meng-override agar memori tetap konstan.
+
+    /**
+     * Stream semua Buku. Stream bisa dijadikan parallel oleh pemanggil.
+     * @return Stream<Buku> semua buku (urutan tidak dijamin)
+     */
+    default Stream<Buku> streamSemua() {
+        return cariSemua().stream();
+    }
+
+    /**
+     * Stream Buku yang judulnya mengandung kata kunci, dengan aturan yang sama seperti cariByJudul.
+     * @param judul Judul Buku
+     * @return Stream<Buku> yang sesuai
+     */
+    default Stream<Buku> streamByJudul(String judul) {
+        return cariByJudul(judul).stream();
+    }
+
+    /**
+     * Stream Buku yang pengarangnya mengandung kata kunci, dengan aturan yang sama seperti cariByPengarang.
+     * @param pengarang Nama Pengarang
+     * @return Stream<Buku> yang sesuai
+     */
+    default Stream<Buku> streamByPengarang(String pengarang) {
+        return cariByPengarang(pengarang).stream();
+    }
+
+    /**
+     * Mengambil satu halaman katalog terurut menurut ISBN (paginasi keyset).
+     * Implementasi default memindai streamSemua sekali dengan seleksi top-k berukuran batas + 1
+     * (memori per halaman tetap); implementasi dengan indeks terurut sebaiknya meng-override.
+     * @param tokenLanjutan token dari halaman sebelumnya, atau null untuk halaman pertama
+     * @param batas jumlah maksimum Buku per halaman (harus positif)
+     * @return HalamanBuku berisi paling banyak batas Buku
+     */
+    default HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        HalamanBuku.validasiBatas(batas);
+        try (Stream<Buku> semua = streamSemua()) {
+            return HalamanBuku.dari(HalamanBuku.pilihKandidat(semua.iterator(), Buku::getIsbn, tokenLanjutan,
+                    batas), batas);
+        }
+    }
 }
\ No newline at end of file
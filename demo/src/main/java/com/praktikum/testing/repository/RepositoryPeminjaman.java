@@ -0,0 +1,74 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface RepositoryPeminjaman {
+
+    /**
+     * Menyimpan Peminjaman baru atau memperbarui yang sudah ada (berdasarkan idPeminjaman).
+     * @param peminjaman objek Peminjaman yang akan disimpan
+     * @return true jika operasi berhasil
+     */
+    boolean simpan(Peminjaman peminjaman);
+
+    /**
+     * Mencari Peminjaman berdasarkan ID.
+     * @param idPeminjaman ID Peminjaman
+     * @return Optional<Peminjaman> jika ditemukan, Optional.empty() jika tidak
+     */
+    Optional<Peminjaman> cariById(String idPeminjaman);
+
+    /**
+     * Mencari semua Peminjaman (aktif maupun sudah dikembalikan) milik satu anggota.
+     * @param idAnggota ID Anggota
+     * @return List<Peminjaman> yang sesuai
+     */
+    List<Peminjaman> cariByAnggota(String idAnggota);
+
+    /**
+     * Mencari semua Peminjaman (aktif maupun sudah dikembalikan) untuk satu buku.
+     * @param isbnBuku ISBN Buku
+     * @return List<Peminjaman> yang sesuai
+     */
+    List<Peminjaman> cariByIsbn(String isbnBuku);
+
+    /**
+     * Mencari peminjaman yang masih aktif (belum dikembalikan) untuk pasangan anggota dan buku.
+     * @param idAnggota ID Anggota
+     * @param isbnBuku ISBN Buku
+     * @return Optional<Peminjaman> jika ada peminjaman aktif
+     */
+    Optional<Peminjaman> cariAktif(String idAnggota, String isbnBuku);
+
+    /**
+     * Mencari semua peminjaman yang belum dikembalikan dan sudah lewat jatuh tempo
+     * pada tanggal acuan (tanggalJatuhTempo sebelum tanggalAcuan).
+     * @param tanggalAcuan tanggal yang dianggap "hari ini"
+     * @return List<Peminjaman> terurut dari jatuh tempo paling lama
+     */
+    List<Peminjaman> cariTerlambat(LocalDate tanggalAcuan);
+
+    /**
+     * Menandai peminjaman sudah dikembalikan.
+     * @param idPeminjaman ID Peminjaman
+     * @param tanggalKembali tanggal pengembalian
+     * @return true jika berhasil, false jika tidak ditemukan atau sudah dikembalikan
+     */
+    boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali);
+
+    /**
+     * Menghapus Peminjaman berdasarkan ID.
+     * @param idPeminjaman ID Peminjaman yang akan dihapus
+     * @return true jika berhasil dihapus
+     */
+    boolean hapus(String idPeminjaman);
+
+    /**
+     * Mengambil semua objek Peminjaman yang ada.
+     * @return List<Peminjaman> semua peminjaman
+     */
+    List<Peminjaman> cariSemua();
+}
\ No newline at end of file
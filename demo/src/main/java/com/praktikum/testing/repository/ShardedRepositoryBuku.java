@@ -0,0 +1,277 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.KodeIsbn;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * RepositoryBuku yang membagi katalog ke N shard independen berdasarkan hash ISBN.
+ *
+ * - Setiap shard adalah RepositoryBuku tersendiri dengan lock dan memorinya sendiri,
+ *   sehingga penulis dan pembaca di shard berbeda tidak pernah berebut struktur yang sama.
+ * - Operasi per ISBN (simpan, cariByIsbn, hapus, operasi stok) diarahkan ke tepat satu shard.
+ *   Hash dihitung dari kode ISBN kanonik (KodeIsbn) jika ISBN valid, sehingga bentuk
+ *   bertanda hubung dan polos selalu jatuh ke shard yang sama; ISBN lain memakai hashCode.
+ * - cariByJudul, cariByPengarang, cariSemua, operasi batch, dan paginasi dikerjakan
+ *   di semua shard secara paralel (ForkJoinPool), lalu hasilnya digabung. Thread pemanggil
+ *   ikut mengerjakan shard pertama.
+ * - Varian stream* menggabungkan stream lazy tiap shard secara berurutan.
+ */
+public class ShardedRepositoryBuku implements RepositoryBuku {
+
+    private final List<RepositoryBuku> shard;
+    private final ForkJoinPool pool;
+
+    /**
+     * Membuat repository dengan jumlahShard InMemoryRepositoryBuku.
+     */
+    public ShardedRepositoryBuku(int jumlahShard) {
+        this(jumlahShard, InMemoryRepositoryBuku::new);
+    }
+
+    /**
+     * @param jumlahShard jumlah shard (positif)
+     * @param pembuatShard pembuat satu shard baru
+     */
+    public ShardedRepositoryBuku(int jumlahShard, Supplier<? extends RepositoryBuku> pembuatShard) {
+        this(buatShard(jumlahShard, pembuatShard), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param shard daftar shard; urutannya menentukan pembagian ISBN dan tidak boleh berubah
+     *              selama data masih tersimpan
+     * @param pool pool untuk operasi fan-out
+     */
+    public ShardedRepositoryBuku(List<? extends RepositoryBuku> shard, ForkJoinPool pool) {
+        if (shard == null || shard.isEmpty()) {
+            throw new IllegalArgumentException("Daftar shard tidak boleh kosong");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool tidak boleh null");
+        }
+        for (RepositoryBuku s : shard) {
+            if (s == null) {
+                throw new IllegalArgumentException("Shard tidak boleh null");
+            }
+        }
+        this.shard = Collections.unmodifiableList(new ArrayList<>(shard));
+        this.pool = pool;
+    }
+
+    private static List<RepositoryBuku> buatShard(int jumlahShard, Supplier<? extends RepositoryBuku> pembuatShard) {
+        if (jumlahShard <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus positif");
+        }
+        if (pembuatShard == null) {
+            throw new IllegalArgumentException("Pembuat shard tidak boleh null");
+        }
+        List<RepositoryBuku> hasil = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            hasil.add(pembuatShard.get());
+        }
+        return hasil;
+    }
+
+    // --- Operasi satu shard ---
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null) {
+            return false;
+        }
+        return shardUntuk(buku.getIsbn()).simpan(buku);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return shardUntuk(isbn).cariByIsbn(isbn);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        return shardUntuk(isbn).hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return shardUntuk(isbn).updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        return shardUntuk(isbn).kurangiJumlahTersedia(isbn);
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        return shardUntuk(isbn).tambahJumlahTersedia(isbn);
+    }
+
+    // --- Operasi fan-out ---
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return gabung(keSemuaShard(s -> s.cariByJudul(judul)));
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return gabung(keSemuaShard(s -> s.cariByPengarang(pengarang)));
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return gabung(keSemuaShard(RepositoryBuku::cariSemua));
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        // 1. Kelompokkan posisi item per shard
+        int[] shardItem = new int[daftarBuku.size()];
+        List<List<Buku>> bagian = bagianKosong();
+        for (int i = 0; i < daftarBuku.size(); i++) {
+            Buku buku = daftarBuku.get(i);
+            shardItem[i] = buku == null ? 0 : indeksShard(buku.getIsbn());
+            bagian.get(shardItem[i]).add(buku);
+        }
+
+        // 2. Simpan paralel per shard
+        List<List<Boolean>> hasilShard = keSemuaShardIndeks(i -> bagian.get(i).isEmpty()
+                ? Collections.<Boolean>emptyList() : shard.get(i).simpanBatch(bagian.get(i)));
+
+        // 3. Kembalikan hasil ke urutan masukan
+        int[] posisi = new int[shard.size()];
+        Boolean[] hasil = new Boolean[daftarBuku.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = hasilShard.get(shardItem[i]).get(posisi[shardItem[i]]++);
+        }
+        return Arrays.asList(hasil);
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        List<List<String>> bagian = bagianKosong();
+        for (String isbn : daftarIsbn) {
+            bagian.get(indeksShard(isbn)).add(isbn);
+        }
+
+        List<Map<String, Buku>> hasilShard = keSemuaShardIndeks(i -> bagian.get(i).isEmpty()
+                ? Collections.<String, Buku>emptyMap() : shard.get(i).cariByIsbnBatch(bagian.get(i)));
+        Map<String, Buku> hasil = new HashMap<>(daftarIsbn.size() * 4 / 3 + 1);
+        for (Map<String, Buku> m : hasilShard) {
+            hasil.putAll(m);
+        }
+        return hasil;
+    }
+
+    @Override
+    public HalamanBuku cariSemuaPerHalaman(String tokenLanjutan, int batas) {
+        HalamanBuku.validasiBatas(batas);
+        // Setiap shard diminta satu buku lebih, agar ada-tidaknya halaman berikutnya bisa diketahui
+        // dari gabungan: batas + 1 buku terkecil gabungan pasti ada di antara hasil shard.
+        int batasShard = batas == Integer.MAX_VALUE ? batas : batas + 1;
+        List<HalamanBuku> halaman = keSemuaShard(s -> s.cariSemuaPerHalaman(tokenLanjutan, batasShard));
+
+        List<Buku> kandidat = new ArrayList<>();
+        for (HalamanBuku h : halaman) {
+            kandidat.addAll(h.getIsi());
+        }
+        kandidat.sort(Comparator.comparing(Buku::getIsbn));
+        if (kandidat.size() > batasShard) {
+            kandidat = kandidat.subList(0, batasShard);
+        }
+        return HalamanBuku.dari(kandidat, batas);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return shard.stream().flatMap(RepositoryBuku::streamSemua);
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return shard.stream().flatMap(s -> s.streamByJudul(judul));
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return shard.stream().flatMap(s -> s.streamByPengarang(pengarang));
+    }
+
+    public int getJumlahShard() {
+        return shard.size();
+    }
+
+    /**
+     * Shard yang memegang ISBN ini.
+     */
+    RepositoryBuku shardUntuk(String isbn) {
+        return shard.get(indeksShard(isbn));
+    }
+
+    int indeksShard(String isbn) {
+        if (isbn == null) {
+            return 0;
+        }
+        long kode = KodeIsbn.kode(isbn);
+        int hash = kode != KodeIsbn.TIDAK_VALID ? PetaIsbn.sebar(kode) : PetaIsbn.sebar(isbn.hashCode());
+        return Math.floorMod(hash, shard.size());
+    }
+
+    /**
+     * Menjalankan operasi di semua shard secara paralel.
+     * @return hasil per shard, urut sesuai indeks shard
+     */
+    private <T> List<T> keSemuaShard(Function<RepositoryBuku, T> operasi) {
+        return keSemuaShardIndeks(i -> operasi.apply(shard.get(i)));
+    }
+
+    private <T> List<T> keSemuaShardIndeks(Function<Integer, T> operasi) {
+        int n = shard.size();
+        List<ForkJoinTask<T>> tugas = new ArrayList<>(n - 1);
+        for (int i = 1; i < n; i++) {
+            int indeks = i;
+            tugas.add(pool.submit(() -> operasi.apply(indeks)));
+        }
+
+        List<T> hasil = new ArrayList<>(n);
+        hasil.add(operasi.apply(0));
+        for (ForkJoinTask<T> t : tugas) {
+            hasil.add(t.join());
+        }
+        return hasil;
+    }
+
+    private <T> List<List<T>> bagianKosong() {
+        List<List<T>> bagian = new ArrayList<>(shard.size());
+        for (int i = 0; i < shard.size(); i++) {
+            bagian.add(new ArrayList<>());
+        }
+        return bagian;
+    }
+
+    private static List<Buku> gabung(List<List<Buku>> perShard) {
+        int total = 0;
+        for (List<Buku> daftar : perShard) {
+            total += daftar.size();
+        }
+        List<Buku> hasil = new ArrayList<>(total);
+        for (List<Buku> daftar : perShard) {
+            hasil.addAll(daftar);
+        }
+        return hasil;
+    }
+}
\ No newline at end of file
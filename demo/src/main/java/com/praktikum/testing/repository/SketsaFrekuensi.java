@@ -0,0 +1,80 @@
+package com.praktikum.testing.repository;
+
+/**
+ * Sketsa Count-Min untuk memperkirakan frekuensi akses kunci (dipakai CachingRepositoryBuku).
+ *
+ * Empat baris counter, setiap counter dibatasi 15 (seperti counter 4-bit pada TinyLFU).
+ * Setelah jumlah sampel mencapai 10x kapasitas cache, semua counter dibagi dua agar
+ * kunci yang dulu populer tetapi sudah tidak diakses bisa tergeser (aging).
+ *
+ * Tidak thread-safe; pemanggil harus memegang lock.
+ */
+final class SketsaFrekuensi {
+
+    static final int FREKUENSI_MAKS = 15;
+
+    private static final int[] BENIH = {0x97cb3127, 0x9e3779b9, 0x85ebca6b, 0xc2b2ae35};
+
+    private final byte[][] tabel;
+    private final int mask;
+    private final int batasSampel;
+    private int jumlahSampel;
+
+    SketsaFrekuensi(int kapasitas) {
+        int lebar = Integer.highestOneBit(Math.max(16, kapasitas - 1)) << 1;
+        this.tabel = new byte[BENIH.length][lebar];
+        this.mask = lebar - 1;
+        this.batasSampel = 10 * Math.max(1, kapasitas);
+    }
+
+    /**
+     * Mencatat satu akses untuk kunci.
+     */
+    void tambah(String kunci) {
+        int hash = sebar(kunci.hashCode());
+        boolean naik = false;
+        for (int i = 0; i < BENIH.length; i++) {
+            int indeks = indeks(hash, i);
+            if (tabel[i][indeks] < FREKUENSI_MAKS) {
+                tabel[i][indeks]++;
+                naik = true;
+            }
+        }
+        if (naik && ++jumlahSampel >= batasSampel) {
+            paruh();
+        }
+    }
+
+    /**
+     * Perkiraan frekuensi akses kunci (batas atas, tidak pernah lebih kecil dari sebenarnya
+     * sejak aging terakhir).
+     */
+    int frekuensi(String kunci) {
+        int hash = sebar(kunci.hashCode());
+        int minimum = FREKUENSI_MAKS;
+        for (int i = 0; i < BENIH.length; i++) {
+            minimum = Math.min(minimum, tabel[i][indeks(hash, i)]);
+        }
+        return minimum;
+    }
+
+    private void paruh() {
+        for (byte[] baris : tabel) {
+            for (int j = 0; j < baris.length; j++) {
+                baris[j] = (byte) (baris[j] >> 1);
+            }
+        }
+        jumlahSampel /= 2;
+    }
+
+    private int indeks(int hash, int baris) {
+        int h = hash * BENIH[baris];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int sebar(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        return h ^ (h >>> 16);
+    }
+}
\ No newline at end of file
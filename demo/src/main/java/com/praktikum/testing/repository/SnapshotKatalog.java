@@ -0,0 +1,461 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.KodeIsbn;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Snapshot biner katalog untuk memuat isi RepositoryBuku dengan cepat saat startup.
+ *
+ * Format file (semua angka big-endian):
+ * - Header 64 byte: magic, versi, jumlah Buku, jumlah segmen, jumlah pengarang,
+ *   offset kamus pengarang, offset daftar segmen, offset indeks ISBN.
+ * - Segmen Buku, masing-masing paling banyak bukuPerSegmen record, terurut menurut kunci ISBN.
+ *   Record: ISBN dan judul sebagai UTF-8 dengan prefix panjang 2 byte (0xFFFF = null),
+ *   id pengarang 4 byte (-1 = null), jumlahTotal, jumlahTersedia, harga.
+ * - Kamus pengarang: setiap nama unik sekali, UTF-8 dengan prefix panjang 2 byte.
+ *   Record hanya menyimpan id-nya, dan Buku hasil muat berbagi objek String yang sama.
+ * - Daftar segmen: offset, panjang byte, dan jumlah Buku per segmen.
+ * - Indeks ISBN: (kunci, offset record, panjang record) terurut menurut kunci, sehingga
+ *   cariByIsbn bisa menjawab dengan binary search tanpa memuat seluruh snapshot.
+ *
+ * Memuat membaca setiap segmen dengan satu read posisional (FileChannel.read), dan segmen
+ * berbeda di-decode serta disimpan ke repository tujuan secara paralel.
+ */
+public final class SnapshotKatalog implements Closeable {
+
+    static final int MAGIC = 0x4B41544C; // "KATL"
+    static final int VERSI = 1;
+
+    static final int UKURAN_HEADER = 64;
+    static final int BUKU_PER_SEGMEN_DEFAULT = 65_536;
+
+    // Offset header
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSI = 4;
+    private static final int HEADER_JUMLAH_BUKU = 8;
+    private static final int HEADER_JUMLAH_SEGMEN = 16;
+    private static final int HEADER_JUMLAH_PENGARANG = 20;
+    private static final int HEADER_OFFSET_KAMUS = 24;
+    private static final int HEADER_OFFSET_SEGMEN = 32;
+    private static final int HEADER_OFFSET_INDEKS = 40;
+
+    private static final int UKURAN_ENTRI_SEGMEN = 16;  // offset, panjang, jumlah Buku
+    private static final int UKURAN_ENTRI_INDEKS = 20;  // kunci, offset, panjang
+    private static final int PANJANG_NULL = 0xFFFF;
+    private static final int MAKS_TEKS = 0xFFFE;
+    private static final int UKURAN_BUFFER_TULIS = 1 << 20;
+
+    // ISBN yang bukan ISBN-10/13 memakai ruang kunci sendiri (kode KodeIsbn < 2^61)
+    private static final long PENANDA_KUNCI_HASH = 1L << 62;
+
+    private final FileChannel channel;
+    private final int jumlahBuku;
+    private final String[] kamusPengarang;
+    private final long[] offsetSegmen;
+    private final int[] panjangSegmen;
+    private final int[] jumlahBukuSegmen;
+    private final MappedByteBuffer indeks;
+
+    private SnapshotKatalog(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        // 1. Header
+        ByteBuffer header = bacaPenuh(0, UKURAN_HEADER);
+        if (header.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Bukan file snapshot katalog");
+        }
+        if (header.getInt(HEADER_VERSI) != VERSI) {
+            throw new IOException("Versi snapshot tidak didukung: " + header.getInt(HEADER_VERSI));
+        }
+        long jumlah = header.getLong(HEADER_JUMLAH_BUKU);
+        int jumlahSegmen = header.getInt(HEADER_JUMLAH_SEGMEN);
+        int jumlahPengarang = header.getInt(HEADER_JUMLAH_PENGARANG);
+        long offsetKamus = header.getLong(HEADER_OFFSET_KAMUS);
+        long offsetDaftarSegmen = header.getLong(HEADER_OFFSET_SEGMEN);
+        long offsetIndeks = header.getLong(HEADER_OFFSET_INDEKS);
+        if (jumlah < 0 || jumlah * UKURAN_ENTRI_INDEKS > Integer.MAX_VALUE || jumlahSegmen < 0
+                || jumlahPengarang < 0 || offsetIndeks + jumlah * UKURAN_ENTRI_INDEKS != channel.size()) {
+            throw new IOException("Header snapshot rusak");
+        }
+        this.jumlahBuku = (int) jumlah;
+
+        // 2. Kamus pengarang
+        ByteBuffer kamus = bacaPenuh(offsetKamus, (int) (offsetDaftarSegmen - offsetKamus));
+        this.kamusPengarang = new String[jumlahPengarang];
+        for (int i = 0; i < jumlahPengarang; i++) {
+            kamusPengarang[i] = bacaTeks(kamus);
+        }
+
+        // 3. Daftar segmen
+        ByteBuffer daftar = bacaPenuh(offsetDaftarSegmen, jumlahSegmen * UKURAN_ENTRI_SEGMEN);
+        this.offsetSegmen = new long[jumlahSegmen];
+        this.panjangSegmen = new int[jumlahSegmen];
+        this.jumlahBukuSegmen = new int[jumlahSegmen];
+        for (int i = 0; i < jumlahSegmen; i++) {
+            offsetSegmen[i] = daftar.getLong();
+            panjangSegmen[i] = daftar.getInt();
+            jumlahBukuSegmen[i] = daftar.getInt();
+        }
+
+        // 4. Indeks ISBN dipetakan, bukan dibaca, agar cariByIsbn hanya menyentuh halaman yang perlu
+        this.indeks = channel.map(FileChannel.MapMode.READ_ONLY, offsetIndeks, (long) jumlahBuku * UKURAN_ENTRI_INDEKS);
+    }
+
+    /**
+     * Membuka snapshot untuk dibaca. Hanya header, kamus pengarang, dan daftar segmen yang dibaca.
+     */
+    public static SnapshotKatalog buka(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new SnapshotKatalog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Menulis seluruh isi repository ke file snapshot. File ditulis ke file sementara lalu
+     * dipindahkan, sehingga snapshot lama tetap utuh jika penulisan gagal.
+     * @return jumlah Buku yang ditulis
+     */
+    public static long tulis(RepositoryBuku sumber, Path file) throws IOException {
+        return tulis(sumber, file, BUKU_PER_SEGMEN_DEFAULT);
+    }
+
+    static long tulis(RepositoryBuku sumber, Path file, int bukuPerSegmen) throws IOException {
+        if (bukuPerSegmen <= 0) {
+            throw new IllegalArgumentException("Jumlah Buku per segmen harus positif");
+        }
+
+        // 1. Urutkan menurut kunci ISBN agar indeks tertulis sudah terurut
+        List<Buku> semua = sumber.cariSemua();
+        ItemTulis[] item = new ItemTulis[semua.size()];
+        for (int i = 0; i < item.length; i++) {
+            Buku buku = semua.get(i);
+            if (buku == null || buku.getIsbn() == null) {
+                throw new IllegalArgumentException("Buku tanpa ISBN tidak bisa ditulis ke snapshot");
+            }
+            item[i] = new ItemTulis(kunci(buku.getIsbn()), buku);
+        }
+        Arrays.parallelSort(item, Comparator.comparingLong((ItemTulis it) -> it.kunci));
+
+        Path sementara = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel keluar = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            PenulisBuffer penulis = new PenulisBuffer(keluar, UKURAN_HEADER);
+            Map<String, Integer> idPengarang = new HashMap<>();
+            List<String> kamus = new ArrayList<>();
+            long[] offsetRecord = new long[item.length];
+            int[] panjangRecord = new int[item.length];
+            int jumlahSegmen = (item.length + bukuPerSegmen - 1) / bukuPerSegmen;
+            long[] offsetSegmen = new long[jumlahSegmen];
+
+            // 2. Segmen Buku
+            for (int i = 0; i < item.length; i++) {
+                if (i % bukuPerSegmen == 0) {
+                    offsetSegmen[i / bukuPerSegmen] = penulis.posisi();
+                }
+                Buku buku = item[i].buku;
+                int id = -1;
+                if (buku.getPengarang() != null) {
+                    id = idPengarang.computeIfAbsent(buku.getPengarang(), p -> {
+                        kamus.add(p);
+                        return kamus.size() - 1;
+                    });
+                }
+                offsetRecord[i] = penulis.posisi();
+                penulis.teks(buku.getIsbn());
+                penulis.teks(buku.getJudul());
+                penulis.siapkan(20).putInt(id).putInt(buku.getJumlahTotal())
+                        .putInt(buku.getJumlahTersedia()).putDouble(buku.getHarga());
+                panjangRecord[i] = (int) (penulis.posisi() - offsetRecord[i]);
+            }
+
+            // 3. Kamus pengarang
+            long offsetKamus = penulis.posisi();
+            for (String pengarang : kamus) {
+                penulis.teks(pengarang);
+            }
+
+            // 4. Daftar segmen
+            long offsetDaftarSegmen = penulis.posisi();
+            for (int s = 0; s < jumlahSegmen; s++) {
+                long akhir = s + 1 < jumlahSegmen ? offsetSegmen[s + 1] : offsetKamus;
+                int jumlah = Math.min(bukuPerSegmen, item.length - s * bukuPerSegmen);
+                penulis.siapkan(UKURAN_ENTRI_SEGMEN).putLong(offsetSegmen[s])
+                        .putInt((int) (akhir - offsetSegmen[s])).putInt(jumlah);
+            }
+
+            // 5. Indeks ISBN
+            long offsetIndeks = penulis.posisi();
+            for (int i = 0; i < item.length; i++) {
+                penulis.siapkan(UKURAN_ENTRI_INDEKS).putLong(item[i].kunci)
+                        .putLong(offsetRecord[i]).putInt(panjangRecord[i]);
+            }
+            penulis.flush();
+
+            // 6. Header ditulis terakhir, setelah semua offset diketahui
+            ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER);
+            header.putInt(HEADER_MAGIC, MAGIC)
+                    .putInt(HEADER_VERSI, VERSI)
+                    .putLong(HEADER_JUMLAH_BUKU, item.length)
+                    .putInt(HEADER_JUMLAH_SEGMEN, jumlahSegmen)
+                    .putInt(HEADER_JUMLAH_PENGARANG, kamus.size())
+                    .putLong(HEADER_OFFSET_KAMUS, offsetKamus)
+                    .putLong(HEADER_OFFSET_SEGMEN, offsetDaftarSegmen)
+                    .putLong(HEADER_OFFSET_INDEKS, offsetIndeks);
+            tulisPenuh(keluar, header, 0);
+            keluar.force(false);
+        }
+        Files.move(sementara, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return item.length;
+    }
+
+    public int getJumlahBuku() {
+        return jumlahBuku;
+    }
+
+    public int getJumlahSegmen() {
+        return offsetSegmen.length;
+    }
+
+    /**
+     * Mencari satu Buku lewat indeks ISBN (binary search), tanpa membaca segmen lain.
+     */
+    public Optional<Buku> cariByIsbn(String isbn) throws IOException {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+        long k = kunci(isbn);
+
+        // 1. Entri pertama dengan kunci >= k
+        int kiri = 0;
+        int kanan = jumlahBuku;
+        while (kiri < kanan) {
+            int tengah = (kiri + kanan) >>> 1;
+            if (indeks.getLong(tengah * UKURAN_ENTRI_INDEKS) < k) {
+                kiri = tengah + 1;
+            } else {
+                kanan = tengah;
+            }
+        }
+
+        // 2. Kunci bisa sama untuk ISBN berbeda (mis. bentuk bertanda hubung); cocokkan teksnya
+        for (int i = kiri; i < jumlahBuku && indeks.getLong(i * UKURAN_ENTRI_INDEKS) == k; i++) {
+            int posisi = i * UKURAN_ENTRI_INDEKS;
+            ByteBuffer record = bacaPenuh(indeks.getLong(posisi + 8), indeks.getInt(posisi + 16));
+            Buku buku = bacaRecord(record);
+            if (isbn.equals(buku.getIsbn())) {
+                return Optional.of(buku);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Membaca semua Buku, urut menurut kunci ISBN. Segmen di-decode paralel.
+     */
+    public List<Buku> bacaSemua() throws IOException {
+        List<List<Buku>> perSegmen = keSemuaSegmen(this::bacaSegmen);
+        List<Buku> hasil = new ArrayList<>(jumlahBuku);
+        for (List<Buku> daftar : perSegmen) {
+            hasil.addAll(daftar);
+        }
+        return hasil;
+    }
+
+    /**
+     * Memuat semua Buku ke repository tujuan. Setiap segmen dibaca, di-decode, dan disimpan
+     * lewat simpanBatch secara paralel, sehingga tujuan harus aman dipakai banyak thread.
+     * @return jumlah Buku yang berhasil disimpan
+     */
+    public long muatKe(RepositoryBuku tujuan) throws IOException {
+        List<Integer> berhasil = keSemuaSegmen(i -> {
+            int jumlah = 0;
+            for (Boolean ok : tujuan.simpanBatch(bacaSegmen(i))) {
+                if (ok) {
+                    jumlah++;
+                }
+            }
+            return jumlah;
+        });
+        long total = 0;
+        for (int jumlah : berhasil) {
+            total += jumlah;
+        }
+        return total;
+    }
+
+    /**
+     * Membaca satu segmen dengan satu read posisional dan men-decode semua record-nya.
+     */
+    List<Buku> bacaSegmen(int segmen) throws IOException {
+        ByteBuffer buf = bacaPenuh(offsetSegmen[segmen], panjangSegmen[segmen]);
+        List<Buku> hasil = new ArrayList<>(jumlahBukuSegmen[segmen]);
+        for (int i = 0; i < jumlahBukuSegmen[segmen]; i++) {
+            hasil.add(bacaRecord(buf));
+        }
+        return hasil;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Buku bacaRecord(ByteBuffer buf) throws IOException {
+        String isbn = bacaTeks(buf);
+        String judul = bacaTeks(buf);
+        int id = buf.getInt();
+        if (id < -1 || id >= kamusPengarang.length) {
+            throw new IOException("Id pengarang di luar kamus: " + id);
+        }
+        int jumlahTotal = buf.getInt();
+        int jumlahTersedia = buf.getInt();
+        double harga = buf.getDouble();
+        Buku buku = new Buku(isbn, judul, id < 0 ? null : kamusPengarang[id], jumlahTotal, harga);
+        buku.setJumlahTersedia(jumlahTersedia);
+        return buku;
+    }
+
+    private <T> List<T> keSemuaSegmen(TugasSegmen<T> tugas) throws IOException {
+        try {
+            List<T> hasil = new ArrayList<>(offsetSegmen.length);
+            IntStream.range(0, offsetSegmen.length).parallel()
+                    .mapToObj(i -> {
+                        try {
+                            return tugas.jalankan(i);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .forEachOrdered(hasil::add);
+            return hasil;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ByteBuffer bacaPenuh(long posisi, int panjang) throws IOException {
+        if (panjang < 0) {
+            throw new IOException("Panjang bagian snapshot tidak valid: " + panjang);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(panjang);
+        while (buf.hasRemaining()) {
+            // read posisional tidak mengubah posisi channel, jadi aman dipanggil paralel
+            if (channel.read(buf, posisi + buf.position()) < 0) {
+                throw new EOFException("Snapshot terpotong");
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    private static String bacaTeks(ByteBuffer buf) {
+        int panjang = buf.getShort() & 0xFFFF;
+        if (panjang == PANJANG_NULL) {
+            return null;
+        }
+        String teks = new String(buf.array(), buf.arrayOffset() + buf.position(), panjang, StandardCharsets.UTF_8);
+        buf.position(buf.position() + panjang);
+        return teks;
+    }
+
+    /**
+     * Kunci indeks: kode kanonik KodeIsbn untuk ISBN-10/13, selain itu hashCode di ruang kunci terpisah.
+     */
+    static long kunci(String isbn) {
+        long kode = KodeIsbn.kode(isbn);
+        return kode != KodeIsbn.TIDAK_VALID ? kode : PENANDA_KUNCI_HASH | (isbn.hashCode() & 0xFFFFFFFFL);
+    }
+
+    private static void tulisPenuh(FileChannel channel, ByteBuffer buf, long posisi) throws IOException {
+        buf.rewind();
+        while (buf.hasRemaining()) {
+            channel.write(buf, posisi + buf.position());
+        }
+    }
+
+    private interface TugasSegmen<T> {
+        T jalankan(int segmen) throws IOException;
+    }
+
+    private static final class ItemTulis {
+        final long kunci;
+        final Buku buku;
+
+        ItemTulis(long kunci, Buku buku) {
+            this.kunci = kunci;
+            this.buku = buku;
+        }
+    }
+
+    /**
+     * Penulis berurutan dengan satu buffer direct yang dipakai ulang.
+     */
+    private static final class PenulisBuffer {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(UKURAN_BUFFER_TULIS);
+        private long posisiFlush;
+
+        PenulisBuffer(FileChannel channel, long posisiAwal) {
+            this.channel = channel;
+            this.posisiFlush = posisiAwal;
+        }
+
+        long posisi() {
+            return posisiFlush + buf.position();
+        }
+
+        /**
+         * Memastikan ada ruang untuk n byte, lalu mengembalikan buffer untuk diisi.
+         */
+        ByteBuffer siapkan(int n) throws IOException {
+            if (buf.remaining() < n) {
+                flush();
+            }
+            return buf;
+        }
+
+        void teks(String teks) throws IOException {
+            if (teks == null) {
+                siapkan(2).putShort((short) PANJANG_NULL);
+                return;
+            }
+            byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAKS_TEKS) {
+                throw new IllegalArgumentException("Teks terlalu panjang untuk snapshot: " + bytes.length + " byte");
+            }
+            siapkan(2 + bytes.length).putShort((short) bytes.length).put(bytes);
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                posisiFlush += channel.write(buf, posisiFlush);
+            }
+            buf.clear();
+        }
+    }
+}
\ No newline at end of file
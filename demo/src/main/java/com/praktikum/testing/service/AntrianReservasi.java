@@ -0,0 +1,74 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Antrian FIFO reservasi untuk satu ISBN.
+ *
+ * kunci adalah lock per ISBN: masuk antrian, penyerahan salinan saat pengembalian,
+ * dan pembatalan untuk ISBN yang sama diserialisasi di sini, sedangkan ISBN lain tidak
+ * pernah ikut terkunci. Memakai ReentrantLock, bukan monitor, karena di dalamnya stok
+ * repository diubah (bisa I/O) dan virtual thread tidak boleh ter-pin selama itu. Antrian yang kosong dilepas dari peta dan
+ * ditandai dihapus; pemanggil yang masih memegang objek lama harus mengambil yang baru.
+ *
+ * Pembukuan O(1): perAnggota memuat reservasi yang future-nya belum selesai (menunggu atau
+ * sedang diserahkan), dan jumlahMenunggu menghitung yang masih di antrian. Reservasi yang
+ * dibatalkan tidak dicabut dari deque; entrinya dilewati saat giliran tiba.
+ */
+final class AntrianReservasi {
+
+    final ReentrantLock kunci = new ReentrantLock();
+    final ArrayDeque<Reservasi> menunggu = new ArrayDeque<>();
+    final Map<String, Reservasi> perAnggota = new HashMap<>();
+    int jumlahMenunggu;
+    boolean dihapus;
+
+    /**
+     * Satu anggota yang menunggu. hasil selesai dengan BERHASIL setelah salinan
+     * diserahkan (buku sudah tercatat dipinjam), atau dengan alasan jika saat gilirannya
+     * anggota tidak lagi bisa meminjam.
+     */
+    static final class Reservasi {
+        final Anggota anggota;
+        final CompletableFuture<ServicePerpustakaan.StatusTransaksi> hasil = new CompletableFuture<>();
+        ServicePerpustakaan.StatusTransaksi statusDitolak;
+        // true selama reservasi dihitung di jumlahMenunggu
+        boolean diAntrian;
+
+        Reservasi(Anggota anggota) {
+            this.anggota = anggota;
+        }
+    }
+
+    /**
+     * Memasukkan reservasi ke antrian (di belakang, atau di depan jika penyerahannya dibatalkan).
+     */
+    void masuk(Reservasi reservasi, boolean diDepan) {
+        if (diDepan) {
+            menunggu.addFirst(reservasi);
+        } else {
+            menunggu.addLast(reservasi);
+        }
+        reservasi.diAntrian = true;
+        jumlahMenunggu++;
+        perAnggota.putIfAbsent(reservasi.anggota.getIdAnggota(), reservasi);
+    }
+
+    /**
+     * Mengeluarkan reservasi dari hitungan penunggu; entrinya di deque (jika ada) menjadi basi.
+     * @return true jika reservasi sebelumnya masih dihitung
+     */
+    boolean keluar(Reservasi reservasi) {
+        if (!reservasi.diAntrian) {
+            return false;
+        }
+        reservasi.diAntrian = false;
+        jumlahMenunggu--;
+        return true;
+    }
+}
\ No newline at end of file
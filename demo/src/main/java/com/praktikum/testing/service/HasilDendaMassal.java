@@ -0,0 +1,56 @@
+package com.praktikum.testing.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Hasil perhitungan denda massal: total denda per anggota dan histogram kategori denda.
+ */
+public class HasilDendaMassal {
+
+    private final Map<String, Double> totalDendaPerAnggota;
+    private final Map<String, Long> histogramDeskripsi;
+    private final double totalDenda;
+    private final int jumlahPeminjaman;
+
+    HasilDendaMassal(Map<String, Double> totalDendaPerAnggota, Map<String, Long> histogramDeskripsi,
+                     double totalDenda, int jumlahPeminjaman) {
+        this.totalDendaPerAnggota = Collections.unmodifiableMap(totalDendaPerAnggota);
+        this.histogramDeskripsi = Collections.unmodifiableMap(histogramDeskripsi);
+        this.totalDenda = totalDenda;
+        this.jumlahPeminjaman = jumlahPeminjaman;
+    }
+
+    /**
+     * Total denda per ID anggota (hanya anggota yang memiliki peminjaman di masukan).
+     */
+    public Map<String, Double> getTotalDendaPerAnggota() {
+        return totalDendaPerAnggota;
+    }
+
+    /**
+     * Jumlah peminjaman per deskripsi denda (KalkulatorDenda.getDeskripsiDenda),
+     * urut dari "Tidak ada denda" sampai "Denda berat".
+     */
+    public Map<String, Long> getHistogramDeskripsi() {
+        return histogramDeskripsi;
+    }
+
+    public double getTotalDenda() {
+        return totalDenda;
+    }
+
+    public int getJumlahPeminjaman() {
+        return jumlahPeminjaman;
+    }
+
+    @Override
+    public String toString() {
+        return "HasilDendaMassal{" +
+                "jumlahPeminjaman=" + jumlahPeminjaman +
+                ", jumlahAnggota=" + totalDendaPerAnggota.size() +
+                ", totalDenda=" + totalDenda +
+                ", histogramDeskripsi=" + histogramDeskripsi +
+                '}';
+    }
+}
\ No newline at end of file
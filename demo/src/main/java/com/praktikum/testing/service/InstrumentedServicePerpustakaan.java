@@ -0,0 +1,256 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.metrik.HistogramLatensi;
+import com.praktikum.testing.metrik.RegistriMetrik;
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ServicePerpustakaan yang mencatat latensi setiap operasi ke RegistriMetrik.
+ *
+ * Untuk pinjam/kembali, setiap StatusTransaksi punya penghitung sendiri
+ * (mis. "ServicePerpustakaan.pinjamBuku.BATAS_PINJAM_TERCAPAI"), sehingga terlihat
+ * mengapa pinjamBuku mengembalikan false. reservasiBuku memakai penghitung status yang sama
+ * untuk reservasi yang langsung selesai, ditambah ".MENUNGGU" untuk yang masuk antrian.
+ * bukuTersedia, getJumlahTersedia, dan batalkanReservasi punya penghitung ".berhasil" dan
+ * ".gagal" (false / stok 0). Setiap operasi juga punya penghitung ".error" untuk exception,
+ * mis. UncheckedIOException dari jurnal. Untuk melihat waktu yang dihabiskan di
+ * repository, bungkus repository dengan InstrumentedRepositoryBuku memakai registri yang sama.
+ */
+public class InstrumentedServicePerpustakaan extends ServicePerpustakaan {
+
+    static final String PREFIKS = "ServicePerpustakaan.";
+
+    private final Operasi opTambahBuku;
+    private final Operasi opTambahBukuBatch;
+    private final Operasi opHapusBuku;
+    private final Operasi opCariByIsbn;
+    private final Operasi opCariByJudul;
+    private final Operasi opCariByPengarang;
+    private final Operasi opBukuTersedia;
+    private final Operasi opJumlahTersedia;
+    private final Operasi opPinjam;
+    private final Operasi opKembali;
+    private final Operasi opReservasi;
+    private final Operasi opBatalkanReservasi;
+    private final Map<StatusTransaksi, LongAdder> statusPinjam;
+    private final Map<StatusTransaksi, LongAdder> statusKembali;
+    private final Map<StatusTransaksi, LongAdder> statusReservasi;
+    private final LongAdder reservasiMenunggu;
+
+    public InstrumentedServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda,
+                                           RegistriMetrik registri) {
+        this(repositoryBuku, kalkulatorDenda, null, registri);
+    }
+
+    public InstrumentedServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda,
+                                           JurnalTransaksi jurnal, RegistriMetrik registri) {
+        super(repositoryBuku, kalkulatorDenda, jurnal);
+        if (registri == null) {
+            throw new IllegalArgumentException("Registri tidak boleh null");
+        }
+        this.opTambahBuku = new Operasi(registri, "tambahBuku", false);
+        this.opTambahBukuBatch = new Operasi(registri, "tambahBukuBatch", false);
+        this.opHapusBuku = new Operasi(registri, "hapusBuku", false);
+        this.opCariByIsbn = new Operasi(registri, "cariBukuByIsbn", false);
+        this.opCariByJudul = new Operasi(registri, "cariBukuByJudul", false);
+        this.opCariByPengarang = new Operasi(registri, "cariBukuByPengarang", false);
+        this.opBukuTersedia = new Operasi(registri, "bukuTersedia", true);
+        this.opJumlahTersedia = new Operasi(registri, "getJumlahTersedia", true);
+        this.opPinjam = new Operasi(registri, "pinjamBuku", false);
+        this.opKembali = new Operasi(registri, "kembalikanBuku", false);
+        this.opReservasi = new Operasi(registri, "reservasiBuku", false);
+        this.opBatalkanReservasi = new Operasi(registri, "batalkanReservasi", true);
+        this.statusPinjam = penghitungStatus(registri, PREFIKS + "pinjamBuku.");
+        this.statusKembali = penghitungStatus(registri, PREFIKS + "kembalikanBuku.");
+        this.statusReservasi = penghitungStatus(registri, PREFIKS + "reservasiBuku.");
+        this.reservasiMenunggu = registri.penghitung(PREFIKS + "reservasiBuku.MENUNGGU");
+    }
+
+    @Override
+    public boolean tambahBuku(Buku buku) {
+        long mulai = System.nanoTime();
+        try {
+            return opTambahBuku.selesai(super.tambahBuku(buku), mulai);
+        } catch (RuntimeException e) {
+            throw opTambahBuku.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Boolean> tambahBukuBatch(List<Buku> daftarBuku) {
+        long mulai = System.nanoTime();
+        try {
+            return opTambahBukuBatch.selesai(super.tambahBukuBatch(daftarBuku), mulai);
+        } catch (RuntimeException e) {
+            throw opTambahBukuBatch.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean hapusBuku(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opHapusBuku.selesai(super.hapusBuku(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opHapusBuku.error(e, mulai);
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariBukuByIsbn(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opCariByIsbn.selesai(super.cariBukuByIsbn(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opCariByIsbn.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariBukuByJudul(String judul) {
+        long mulai = System.nanoTime();
+        try {
+            return opCariByJudul.selesai(super.cariBukuByJudul(judul), mulai);
+        } catch (RuntimeException e) {
+            throw opCariByJudul.error(e, mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariBukuByPengarang(String pengarang) {
+        long mulai = System.nanoTime();
+        try {
+            return opCariByPengarang.selesai(super.cariBukuByPengarang(pengarang), mulai);
+        } catch (RuntimeException e) {
+            throw opCariByPengarang.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean bukuTersedia(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            return opBukuTersedia.hasil(super.bukuTersedia(isbn), mulai);
+        } catch (RuntimeException e) {
+            throw opBukuTersedia.error(e, mulai);
+        }
+    }
+
+    @Override
+    public int getJumlahTersedia(String isbn) {
+        long mulai = System.nanoTime();
+        try {
+            int jumlah = super.getJumlahTersedia(isbn);
+            opJumlahTersedia.hasil(jumlah > 0, mulai);
+            return jumlah;
+        } catch (RuntimeException e) {
+            throw opJumlahTersedia.error(e, mulai);
+        }
+    }
+
+    @Override
+    public StatusTransaksi prosesPinjam(String isbn, Anggota anggota) {
+        long mulai = System.nanoTime();
+        try {
+            StatusTransaksi status = super.prosesPinjam(isbn, anggota);
+            statusPinjam.get(status).increment();
+            return opPinjam.selesai(status, mulai);
+        } catch (RuntimeException e) {
+            throw opPinjam.error(e, mulai);
+        }
+    }
+
+    @Override
+    public StatusTransaksi prosesKembali(String isbn, Anggota anggota) {
+        long mulai = System.nanoTime();
+        try {
+            StatusTransaksi status = super.prosesKembali(isbn, anggota);
+            statusKembali.get(status).increment();
+            return opKembali.selesai(status, mulai);
+        } catch (RuntimeException e) {
+            throw opKembali.error(e, mulai);
+        }
+    }
+
+    /**
+     * Latensi yang dicatat adalah waktu sampai future dikembalikan (pinjam langsung atau masuk
+     * antrian), bukan waktu menunggu salinan.
+     */
+    @Override
+    public CompletableFuture<StatusTransaksi> reservasiBuku(String isbn, Anggota anggota) {
+        long mulai = System.nanoTime();
+        try {
+            CompletableFuture<StatusTransaksi> hasil = super.reservasiBuku(isbn, anggota);
+            StatusTransaksi status = hasil.isDone() && !hasil.isCompletedExceptionally() ? hasil.getNow(null) : null;
+            if (status != null) {
+                statusReservasi.get(status).increment();
+            } else {
+                reservasiMenunggu.increment();
+            }
+            return opReservasi.selesai(hasil, mulai);
+        } catch (RuntimeException e) {
+            throw opReservasi.error(e, mulai);
+        }
+    }
+
+    @Override
+    public boolean batalkanReservasi(String isbn, Anggota anggota) {
+        long mulai = System.nanoTime();
+        try {
+            return opBatalkanReservasi.hasil(super.batalkanReservasi(isbn, anggota), mulai);
+        } catch (RuntimeException e) {
+            throw opBatalkanReservasi.error(e, mulai);
+        }
+    }
+
+    private static Map<StatusTransaksi, LongAdder> penghitungStatus(RegistriMetrik registri, String prefiks) {
+        Map<StatusTransaksi, LongAdder> hasil = new EnumMap<>(StatusTransaksi.class);
+        for (StatusTransaksi status : StatusTransaksi.values()) {
+            hasil.put(status, registri.penghitung(prefiks + status.name()));
+        }
+        return hasil;
+    }
+
+    /**
+     * Histogram dan penghitung satu operasi, diambil sekali di konstruktor.
+     */
+    private static final class Operasi {
+        private final HistogramLatensi latensi;
+        private final LongAdder berhasil;
+        private final LongAdder gagal;
+        private final LongAdder error;
+
+        Operasi(RegistriMetrik registri, String method, boolean denganHasil) {
+            String nama = PREFIKS + method;
+            this.latensi = registri.histogram(nama);
+            this.berhasil = denganHasil ? registri.penghitung(nama + ".berhasil") : null;
+            this.gagal = denganHasil ? registri.penghitung(nama + ".gagal") : null;
+            this.error = registri.penghitung(nama + ".error");
+        }
+
+        <T> T selesai(T hasil, long mulai) {
+            latensi.catat(System.nanoTime() - mulai);
+            return hasil;
+        }
+
+        boolean hasil(boolean sukses, long mulai) {
+            latensi.catat(System.nanoTime() - mulai);
+            (sukses ? berhasil : gagal).increment();
+            return sukses;
+        }
+
+        RuntimeException error(RuntimeException e, long mulai) {
+            latensi.catat(System.nanoTime() - mulai);
+            error.increment();
+            return e;
+        }
+    }
+}
\ No newline at end of file
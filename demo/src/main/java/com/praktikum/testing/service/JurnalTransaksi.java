@@ -0,0 +1,397 @@
+package com.praktikum.testing.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Jurnal transaksi append-only untuk pinjam dan kembali.
+ *
+ * Jurnal ini write-behind: ServicePerpustakaan mengubah stok dan daftar pinjaman lebih dulu,
+ * lalu mencatat entrinya; jika pencatatan gagal, perubahan di memori dibatalkan (kompensasi).
+ * Transaksi baru dianggap berhasil setelah entrinya tersimpan.
+ *
+ * catat() baru kembali setelah entri benar-benar tersimpan di disk (force). Dengan group commit,
+ * thread yang datang bersamaan tidak masing-masing memanggil force(): thread flusher milik jurnal
+ * menulis semua entri yang sedang antre dalam satu write + satu force(), lalu membangunkan pemanggil.
+ * Biaya fsync jadi per batch, bukan per transaksi.
+ *
+ * Write dan force() hanya dijalankan oleh thread flusher yang tidak pernah di-interrupt. Jika pemanggil
+ * sendiri yang menulis ke channel, interrupt pada pemanggil akan menutup channel
+ * (ClosedByInterruptException) dan jurnal tidak bisa dipakai lagi.
+ *
+ * Penantian memakai ReentrantLock/Condition, bukan monitor, agar pemanggil di virtual thread
+ * tidak mengunci (pin) carrier thread selama menunggu fsync.
+ *
+ * Format per entri: int panjang payload, int CRC32 payload, payload
+ * (long nomor urut, byte jenis, UTF isbn, UTF idAnggota).
+ * Saat dibuka, entri dibaca ulang untuk replay; ekor file yang terpotong atau rusak
+ * (crash di tengah penulisan) dibuang.
+ */
+public class JurnalTransaksi implements Closeable {
+
+    public enum JenisTransaksi {
+        PINJAM, KEMBALI
+    }
+
+    /**
+     * Satu entri jurnal.
+     */
+    public static final class Entri {
+        private final long nomor;
+        private final JenisTransaksi jenis;
+        private final String isbn;
+        private final String idAnggota;
+
+        Entri(long nomor, JenisTransaksi jenis, String isbn, String idAnggota) {
+            this.nomor = nomor;
+            this.jenis = jenis;
+            this.isbn = isbn;
+            this.idAnggota = idAnggota;
+        }
+
+        public long getNomor() {
+            return nomor;
+        }
+
+        public JenisTransaksi getJenis() {
+            return jenis;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public String getIdAnggota() {
+            return idAnggota;
+        }
+
+        @Override
+        public String toString() {
+            return "Entri{" +
+                    "nomor=" + nomor +
+                    ", jenis=" + jenis +
+                    ", isbn='" + isbn + '\'' +
+                    ", idAnggota='" + idAnggota + '\'' +
+                    '}';
+        }
+    }
+
+    private static final int UKURAN_KEPALA = 8; // panjang + CRC32
+
+    private final FileChannel channel;
+    private final long jedaKumpulNanos;
+    private final List<Entri> entriSaatDibuka;
+
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final Condition adaAntrean = kunci.newCondition();
+    private final Condition tersimpan = kunci.newCondition();
+    // Entri yang sudah diberi nomor tetapi belum ditulis
+    private final ByteArrayOutputStream antrean = new ByteArrayOutputStream();
+    private long nomorTerakhir;
+    private long nomorTahanLama;
+    private boolean ditutup;
+    private IOException kegagalan;
+    private long jumlahForce;
+    private boolean flusherBerhenti;
+
+    /**
+     * Membuka jurnal (dibuat jika belum ada) tanpa jeda pengumpulan.
+     */
+    public JurnalTransaksi(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * @param jedaKumpulNanos waktu tunggu pemimpin sebelum mengambil batch, agar lebih banyak
+     *                        transaksi ikut satu force() (0 = langsung, batch terbentuk alami
+     *                        dari transaksi yang datang selama force() sebelumnya)
+     */
+    public JurnalTransaksi(Path file, long jedaKumpulNanos) throws IOException {
+        if (jedaKumpulNanos < 0) {
+            throw new IllegalArgumentException("Jeda kumpul tidak boleh negatif");
+        }
+        this.jedaKumpulNanos = jedaKumpulNanos;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        // 1. Baca semua entri utuh untuk replay
+        List<Entri> entri = new ArrayList<>();
+        long posisiValid = bacaEntri(entri);
+
+        // 2. Buang ekor yang terpotong, lanjutkan menulis dari posisi valid terakhir
+        if (posisiValid < channel.size()) {
+            channel.truncate(posisiValid);
+            channel.force(false);
+        }
+        channel.position(posisiValid);
+
+        this.entriSaatDibuka = Collections.unmodifiableList(entri);
+        this.nomorTerakhir = entri.isEmpty() ? 0 : entri.get(entri.size() - 1).getNomor();
+        this.nomorTahanLama = nomorTerakhir;
+
+        // 3. Thread flusher khusus untuk semua write + force()
+        Thread flusher = new Thread(this::jalankanFlusher, "jurnal-flusher-" + file.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Entri yang sudah ada di file saat jurnal dibuka, sesuai urutan penulisan.
+     */
+    public List<Entri> getEntriSaatDibuka() {
+        return entriSaatDibuka;
+    }
+
+    /**
+     * Mencatat satu transaksi dan menunggu sampai tersimpan di disk.
+     * @return nomor urut entri
+     * @throws UncheckedIOException jika penulisan atau force() gagal; setelah itu jurnal tidak bisa dipakai lagi
+     */
+    public long catat(JenisTransaksi jenis, String isbn, String idAnggota) {
+        if (jenis == null || isbn == null || idAnggota == null) {
+            throw new IllegalArgumentException("Jenis, ISBN, dan ID anggota tidak boleh null");
+        }
+
+        long nomor;
+        IOException error;
+        kunci.lock();
+        try {
+            pastikanBisaDipakai();
+            nomor = ++nomorTerakhir;
+            tulisEntri(antrean, new Entri(nomor, jenis, isbn, idAnggota));
+            adaAntrean.signal();
+
+            // Tunggu flusher menyimpan entri ini; interrupt tidak menghentikan penantian
+            // (entri sudah masuk antrean), status interrupt dipulihkan saat kembali
+            while (nomorTahanLama < nomor && kegagalan == null) {
+                tersimpan.awaitUninterruptibly();
+            }
+            error = nomorTahanLama < nomor ? kegagalan : null;
+        } finally {
+            kunci.unlock();
+        }
+        if (error != null) {
+            throw new UncheckedIOException("Jurnal gagal ditulis", error);
+        }
+        return nomor;
+    }
+
+    /**
+     * Loop thread flusher: ambil semua entri yang antre, tulis, force(), lalu bangunkan pemanggil.
+     * Berhenti setelah jurnal ditutup dan antrean kosong, atau setelah penulisan gagal.
+     */
+    private void jalankanFlusher() {
+        try {
+            while (flushSatuBatch()) {
+                // lanjut ke batch berikutnya
+            }
+        } finally {
+            kunci.lock();
+            try {
+                flusherBerhenti = true;
+                tersimpan.signalAll();
+            } finally {
+                kunci.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return false jika flusher harus berhenti
+     */
+    private boolean flushSatuBatch() {
+        // 1. Tunggu ada entri yang antre
+        kunci.lock();
+        try {
+            while (antrean.size() == 0 && !ditutup) {
+                adaAntrean.awaitUninterruptibly();
+            }
+            if (antrean.size() == 0) {
+                return false;
+            }
+        } finally {
+            kunci.unlock();
+        }
+        if (jedaKumpulNanos > 0) {
+            LockSupport.parkNanos(jedaKumpulNanos);
+        }
+
+        // 2. Ambil batch
+        byte[] batch;
+        long sampaiNomor;
+        kunci.lock();
+        try {
+            batch = antrean.toByteArray();
+            antrean.reset();
+            sampaiNomor = nomorTerakhir;
+        } finally {
+            kunci.unlock();
+        }
+
+        // 3. Satu write + satu force() untuk seluruh batch
+        IOException error = null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        kunci.lock();
+        try {
+            if (error == null) {
+                nomorTahanLama = sampaiNomor;
+                jumlahForce++;
+            } else {
+                // Setelah force() gagal, isi file tidak bisa dipercaya lagi
+                kegagalan = error;
+            }
+            tersimpan.signalAll();
+            return error == null;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Jumlah force() yang sudah dilakukan sejak jurnal dibuka.
+     */
+    public long getJumlahForce() {
+        kunci.lock();
+        try {
+            return jumlahForce;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Nomor urut entri terakhir yang sudah tersimpan di disk.
+     */
+    public long getNomorTahanLama() {
+        kunci.lock();
+        try {
+            return nomorTahanLama;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunci.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            ditutup = true;
+            adaAntrean.signal();
+
+            // Flusher menulis sisa antrean lalu berhenti
+            while (!flusherBerhenti) {
+                tersimpan.awaitUninterruptibly();
+            }
+        } finally {
+            kunci.unlock();
+        }
+        channel.close();
+    }
+
+    private void pastikanBisaDipakai() {
+        if (ditutup) {
+            throw new IllegalStateException("Jurnal sudah ditutup");
+        }
+        if (kegagalan != null) {
+            throw new UncheckedIOException("Jurnal gagal ditulis", kegagalan);
+        }
+    }
+
+    // --- Encode/decode entri ---
+
+    private static void tulisEntri(ByteArrayOutputStream tujuan, Entri entri) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeLong(entri.getNomor());
+            payload.writeByte(entri.getJenis().ordinal());
+            payload.writeUTF(entri.getIsbn());
+            payload.writeUTF(entri.getIdAnggota());
+            byte[] isi = payloadBytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(isi, 0, isi.length);
+
+            DataOutputStream keluar = new DataOutputStream(tujuan);
+            keluar.writeInt(isi.length);
+            keluar.writeInt((int) crc.getValue());
+            keluar.write(isi);
+        } catch (IOException e) {
+            // Tidak terjadi pada ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Membaca entri dari awal file sampai akhir atau sampai entri pertama yang tidak utuh.
+     * @return posisi byte setelah entri utuh terakhir
+     */
+    private long bacaEntri(List<Entri> hasil) throws IOException {
+        channel.position(0);
+        DataInputStream masuk = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        JenisTransaksi[] semuaJenis = JenisTransaksi.values();
+        long posisi = 0;
+        long ukuranFile = channel.size();
+
+        while (posisi + UKURAN_KEPALA <= ukuranFile) {
+            try {
+                int panjang = masuk.readInt();
+                int crcTersimpan = masuk.readInt();
+                if (panjang <= 0 || posisi + UKURAN_KEPALA + panjang > ukuranFile) {
+                    break;
+                }
+                byte[] isi = new byte[panjang];
+                masuk.readFully(isi);
+
+                CRC32 crc = new CRC32();
+                crc.update(isi, 0, isi.length);
+                if ((int) crc.getValue() != crcTersimpan) {
+                    break;
+                }
+
+                DataInputStream payload = new DataInputStream(new ByteArrayInputStream(isi));
+                long nomor = payload.readLong();
+                int jenis = payload.readByte();
+                if (jenis < 0 || jenis >= semuaJenis.length) {
+                    break;
+                }
+                hasil.add(new Entri(nomor, semuaJenis[jenis], payload.readUTF(), payload.readUTF()));
+                posisi += UKURAN_KEPALA + panjang;
+            } catch (EOFException e) {
+                break;
+            }
+        }
+        return posisi;
+    }
+}
\ No newline at end of file
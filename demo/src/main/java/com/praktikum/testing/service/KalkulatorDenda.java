@@ -2,110 +2,133 @@ package com.praktikum.testing.service;
 
 import com.praktikum.testing.model.Peminjaman;
 import com.praktikum.testing.model.Anggota;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Perhitungan denda keterlambatan.
+ *
+ * Tarif, batas maksimal, dan masa toleransi diambil dari KebijakanDenda yang aktif.
+ * Kebijakan dipegang AtomicReference sehingga bisa diganti saat aplikasi berjalan
+ * (gantiKebijakan); setiap perhitungan membaca satu snapshot kebijakan secara utuh.
+ * Nominal dihitung dalam Rupiah utuh (long); varian double hanya untuk kompatibilitas.
+ */
 public class KalkulatorDenda {
 
-    // Tarif denda harian per tipe (dalam Rupiah)
-    private static final double TARIF_DENDA_MAHASISWA = 1000.0;
-    private static final double TARIF_DENDA_DOSEN = 1500.0;
-    private static final double TARIF_DENDA_UMUM = 1500.0;
+    // Kebijakan yang sedang berlaku, diganti secara atomik
+    private static final AtomicReference<KebijakanDenda> KEBIJAKAN =
+            new AtomicReference<>(KebijakanDenda.bawaan());
 
-    // Batas maksimal denda
-    private static final double DENDA_MAX_MAHASISWA = 50000.0;
-    private static final double DENDA_MAX_DOSEN = 75000.0;
-    private static final double DENDA_MAX_UMUM = 75000.0;
+    // Deskripsi denda per kategori (lihat getKategoriDenda)
+    static final String[] DESKRIPSI_DENDA = {"Tidak ada denda", "Denda ringan", "Denda sedang", "Denda berat"};
+
+    /**
+     * Kebijakan denda yang sedang berlaku.
+     */
+    public static KebijakanDenda getKebijakan() {
+        return KEBIJAKAN.get();
+    }
+
+    /**
+     * Mengganti kebijakan denda yang berlaku. Perhitungan yang sedang berjalan tetap memakai
+     * kebijakan lama secara utuh; perhitungan berikutnya memakai kebijakan baru.
+     * @return kebijakan sebelumnya
+     */
+    public static KebijakanDenda gantiKebijakan(KebijakanDenda kebijakanBaru) {
+        if (kebijakanBaru == null) {
+            throw new IllegalArgumentException("Kebijakan denda tidak boleh null!");
+        }
+        return KEBIJAKAN.getAndSet(kebijakanBaru);
+    }
 
     /**
      * Menghitung total denda yang harus dibayar untuk peminjaman tertentu.
      * Denda memiliki batas maksimal.
      */
     public static double hitungDenda(Peminjaman peminjaman, Anggota anggota) {
+        return hitungDenda(peminjaman, anggota, LocalDate.now());
+    }
+
+    /**
+     * Menghitung total denda pada tanggal acuan tertentu (lihat KonteksEvaluasi).
+     * Tanggal acuan dipakai sebagai "hari ini" sehingga hasilnya deterministik.
+     */
+    public static double hitungDenda(Peminjaman peminjaman, Anggota anggota, LocalDate tanggalAcuan) {
+        return hitungDendaRupiah(peminjaman, anggota, tanggalAcuan);
+    }
+
+    /**
+     * Menghitung total denda dalam Rupiah utuh pada tanggal acuan tertentu.
+     */
+    public static long hitungDendaRupiah(Peminjaman peminjaman, Anggota anggota, LocalDate tanggalAcuan) {
         if (peminjaman == null || anggota == null) {
             throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null!");
         }
-
-        // 1. Cek apakah terlambat
-        if (!peminjaman.isTerlambat()) {
-            return 0.0;
+        if (tanggalAcuan == null) {
+            throw new IllegalArgumentException("Tanggal acuan tidak boleh null!");
         }
 
-        // 2. Hitung hari terlambat (biasanya hari pertama terlambat sudah dihitung)
-        long hariTerlambat = peminjaman.getHariTerlambat();
+        // 1. Hitung hari terlambat (0 jika tidak terlambat)
+        long hariTerlambat = peminjaman.getHariTerlambat(tanggalAcuan);
 
-        // Asumsi: Denda tidak berlaku untuk keterlambatan kurang dari 3 hari (contoh kebijakan)
-        // Note: Bagian ini tampaknya spesifik pada kebijakan Anda (if (hariTerlambat <= 3) return 0.0;)
-        if (hariTerlambat <= 3) {
-            return 0.0;
+        // 2. Keterlambatan dalam masa toleransi tidak didenda
+        KebijakanDenda kebijakan = KEBIJAKAN.get();
+        if (hariTerlambat <= kebijakan.getHariToleransi()) {
+            return 0;
         }
 
-        // 3. Ambil tarif dan hitung denda kotor
-        double tarifHarian = getTarifDendaHarian(anggota.getTipeAnggota());
-        double totalDenda = tarifHarian * hariTerlambat;
-        double dendaMax = getDendaMaximal(anggota.getTipeAnggota());
-
-        // 4. Batasi denda dengan nilai maksimal
-        return Math.min(totalDenda, dendaMax);
+        // 3. Tarif * hari, dibatasi nilai maksimal
+        return kebijakan.hitungDenda(hariTerlambat, anggota.getTipeAnggota());
     }
 
     /**
      * Mendapatkan tarif denda harian berdasarkan tipe anggota.
      */
     public static double getTarifDendaHarian(Anggota.TipeAnggota tipeAnggota) {
-        if (tipeAnggota == null) {
-            throw new IllegalArgumentException("Tipe anggota tidak boleh null!");
-        }
-
-        switch (tipeAnggota) {
-            case MAHASISWA:
-                return TARIF_DENDA_MAHASISWA;
-            case DOSEN:
-                return TARIF_DENDA_DOSEN;
-            case UMUM:
-                return TARIF_DENDA_UMUM;
-            default:
-                throw new IllegalArgumentException("Tipe anggota tidak dikenal: " + tipeAnggota);
-        }
+        return KEBIJAKAN.get().getTarifHarian(tipeAnggota);
     }
 
     /**
      * Mendapatkan batas maksimal denda berdasarkan tipe anggota.
      */
     public static double getDendaMaximal(Anggota.TipeAnggota tipeAnggota) {
-        if (tipeAnggota == null) {
-            throw new IllegalArgumentException("Tipe anggota tidak boleh null!");
-        }
-
-        switch (tipeAnggota) {
-            case MAHASISWA:
-                return DENDA_MAX_MAHASISWA;
-            case DOSEN:
-                return DENDA_MAX_DOSEN;
-            case UMUM:
-                return DENDA_MAX_UMUM;
-            default:
-                throw new IllegalArgumentException("Tipe anggota tidak dikenal: " + tipeAnggota);
-        }
+        return KEBIJAKAN.get().getDendaMaksimal(tipeAnggota);
     }
     
     /**
      * Mengecek apakah peminjaman memiliki potensi denda.
      */
     public static boolean adaDenda(Peminjaman peminjaman) {
-        return peminjaman != null && peminjaman.isTerlambat() && peminjaman.getHariTerlambat() > 0;
+        return adaDenda(peminjaman, LocalDate.now());
+    }
+
+    /**
+     * Mengecek apakah peminjaman memiliki potensi denda pada tanggal acuan tertentu.
+     */
+    public static boolean adaDenda(Peminjaman peminjaman, LocalDate tanggalAcuan) {
+        return peminjaman != null && peminjaman.getHariTerlambat(tanggalAcuan) > 0;
     }
 
     /**
      * Mendapatkan deskripsi denda berdasarkan jumlahnya.
      */
     public static String getDeskripsiDenda(double jumlahDenda) {
+        return DESKRIPSI_DENDA[getKategoriDenda(jumlahDenda)];
+    }
+
+    /**
+     * Mendapatkan indeks kategori denda (0 = tidak ada, 1 = ringan, 2 = sedang, 3 = berat).
+     * Indeks ini sesuai dengan urutan DESKRIPSI_DENDA.
+     */
+    static int getKategoriDenda(double jumlahDenda) {
         if (jumlahDenda <= 0) {
-            return "Tidak ada denda";
+            return 0;
         } else if (jumlahDenda < 10000) {
-            return "Denda ringan";
+            return 1;
         } else if (jumlahDenda < 50000) {
-            return "Denda sedang";
+            return 2;
         } else {
-            return "Denda berat";
+            return 3;
         }
     }
 }
\ No newline at end of file
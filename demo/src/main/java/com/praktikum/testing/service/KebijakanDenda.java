@@ -0,0 +1,172 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Kebijakan denda yang tidak bisa diubah (immutable), dengan nominal Rupiah utuh bertipe long.
+ *
+ * Tarif harian dan batas maksimal disimpan dalam array yang diindeks ordinal TipeAnggota,
+ * sehingga perhitungan tidak memakai switch dan tidak memakai floating point. Untuk setiap
+ * tipe juga dihitung sekali jumlah hari terlama sebelum denda mencapai batas maksimal, agar
+ * perkalian tarif * hari tidak pernah overflow berapa pun lama keterlambatannya.
+ *
+ * Kebijakan bisa dimuat dari file properties, contoh:
+ * <pre>
+ * denda.hariToleransi=3
+ * denda.tarifHarian.MAHASISWA=1000
+ * denda.maksimal.MAHASISWA=50000
+ * </pre>
+ * Key yang tidak ada memakai nilai dari kebijakan bawaan.
+ */
+public final class KebijakanDenda {
+
+    static final String KEY_HARI_TOLERANSI = "denda.hariToleransi";
+    static final String PREFIKS_TARIF_HARIAN = "denda.tarifHarian.";
+    static final String PREFIKS_MAKSIMAL = "denda.maksimal.";
+
+    private static final Anggota.TipeAnggota[] SEMUA_TIPE = Anggota.TipeAnggota.values();
+
+    // Kebijakan lama KalkulatorDenda: toleransi 3 hari, tarif dan batas per tipe
+    private static final KebijakanDenda BAWAAN = new KebijakanDenda(3,
+            new long[] {1000, 1500, 1500},
+            new long[] {50000, 75000, 75000});
+
+    private final int hariToleransi;
+    private final long[] tarifHarian;
+    private final long[] dendaMaksimal;
+    // Hari terlama yang dendanya belum melewati batas maksimal (floor(maksimal / tarif))
+    private final long[] hariJenuh;
+
+    private KebijakanDenda(int hariToleransi, long[] tarifHarian, long[] dendaMaksimal) {
+        if (hariToleransi < 0) {
+            throw new IllegalArgumentException("Hari toleransi tidak boleh negatif: " + hariToleransi);
+        }
+        this.hariToleransi = hariToleransi;
+        this.tarifHarian = tarifHarian;
+        this.dendaMaksimal = dendaMaksimal;
+        this.hariJenuh = new long[SEMUA_TIPE.length];
+        for (int i = 0; i < SEMUA_TIPE.length; i++) {
+            if (tarifHarian[i] < 0 || dendaMaksimal[i] < 0) {
+                throw new IllegalArgumentException("Tarif dan batas denda tidak boleh negatif: " + SEMUA_TIPE[i]);
+            }
+            hariJenuh[i] = tarifHarian[i] == 0 ? Long.MAX_VALUE : dendaMaksimal[i] / tarifHarian[i];
+        }
+    }
+
+    /**
+     * Kebijakan bawaan (sama dengan tarif lama KalkulatorDenda).
+     */
+    public static KebijakanDenda bawaan() {
+        return BAWAAN;
+    }
+
+    /**
+     * Membuat kebijakan dari Properties; key yang tidak ada memakai nilai bawaan.
+     * @throws IllegalArgumentException jika ada nilai yang bukan bilangan bulat atau negatif
+     */
+    public static KebijakanDenda dari(Properties konfigurasi) {
+        if (konfigurasi == null) {
+            throw new IllegalArgumentException("Konfigurasi tidak boleh null!");
+        }
+
+        // 1. Toleransi hari
+        long hariToleransi = bacaAngka(konfigurasi, KEY_HARI_TOLERANSI, BAWAAN.hariToleransi);
+        if (hariToleransi > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Hari toleransi terlalu besar: " + hariToleransi);
+        }
+
+        // 2. Tarif dan batas per tipe anggota, diindeks ordinal
+        long[] tarif = new long[SEMUA_TIPE.length];
+        long[] maksimal = new long[SEMUA_TIPE.length];
+        for (Anggota.TipeAnggota tipe : SEMUA_TIPE) {
+            int i = tipe.ordinal();
+            tarif[i] = bacaAngka(konfigurasi, PREFIKS_TARIF_HARIAN + tipe.name(), BAWAAN.tarifHarian[i]);
+            maksimal[i] = bacaAngka(konfigurasi, PREFIKS_MAKSIMAL + tipe.name(), BAWAAN.dendaMaksimal[i]);
+        }
+        return new KebijakanDenda((int) hariToleransi, tarif, maksimal);
+    }
+
+    /**
+     * Memuat kebijakan dari file properties (UTF-8).
+     */
+    public static KebijakanDenda muat(Path file) throws IOException {
+        Properties konfigurasi = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            konfigurasi.load(reader);
+        }
+        return dari(konfigurasi);
+    }
+
+    private static long bacaAngka(Properties konfigurasi, String key, long nilaiBawaan) {
+        String nilai = konfigurasi.getProperty(key);
+        if (nilai == null) {
+            return nilaiBawaan;
+        }
+        long angka;
+        try {
+            angka = Long.parseLong(nilai.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nilai " + key + " bukan bilangan bulat: " + nilai, e);
+        }
+        if (angka < 0) {
+            throw new IllegalArgumentException("Nilai " + key + " tidak boleh negatif: " + angka);
+        }
+        return angka;
+    }
+
+    /**
+     * Menghitung denda dalam Rupiah untuk jumlah hari terlambat tertentu.
+     * Keterlambatan sampai hariToleransi tidak didenda; selebihnya tarif * hari, dibatasi maksimal.
+     */
+    public long hitungDenda(long hariTerlambat, Anggota.TipeAnggota tipeAnggota) {
+        if (tipeAnggota == null) {
+            throw new IllegalArgumentException("Tipe anggota tidak boleh null!");
+        }
+        return hitungDenda(hariTerlambat, tipeAnggota.ordinal());
+    }
+
+    /**
+     * Jalur cepat untuk pemanggil yang sudah memegang ordinal TipeAnggota (lihat MesinDendaMassal).
+     */
+    long hitungDenda(long hariTerlambat, int ordinalTipe) {
+        // Lewat hariJenuh denda pasti mencapai batas, jadi perkalian tidak pernah overflow
+        long denda = hariTerlambat > hariJenuh[ordinalTipe]
+                ? dendaMaksimal[ordinalTipe] : tarifHarian[ordinalTipe] * hariTerlambat;
+        return hariTerlambat > hariToleransi ? denda : 0;
+    }
+
+    public int getHariToleransi() {
+        return hariToleransi;
+    }
+
+    public long getTarifHarian(Anggota.TipeAnggota tipeAnggota) {
+        if (tipeAnggota == null) {
+            throw new IllegalArgumentException("Tipe anggota tidak boleh null!");
+        }
+        return tarifHarian[tipeAnggota.ordinal()];
+    }
+
+    public long getDendaMaksimal(Anggota.TipeAnggota tipeAnggota) {
+        if (tipeAnggota == null) {
+            throw new IllegalArgumentException("Tipe anggota tidak boleh null!");
+        }
+        return dendaMaksimal[tipeAnggota.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("KebijakanDenda{hariToleransi=").append(hariToleransi);
+        for (Anggota.TipeAnggota tipe : SEMUA_TIPE) {
+            sb.append(", ").append(tipe).append("=")
+              .append(tarifHarian[tipe.ordinal()]).append("/hari maks ")
+              .append(dendaMaksimal[tipe.ordinal()]);
+        }
+        return sb.append('}').toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Konteks evaluasi denda dengan satu tanggal acuan yang tetap.
+ *
+ * Tanggal acuan dibaca sekali (dari Clock atau diberikan langsung) lalu dipakai untuk
+ * semua evaluasi dalam satu batch. Dengan begitu setiap evaluasi tidak lagi memanggil
+ * LocalDate.now() berulang kali, dan hasil satu batch tidak berubah walaupun tanggal
+ * sistem berganti di tengah proses.
+ */
+public final class KonteksEvaluasi {
+
+    private final LocalDate tanggalAcuan;
+
+    private KonteksEvaluasi(LocalDate tanggalAcuan) {
+        if (tanggalAcuan == null) {
+            throw new IllegalArgumentException("Tanggal acuan tidak boleh null!");
+        }
+        this.tanggalAcuan = tanggalAcuan;
+    }
+
+    /**
+     * Konteks dengan tanggal hari ini menurut jam dan zona waktu sistem.
+     */
+    public static KonteksEvaluasi hariIni() {
+        return dari(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Konteks dengan tanggal saat ini menurut Clock yang diberikan (dibaca sekali).
+     */
+    public static KonteksEvaluasi dari(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock tidak boleh null!");
+        }
+        return new KonteksEvaluasi(LocalDate.now(clock));
+    }
+
+    /**
+     * Konteks dengan tanggal acuan eksplisit.
+     */
+    public static KonteksEvaluasi pada(LocalDate tanggalAcuan) {
+        return new KonteksEvaluasi(tanggalAcuan);
+    }
+
+    public LocalDate getTanggalAcuan() {
+        return tanggalAcuan;
+    }
+
+    /**
+     * Lihat KalkulatorDenda.hitungDenda.
+     */
+    public double hitungDenda(Peminjaman peminjaman, Anggota anggota) {
+        return KalkulatorDenda.hitungDenda(peminjaman, anggota, tanggalAcuan);
+    }
+
+    /**
+     * Lihat KalkulatorDenda.hitungDendaRupiah.
+     */
+    public long hitungDendaRupiah(Peminjaman peminjaman, Anggota anggota) {
+        return KalkulatorDenda.hitungDendaRupiah(peminjaman, anggota, tanggalAcuan);
+    }
+
+    /**
+     * Lihat KalkulatorDenda.adaDenda.
+     */
+    public boolean adaDenda(Peminjaman peminjaman) {
+        return KalkulatorDenda.adaDenda(peminjaman, tanggalAcuan);
+    }
+
+    /**
+     * Lihat Peminjaman.getDurasiPeminjaman.
+     */
+    public long getDurasiPeminjaman(Peminjaman peminjaman) {
+        if (peminjaman == null) {
+            throw new IllegalArgumentException("Peminjaman tidak boleh null!");
+        }
+        return peminjaman.getDurasiPeminjaman(tanggalAcuan);
+    }
+
+    @Override
+    public String toString() {
+        return "KonteksEvaluasi{" +
+                "tanggalAcuan=" + tanggalAcuan +
+                '}';
+    }
+}
\ No newline at end of file
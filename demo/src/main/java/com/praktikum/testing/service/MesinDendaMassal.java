@@ -0,0 +1,246 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Mesin perhitungan denda massal untuk proses malam (jutaan peminjaman terbuka).
+ *
+ * Alur:
+ * 1. Peminjaman dibaca berurutan dari sumbernya (koleksi atau stream) dalam potongan
+ *    berukuran tetap; seluruh masukan tidak pernah disalin ke satu list.
+ * 2. Setiap potongan dikerjakan tugas fork-join sendiri dalam satu lintasan: indeks anggota
+ *    lokal (ID -> slot, Anggota dicari sekali per potongan), hari terlambat, denda, total per
+ *    slot, dan histogram lokal.
+ * 3. Hasil potongan digabung di thread pemanggil (total per ID anggota dan histogram) sambil
+ *    potongan berikutnya dibaca. Jumlah potongan yang berjalan dibatasi, sehingga memori
+ *    sebanding dengan paralelisme pool, bukan dengan jumlah peminjaman.
+ *
+ * Kebijakan denda (KalkulatorDenda.getKebijakan) dan tanggal acuan (KonteksEvaluasi) dibaca
+ * sekali per proses, sehingga satu batch selalu memakai satu kebijakan utuh walaupun kebijakan
+ * diganti di tengah jalan, dan hasilnya sama dengan KalkulatorDenda.hitungDenda pada tanggal
+ * acuan yang sama. Denda dijumlahkan dalam Rupiah utuh (long) sehingga total tetap eksak.
+ */
+public class MesinDendaMassal {
+
+    // Jumlah peminjaman per tugas
+    static final int UKURAN_POTONGAN = 8192;
+
+    private final ForkJoinPool pool;
+
+    public MesinDendaMassal() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MesinDendaMassal(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Menghitung denda untuk aliran peminjaman. Stream dikonsumsi per potongan, tanpa
+     * dikumpulkan ke list lebih dulu.
+     */
+    public HasilDendaMassal hitung(Stream<Peminjaman> peminjaman, Map<String, Anggota> anggotaById) {
+        if (peminjaman == null) {
+            throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null!");
+        }
+        return hitung(peminjaman.iterator(), anggotaById, KonteksEvaluasi.hariIni());
+    }
+
+    /**
+     * Menghitung denda untuk kumpulan peminjaman dengan tanggal hari ini.
+     */
+    public HasilDendaMassal hitung(Collection<Peminjaman> daftarPeminjaman, Map<String, Anggota> anggotaById) {
+        return hitung(daftarPeminjaman, anggotaById, KonteksEvaluasi.hariIni());
+    }
+
+    /**
+     * Menghitung denda untuk kumpulan peminjaman.
+     * @param daftarPeminjaman peminjaman yang dievaluasi
+     * @param anggotaById anggota berdasarkan ID, harus memuat setiap idAnggota di daftarPeminjaman
+     * @param konteks konteks evaluasi yang menentukan tanggal acuan untuk seluruh batch
+     */
+    public HasilDendaMassal hitung(Collection<Peminjaman> daftarPeminjaman, Map<String, Anggota> anggotaById,
+                                   KonteksEvaluasi konteks) {
+        if (daftarPeminjaman == null) {
+            throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null!");
+        }
+        return hitung(daftarPeminjaman.iterator(), anggotaById, konteks);
+    }
+
+    private HasilDendaMassal hitung(Iterator<Peminjaman> sumber, Map<String, Anggota> anggotaById,
+                                    KonteksEvaluasi konteks) {
+        if (anggotaById == null) {
+            throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null!");
+        }
+        if (konteks == null) {
+            throw new IllegalArgumentException("Konteks evaluasi tidak boleh null!");
+        }
+        long hariIni = konteks.getTanggalAcuan().toEpochDay();
+        KebijakanDenda kebijakan = KalkulatorDenda.getKebijakan();
+        int maksBerjalan = Math.max(2, pool.getParallelism() * 2);
+
+        Map<String, Long> totalPerAnggota = new HashMap<>();
+        long[] histogram = new long[KalkulatorDenda.DESKRIPSI_DENDA.length];
+        int jumlahPeminjaman = 0;
+
+        // 1. Baca potongan dan jalankan tugasnya; gabung potongan tertua jika terlalu banyak yang berjalan
+        ArrayDeque<ForkJoinTask<HasilPotongan>> berjalan = new ArrayDeque<>();
+        try {
+            while (sumber.hasNext()) {
+                Peminjaman[] potongan = new Peminjaman[UKURAN_POTONGAN];
+                int isi = 0;
+                while (isi < potongan.length && sumber.hasNext()) {
+                    potongan[isi++] = sumber.next();
+                }
+                jumlahPeminjaman += isi;
+                TugasDenda tugas = new TugasDenda(kebijakan, anggotaById, hariIni, potongan, isi);
+                if (berjalan.isEmpty() && !sumber.hasNext()) {
+                    // Hanya satu potongan: kerjakan langsung di thread pemanggil
+                    gabung(tugas.compute(), totalPerAnggota, histogram);
+                    break;
+                }
+                berjalan.addLast(pool.submit(tugas));
+                if (berjalan.size() >= maksBerjalan) {
+                    gabung(berjalan.pollFirst().join(), totalPerAnggota, histogram);
+                }
+            }
+
+            // 2. Gabung sisa potongan
+            while (!berjalan.isEmpty()) {
+                gabung(berjalan.pollFirst().join(), totalPerAnggota, histogram);
+            }
+        } finally {
+            // Potongan yang belum digabung tidak dibutuhkan lagi jika proses gagal
+            for (ForkJoinTask<HasilPotongan> tugas : berjalan) {
+                tugas.cancel(false);
+            }
+        }
+
+        // 3. Susun hasil
+        Map<String, Double> totalMap = new HashMap<>(totalPerAnggota.size() * 4 / 3 + 1);
+        long totalDenda = 0;
+        for (Map.Entry<String, Long> entri : totalPerAnggota.entrySet()) {
+            totalMap.put(entri.getKey(), (double) entri.getValue());
+            totalDenda += entri.getValue();
+        }
+        Map<String, Long> histogramMap = new LinkedHashMap<>();
+        for (int k = 0; k < histogram.length; k++) {
+            histogramMap.put(KalkulatorDenda.DESKRIPSI_DENDA[k], histogram[k]);
+        }
+        return new HasilDendaMassal(totalMap, histogramMap, totalDenda, jumlahPeminjaman);
+    }
+
+    private static void gabung(HasilPotongan hasil, Map<String, Long> totalPerAnggota, long[] histogram) {
+        for (int a = 0; a < hasil.jumlahAnggota; a++) {
+            totalPerAnggota.merge(hasil.idAnggota[a], hasil.total[a], Long::sum);
+        }
+        for (int k = 0; k < histogram.length; k++) {
+            histogram[k] += hasil.histogram[k];
+        }
+    }
+
+    /**
+     * Hari terlambat dengan aturan yang sama dengan Peminjaman.getHariTerlambat,
+     * tetapi memakai tanggal acuan yang sudah dibaca sekali.
+     */
+    private static long hitungHariTerlambat(Peminjaman peminjaman, long hariIni) {
+        long akhir = peminjaman.isSudahDikembalikan() ? peminjaman.getTanggalKembali().toEpochDay() : hariIni;
+        long selisih = akhir - peminjaman.getTanggalJatuhTempo().toEpochDay();
+        return selisih > 0 ? selisih : 0;
+    }
+
+    /**
+     * Total per anggota (slot lokal potongan) dan histogram kategori satu potongan.
+     */
+    private static final class HasilPotongan {
+        final String[] idAnggota;
+        final long[] total;
+        final int jumlahAnggota;
+        final long[] histogram;
+
+        HasilPotongan(String[] idAnggota, long[] total, int jumlahAnggota, long[] histogram) {
+            this.idAnggota = idAnggota;
+            this.total = total;
+            this.jumlahAnggota = jumlahAnggota;
+            this.histogram = histogram;
+        }
+    }
+
+    /**
+     * Tugas fork-join untuk satu potongan peminjaman.
+     */
+    private static final class TugasDenda extends RecursiveTask<HasilPotongan> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient KebijakanDenda kebijakan;
+        private final transient Map<String, Anggota> anggotaById;
+        private final long hariIni;
+        private final transient Peminjaman[] potongan;
+        private final int jumlah;
+
+        TugasDenda(KebijakanDenda kebijakan, Map<String, Anggota> anggotaById, long hariIni,
+                   Peminjaman[] potongan, int jumlah) {
+            this.kebijakan = kebijakan;
+            this.anggotaById = anggotaById;
+            this.hariIni = hariIni;
+            this.potongan = potongan;
+            this.jumlah = jumlah;
+        }
+
+        @Override
+        protected HasilPotongan compute() {
+            Map<String, Integer> slotAnggota = new HashMap<>();
+            String[] idAnggota = new String[16];
+            byte[] tipeAnggota = new byte[16];
+            long[] total = new long[16];
+            int jumlahAnggota = 0;
+            long[] histogram = new long[KalkulatorDenda.DESKRIPSI_DENDA.length];
+
+            for (int i = 0; i < jumlah; i++) {
+                Peminjaman peminjaman = potongan[i];
+                if (peminjaman == null) {
+                    throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null!");
+                }
+
+                // 1. Slot anggota lokal; Anggota dicari sekali per potongan
+                Integer slot = slotAnggota.get(peminjaman.getIdAnggota());
+                if (slot == null) {
+                    Anggota anggota = anggotaById.get(peminjaman.getIdAnggota());
+                    if (anggota == null || anggota.getTipeAnggota() == null) {
+                        throw new IllegalArgumentException(
+                                "Anggota tidak ditemukan untuk peminjaman: " + peminjaman.getIdPeminjaman());
+                    }
+                    if (jumlahAnggota == idAnggota.length) {
+                        int kapasitas = jumlahAnggota * 2;
+                        idAnggota = Arrays.copyOf(idAnggota, kapasitas);
+                        tipeAnggota = Arrays.copyOf(tipeAnggota, kapasitas);
+                        total = Arrays.copyOf(total, kapasitas);
+                    }
+                    slot = jumlahAnggota++;
+                    slotAnggota.put(peminjaman.getIdAnggota(), slot);
+                    idAnggota[slot] = peminjaman.getIdAnggota();
+                    tipeAnggota[slot] = (byte) anggota.getTipeAnggota().ordinal();
+                }
+
+                // 2. Denda, total per slot, dan histogram dalam lintasan yang sama
+                long denda = kebijakan.hitungDenda(hitungHariTerlambat(peminjaman, hariIni), tipeAnggota[slot]);
+                total[slot] += denda;
+                histogram[KalkulatorDenda.getKategoriDenda(denda)]++;
+            }
+            return new HasilPotongan(idAnggota, total, jumlahAnggota, histogram);
+        }
+    }
+}
\ No newline at end of file
@@ -2,19 +2,57 @@ package com.praktikum.testing.service;
 
 import com.praktikum.testing.model.Buku;
 import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.repository.CheckpointJurnal;
 import com.praktikum.testing.repository.RepositoryBuku;
 import com.praktikum.testing.util.ValidationUtils;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class ServicePerpustakaan {
 
+    /**
+     * Hasil rinci transaksi pinjam/kembali (alasan jika gagal).
+     */
+    public enum StatusTransaksi {
+        BERHASIL,
+        DATA_TIDAK_VALID,
+        ANGGOTA_TIDAK_AKTIF,
+        BATAS_PINJAM_TERCAPAI,
+        SUDAH_MEMINJAM,
+        STOK_TIDAK_TERSEDIA,
+        TIDAK_MEMINJAM,
+        STOK_PENUH
+    }
+
     private final RepositoryBuku repositoryBuku;
     private final KalkulatorDenda KalkulatorDenda;
+    private final JurnalTransaksi jurnal; // null = tanpa jurnal
+    private volatile CheckpointJurnal checkpoint; // null = katalog tidak persisten
+    // key: ISBN, hanya ISBN yang sedang punya penunggu reservasi
+    private final ConcurrentHashMap<String, AntrianReservasi> antrianReservasi = new ConcurrentHashMap<>();
 
     public ServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
+        this(repositoryBuku, kalkulatorDenda, null);
+    }
+
+    /**
+     * Service yang mencatat setiap pinjam/kembali yang berhasil ke jurnal transaksi.
+     * pinjamBuku/kembalikanBuku baru mengembalikan true setelah entri jurnal tersimpan di disk.
+     */
+    public ServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda,
+                               JurnalTransaksi jurnal) {
         this.repositoryBuku = repositoryBuku;
         this.KalkulatorDenda = kalkulatorDenda;
+        this.jurnal = jurnal;
     }
 
     /**
@@ -36,6 +74,53 @@ public class ServicePerpustakaan {
         return repositoryBuku.simpan(buku);
     }
 
+    /**
+     * Menambahkan banyak buku baru sekaligus (mis. satu kiriman pengadaan).
+     * Aturannya sama dengan tambahBuku, tetapi cek keberadaan dan penyimpanan
+     * masing-masing hanya satu round trip ke repository untuk seluruh batch.
+     * @return hasil per item (true jika ditambahkan), urutannya sama dengan daftarBuku
+     */
+    public List<Boolean> tambahBukuBatch(List<Buku> daftarBuku) {
+        Boolean[] hasil = new Boolean[daftarBuku.size()];
+        Arrays.fill(hasil, Boolean.FALSE);
+
+        // 1. Validasi semua Buku; ISBN yang muncul dua kali di batch hanya diterima yang pertama
+        List<Integer> indeksValid = new ArrayList<>();
+        Set<String> isbnValid = new HashSet<>();
+        for (int i = 0; i < daftarBuku.size(); i++) {
+            Buku buku = daftarBuku.get(i);
+            if (ValidationUtils.isValidBuku(buku) && isbnValid.add(buku.getIsbn())) {
+                indeksValid.add(i);
+            }
+        }
+        if (indeksValid.isEmpty()) {
+            return Arrays.asList(hasil);
+        }
+
+        // 2. Cek ISBN yang sudah ada dengan satu multi-get
+        Map<String, Buku> bukuExisting = repositoryBuku.cariByIsbnBatch(isbnValid);
+
+        // 3. Simpan sisanya dengan satu panggilan batch
+        List<Integer> indeksBaru = new ArrayList<>();
+        List<Buku> bukuBaru = new ArrayList<>();
+        for (int i : indeksValid) {
+            Buku buku = daftarBuku.get(i);
+            if (!bukuExisting.containsKey(buku.getIsbn())) {
+                indeksBaru.add(i);
+                bukuBaru.add(buku);
+            }
+        }
+        if (bukuBaru.isEmpty()) {
+            return Arrays.asList(hasil);
+        }
+
+        List<Boolean> hasilSimpan = repositoryBuku.simpanBatch(bukuBaru);
+        for (int j = 0; j < indeksBaru.size(); j++) {
+            hasil[indeksBaru.get(j)] = hasilSimpan.get(j);
+        }
+        return Arrays.asList(hasil);
+    }
+
     /**
      * Menghapus buku dari sistem.
      */
@@ -105,73 +190,491 @@ public class ServicePerpustakaan {
      * Proses peminjaman buku oleh anggota.
      */
     public boolean pinjamBuku(String isbn, Anggota anggota) {
-        // 1. Validasi dasar
-        if (!ValidationUtils.isValidIsbn(isbn) || !ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) {
-            return false;
+        return prosesPinjam(isbn, anggota) == StatusTransaksi.BERHASIL;
+    }
+
+    /**
+     * Proses peminjaman buku oleh anggota, dengan alasan jika gagal.
+     */
+    public StatusTransaksi prosesPinjam(String isbn, Anggota anggota) {
+        StatusTransaksi status = pinjamDiMemori(isbn, anggota);
+        if (status == StatusTransaksi.BERHASIL) {
+            catatPinjam(isbn, anggota);
         }
+        return status;
+    }
 
-        // 2. Cek apakah anggota masih boleh pinjam (batas pinjaman)
-        if (!anggota.bolehPinjamLagi()) {
-            return false; 
+    /**
+     * Langkah peminjaman di memori (slot anggota + stok), tanpa jurnal.
+     * Private agar reservasiBuku tidak ikut terhitung oleh subclass yang meng-override prosesPinjam.
+     */
+    private StatusTransaksi pinjamDiMemori(String isbn, Anggota anggota) {
+        // 1. Validasi dasar
+        if (!ValidationUtils.isValidIsbn(isbn) || !ValidationUtils.isValidAnggota(anggota)) {
+            return StatusTransaksi.DATA_TIDAK_VALID;
+        }
+        if (!anggota.isAktif()) {
+            return StatusTransaksi.ANGGOTA_TIDAK_AKTIF;
         }
 
-        // 3. Cek ketersediaan buku
-        Optional<Buku> bukuOpt = repositoryBuku.cariByIsbn(isbn);
-        if (!bukuOpt.isPresent() || !bukuOpt.get().isTersedia()) {
-            return false; 
+        // 2. Pesan slot pinjaman anggota secara atomik (cek batas pinjam + tambah dalam satu langkah)
+        // Gagal jika batas pinjam tercapai atau buku ini sedang dipinjam anggota yang sama
+        if (!anggota.tambahBukuDipinjamJikaBoleh(isbn)) {
+            return anggota.sedangMeminjam(isbn) ? StatusTransaksi.SUDAH_MEMINJAM
+                    : StatusTransaksi.BATAS_PINJAM_TERCAPAI; 
         }
 
-        Buku buku = bukuOpt.get();
-        
-        // 4. Update jumlah tersedia (stok berkurang 1)
-        int jumlahTersediaBaru = buku.getJumlahTersedia() - 1;
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        // 3. Pesan satu salinan secara atomik (stok berkurang 1 hanya jika masih tersedia)
+        // Gagal jika buku tidak ditemukan atau stok sudah habis; slot anggota dilepas lagi
+        if (!repositoryBuku.kurangiJumlahTersedia(isbn)) {
+            anggota.hapusBukuDipinjam(isbn);
+            return StatusTransaksi.STOK_TIDAK_TERSEDIA;
+        }
+        return StatusTransaksi.BERHASIL;
+    }
 
-        if (updateBerhasil) {
-            // 5. Update data anggota (tambahkan buku ke daftar pinjaman)
-            anggota.tambahBukuDipinjam(isbn);
-            return true;
+    /**
+     * Mencatat peminjaman ke jurnal; jika gagal, batalkan perubahan di memori.
+     * Salinan yang kembali ke stok langsung ditawarkan ke antrian reservasi.
+     */
+    private void catatPinjam(String isbn, Anggota anggota) {
+        if (jurnal == null) {
+            return;
+        }
+        long nomor;
+        try {
+            nomor = jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, isbn, anggota.getIdAnggota());
+        } catch (UncheckedIOException e) {
+            anggota.hapusBukuDipinjam(isbn);
+            repositoryBuku.tambahJumlahTersedia(isbn);
+            layaniAntrian(isbn);
+            throw e;
         }
+        naikkanCheckpoint(nomor);
+    }
 
-        return false;
+    /**
+     * Stok entri ini (dan semua entri sebelumnya) sudah tercermin di katalog.
+     */
+    private void naikkanCheckpoint(long nomor) {
+        CheckpointJurnal c = checkpoint;
+        if (c != null) {
+            c.naikkanNomorJurnal(nomor);
+        }
     }
 
     /**
      * Proses pengembalian buku oleh anggota.
      */
     public boolean kembalikanBuku(String isbn, Anggota anggota) {
+        return prosesKembali(isbn, anggota) == StatusTransaksi.BERHASIL;
+    }
+
+    /**
+     * Proses pengembalian buku oleh anggota, dengan alasan jika gagal.
+     */
+    public StatusTransaksi prosesKembali(String isbn, Anggota anggota) {
         // 1. Validasi dasar
         if (!ValidationUtils.isValidIsbn(isbn) || anggota == null) {
-            return false;
+            return StatusTransaksi.DATA_TIDAK_VALID;
         }
 
-        // 2. Cek apakah anggota memang meminjam buku ini
-        if (!anggota.getIdBukuDipinjam().contains(isbn)) {
-            return false;
+        // 2. Hapus buku dari daftar pinjaman anggota secara atomik
+        // Gagal jika anggota memang tidak meminjam buku ini (atau sudah dikembalikan thread lain)
+        if (!anggota.hapusBukuDipinjam(isbn)) {
+            return StatusTransaksi.TIDAK_MEMINJAM;
         }
 
-        // 3. Cari buku (untuk mendapatkan jumlah tersedia saat ini)
-        Optional<Buku> bukuOpt = repositoryBuku.cariByIsbn(isbn);
-        if (!bukuOpt.isPresent()) {
-            return false; // Buku tidak ditemukan di repositori (harusnya tidak terjadi jika data konsisten)
+        // 3. Jika ada reservasi, salinan langsung diserahkan ke penunggu pertama tanpa lewat stok
+        AntrianReservasi.Reservasi penerima = ambilPenerima(isbn, false);
+        if (penerima != null) {
+            if (jurnal != null) {
+                try {
+                    jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, isbn, anggota.getIdAnggota());
+                } catch (UncheckedIOException e) {
+                    penerima.anggota.hapusBukuDipinjam(isbn);
+                    kembalikanKeAntrian(isbn, penerima);
+                    anggota.tambahBukuDipinjam(isbn);
+                    throw e;
+                }
+            }
+            selesaikanPenyerahan(isbn, penerima);
+            layaniAntrian(isbn); // jika penyerahan batal, salinannya sudah masuk stok
+            return StatusTransaksi.BERHASIL;
         }
 
-        Buku buku = bukuOpt.get();
-
-        // 4. Update jumlah tersedia (stok bertambah 1)
-        int jumlahTersediaBaru = buku.getJumlahTersedia() + 1;
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        // 3b. Lepas satu salinan secara atomik (stok bertambah 1 hanya jika belum penuh)
+        // Gagal jika buku tidak ditemukan di repositori (harusnya tidak terjadi jika data konsisten)
+        boolean updateBerhasil = repositoryBuku.tambahJumlahTersedia(isbn);
         
         if (updateBerhasil) {
-            // 5. Update data anggota (hapus buku dari daftar pinjaman)
-            anggota.hapusBukuDipinjam(isbn);
+            // 4. Catat ke jurnal; jika gagal, batalkan perubahan di memori
+            if (jurnal != null) {
+                long nomor;
+                try {
+                    nomor = jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, isbn, anggota.getIdAnggota());
+                } catch (UncheckedIOException e) {
+                    repositoryBuku.kurangiJumlahTersedia(isbn);
+                    anggota.tambahBukuDipinjam(isbn);
+                    throw e;
+                }
+                naikkanCheckpoint(nomor);
+            }
             
             // Catatan: Logika pembaruan objek Peminjaman dan perhitungan denda (menggunakan kalkulatorDenda)
             // tidak terlihat di sini, namun harus ditambahkan pada implementasi penuh.
-            
-            return true;
+
+            // 5. Reservasi yang masuk antrian bersamaan dengan pengembalian ini dilayani dari stok
+            layaniAntrian(isbn);
+            return StatusTransaksi.BERHASIL;
+        }
+
+        // Stok tidak bisa ditambah: buku tetap tercatat sebagai dipinjam
+        anggota.tambahBukuDipinjam(isbn);
+        return StatusTransaksi.STOK_PENUH;
+    }
+
+    // --- Reservasi ---
+
+    /**
+     * Meminjam buku, atau masuk antrian reservasi FIFO jika stok sedang habis.
+     *
+     * Future selesai dengan BERHASIL saat salinan sudah menjadi milik anggota: langsung jika
+     * stok tersedia, atau saat pengembalian berikutnya menyerahkan salinannya (tanpa polling).
+     * Jika saat gilirannya anggota tidak lagi bisa meminjam (tidak aktif, batas pinjam, sudah
+     * meminjam), future selesai dengan alasannya dan salinan diberikan ke penunggu berikutnya.
+     * Reservasi ulang oleh anggota yang sama mengembalikan future yang sama.
+     * @return future status; DATA_TIDAK_VALID jika data tidak valid atau buku tidak ada di katalog
+     */
+    public CompletableFuture<StatusTransaksi> reservasiBuku(String isbn, Anggota anggota) {
+        // 1. Validasi dasar; ISBN harus ada di katalog agar tidak menunggu selamanya
+        if (!ValidationUtils.isValidIsbn(isbn) || !ValidationUtils.isValidAnggota(anggota)
+                || !repositoryBuku.cariByIsbn(isbn).isPresent()) {
+            return CompletableFuture.completedFuture(StatusTransaksi.DATA_TIDAK_VALID);
+        }
+
+        // 2. Di bawah lock antrian ISBN ini: pinjam langsung jika belum ada yang menunggu,
+        // jika stok habis masuk antrian (pengembalian mengambil lock yang sama, jadi tidak ada
+        // salinan yang kembali ke stok tanpa melihat reservasi ini)
+        StatusTransaksi status = null;
+        while (status == null) {
+            AntrianReservasi antrian = antrianReservasi.computeIfAbsent(isbn, k -> new AntrianReservasi());
+            antrian.kunci.lock();
+            try {
+                if (antrian.dihapus) {
+                    continue;
+                }
+                AntrianReservasi.Reservasi ada = antrian.perAnggota.get(anggota.getIdAnggota());
+                if (ada != null && !ada.hasil.isDone()) {
+                    return ada.hasil;
+                }
+                if (antrian.jumlahMenunggu == 0) {
+                    StatusTransaksi langsung = pinjamDiMemori(isbn, anggota);
+                    if (langsung != StatusTransaksi.STOK_TIDAK_TERSEDIA) {
+                        lepasJikaKosong(isbn, antrian);
+                        status = langsung;
+                        continue;
+                    }
+                }
+                AntrianReservasi.Reservasi reservasi = new AntrianReservasi.Reservasi(anggota);
+                antrian.perAnggota.put(anggota.getIdAnggota(), reservasi);
+                antrian.masuk(reservasi, false);
+                // Pembukuan juga berjalan saat future dibatalkan langsung oleh pemanggil
+                reservasi.hasil.whenComplete((hasil, error) -> reservasiSelesai(isbn, reservasi));
+                return reservasi.hasil;
+            } finally {
+                antrian.kunci.unlock();
+            }
+        }
+
+        // 3. Peminjaman langsung dicatat ke jurnal di luar lock antrian (fsync tidak menahan pengembalian)
+        if (status == StatusTransaksi.BERHASIL) {
+            catatPinjam(isbn, anggota);
+        }
+        return CompletableFuture.completedFuture(status);
+    }
+
+    /**
+     * Membatalkan reservasi anggota yang masih menunggu. Future-nya dibatalkan.
+     * @return true jika ada reservasi yang dibatalkan
+     */
+    public boolean batalkanReservasi(String isbn, Anggota anggota) {
+        AntrianReservasi antrian = isbn == null || anggota == null ? null : antrianReservasi.get(isbn);
+        if (antrian == null) {
+            return false;
+        }
+        AntrianReservasi.Reservasi batal;
+        antrian.kunci.lock();
+        try {
+            // Hanya reservasi yang masih di antrian; entri deque-nya dilewati saat gilirannya tiba
+            batal = antrian.perAnggota.get(anggota.getIdAnggota());
+            if (batal == null || batal.hasil.isDone() || !antrian.keluar(batal)) {
+                return false;
+            }
+            antrian.perAnggota.remove(anggota.getIdAnggota(), batal);
+            lepasJikaKosong(isbn, antrian);
+        } finally {
+            antrian.kunci.unlock();
+        }
+        return batal.hasil.cancel(false);
+    }
+
+    /**
+     * Jumlah anggota yang sedang menunggu reservasi untuk ISBN ini.
+     */
+    public int getJumlahMenunggu(String isbn) {
+        AntrianReservasi antrian = isbn == null ? null : antrianReservasi.get(isbn);
+        if (antrian == null) {
+            return 0;
+        }
+        antrian.kunci.lock();
+        try {
+            return antrian.jumlahMenunggu;
+        } finally {
+            antrian.kunci.unlock();
+        }
+    }
+
+    /**
+     * Mengambil penunggu pertama yang masih bisa meminjam dan memesan slot pinjamannya.
+     * Penunggu yang tidak lagi bisa meminjam dikeluarkan dan future-nya diselesaikan dengan alasannya.
+     * @param ambilDariStok true jika salinan diambil dari stok (dan dikembalikan jika tidak ada penerima),
+     *                      false jika salinan berasal dari pengembalian yang sedang berjalan
+     * @return penerima dengan slot yang sudah dipesan, atau null
+     */
+    private AntrianReservasi.Reservasi ambilPenerima(String isbn, boolean ambilDariStok) {
+        AntrianReservasi antrian = antrianReservasi.get(isbn);
+        if (antrian == null) {
+            return null;
+        }
+        List<AntrianReservasi.Reservasi> ditolak = new ArrayList<>();
+        AntrianReservasi.Reservasi penerima = null;
+        antrian.kunci.lock();
+        try {
+            if (antrian.jumlahMenunggu == 0 || (ambilDariStok && !repositoryBuku.kurangiJumlahTersedia(isbn))) {
+                return null;
+            }
+            AntrianReservasi.Reservasi r;
+            while (penerima == null && (r = antrian.menunggu.pollFirst()) != null) {
+                if (!antrian.keluar(r) || r.hasil.isDone()) {
+                    continue; // dibatalkan, lewat batalkanReservasi atau future
+                }
+                StatusTransaksi status = pesanSlot(isbn, r.anggota);
+                if (status == StatusTransaksi.BERHASIL) {
+                    penerima = r;
+                } else {
+                    r.statusDitolak = status;
+                    ditolak.add(r);
+                }
+            }
+            if (penerima == null && ambilDariStok) {
+                repositoryBuku.tambahJumlahTersedia(isbn);
+            }
+            lepasJikaKosong(isbn, antrian);
+        } finally {
+            antrian.kunci.unlock();
         }
 
-        return false;
+        // Callback pemanggil dijalankan di luar lock antrian
+        for (AntrianReservasi.Reservasi r : ditolak) {
+            r.hasil.complete(r.statusDitolak);
+        }
+        return penerima;
+    }
+
+    /**
+     * Mencatat peminjaman penerima ke jurnal lalu menyelesaikan future-nya.
+     * Jika jurnal gagal atau future sudah dibatalkan pemanggil, slot dilepas dan salinan
+     * masuk ke stok; pemanggil harus menjalankan layaniAntrian sesudahnya.
+     */
+    private void selesaikanPenyerahan(String isbn, AntrianReservasi.Reservasi penerima) {
+        Anggota anggota = penerima.anggota;
+
+        // 1. Dibatalkan sebelum dicatat: cukup lepas slotnya
+        if (penerima.hasil.isDone()) {
+            anggota.hapusBukuDipinjam(isbn);
+            repositoryBuku.tambahJumlahTersedia(isbn);
+            return;
+        }
+
+        // 2. Catat peminjaman ke jurnal; checkpoint baru dinaikkan di sini karena penyerahan
+        // langsung (KEMBALI + PINJAM) tidak mengubah stok di antara kedua entrinya
+        if (jurnal != null) {
+            long nomor;
+            try {
+                nomor = jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, isbn, anggota.getIdAnggota());
+            } catch (UncheckedIOException e) {
+                anggota.hapusBukuDipinjam(isbn);
+                repositoryBuku.tambahJumlahTersedia(isbn);
+                penerima.hasil.completeExceptionally(e);
+                return;
+            }
+            naikkanCheckpoint(nomor);
+        }
+
+        // 3. Serahkan; future yang dibatalkan di antara langkah 1 dan 3 membatalkan pinjamannya juga
+        if (penerima.hasil.complete(StatusTransaksi.BERHASIL)) {
+            return;
+        }
+        long nomor = 0;
+        if (jurnal != null) {
+            try {
+                nomor = jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, isbn, anggota.getIdAnggota());
+            } catch (UncheckedIOException e) {
+                return; // Jurnal mencatat buku masih dipinjam anggota; memori dibiarkan sama
+            }
+        }
+        anggota.hapusBukuDipinjam(isbn);
+        repositoryBuku.tambahJumlahTersedia(isbn);
+        naikkanCheckpoint(nomor);
+    }
+
+    /**
+     * Melayani penunggu dari stok selama stok ada (menutup celah saat reservasi masuk antrian
+     * bersamaan dengan salinan yang dikembalikan ke stok).
+     */
+    private void layaniAntrian(String isbn) {
+        AntrianReservasi.Reservasi penerima;
+        while ((penerima = ambilPenerima(isbn, true)) != null) {
+            selesaikanPenyerahan(isbn, penerima);
+        }
+    }
+
+    /**
+     * Mengembalikan penerima ke kepala antrian setelah penyerahan dibatalkan.
+     */
+    private void kembalikanKeAntrian(String isbn, AntrianReservasi.Reservasi reservasi) {
+        while (true) {
+            AntrianReservasi antrian = antrianReservasi.computeIfAbsent(isbn, k -> new AntrianReservasi());
+            antrian.kunci.lock();
+            try {
+                if (!antrian.dihapus) {
+                    antrian.masuk(reservasi, true);
+                    return;
+                }
+            } finally {
+                antrian.kunci.unlock();
+            }
+        }
+    }
+
+    /**
+     * Pembukuan setelah future reservasi selesai (diserahkan, ditolak, atau dibatalkan).
+     * Reservasi yang dibatalkan langsung saat masih menunggu dikeluarkan dari hitungan; penunggu
+     * yang masuk antrian sebelum hitungan itu turun lalu dilayani dari stok.
+     */
+    private void reservasiSelesai(String isbn, AntrianReservasi.Reservasi reservasi) {
+        boolean layani = false;
+        while (true) {
+            AntrianReservasi antrian = antrianReservasi.get(isbn);
+            if (antrian == null) {
+                return;
+            }
+            antrian.kunci.lock();
+            try {
+                if (antrian.dihapus) {
+                    continue;
+                }
+                layani = antrian.keluar(reservasi) && antrian.jumlahMenunggu > 0;
+                antrian.perAnggota.remove(reservasi.anggota.getIdAnggota(), reservasi);
+                lepasJikaKosong(isbn, antrian);
+                break;
+            } finally {
+                antrian.kunci.unlock();
+            }
+        }
+        if (layani) {
+            layaniAntrian(isbn);
+        }
+    }
+
+    private static StatusTransaksi pesanSlot(String isbn, Anggota anggota) {
+        if (!anggota.isAktif()) {
+            return StatusTransaksi.ANGGOTA_TIDAK_AKTIF;
+        }
+        if (!anggota.tambahBukuDipinjamJikaBoleh(isbn)) {
+            return anggota.sedangMeminjam(isbn) ? StatusTransaksi.SUDAH_MEMINJAM
+                    : StatusTransaksi.BATAS_PINJAM_TERCAPAI;
+        }
+        return StatusTransaksi.BERHASIL;
+    }
+
+    /**
+     * Membuang entri basi jika tidak ada lagi yang menunggu, dan melepas antrian dari peta jika
+     * tidak ada reservasi yang belum selesai. Harus dipanggil sambil memegang lock antrian.
+     */
+    private void lepasJikaKosong(String isbn, AntrianReservasi antrian) {
+        if (antrian.jumlahMenunggu == 0) {
+            antrian.menunggu.clear();
+        }
+        if (antrian.perAnggota.isEmpty() && !antrian.dihapus) {
+            antrian.dihapus = true;
+            antrianReservasi.remove(isbn, antrian);
+        }
+    }
+
+    /**
+     * Replay jurnal saat startup: menerapkan ulang semua entri yang ada saat jurnal dibuka
+     * ke stok repository dan daftar pinjaman anggota, tanpa mencatatnya lagi.
+     * Repository harus berisi stok awal katalog (sebelum entri pertama jurnal).
+     * @param cariAnggota mencari Anggota dari ID-nya (null jika tidak dikenal)
+     * @return jumlah entri yang berhasil diterapkan
+     */
+    public int putarUlangJurnal(Function<String, Anggota> cariAnggota) {
+        return putarUlangJurnal(cariAnggota, null);
+    }
+
+    /**
+     * Replay jurnal untuk katalog persisten (mis. MappedFileRepositoryBuku) yang stoknya
+     * bertahan setelah restart.
+     *
+     * Stok hanya diterapkan untuk entri setelah nomor checkpoint katalog; daftar pinjaman
+     * anggota (yang tidak persisten) dibangun ulang dari semua entri. Stok selalu diterapkan
+     * meskipun ID anggota tidak dikenal. Setelah replay, setiap transaksi yang tersimpan di
+     * jurnal ikut menaikkan checkpoint katalog.
+     * @param cariAnggota mencari Anggota dari ID-nya (null jika tidak dikenal)
+     * @param checkpoint checkpoint yang disimpan bersama katalog (null = katalog di memori)
+     * @return jumlah entri yang berhasil diterapkan (stok dan/atau anggota)
+     */
+    public int putarUlangJurnal(Function<String, Anggota> cariAnggota, CheckpointJurnal checkpoint) {
+        if (jurnal == null) {
+            return 0;
+        }
+
+        long stokSampai = checkpoint == null ? 0 : checkpoint.getNomorJurnal();
+        long nomorTerakhir = 0;
+        int diterapkan = 0;
+        for (JurnalTransaksi.Entri entri : jurnal.getEntriSaatDibuka()) {
+            boolean pinjam = entri.getJenis() == JurnalTransaksi.JenisTransaksi.PINJAM;
+            nomorTerakhir = entri.getNomor();
+
+            // 1. Stok: hanya entri yang belum tercermin di katalog
+            boolean berubah = false;
+            if (entri.getNomor() > stokSampai) {
+                berubah = pinjam ? repositoryBuku.kurangiJumlahTersedia(entri.getIsbn())
+                        : repositoryBuku.tambahJumlahTersedia(entri.getIsbn());
+            }
+
+            // 2. Daftar pinjaman anggota, jika anggotanya dikenal
+            Anggota anggota = cariAnggota.apply(entri.getIdAnggota());
+            if (anggota != null) {
+                if (pinjam) {
+                    anggota.tambahBukuDipinjam(entri.getIsbn());
+                } else {
+                    anggota.hapusBukuDipinjam(entri.getIsbn());
+                }
+                berubah = true;
+            }
+            if (berubah) {
+                diterapkan++;
+            }
+        }
+
+        // 3. Katalog kini mencerminkan seluruh jurnal
+        if (checkpoint != null) {
+            checkpoint.naikkanNomorJurnal(nomorTerakhir);
+            this.checkpoint = checkpoint;
+        }
+        return diterapkan;
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Varian asinkron ServicePerpustakaan: setiap operasi dijalankan di executor dan
+ * langsung mengembalikan CompletableFuture, sehingga pemanggil tidak ikut terblokir
+ * saat RepositoryBuku lambat (I/O).
+ *
+ * Executor default:
+ * - JDK 21+: satu virtual thread per tugas (Executors.newVirtualThreadPerTaskExecutor,
+ *   dipanggil lewat reflection karena kode dikompilasi untuk Java 8). Puluhan ribu
+ *   permintaan bisa menunggu I/O bersamaan tanpa menumpuk platform thread.
+ * - JVM lebih lama: pool platform thread berukuran tetap dengan antrean terbatas.
+ *   Jika antrean penuh, tugas dijalankan di thread pemanggil (backpressure).
+ */
+public class ServicePerpustakaanAsync implements AutoCloseable {
+
+    static final int UKURAN_ANTREAN_CADANGAN = 10_000;
+
+    private final ServicePerpustakaan service;
+    private final ExecutorService executor;
+    private final boolean executorMilikSendiri;
+    private final boolean virtualThread;
+
+    /**
+     * Memakai executor default (virtual thread jika tersedia); executor ditutup oleh close().
+     */
+    public ServicePerpustakaanAsync(ServicePerpustakaan service) {
+        if (service == null) {
+            throw new IllegalArgumentException("Service tidak boleh null");
+        }
+        ExecutorService virtual = buatExecutorVirtualThread();
+        this.service = service;
+        this.virtualThread = virtual != null;
+        this.executor = virtual != null ? virtual : buatPoolCadangan(Runtime.getRuntime().availableProcessors() * 8);
+        this.executorMilikSendiri = true;
+    }
+
+    /**
+     * Memakai executor milik pemanggil; executor tidak ditutup oleh close().
+     */
+    public ServicePerpustakaanAsync(ServicePerpustakaan service, ExecutorService executor) {
+        if (service == null || executor == null) {
+            throw new IllegalArgumentException("Service dan executor tidak boleh null");
+        }
+        this.service = service;
+        this.executor = executor;
+        this.executorMilikSendiri = false;
+        this.virtualThread = false;
+    }
+
+    public CompletableFuture<Boolean> pinjamBuku(String isbn, Anggota anggota) {
+        return jalankan(() -> service.pinjamBuku(isbn, anggota));
+    }
+
+    public CompletableFuture<Boolean> kembalikanBuku(String isbn, Anggota anggota) {
+        return jalankan(() -> service.kembalikanBuku(isbn, anggota));
+    }
+
+    public CompletableFuture<Optional<Buku>> cariBukuByIsbn(String isbn) {
+        return jalankan(() -> service.cariBukuByIsbn(isbn));
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByJudul(String judul) {
+        return jalankan(() -> service.cariBukuByJudul(judul));
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByPengarang(String pengarang) {
+        return jalankan(() -> service.cariBukuByPengarang(pengarang));
+    }
+
+    public CompletableFuture<Boolean> bukuTersedia(String isbn) {
+        return jalankan(() -> service.bukuTersedia(isbn));
+    }
+
+    public CompletableFuture<Integer> getJumlahTersedia(String isbn) {
+        return jalankan(() -> service.getJumlahTersedia(isbn));
+    }
+
+    /**
+     * true jika executor default memakai virtual thread (JDK 21+).
+     */
+    public boolean isMemakaiVirtualThread() {
+        return virtualThread;
+    }
+
+    /**
+     * Menutup executor default setelah tugas yang sudah masuk selesai.
+     */
+    @Override
+    public void close() {
+        if (executorMilikSendiri) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        return CompletableFuture.supplyAsync(operasi, executor);
+    }
+
+    /**
+     * @return executor virtual-thread-per-task, atau null jika JVM belum mendukung virtual thread
+     */
+    static ExecutorService buatExecutorVirtualThread() {
+        try {
+            Method pembuat = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) pembuat.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Pool platform thread berukuran tetap dengan antrean terbatas (cadangan sebelum JDK 21).
+     */
+    static ExecutorService buatPoolCadangan(int jumlahThread) {
+        AtomicInteger nomor = new AtomicInteger();
+        ThreadFactory pabrik = tugas -> {
+            Thread thread = new Thread(tugas, "perpustakaan-async-" + nomor.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(jumlahThread, jumlahThread, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(UKURAN_ANTREAN_CADANGAN), pabrik, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
\ No newline at end of file
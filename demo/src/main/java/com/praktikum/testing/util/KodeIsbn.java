@@ -0,0 +1,120 @@
+package com.praktikum.testing.util;
+
+/**
+ * Kodek ISBN ke bilangan long kanonik (tanpa alokasi).
+ *
+ * Spasi dan tanda hubung diabaikan, sehingga "978-0-306-40615-7" dan "9780306406157"
+ * menghasilkan kode yang sama. ISBN-10 dengan checksum benar diubah ke ISBN-13 padanannya
+ * (awalan 978, digit cek dihitung ulang), sehingga "0-306-40615-2" juga menghasilkan kode yang sama.
+ *
+ * ISBN-10 yang checksum-nya salah tidak punya padanan ISBN-13 yang pasti. Agar tetap bisa
+ * dipakai sebagai kunci tanpa bertabrakan, ISBN-10 seperti ini disimpan apa adanya di ruang
+ * kode terpisah (bit PENANDA_ISBN10_MENTAH). ISBN-13 disimpan apa adanya tanpa cek checksum,
+ * sama dengan aturan format di ValidationUtils.
+ */
+public final class KodeIsbn {
+
+    /**
+     * Nilai balik kode() untuk masukan yang bukan ISBN-10 atau ISBN-13.
+     */
+    public static final long TIDAK_VALID = -1L;
+
+    // ISBN-13 < 10^13 < 2^44, jadi bit ini tidak pernah dipakai oleh ISBN-13
+    static final long PENANDA_ISBN10_MENTAH = 1L << 60;
+
+    // Awalan EAN untuk ISBN-10 yang diubah ke ISBN-13, dikali 10^9
+    private static final long AWALAN_978 = 978_000_000_000L;
+
+    private KodeIsbn() {
+    }
+
+    /**
+     * Mengubah ISBN (boleh dengan spasi/tanda hubung) menjadi kode long kanonik.
+     * @return kode >= 0, atau TIDAK_VALID jika bukan 10 atau 13 digit
+     */
+    public static long kode(String isbn) {
+        if (isbn == null) {
+            return TIDAK_VALID;
+        }
+
+        // 1. Pindai digit; 'X' hanya boleh sebagai digit ke-10
+        long nilai = 0;
+        int jumlahDigit = 0;
+        int jumlah10 = 0;
+        boolean adaX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (MesinValidasi.isSpasiAtauHubung(c)) {
+                continue;
+            }
+            if (adaX || jumlahDigit >= 13) {
+                return TIDAK_VALID;
+            }
+            int digit;
+            if (MesinValidasi.isDigit(c)) {
+                digit = c - '0';
+                nilai = nilai * 10 + digit;
+            } else if ((c == 'X' || c == 'x') && jumlahDigit == 9) {
+                digit = 10;
+                adaX = true;
+            } else {
+                return TIDAK_VALID;
+            }
+            if (jumlahDigit < 10) {
+                jumlah10 += digit * (10 - jumlahDigit);
+            }
+            jumlahDigit++;
+        }
+
+        // 2. ISBN-13 dipakai apa adanya
+        if (jumlahDigit == 13) {
+            return nilai;
+        }
+        if (jumlahDigit != 10) {
+            return TIDAK_VALID;
+        }
+
+        // 3. ISBN-10: ubah ke ISBN-13 jika checksum benar, jika tidak simpan di ruang kode mentah
+        if (jumlah10 % 11 != 0) {
+            return adaX ? TIDAK_VALID : PENANDA_ISBN10_MENTAH | nilai;
+        }
+        long sembilanDigit = adaX ? nilai : nilai / 10;
+        long duaBelasDigit = AWALAN_978 + sembilanDigit;
+        return duaBelasDigit * 10 + digitCekIsbn13(duaBelasDigit);
+    }
+
+    /**
+     * Mengubah kode kembali ke bentuk ISBN tanpa tanda hubung
+     * (13 digit, atau 10 digit untuk ISBN-10 yang checksum-nya salah).
+     */
+    public static String keString(long kode) {
+        if (kode < 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+        boolean mentah = (kode & PENANDA_ISBN10_MENTAH) != 0;
+        long nilai = kode & ~PENANDA_ISBN10_MENTAH;
+        char[] digit = new char[mentah ? 10 : 13];
+        for (int i = digit.length - 1; i >= 0; i--) {
+            digit[i] = (char) ('0' + nilai % 10);
+            nilai /= 10;
+        }
+        if (nilai != 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+        return new String(digit);
+    }
+
+    /**
+     * Digit cek ISBN-13 untuk 12 digit pertama (bobot 1,3,1,3,... dari kiri).
+     */
+    static int digitCekIsbn13(long duaBelasDigit) {
+        int jumlah = 0;
+        // Dari kanan: digit ke-12 berbobot 3, ke-11 berbobot 1, dan seterusnya
+        for (int i = 0; i < 12; i++) {
+            int digit = (int) (duaBelasDigit % 10);
+            jumlah += (i & 1) == 0 ? digit * 3 : digit;
+            duaBelasDigit /= 10;
+        }
+        return (10 - jumlah % 10) % 10;
+    }
+}
\ No newline at end of file
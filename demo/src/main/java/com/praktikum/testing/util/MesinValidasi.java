@@ -0,0 +1,236 @@
+package com.praktikum.testing.util;
+
+/**
+ * Mesin validasi berbasis pemindai karakter (tanpa regex dan tanpa alokasi).
+ *
+ * Setiap method memberikan jawaban yang sama dengan pola regex lama di ValidationUtils,
+ * tetapi hanya membaca String masukan karakter demi karakter sehingga tidak ada
+ * kompilasi Pattern, tidak ada String hasil replaceAll/trim, dan tidak ada objek Matcher.
+ */
+public final class MesinValidasi {
+
+    private MesinValidasi() {
+    }
+
+    /**
+     * Mengecek apakah String tidak null dan masih berisi karakter setelah di-trim.
+     * Setara dengan {@code str != null && !str.trim().isEmpty()}.
+     */
+    public static boolean adaIsi(String str) {
+        if (str == null) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            // String.trim() membuang semua karakter dengan kode <= ' '
+            if (str.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pemindai email. Setara dengan pola:
+     * {@code ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,4}$}
+     */
+    public static boolean emailValid(String email) {
+        if (email == null) {
+            return false;
+        }
+        int n = email.length();
+        int i = 0;
+
+        // 1. Bagian lokal: satu atau lebih segmen yang dipisah titik tunggal
+        int panjangSegmen = 0;
+        while (i < n && email.charAt(i) != '@') {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (panjangSegmen == 0) {
+                    return false; // titik di awal atau titik ganda
+                }
+                panjangSegmen = 0;
+            } else if (isKarakterLokal(c)) {
+                panjangSegmen++;
+            } else {
+                return false;
+            }
+            i++;
+        }
+        if (i == n || panjangSegmen == 0) {
+            return false; // tidak ada '@', bagian lokal kosong, atau diakhiri titik
+        }
+        i++; // lewati '@'
+
+        // 2. Domain: minimal satu label [a-zA-Z0-9-]+ diikuti titik, lalu TLD 2-4 huruf
+        int jumlahLabel = 0;
+        int panjangLabel = 0;
+        boolean labelHanyaHuruf = true;
+        for (; i < n; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (panjangLabel == 0) {
+                    return false;
+                }
+                jumlahLabel++;
+                panjangLabel = 0;
+                labelHanyaHuruf = true;
+            } else if (isHuruf(c)) {
+                panjangLabel++;
+            } else if (isDigit(c) || c == '-') {
+                panjangLabel++;
+                labelHanyaHuruf = false;
+            } else {
+                return false; // termasuk '@' kedua
+            }
+        }
+
+        // Label terakhir adalah TLD
+        return jumlahLabel >= 1 && labelHanyaHuruf && panjangLabel >= 2 && panjangLabel <= 4;
+    }
+
+    /**
+     * Pemindai nomor telepon Indonesia. Spasi dan tanda hubung diabaikan, lalu
+     * setara dengan pola {@code (08|\+628)[0-9]{8,11}$}.
+     */
+    public static boolean nomorTeleponValid(String telepon) {
+        if (telepon == null) {
+            return false;
+        }
+        int n = telepon.length();
+        // posisi = indeks karakter "bersih" (setelah spasi/tanda hubung dibuang)
+        int posisi = 0;
+        boolean awalanPlus = false;
+        int jumlahDigitSetelahAwalan = 0;
+
+        for (int i = 0; i < n; i++) {
+            char c = telepon.charAt(i);
+            if (isSpasiAtauHubung(c)) {
+                continue;
+            }
+
+            if (posisi == 0) {
+                if (c == '+') {
+                    awalanPlus = true;
+                } else if (c != '0') {
+                    return false;
+                }
+            } else if (!awalanPlus && posisi == 1) {
+                if (c != '8') {
+                    return false; // awalan "08"
+                }
+            } else if (awalanPlus && posisi <= 3) {
+                // awalan "+628"
+                char diharapkan = posisi == 1 ? '6' : (posisi == 2 ? '2' : '8');
+                if (c != diharapkan) {
+                    return false;
+                }
+            } else {
+                if (!isDigit(c)) {
+                    return false;
+                }
+                jumlahDigitSetelahAwalan++;
+                if (jumlahDigitSetelahAwalan > 11) {
+                    return false;
+                }
+            }
+            posisi++;
+        }
+        return jumlahDigitSetelahAwalan >= 8;
+    }
+
+    /**
+     * Menghitung jumlah digit ISBN setelah spasi dan tanda hubung diabaikan.
+     * @return jumlah digit, atau -1 jika ada karakter lain selain digit, spasi, dan tanda hubung
+     */
+    static int hitungDigitIsbn(String isbn) {
+        int jumlahDigit = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (isDigit(c)) {
+                jumlahDigit++;
+            } else if (!isSpasiAtauHubung(c)) {
+                return -1;
+            }
+        }
+        return jumlahDigit;
+    }
+
+    /**
+     * Pemindai format ISBN: 10 atau 13 digit setelah spasi dan tanda hubung diabaikan.
+     * Tidak memeriksa checksum (sama dengan perilaku lama).
+     */
+    public static boolean formatIsbnValid(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        int jumlahDigit = hitungDigitIsbn(isbn);
+        return jumlahDigit == 10 || jumlahDigit == 13;
+    }
+
+    /**
+     * Validasi ISBN lengkap dengan checksum.
+     * ISBN-10: jumlah (bobot 10..1) mod 11 == 0, digit terakhir boleh 'X' (nilai 10).
+     * ISBN-13: jumlah (bobot 1,3,1,3,...) mod 10 == 0.
+     */
+    public static boolean checksumIsbnValid(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        int n = isbn.length();
+        int jumlahDigit = 0;
+        int jumlah10 = 0;
+        int jumlah13 = 0;
+        boolean adaX = false;
+
+        for (int i = 0; i < n; i++) {
+            char c = isbn.charAt(i);
+            if (isSpasiAtauHubung(c)) {
+                continue;
+            }
+            if (adaX) {
+                return false; // 'X' hanya boleh di posisi terakhir
+            }
+            int nilai;
+            if (isDigit(c)) {
+                nilai = c - '0';
+            } else if ((c == 'X' || c == 'x') && jumlahDigit == 9) {
+                nilai = 10;
+                adaX = true;
+            } else {
+                return false;
+            }
+            if (jumlahDigit >= 13) {
+                return false;
+            }
+            jumlah10 += nilai * (10 - jumlahDigit);
+            jumlah13 += (jumlahDigit & 1) == 0 ? nilai : nilai * 3;
+            jumlahDigit++;
+        }
+
+        if (jumlahDigit == 10) {
+            return jumlah10 % 11 == 0;
+        }
+        return jumlahDigit == 13 && !adaX && jumlah13 % 10 == 0;
+    }
+
+    // --- Kelas karakter (hanya ASCII, sama seperti [0-9] dan [a-zA-Z] pada regex) ---
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isHuruf(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isKarakterLokal(char c) {
+        return isHuruf(c) || isDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+
+    /**
+     * Setara dengan kelas regex {@code [\s\-]}.
+     */
+    static boolean isSpasiAtauHubung(char c) {
+        return c == ' ' || c == '-' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
\ No newline at end of file
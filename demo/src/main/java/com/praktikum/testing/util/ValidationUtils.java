@@ -9,45 +9,36 @@ public class ValidationUtils {
      * Validasi email sederhana.
      */
     public static boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
-        }
-
         // Validasi sederhana: karakter alfanumerik, titik, atau dash, diikuti @,
         // diikuti alfanumerik, titik, diikuti 2-4 karakter huruf.
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,4}$";
-        return email.matches(emailRegex);
+        // Pola: ^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,4}$
+        return MesinValidasi.emailValid(email);
     }
 
     /**
      * Validasi nomor telepon (Format Indonesia).
      */
     public static boolean isValidNomorTelepon(String telepon) {
-        if (telepon == null || telepon.trim().isEmpty()) {
-            return false;
-        }
-
-        // Hapus semua spasi dan tanda hubung
-        String teleponBersih = telepon.replaceAll("[\\s\\-]", "");
-
+        // Spasi dan tanda hubung diabaikan.
         // Telepon Indonesia harus dimulai dengan 08 atau +628 dan memiliki 10-13 digit
         // Pola: dimulai 08 atau +628, diikuti 8-11 digit, total 10-13 digit.
-        return teleponBersih.matches("(08|\\+628)[0-9]{8,11}$");
+        return MesinValidasi.nomorTeleponValid(telepon);
     }
 
     /**
      * Validasi ISBN sederhana (10 atau 13 digit).
      */
     public static boolean isValidIsbn(String isbn) {
-        if (isbn == null || isbn.trim().isEmpty()) {
-            return false;
-        }
-
-        // Hapus tanda hubung dan spasi
-        String isbnBersih = isbn.replaceAll("[\\s\\-]", "");
-
+        // Spasi dan tanda hubung diabaikan.
         // ISBN harus 10 atau 13 digit dan hanya terdiri dari angka
-        return isbnBersih.matches("[0-9]{10}") || isbnBersih.matches("[0-9]{13}");
+        return MesinValidasi.formatIsbnValid(isbn);
+    }
+
+    /**
+     * Validasi ISBN-10/ISBN-13 lengkap dengan digit checksum.
+     */
+    public static boolean isValidIsbnDenganChecksum(String isbn) {
+        return MesinValidasi.checksumIsbnValid(isbn);
     }
 
     /**
@@ -86,7 +77,7 @@ public class ValidationUtils {
      * Validasi String (tidak null dan tidak kosong setelah trim).
      */
     public static boolean isValidString(String str) {
-        return str != null && !str.trim().isEmpty();
+        return MesinValidasi.adaIsi(str);
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.praktikum.testing.ekspor;
+
+import com.praktikum.testing.impor.FormatCsv;
+import com.praktikum.testing.impor.HasilImpor;
+import com.praktikum.testing.impor.PipelineImpor;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Ekspor Katalog Streaming")
+public class EksporKatalogTest {
+
+    private static final int UKURAN_KECIL = EksporKatalog.UKURAN_BUFFER_MIN;
+
+    @TempDir
+    Path folder;
+
+    private static Buku buku(String isbn, String judul, String pengarang, int total, int tersedia, double harga) {
+        Buku buku = new Buku(isbn, judul, pengarang, total, harga);
+        buku.setJumlahTersedia(tersedia);
+        return buku;
+    }
+
+    private static String ekspor(boolean json, int ukuranBuffer, List<Buku> daftar) throws IOException {
+        ByteArrayOutputStream keluaran = new ByteArrayOutputStream();
+        EksporKatalog ekspor = new EksporKatalog(ukuranBuffer);
+        if (json) {
+            ekspor.eksporNdjson(daftar.stream(), Channels.newChannel(keluaran));
+        } else {
+            ekspor.eksporCsv(daftar.stream(), Channels.newChannel(keluaran));
+        }
+        return new String(keluaran.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("CSV mengutip kolom khusus dan hasilnya bisa diimpor ulang")
+    void testCsvBisaDiimporUlang() throws Exception {
+        InMemoryRepositoryBuku sumber = new InMemoryRepositoryBuku();
+        sumber.simpan(buku("9780000000001", "Judul, dengan \"kutip\"\nbaris baru", "Pengarang \u00e9", 5, 3, 150000.0));
+        sumber.simpan(buku("9780000000002", "Pemrograman \u4e66 \ud83d\udcda", "Budi", 2, 2, 99999.5));
+        for (int i = 3; i < 2000; i++) {
+            sumber.simpan(buku(String.format("978%010d", i), "Buku " + i, "Pengarang " + (i % 9), 4, i % 5, 1000.0 * i));
+        }
+
+        Path file = folder.resolve("katalog.csv");
+        assertEquals(1999, new EksporKatalog(UKURAN_KECIL).eksporCsv(sumber, file));
+
+        InMemoryRepositoryBuku tujuan = new InMemoryRepositoryBuku();
+        HasilImpor hasil = new PipelineImpor<>(FormatCsv.BUKU, tujuan::simpanBatch).impor(file);
+        assertEquals(1999, hasil.getJumlahDisimpan());
+        assertEquals(0, hasil.getJumlahDitolak());
+        for (Buku asli : sumber.cariSemua()) {
+            Buku impor = tujuan.cariByIsbn(asli.getIsbn()).get();
+            assertEquals(asli.getJudul(), impor.getJudul());
+            assertEquals(asli.getPengarang(), impor.getPengarang());
+            assertEquals(asli.getJumlahTotal(), impor.getJumlahTotal());
+            assertEquals(asli.getJumlahTersedia(), impor.getJumlahTersedia());
+            assertEquals(asli.getHarga(), impor.getHarga());
+        }
+    }
+
+    @Test
+    @DisplayName("NDJSON meng-escape teks dan menulis null untuk pengarang kosong")
+    void testNdjson() throws IOException {
+        List<Buku> daftar = Arrays.asList(
+                buku("9780000000001", "Tanda \"kutip\" \\ dan\ttab\u0001", null, 3, 1, 1500.0),
+                buku("9780000000002", "Caf\u00e9 \ud83d\udcda", "Sari", 1, 0, 12.75));
+
+        String hasil = ekspor(true, EksporKatalog.UKURAN_BUFFER_DEFAULT, daftar);
+        assertEquals("{\"isbn\":\"9780000000001\",\"judul\":\"Tanda \\\"kutip\\\" \\\\ dan\\ttab\\u0001\","
+                        + "\"pengarang\":null,\"jumlahTotal\":3,\"jumlahTersedia\":1,\"harga\":1500.0}\n"
+                        + "{\"isbn\":\"9780000000002\",\"judul\":\"Caf\u00e9 \ud83d\udcda\","
+                        + "\"pengarang\":\"Sari\",\"jumlahTotal\":1,\"jumlahTersedia\":0,\"harga\":12.75}\n",
+                hasil);
+    }
+
+    @Test
+    @DisplayName("Hasil sama persis untuk buffer kecil dan besar, dan tidak ada record terpotong")
+    void testBatasBuffer() throws IOException {
+        Buku[] daftar = new Buku[3000];
+        for (int i = 0; i < daftar.length; i++) {
+            daftar[i] = buku(String.format("979%010d", i), "Judul \u00fcnic\u00f8de " + i + " \ud83d\ude00",
+                    i % 3 == 0 ? null : "Pengarang, " + i, i, i / 2, -i * 10.0);
+        }
+        List<Buku> semua = Arrays.asList(daftar);
+
+        for (boolean json : new boolean[]{false, true}) {
+            String kecil = ekspor(json, UKURAN_KECIL, semua);
+            String sedang = ekspor(json, 1000, semua);
+            String besar = ekspor(json, EksporKatalog.UKURAN_BUFFER_DEFAULT, semua);
+            assertEquals(besar, kecil);
+            assertEquals(besar, sedang);
+        }
+
+        // Instance yang sama bisa dipakai ulang, dan stream kosong hanya menulis header CSV
+        EksporKatalog ekspor = new EksporKatalog();
+        Path file = folder.resolve("kosong.csv");
+        assertEquals(0, ekspor.eksporCsv(new InMemoryRepositoryBuku(), file));
+        assertEquals("isbn,judul,pengarang,jumlahTotal,harga,jumlahTersedia\n",
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        assertEquals(0, ekspor.eksporNdjson(Stream.empty(), Channels.newChannel(new ByteArrayOutputStream())));
+        assertThrows(IllegalArgumentException.class, () -> new EksporKatalog(8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.praktikum.testing.impor;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pipeline Impor CSV")
+public class PipelineImporTest {
+
+    @TempDir
+    Path folder;
+
+    private Path tulisCsv(String isi) throws IOException {
+        Path file = folder.resolve("feed.csv");
+        Files.write(file, isi.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Impor Buku melewati header, menolak baris rusak, dan mendukung kolom berkutip")
+    void testImporBukuDenganPenolakan() throws Exception {
+        StringBuilder csv = new StringBuilder("isbn,judul,pengarang,jumlahTotal,harga,jumlahTersedia\r\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(String.format("978%010d", i)).append(",Buku ").append(i).append(",Pengarang,4,1000\r\n");
+        }
+        csv.append("9781111111111,\"Judul, dengan koma\nbaris baru\",\"Penulis \"\"Kutip\"\"\",2,500,1\n"); // baris 502
+        csv.append("12345,ISBN Salah,Pengarang,1,100\n");          // 503: tidak lolos validasi
+        csv.append("9782222222222,Harga Salah,Pengarang,1,mahal\n"); // 504: gagal parse
+        csv.append("\n");                                             // 505: kosong, dilewati
+        csv.append("9783333333333,Kolom Kurang,Pengarang\n");        // 506: jumlah kolom salah
+        csv.append("9784444444444,Tanpa Baris Baru,Pengarang,3,100"); // 507: tanpa newline di akhir
+
+        InMemoryRepositoryBuku repository = new InMemoryRepositoryBuku();
+        PipelineImpor<Buku> pipeline = new PipelineImpor<>(FormatCsv.BUKU, repository::simpanBatch, 4, 64, 16, 2);
+        List<BarisDitolak> ditolak = new ArrayList<>();
+        HasilImpor hasil = pipeline.impor(tulisCsv(csv.toString()), ditolak::add);
+
+        assertEquals(505, hasil.getJumlahBaris());
+        assertEquals(502, hasil.getJumlahDisimpan());
+        assertEquals(3, hasil.getJumlahDitolak());
+        assertEquals(502, repository.cariSemua().size());
+
+        Buku berkutip = repository.cariByIsbn("9781111111111").get();
+        assertEquals("Judul, dengan koma\nbaris baru", berkutip.getJudul());
+        assertEquals("Penulis \"Kutip\"", berkutip.getPengarang());
+        assertEquals(1, berkutip.getJumlahTersedia());
+        assertEquals(3, repository.cariByIsbn("9784444444444").get().getJumlahTotal());
+
+        ditolak.sort((a, b) -> Long.compare(a.getNomorBaris(), b.getNomorBaris()));
+        assertEquals(503, ditolak.get(0).getNomorBaris());
+        assertEquals("Tidak lolos validasi", ditolak.get(0).getAlasan());
+        assertEquals(504, ditolak.get(1).getNomorBaris());
+        assertTrue(ditolak.get(1).getAlasan().contains("harga"));
+        assertEquals(506, ditolak.get(2).getNomorBaris());
+        assertEquals("9783333333333,Kolom Kurang,Pengarang", ditolak.get(2).getIsi());
+    }
+
+    @Test
+    @DisplayName("Impor lewat ServicePerpustakaan menolak ISBN yang sudah ada")
+    void testImporLewatServiceMenolakDuplikat() throws Exception {
+        InMemoryRepositoryBuku repository = new InMemoryRepositoryBuku();
+        ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+        service.tambahBuku(new Buku("9780000000001", "Sudah Ada", "Pengarang", 1, 100.0));
+
+        List<BarisDitolak> ditolak = Collections.synchronizedList(new ArrayList<>());
+        HasilImpor hasil = PipelineImpor.untukBuku(service).impor(tulisCsv(
+                "9780000000001,Duplikat,Pengarang,2,100\n"
+                + "9780000000002,Baru,Pengarang,2,100\n"), ditolak::add);
+
+        assertEquals(1, hasil.getJumlahDisimpan());
+        assertEquals(1, hasil.getJumlahDitolak());
+        assertEquals(1, ditolak.get(0).getNomorBaris());
+        assertEquals("Ditolak saat disimpan", ditolak.get(0).getAlasan());
+        assertEquals("Sudah Ada", repository.cariByIsbn("9780000000001").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Impor Anggota ke penyimpan batch sembarang")
+    void testImporAnggota() throws Exception {
+        Map<String, Anggota> tujuan = new ConcurrentHashMap<>();
+        PenyimpanBatch<Anggota> penyimpan = batch -> batch.stream()
+                .map(a -> tujuan.putIfAbsent(a.getIdAnggota(), a) == null)
+                .collect(Collectors.toList());
+        StringBuilder csv = new StringBuilder("idAnggota,nama,email,telepon,tipeAnggota\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append("A").append(i).append(",Anggota ").append(i).append(",anggota").append(i)
+                    .append("@kampus.ac.id,081234567890,").append(i % 2 == 0 ? "mahasiswa" : "DOSEN").append('\n');
+        }
+        csv.append("A999,Email Salah,bukan-email,081234567890,UMUM\n");
+        csv.append("A998,Tipe Salah,x@kampus.ac.id,081234567890,ALUMNI\n");
+
+        HasilImpor hasil = new PipelineImpor<>(FormatCsv.ANGGOTA, penyimpan, 3, 128, 50, 2)
+                .impor(tulisCsv(csv.toString()));
+
+        assertEquals(302, hasil.getJumlahBaris());
+        assertEquals(300, hasil.getJumlahDisimpan());
+        assertEquals(2, hasil.getJumlahDitolak());
+        assertEquals(Anggota.TipeAnggota.MAHASISWA, tujuan.get("A0").getTipeAnggota());
+        assertEquals(Anggota.TipeAnggota.DOSEN, tujuan.get("A1").getTipeAnggota());
+    }
+
+    @Test
+    @DisplayName("Kutip di tengah kolom adalah karakter biasa; kutip tak ditutup hanya menolak satu record")
+    void testKutipRusak() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        csv.append("9780000000001,5\" Floppy,Pengarang \"X\",1,100\n");      // baris 1
+        csv.append("9780000000002,\"Tidak ditutup,Pengarang,1,100\n");      // baris 2
+        for (int i = 3; i <= 2000; i++) {
+            csv.append(String.format("978%010d", i)).append(",Buku ").append(i).append(",Pengarang,1,100\n");
+        }
+
+        InMemoryRepositoryBuku repository = new InMemoryRepositoryBuku();
+        PipelineImpor<Buku> pipeline = new PipelineImpor<>(FormatCsv.BUKU, repository::simpanBatch, 2, 64, 16, 2);
+        List<BarisDitolak> ditolak = new ArrayList<>();
+        HasilImpor hasil = pipeline.impor(tulisCsv(csv.toString()), ditolak::add);
+
+        Buku floppy = repository.cariByIsbn("9780000000001").get();
+        assertEquals("5\" Floppy", floppy.getJudul());
+        assertEquals("Pengarang \"X\"", floppy.getPengarang());
+
+        // Record berkutip dibatasi 4 x 64 byte, lalu pembaca lanjut dari baris baru berikutnya
+        assertEquals(1, hasil.getJumlahDitolak());
+        assertEquals(2, ditolak.get(0).getNomorBaris());
+        assertTrue(ditolak.get(0).getAlasan().startsWith("Record melebihi 256 byte"));
+        assertTrue(ditolak.get(0).getIsi().startsWith("9780000000002,\"Tidak ditutup"));
+        assertFalse(repository.cariByIsbn("9780000000002").isPresent());
+        assertTrue(hasil.getJumlahDisimpan() > 1990);
+        assertTrue(repository.cariByIsbn("9780000000020").isPresent());
+        assertTrue(repository.cariByIsbn("9780000002000").isPresent());
+    }
+
+    @Test
+    @DisplayName("Exception dari penyimpan menghentikan impor tanpa menggantung pipeline")
+    void testPenyimpanGagal() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            csv.append(String.format("978%010d", i)).append(",Buku,Pengarang,1,100\n");
+        }
+        Path file = tulisCsv(csv.toString());
+        PenyimpanBatch<Buku> penyimpan = batch -> {
+            throw new IllegalStateException("Repository tidak tersedia");
+        };
+
+        PipelineImpor<Buku> pipeline = new PipelineImpor<>(FormatCsv.BUKU, penyimpan, 2, 256, 10, 1);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> pipeline.impor(file));
+        assertEquals("Repository tidak tersedia", e.getMessage());
+    }
+}
\ No newline at end of file
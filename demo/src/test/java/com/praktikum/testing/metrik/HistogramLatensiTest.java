@@ -0,0 +1,94 @@
+package com.praktikum.testing.metrik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Histogram Latensi (log-linear, lock-free)")
+public class HistogramLatensiTest {
+
+    @Test
+    @DisplayName("Setiap nilai masuk bucket yang batas bawahnya <= nilai < batas bawah berikutnya")
+    void testIndeksBucket() {
+        long[] contoh = {0, 1, 63, 64, 65, 127, 128, 1000, 123456789L, HistogramLatensi.NILAI_MAKS};
+        for (long nilai : contoh) {
+            int indeks = HistogramLatensi.indeksBucket(nilai);
+            assertTrue(HistogramLatensi.nilaiBawah(indeks) <= nilai, "nilai " + nilai);
+            assertTrue(nilai < HistogramLatensi.nilaiBawah(indeks + 1), "nilai " + nilai);
+        }
+        assertEquals(HistogramLatensi.JUMLAH_BUCKET - 1, HistogramLatensi.indeksBucket(HistogramLatensi.NILAI_MAKS));
+    }
+
+    @Test
+    @DisplayName("Persentil mendekati nilai sebenarnya dengan galat relatif <= 1/32")
+    void testAkurasiPersentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        Random random = new Random(42);
+        long[] nilai = new long[100_000];
+        for (int i = 0; i < nilai.length; i++) {
+            // Sebaran log-normal sekitar 50 mikrodetik
+            nilai[i] = (long) Math.exp(Math.log(50_000) + random.nextGaussian());
+            histogram.catat(nilai[i]);
+        }
+        Arrays.sort(nilai);
+
+        RingkasanLatensi ringkasan = histogram.ringkasan();
+        assertEquals(nilai.length, ringkasan.getJumlah());
+        assertEquals(nilai[nilai.length - 1], ringkasan.getMaksimum());
+        assertDekat(nilai[nilai.length / 2 - 1], ringkasan.getP50());
+        assertDekat(nilai[(int) (nilai.length * 0.99) - 1], ringkasan.getP99());
+        assertDekat(nilai[(int) (nilai.length * 0.999) - 1], ringkasan.getP999());
+    }
+
+    private static void assertDekat(long diharapkan, long aktual) {
+        assertTrue(Math.abs(aktual - diharapkan) <= diharapkan / 32 + 1,
+                "diharapkan ~" + diharapkan + " tetapi " + aktual);
+    }
+
+    @Test
+    @DisplayName("Histogram kosong dan reset")
+    void testKosongDanReset() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        assertEquals(0, histogram.ringkasan().getJumlah());
+
+        histogram.catat(-5);
+        histogram.catat(100);
+        assertEquals(2, histogram.ringkasan().getJumlah());
+        assertEquals(50, histogram.ringkasan().getRataRata());
+
+        histogram.reset();
+        assertEquals(0, histogram.ringkasan().getJumlah());
+        assertEquals(0, histogram.ringkasan().getMaksimum());
+    }
+
+    @Test
+    @DisplayName("Pencatatan bersamaan tidak kehilangan sampel")
+    void testPencatatanBersamaan() throws InterruptedException {
+        HistogramLatensi histogram = new HistogramLatensi();
+        int jumlahThread = 8;
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        for (int t = 0; t < jumlahThread; t++) {
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.catat(i);
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(jumlahThread * 10_000L, histogram.ringkasan().getJumlah());
+        assertEquals(9_999, histogram.ringkasan().getMaksimum());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.praktikum.testing.metrik;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Registri Metrik")
+public class RegistriMetrikTest {
+
+    @Test
+    @DisplayName("Snapshot berisi histogram dan penghitung")
+    void testSnapshot() {
+        RegistriMetrik registri = new RegistriMetrik();
+        registri.histogram("operasi").catat(1000);
+        registri.histogram("operasi").catat(3000);
+        registri.penghitung("operasi.berhasil").increment();
+
+        SnapshotMetrik snapshot = registri.snapshot();
+
+        assertSame(registri.histogram("operasi"), registri.histogram("operasi"));
+        assertEquals(2, snapshot.latensi("operasi").getJumlah());
+        assertEquals(2000, snapshot.latensi("operasi").getRataRata());
+        assertEquals(1, snapshot.penghitung("operasi.berhasil"));
+        assertEquals(0, snapshot.penghitung("tidak.ada"));
+        assertNull(snapshot.latensi("tidak.ada"));
+
+        Map<String, Long> datar = registri.getLatensiNanos();
+        assertEquals(2L, datar.get("operasi.jumlah"));
+        assertTrue(datar.containsKey("operasi.p99"));
+
+        registri.reset();
+        assertEquals(0, registri.snapshot().latensi("operasi").getJumlah());
+        assertEquals(0, registri.snapshot().penghitung("operasi.berhasil"));
+    }
+
+    @Test
+    @DisplayName("Registri bisa dibaca lewat JMX")
+    void testJmx() throws Exception {
+        RegistriMetrik registri = new RegistriMetrik();
+        registri.penghitung("ServicePerpustakaan.pinjamBuku.BERHASIL").add(7);
+        registri.histogram("ServicePerpustakaan.pinjamBuku").catat(500);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nama = registri.daftarkanJmx("com.praktikum.testing:type=MetrikPerpustakaanUji");
+        try {
+            TabularData penghitung = (TabularData) server.getAttribute(nama, "Penghitung");
+            assertEquals(7L, penghitung.get(new Object[] {"ServicePerpustakaan.pinjamBuku.BERHASIL"}).get("value"));
+
+            TabularData latensi = (TabularData) server.getAttribute(nama, "LatensiNanos");
+            assertEquals(1L, latensi.get(new Object[] {"ServicePerpustakaan.pinjamBuku.jumlah"}).get("value"));
+
+            server.invoke(nama, "reset", new Object[0], new String[0]);
+            assertEquals(0, registri.snapshot().penghitung("ServicePerpustakaan.pinjamBuku.BERHASIL"));
+        } finally {
+            server.unregisterMBean(nama);
+        }
+    }
+}
\ No newline at end of file
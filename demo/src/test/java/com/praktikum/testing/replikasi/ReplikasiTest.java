@@ -0,0 +1,190 @@
+package com.praktikum.testing.replikasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Replikasi Leader-Follower Katalog")
+public class ReplikasiTest {
+
+    private static final long TUNGGU_MILLIS = 10_000;
+
+    private InMemoryRepositoryBuku repositoryLeader;
+    private LeaderReplikasi leader;
+    private final List<FollowerReplikasi> daftarFollower = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repositoryLeader = new InMemoryRepositoryBuku();
+        // Katalog yang sudah ada sebelum leader dibuat harus sampai ke follower lewat snapshot
+        repositoryLeader.simpan(new Buku("9780000000001", "Katalog Awal", "Pengarang Awal", 3, 1000.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (FollowerReplikasi f : daftarFollower) {
+            f.close();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+    }
+
+    private LeaderReplikasi buatLeader(int kapasitasLog) {
+        leader = new LeaderReplikasi(repositoryLeader,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), kapasitasLog, 20);
+        return leader;
+    }
+
+    private FollowerReplikasi buatFollower() {
+        FollowerReplikasi f = new FollowerReplikasi(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort()), 5_000);
+        daftarFollower.add(f);
+        return f;
+    }
+
+    @Test
+    @DisplayName("Perubahan di leader direplikasi ke semua follower")
+    void testReplikasiKeDuaFollower() throws InterruptedException {
+        buatLeader(1000);
+        FollowerReplikasi f1 = buatFollower();
+        FollowerReplikasi f2 = buatFollower();
+
+        leader.simpan(new Buku("9780000000002", "Pemrograman Java", "Budi", 5, 1500.0));
+        leader.simpan(new Buku("9780000000003", "Basis Data", "Sari", 2, 2000.0));
+        leader.kurangiJumlahTersedia("9780000000002");
+        leader.updateJumlahTersedia("9780000000003", 1);
+        leader.hapus("9780000000001");
+        for (int i = 0; i < 2000; i++) {
+            leader.simpan(new Buku(String.format("979%010d", i), "Buku " + i, "Pengarang " + (i % 5), 1, 100.0));
+        }
+        long seq = leader.getSeqTerakhir();
+
+        for (FollowerReplikasi f : daftarFollower) {
+            assertTrue(f.tungguSampai(seq, TUNGGU_MILLIS));
+            assertEquals(4, f.cariByIsbn("9780000000002").get().getJumlahTersedia());
+            assertEquals(1, f.cariByIsbn("9780000000003").get().getJumlahTersedia());
+            assertFalse(f.cariByIsbn("9780000000001").isPresent());
+            assertEquals(1, f.cariByJudul("pemrograman").size());
+            assertEquals(400, f.cariByPengarang("Pengarang 3").size());
+            assertEquals(repositoryLeader.cariSemua().size(), f.cariSemua().size());
+        }
+        assertTrue(f1.isTersambung());
+        assertTrue(f2.getKebasianMillis() < 5_000);
+    }
+
+    @Test
+    @DisplayName("Follower hanya bisa dibaca")
+    void testFollowerBacaSaja() throws InterruptedException {
+        buatLeader(1000);
+        FollowerReplikasi f = buatFollower();
+        assertTrue(f.tungguSampai(0, TUNGGU_MILLIS));
+
+        Buku buku = new Buku("9780000000009", "Judul", "Pengarang", 1, 100.0);
+        assertThrows(UnsupportedOperationException.class, () -> f.simpan(buku));
+        assertThrows(UnsupportedOperationException.class, () -> f.hapus("9780000000001"));
+        assertThrows(UnsupportedOperationException.class, () -> f.updateJumlahTersedia("9780000000001", 0));
+        assertThrows(UnsupportedOperationException.class, () -> f.kurangiJumlahTersedia("9780000000001"));
+    }
+
+    @Test
+    @DisplayName("Follower yang tertinggal lebih jauh dari kapasitas log menerima snapshot")
+    void testFollowerTertinggalMenerimaSnapshot() throws InterruptedException {
+        buatLeader(8);
+        for (int i = 0; i < 100; i++) {
+            leader.simpan(new Buku(String.format("979%010d", i), "Buku " + i, "Pengarang", 1, 100.0));
+        }
+        leader.hapus("9790000000000");
+
+        FollowerReplikasi f = buatFollower();
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+        assertEquals(100, f.cariSemua().size());
+        assertFalse(f.cariByIsbn("9790000000000").isPresent());
+
+        // Setelah snapshot, perubahan berikutnya tetap mengalir lewat log
+        leader.kurangiJumlahTersedia("9790000000050");
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+        assertEquals(0, f.cariByIsbn("9790000000050").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Follower menerima snapshot setelah leader dibuat ulang dengan log baru")
+    void testLeaderDibuatUlang() throws InterruptedException {
+        buatLeader(1000);
+        FollowerReplikasi f = buatFollower();
+        for (int i = 0; i < 3; i++) {
+            leader.simpan(new Buku(String.format("978%010d", 100 + i), "Lama " + i, "Pengarang", 1, 100.0));
+        }
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+        int port = leader.getPort();
+        leader.close();
+
+        // Leader baru di port yang sama dengan katalog lain; seq-nya melewati seq follower
+        // (port lama baru benar-benar dilepas setelah thread accept leader lama berhenti)
+        repositoryLeader = new InMemoryRepositoryBuku();
+        long batas = System.currentTimeMillis() + TUNGGU_MILLIS;
+        leader = null;
+        while (leader == null) {
+            try {
+                leader = new LeaderReplikasi(repositoryLeader,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1000, 20);
+            } catch (UncheckedIOException e) {
+                assertTrue(System.currentTimeMillis() < batas, "Port leader lama tidak dilepas");
+                Thread.sleep(10);
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            leader.simpan(new Buku(String.format("979%010d", i), "Baru " + i, "Pengarang", 1, 100.0));
+        }
+
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+        assertEquals(10, f.cariSemua().size());
+        assertTrue(f.cariByIsbn("9790000000000").isPresent());
+        assertFalse(f.cariByIsbn("9780000000100").isPresent());
+        assertFalse(f.cariByIsbn("9780000000001").isPresent());
+
+        leader.hapus("9790000000001");
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+        assertFalse(f.cariByIsbn("9790000000001").isPresent());
+    }
+
+    @Test
+    @DisplayName("Pembacaan gagal jika follower sudah melewati batas kebasian")
+    void testKebasianTerbatas() throws InterruptedException {
+        buatLeader(1000);
+        FollowerReplikasi f = new FollowerReplikasi(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort()), 200);
+        daftarFollower.add(f);
+        assertTrue(f.tungguSampai(0, TUNGGU_MILLIS));
+        assertTrue(f.cariByIsbn("9780000000001").isPresent());
+
+        // Leader berhenti: tidak ada detak lagi, data follower menjadi basi
+        leader.close();
+        Thread.sleep(400);
+        assertThrows(IllegalStateException.class, () -> f.cariByIsbn("9780000000001"));
+    }
+
+    @Test
+    @DisplayName("ServicePerpustakaan bisa membaca katalog dari follower")
+    void testServiceDiAtasFollower() throws InterruptedException {
+        buatLeader(1000);
+        FollowerReplikasi f = buatFollower();
+        leader.kurangiJumlahTersedia("9780000000001");
+        assertTrue(f.tungguSampai(leader.getSeqTerakhir(), TUNGGU_MILLIS));
+
+        ServicePerpustakaan service = new ServicePerpustakaan(f, new KalkulatorDenda());
+        assertTrue(service.bukuTersedia("9780000000001"));
+        assertEquals(2, service.cariBukuByIsbn("9780000000001").get().getJumlahTersedia());
+    }
+}
\ No newline at end of file
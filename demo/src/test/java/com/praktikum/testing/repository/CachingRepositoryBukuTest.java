@@ -0,0 +1,201 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Caching Repository Buku (read-through, W-TinyLFU)")
+public class CachingRepositoryBukuTest {
+
+    private InMemoryRepositoryBuku repositoryAsal;
+    private CachingRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        repositoryAsal = spy(new InMemoryRepositoryBuku());
+        repositoryAsal.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0));
+        repositoryAsal.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0));
+        repository = new CachingRepositoryBuku(repositoryAsal, 100);
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+
+    @Test
+    @DisplayName("Read-through: permintaan kedua dilayani dari cache")
+    void testReadThrough() {
+        assertEquals("Pemrograman Java", repository.cariByIsbn("1234567890").get().getJudul());
+        assertEquals("Pemrograman Java", repository.cariByIsbn("1234567890").get().getJudul());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+
+        verify(repositoryAsal, times(1)).cariByIsbn("1234567890");
+        // ISBN yang tidak ada tidak di-cache
+        verify(repositoryAsal, times(2)).cariByIsbn("9999999999");
+        assertEquals(1, repository.getJumlahHit());
+        assertEquals(3, repository.getJumlahMiss());
+        assertEquals(0.25, repository.getRasioHit(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Penulisan meng-invalidate entri cache; stok pinjam/kembali diubah di tempat")
+    void testPenulisanInvalidasi() {
+        repository.cariByIsbn("1234567890");
+
+        // kurangi/tambah: entri tetap di cache dengan stok baru
+        assertTrue(repository.kurangiJumlahTersedia("1234567890"));
+        assertEquals(4, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertFalse(repository.kurangiJumlahTersedia("9999999999"));
+        assertEquals(1, repository.getJumlahHit());
+
+        assertTrue(repository.updateJumlahTersedia("1234567890", 1));
+        assertEquals(1, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertTrue(repository.tambahJumlahTersedia("1234567890"));
+        assertEquals(2, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(2, repository.getJumlahHit());
+        verify(repositoryAsal, times(2)).cariByIsbn("1234567890");
+
+        assertTrue(repository.simpan(new Buku("1234567890", "Pemrograman Java Edisi 2", "John Doe", 6, 1.0)));
+        assertEquals("Pemrograman Java Edisi 2", repository.cariByIsbn("1234567890").get().getJudul());
+
+        assertTrue(repository.hapus("1234567890"));
+        assertFalse(repository.cariByIsbn("1234567890").isPresent());
+        assertEquals(2, repository.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("Buku dari cache adalah salinan milik pemanggil")
+    void testSalinanDefensif() {
+        repository.cariByIsbn("1234567890").get().setJumlahTersedia(0);
+        repository.cariByIsbn("1234567890").get().setJudul("Diubah");
+
+        Buku hasil = repository.cariByIsbn("1234567890").get();
+        assertEquals(5, hasil.getJumlahTersedia());
+        assertEquals("Pemrograman Java", hasil.getJudul());
+    }
+
+    @Test
+    @DisplayName("Ukuran cache dibatasi kapasitas")
+    void testUkuranDibatasi() {
+        for (int i = 0; i < 1000; i++) {
+            repositoryAsal.simpan(new Buku(isbn(i), "Judul " + i, "Pengarang", 1, 1000.0));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.cariByIsbn(isbn(i)).isPresent());
+        }
+
+        assertTrue(repository.ukuran() <= 100, "ukuran: " + repository.ukuran());
+        assertEquals(1000 - repository.ukuran(), repository.getJumlahEviksi());
+    }
+
+    @Test
+    @DisplayName("ISBN populer bertahan saat pemindaian sekali lewat")
+    void testTahanPemindaian() {
+        for (int i = 0; i < 2000; i++) {
+            repositoryAsal.simpan(new Buku(isbn(i), "Judul " + i, "Pengarang", 1, 1000.0));
+        }
+        // 1. Buat 20 ISBN populer
+        for (int ulang = 0; ulang < 10; ulang++) {
+            for (int i = 0; i < 20; i++) {
+                repository.cariByIsbn(isbn(i));
+            }
+        }
+        // 2. Pindai ISBN lain sekali lewat, jauh melebihi kapasitas
+        for (int i = 100; i < 2000; i++) {
+            repository.cariByIsbn(isbn(i));
+        }
+        // 3. ISBN populer masih di cache
+        long hitSebelum = repository.getJumlahHit();
+        for (int i = 0; i < 20; i++) {
+            repository.cariByIsbn(isbn(i));
+        }
+        assertTrue(repository.getJumlahHit() - hitSebelum >= 18,
+                "hit populer: " + (repository.getJumlahHit() - hitSebelum));
+    }
+
+    @Test
+    @DisplayName("Multi-get mengambil hanya yang belum ada di cache")
+    void testCariByIsbnBatch() {
+        repository.cariByIsbn("1234567890");
+
+        Map<String, Buku> hasil = repository.cariByIsbnBatch(Arrays.asList("1234567890", "0987654321", "9999999999"));
+
+        assertEquals(2, hasil.size());
+        verify(repositoryAsal).cariByIsbnBatch(Arrays.asList("0987654321", "9999999999"));
+        assertTrue(repository.cariByIsbn("0987654321").isPresent());
+        assertEquals(2, repository.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("Baca dan pinjam bersamaan tidak meninggalkan stok basi di cache")
+    void testKonsistenSaatBersamaan() throws InterruptedException {
+        int jumlahThread = 8;
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        for (int t = 0; t < jumlahThread; t++) {
+            boolean peminjam = t % 2 == 0;
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 500; i++) {
+                    if (peminjam) {
+                        if (repository.kurangiJumlahTersedia("1234567890")) {
+                            repository.tambahJumlahTersedia("1234567890");
+                        }
+                    } else {
+                        repository.cariByIsbn("1234567890");
+                    }
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(repositoryAsal.cariByIsbn("1234567890").get().getJumlahTersedia(),
+                repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(5, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Penulisan ISBN lain saat load berjalan tidak menolak hasil load")
+    void testPenulisanIsbnLainSaatLoad() {
+        // Selama load A, B dipinjam lewat cache; hasil load A tetap diterima
+        doAnswer(inv -> {
+            assertTrue(repository.kurangiJumlahTersedia("0987654321"));
+            return inv.callRealMethod();
+        }).when(repositoryAsal).cariByIsbn("1234567890");
+        repository.cariByIsbn("1234567890");
+        assertEquals(1, repository.ukuran());
+        repository.cariByIsbn("1234567890");
+        assertEquals(1, repository.getJumlahHit());
+
+        // Penulisan ISBN yang sama saat load berjalan tetap menolak hasil load yang basi
+        doAnswer(inv -> {
+            Object basi = inv.callRealMethod();
+            assertTrue(repository.kurangiJumlahTersedia("0987654321"));
+            return basi;
+        }).when(repositoryAsal).cariByIsbn("0987654321");
+        assertTrue(repository.cariByIsbn("0987654321").isPresent());
+        assertEquals(1, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Kapasitas tidak valid - IllegalArgumentException")
+    void testKapasitasTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRepositoryBuku(repositoryAsal, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachingRepositoryBuku(null, 10));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test In-Memory Repository Buku (produksi)")
+public class InMemoryRepositoryBukuTest {
+
+    private InMemoryRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+    private Buku buku3;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryBuku();
+
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+        buku3 = new Buku("1111111111", "Java Advanced", "John Doe", 4, 180000.0);
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari by ISBN")
+    void testSimpanDanCariByIsbn() {
+        // Act
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(buku2));
+
+        // Assert
+        Optional<Buku> hasil = repository.cariByIsbn("0987654321");
+        assertTrue(hasil.isPresent());
+        assertEquals("Algoritma dan Struktur Data", hasil.get().getJudul());
+        assertEquals(3, hasil.get().getJumlahTersedia());
+        assertEquals(200000.0, hasil.get().getHarga());
+        assertEquals(2, repository.ukuran());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn(null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Simpan buku null atau tanpa ISBN - harus gagal")
+    void testSimpanTidakValid() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Buku()));
+        assertEquals(0, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Objek Buku tidak dibagi: perubahan di luar repository tidak bocor")
+    void testSalinanDefensif() {
+        // Arrange
+        repository.simpan(buku1);
+
+        // Act: ubah objek asli dan objek hasil pencarian
+        buku1.setJudul("Judul Diubah Pemanggil");
+        repository.cariByIsbn("1234567890").get().setJumlahTersedia(0);
+
+        // Assert
+        Buku tersimpan = repository.cariByIsbn("1234567890").get();
+        assertEquals("Pemrograman Java", tersimpan.getJudul());
+        assertEquals(5, tersimpan.getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Cari by judul dan pengarang case insensitive")
+    void testCariByJudulDanPengarang() {
+        // Arrange
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.simpan(buku3);
+
+        // Act & Assert
+        assertEquals(2, repository.cariByJudul("JAV").size());
+        assertEquals(1, repository.cariByJudul(" algoritma ").size());
+        assertEquals(2, repository.cariByPengarang("john doe").size());
+        assertTrue(repository.cariByJudul("").isEmpty());
+        assertTrue(repository.cariByJudul(null).isEmpty());
+        assertTrue(repository.cariByPengarang("   ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indeks pencarian mengikuti simpan ulang dan hapus")
+    void testIndeksMengikutiPerubahan() {
+        // Arrange
+        repository.simpan(buku1); // "Pemrograman Java"
+
+        // Act: simpan ulang dengan judul lain, lalu hapus
+        repository.simpan(new Buku("1234567890", "Basis Data", "Jane Smith", 5, 150000.0));
+
+        // Assert
+        assertTrue(repository.cariByJudul("java").isEmpty(), "Judul lama tidak boleh ditemukan lagi");
+        assertEquals(1, repository.cariByJudul("basis").size());
+        assertTrue(repository.cariByPengarang("john").isEmpty());
+        assertEquals(1, repository.cariByPengarang("smith").size());
+
+        repository.hapus("1234567890");
+        assertTrue(repository.cariByJudul("basis").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Hasil pencarian dengan indeks sama dengan scan penuh")
+    void testIndeksSetaraScanPenuh() {
+        // Arrange: repository dengan dan tanpa indeks diisi data acak yang sama
+        InMemoryRepositoryBuku tanpaIndeks = new InMemoryRepositoryBuku(16, false);
+        String[] kata = {"Java", "Data", "Basis", "Sistem", "Jaringan", "Dasar", "Lanjut", "AI"};
+        String[] penulis = {"John Doe", "Jane Smith", "Budi", "Siti Rahayu"};
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            String judul = kata[random.nextInt(kata.length)] + " " + kata[random.nextInt(kata.length)];
+            Buku buku = new Buku(String.format("%010d", i), judul, penulis[random.nextInt(penulis.length)], 1, 1.0);
+            repository.simpan(buku);
+            tanpaIndeks.simpan(buku);
+            if (i % 7 == 0) {
+                repository.hapus(String.format("%010d", i / 2));
+                tanpaIndeks.hapus(String.format("%010d", i / 2));
+            }
+        }
+
+        // Act & Assert
+        String[] kunci = {"j", "ja", "jav", "java", "data dasar", "ta b", "SISTEM", "xyz", "a", "smith", "n d"};
+        for (String k : kunci) {
+            assertEquals(isbnTerurut(tanpaIndeks.cariByJudul(k)), isbnTerurut(repository.cariByJudul(k)), k);
+            assertEquals(isbnTerurut(tanpaIndeks.cariByPengarang(k)), isbnTerurut(repository.cariByPengarang(k)), k);
+        }
+    }
+
+    private static List<String> isbnTerurut(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Simpan batch dan cari by ISBN batch")
+    void testOperasiBatch() {
+        // Act
+        List<Boolean> hasilSimpan = repository.simpanBatch(Arrays.asList(buku1, null, buku2));
+        Map<String, Buku> hasilCari = repository.cariByIsbnBatch(
+                Arrays.asList("1234567890", "0987654321", "9999999999", null));
+
+        // Assert
+        assertEquals(Arrays.asList(true, false, true), hasilSimpan);
+        assertEquals(2, hasilCari.size());
+        assertEquals("Pemrograman Java", hasilCari.get("1234567890").getJudul());
+        assertFalse(hasilCari.containsKey("9999999999"));
+    }
+
+    @Test
+    @DisplayName("Hapus, update jumlah tersedia, dan cari semua")
+    void testHapusUpdateCariSemua() {
+        // Arrange
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+
+        // Act & Assert
+        assertTrue(repository.updateJumlahTersedia("1234567890", 3));
+        assertFalse(repository.updateJumlahTersedia("1234567890", 6), "Tidak boleh melebihi jumlah total");
+        assertFalse(repository.updateJumlahTersedia("1234567890", -1), "Tidak boleh negatif");
+        assertFalse(repository.updateJumlahTersedia("9999999999", 1));
+        assertEquals(3, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertTrue(repository.hapus("0987654321"));
+        assertFalse(repository.hapus("0987654321"));
+        assertFalse(repository.hapus(null));
+
+        List<Buku> semua = repository.cariSemua();
+        assertEquals(1, semua.size());
+        assertEquals(buku1, semua.get(0));
+    }
+
+    @Test
+    @DisplayName("Kurangi dan tambah jumlah tersedia sesuai batas")
+    void testKurangiTambahBatas() {
+        // Arrange
+        repository.simpan(new Buku("2222222222", "Buku Langka", "Penulis", 1, 100000.0));
+
+        // Act & Assert
+        assertFalse(repository.tambahJumlahTersedia("2222222222"), "Stok sudah penuh");
+        assertTrue(repository.kurangiJumlahTersedia("2222222222"));
+        assertFalse(repository.kurangiJumlahTersedia("2222222222"), "Stok sudah habis");
+        assertTrue(repository.tambahJumlahTersedia("2222222222"));
+        assertFalse(repository.kurangiJumlahTersedia("9999999999"));
+        assertFalse(repository.tambahJumlahTersedia(null));
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembali bersamaan - stok tetap konsisten")
+    void testKurangiTambahBersamaan() throws InterruptedException {
+        // Arrange: 10 salinan, 8 thread masing-masing 10.000 kali pinjam lalu kembali
+        repository.simpan(new Buku("3333333333", "Buku Populer", "Penulis", 10, 100000.0));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger jumlahGagalKembali = new AtomicInteger();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 10_000; i++) {
+                    if (repository.kurangiJumlahTersedia("3333333333")
+                            && !repository.tambahJumlahTersedia("3333333333")) {
+                        jumlahGagalKembali.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(0, jumlahGagalKembali.get());
+        assertEquals(10, repository.cariByIsbn("3333333333").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Varian stream memberi hasil yang sama dengan varian List")
+    void testStreamSetaraList() {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.simpan(buku3);
+
+        assertEquals(3, repository.streamSemua().count());
+        assertEquals(3, repository.streamSemua().parallel().map(Buku::getIsbn).distinct().count());
+        assertEquals(isbnTerurut(repository.cariByJudul("java")), isbnTerurut(
+                repository.streamByJudul("java").collect(Collectors.toList())));
+        assertEquals(isbnTerurut(repository.cariByPengarang("doe")), isbnTerurut(
+                repository.streamByPengarang("doe").collect(Collectors.toList())));
+        assertEquals(0, repository.streamByJudul(" ").count());
+
+        // Stream lazy: hanya elemen yang dikonsumsi yang disalin
+        assertEquals(1, repository.streamByPengarang("doe").limit(1).count());
+    }
+
+    @Test
+    @DisplayName("Paginasi keyset menelusuri semua buku terurut tanpa duplikat")
+    void testPaginasiKeyset() {
+        for (int i = 0; i < 25; i++) {
+            repository.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang", 1, 1000.0));
+        }
+
+        List<String> terbaca = new ArrayList<>();
+        HalamanBuku halaman = repository.cariSemuaPerHalaman(null, 10);
+        int jumlahHalaman = 1;
+        terbaca.addAll(isbnDari(halaman.getIsi()));
+        while (halaman.adaLanjutan()) {
+            // Buku baru dengan ISBN sebelum posisi halaman tidak menggeser halaman berikutnya
+            repository.simpan(new Buku("0000000000" + jumlahHalaman, "Sisipan", "Pengarang", 1, 1000.0));
+            halaman = repository.cariSemuaPerHalaman(halaman.getTokenLanjutan(), 10);
+            terbaca.addAll(isbnDari(halaman.getIsi()));
+            jumlahHalaman++;
+        }
+
+        assertEquals(3, jumlahHalaman);
+        assertEquals(25, terbaca.size());
+        assertEquals(isbnTerurut(repository.cariSemua()).subList(2, 27), terbaca);
+        assertThrows(IllegalArgumentException.class, () -> repository.cariSemuaPerHalaman(null, 0));
+    }
+
+    @Test
+    @DisplayName("Pengarang yang sama dipakai bersama dan dilepas saat buku terakhir dihapus")
+    void testDeduplikasiTeks() {
+        repository.simpan(buku1);
+        repository.simpan(buku3);
+        Buku salinanPengarang = new Buku("2222222222", "Java Lanjut", new String("John Doe"), 1, 1000.0);
+        repository.simpan(salinanPengarang);
+
+        // 3 judul + 1 pengarang
+        assertEquals(4, repository.jumlahTeksUnik());
+        assertSame(repository.cariByIsbn("1234567890").get().getPengarang(),
+                repository.cariByIsbn("2222222222").get().getPengarang());
+        assertEquals(3, repository.cariByPengarang("John Doe").size());
+        assertEquals(3, repository.cariByPengarang(" JOHN ").size());
+
+        // Ganti judul: judul lama dilepas
+        repository.simpan(new Buku("2222222222", "Pemrograman Java", "John Doe", 1, 1000.0));
+        assertEquals(3, repository.jumlahTeksUnik());
+
+        repository.hapus("1234567890");
+        repository.hapus("1111111111");
+        repository.hapus("2222222222");
+        assertEquals(0, repository.jumlahTeksUnik());
+        assertTrue(repository.cariByPengarang("John Doe").isEmpty());
+    }
+
+    private static List<String> isbnDari(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
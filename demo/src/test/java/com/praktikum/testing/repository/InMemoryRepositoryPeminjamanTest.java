@@ -0,0 +1,170 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test In-Memory Repository Peminjaman (berindeks)")
+public class InMemoryRepositoryPeminjamanTest {
+
+    private static final LocalDate HARI_INI = LocalDate.of(2024, 3, 15);
+
+    private InMemoryRepositoryPeminjaman repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryPeminjaman();
+    }
+
+    private static Peminjaman peminjaman(String id, String idAnggota, String isbn, LocalDate jatuhTempo) {
+        return new Peminjaman(id, idAnggota, isbn, jatuhTempo.minusDays(14), jatuhTempo);
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari lewat indeks anggota, ISBN, dan pasangan aktif")
+    void testSimpanDanCariLewatIndeks() {
+        assertTrue(repository.simpan(peminjaman("P001", "A001", "1234567890", HARI_INI)));
+        assertTrue(repository.simpan(peminjaman("P002", "A001", "0987654321", HARI_INI)));
+        assertTrue(repository.simpan(peminjaman("P003", "A002", "1234567890", HARI_INI)));
+
+        assertEquals(2, repository.cariByAnggota("A001").size());
+        assertEquals(2, repository.cariByIsbn("1234567890").size());
+        assertTrue(repository.cariByAnggota("A999").isEmpty());
+
+        Optional<Peminjaman> aktif = repository.cariAktif("A002", "1234567890");
+        assertTrue(aktif.isPresent());
+        assertEquals("P003", aktif.get().getIdPeminjaman());
+        assertFalse(repository.cariAktif("A002", "0987654321").isPresent());
+        assertEquals(3, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Peminjaman aktif ganda untuk anggota dan buku yang sama - ditolak")
+    void testPeminjamanAktifGanda() {
+        assertTrue(repository.simpan(peminjaman("P001", "A001", "1234567890", HARI_INI)));
+        assertFalse(repository.simpan(peminjaman("P002", "A001", "1234567890", HARI_INI)));
+
+        // Setelah dikembalikan, buku yang sama boleh dipinjam lagi
+        assertTrue(repository.tandaiDikembalikan("P001", HARI_INI));
+        assertTrue(repository.simpan(peminjaman("P002", "A001", "1234567890", HARI_INI.plusDays(14))));
+        assertEquals("P002", repository.cariAktif("A001", "1234567890").get().getIdPeminjaman());
+    }
+
+    @Test
+    @DisplayName("Cari terlambat hanya peminjaman aktif dengan jatuh tempo sebelum tanggal acuan")
+    void testCariTerlambat() {
+        repository.simpan(peminjaman("P001", "A001", "1111111111", HARI_INI.minusDays(10)));
+        repository.simpan(peminjaman("P002", "A002", "1111111111", HARI_INI.minusDays(1)));
+        repository.simpan(peminjaman("P003", "A003", "1111111111", HARI_INI));             // jatuh tempo hari ini
+        repository.simpan(peminjaman("P004", "A004", "1111111111", HARI_INI.plusDays(3)));
+        repository.simpan(peminjaman("P005", "A005", "1111111111", HARI_INI.minusDays(5)));
+        repository.tandaiDikembalikan("P005", HARI_INI);
+
+        List<String> terlambat = repository.cariTerlambat(HARI_INI).stream()
+                .map(Peminjaman::getIdPeminjaman).collect(Collectors.toList());
+
+        // Terurut dari jatuh tempo paling lama
+        assertEquals(Arrays.asList("P001", "P002"), terlambat);
+        assertTrue(repository.cariTerlambat(HARI_INI.minusDays(30)).isEmpty());
+        assertTrue(repository.cariTerlambat(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Peminjaman yang dikembalikan bersamaan tidak muncul sebagai terlambat")
+    void testCariTerlambatSaatDikembalikan() throws InterruptedException {
+        for (int i = 0; i < 2000; i++) {
+            repository.simpan(peminjaman("P" + i, "A" + i, "1111111111", HARI_INI.minusDays(1 + i % 30)));
+        }
+        Thread pengembali = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                repository.tandaiDikembalikan("P" + i, HARI_INI);
+            }
+        });
+        pengembali.start();
+        try {
+            while (pengembali.isAlive()) {
+                for (Peminjaman p : repository.cariTerlambat(HARI_INI)) {
+                    assertFalse(p.isSudahDikembalikan(), p.getIdPeminjaman());
+                }
+            }
+        } finally {
+            pengembali.join();
+        }
+        assertTrue(repository.cariTerlambat(HARI_INI).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Hasil indeks sama dengan scan penuh memakai isTerlambat")
+    void testIndeksSetaraScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            String id = "P" + i;
+            repository.simpan(peminjaman(id, "A" + random.nextInt(50), "ISBN" + i,
+                    HARI_INI.plusDays(random.nextInt(60) - 30)));
+            if (random.nextInt(4) == 0) {
+                repository.tandaiDikembalikan(id, HARI_INI.minusDays(random.nextInt(10)));
+            }
+        }
+
+        for (int geser = -40; geser <= 40; geser += 5) {
+            LocalDate tanggal = HARI_INI.plusDays(geser);
+            List<String> dariScan = repository.cariSemua().stream()
+                    .filter(p -> !p.isSudahDikembalikan() && p.isTerlambat(tanggal))
+                    .map(Peminjaman::getIdPeminjaman).sorted().collect(Collectors.toList());
+            List<String> dariIndeks = repository.cariTerlambat(tanggal).stream()
+                    .map(Peminjaman::getIdPeminjaman).sorted().collect(Collectors.toList());
+            assertEquals(dariScan, dariIndeks, "tanggal " + tanggal);
+        }
+    }
+
+    @Test
+    @DisplayName("Update, tandai kembali, dan hapus memperbarui semua indeks")
+    void testUpdateDanHapus() {
+        repository.simpan(peminjaman("P001", "A001", "1234567890", HARI_INI.minusDays(3)));
+
+        // Update jatuh tempo (perpanjangan) memindahkan entri di indeks jatuh tempo
+        assertTrue(repository.simpan(peminjaman("P001", "A001", "1234567890", HARI_INI.plusDays(7))));
+        assertTrue(repository.cariTerlambat(HARI_INI).isEmpty());
+
+        assertTrue(repository.tandaiDikembalikan("P001", HARI_INI));
+        assertFalse(repository.tandaiDikembalikan("P001", HARI_INI));
+        assertFalse(repository.cariAktif("A001", "1234567890").isPresent());
+        Peminjaman hasil = repository.cariById("P001").get();
+        assertTrue(hasil.isSudahDikembalikan());
+        assertEquals(HARI_INI, hasil.getTanggalKembali());
+
+        assertTrue(repository.hapus("P001"));
+        assertFalse(repository.hapus("P001"));
+        assertTrue(repository.cariByAnggota("A001").isEmpty());
+        assertTrue(repository.cariByIsbn("1234567890").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Objek di repository tidak terpengaruh perubahan objek milik pemanggil")
+    void testSalinanDefensif() {
+        Peminjaman asli = peminjaman("P001", "A001", "1234567890", HARI_INI.minusDays(3));
+        repository.simpan(asli);
+        asli.setSudahDikembalikan(true);
+        repository.cariById("P001").get().setTanggalJatuhTempo(HARI_INI.plusDays(30));
+
+        assertEquals(1, repository.cariTerlambat(HARI_INI).size());
+        assertFalse(repository.cariById("P001").get().isSudahDikembalikan());
+    }
+
+    @Test
+    @DisplayName("Simpan Peminjaman tidak lengkap - harus gagal")
+    void testSimpanTidakValid() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Peminjaman()));
+        assertFalse(repository.simpan(new Peminjaman("P001", "A001", "1234567890", HARI_INI, null)));
+        assertEquals(0, repository.ukuran());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.praktikum.testing.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks N-Gram")
+public class IndeksNGramTest {
+
+    private IndeksNGram indeks;
+
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksNGram();
+        indeks.tambah("1", "pemrograman java");
+        indeks.tambah("2", "algoritma dan struktur data");
+        indeks.tambah("3", "java advanced");
+    }
+
+    @Test
+    @DisplayName("Kunci pendek (<= 3 karakter) langsung menjawab dari posting list")
+    void testKunciPendek() {
+        Set<String> hasil = indeks.kandidat("jav");
+        assertEquals(2, hasil.size());
+        assertTrue(hasil.contains("1"));
+        assertTrue(hasil.contains("3"));
+
+        assertEquals(3, indeks.kandidat("a").size());
+        assertTrue(indeks.kandidat("zz").isEmpty());
+        assertTrue(indeks.kandidat("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kunci panjang memberi kandidat dari trigram terkecil")
+    void testKunciPanjang() {
+        Set<String> hasil = indeks.kandidat("struktur");
+        assertEquals(1, hasil.size());
+        assertTrue(hasil.contains("2"));
+
+        // Ada trigram yang tidak pernah muncul: pasti kosong
+        assertTrue(indeks.kandidat("javascript").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Hapus membuang ISBN dan posting list yang kosong")
+    void testHapus() {
+        int sebelum = indeks.jumlahNGram();
+
+        indeks.hapus("2", "algoritma dan struktur data");
+
+        assertTrue(indeks.kandidat("struktur").isEmpty());
+        assertTrue(indeks.jumlahNGram() < sebelum, "N-gram yang hanya dimiliki buku 2 harus hilang");
+        assertEquals(2, indeks.kandidat("jav").size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Buku Berbasis File Memory-Mapped")
+public class MappedFileRepositoryBukuTest {
+
+    @TempDir
+    Path folder;
+
+    private Path file;
+    private MappedFileRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = folder.resolve("katalog.dat");
+        repository = new MappedFileRepositoryBuku(file);
+
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Paginasi keyset memilih halaman dari indeks tanpa mengurutkan seluruh katalog")
+    void testPaginasiKeyset() {
+        for (int i = 999; i >= 0; i--) {
+            repository.simpan(new Buku(String.format("978%010d", i * 7 % 1000), "Judul " + i, "Pengarang", 1, 1000.0));
+        }
+        repository.hapus("9780000000500");
+
+        List<String> terbaca = new ArrayList<>();
+        HalamanBuku halaman = repository.cariSemuaPerHalaman(null, 64);
+        terbaca.addAll(halaman.getIsi().stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        while (halaman.adaLanjutan()) {
+            assertEquals(64, halaman.getIsi().size());
+            halaman = repository.cariSemuaPerHalaman(halaman.getTokenLanjutan(), 64);
+            terbaca.addAll(halaman.getIsi().stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        }
+
+        List<String> harapan = repository.cariSemua().stream().map(Buku::getIsbn).sorted()
+                .collect(Collectors.toList());
+        assertEquals(999, harapan.size());
+        assertEquals(harapan, terbaca);
+        assertEquals(7, repository.cariSemuaPerHalaman("9780000000992", 64).getIsi().size());
+    }
+
+    @Test
+    @DisplayName("Simpan, cari, dan update buku")
+    void testSimpanCariUpdate() {
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(buku2));
+
+        Optional<Buku> hasil = repository.cariByIsbn("0987654321");
+        assertTrue(hasil.isPresent());
+        assertEquals("Algoritma dan Struktur Data", hasil.get().getJudul());
+        assertEquals("Jane Smith", hasil.get().getPengarang());
+        assertEquals(3, hasil.get().getJumlahTersedia());
+        assertEquals(200000.0, hasil.get().getHarga());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+
+        // Simpan ulang ISBN yang sama menimpa slot yang sama
+        assertTrue(repository.simpan(new Buku("1234567890", "Pemrograman Java Edisi 2", "John Doe", 6, 175000.0)));
+        assertEquals(2, repository.ukuran());
+        assertEquals("Pemrograman Java Edisi 2", repository.cariByIsbn("1234567890").get().getJudul());
+
+        assertEquals(1, repository.cariByJudul("java").size());
+        assertEquals(1, repository.cariByPengarang("SMITH").size());
+        assertEquals(2, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Data tetap ada setelah file dibuka ulang")
+    void testPersistensiSetelahBukaUlang() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.simpan(new Buku("1111111111", null, null, 1, 0.0));
+        repository.updateJumlahTersedia("1234567890", 2);
+        repository.hapus("0987654321");
+        repository.close();
+
+        repository = new MappedFileRepositoryBuku(file);
+
+        assertEquals(2, repository.ukuran());
+        Buku hasil = repository.cariByIsbn("1234567890").get();
+        assertEquals("Pemrograman Java", hasil.getJudul());
+        assertEquals(2, hasil.getJumlahTersedia());
+        assertEquals(5, hasil.getJumlahTotal());
+        assertFalse(repository.cariByIsbn("0987654321").isPresent());
+        assertNull(repository.cariByIsbn("1111111111").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Update jumlah tersedia di tempat dengan batas total")
+    void testUpdateJumlahTersedia() {
+        repository.simpan(buku2);
+
+        assertTrue(repository.updateJumlahTersedia("0987654321", 0));
+        assertFalse(repository.updateJumlahTersedia("0987654321", 4));
+        assertFalse(repository.updateJumlahTersedia("0987654321", -1));
+        assertFalse(repository.updateJumlahTersedia("9999999999", 1));
+
+        assertFalse(repository.kurangiJumlahTersedia("0987654321"));
+        assertTrue(repository.tambahJumlahTersedia("0987654321"));
+        assertEquals(1, repository.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Slot bekas hapus dipakai ulang dan file tumbuh per segmen")
+    void testSlotDipakaiUlangDanFileTumbuh() throws IOException {
+        repository.close();
+        Path fileKecil = folder.resolve("kecil.dat");
+        repository = new MappedFileRepositoryBuku(fileKecil, 4);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(repository.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang", 2, 1000.0)));
+        }
+        long ukuranFile = Files.size(fileKecil);
+        assertEquals(MappedFileRepositoryBuku.UKURAN_HEADER + 3 * 4 * MappedFileRepositoryBuku.UKURAN_RECORD,
+                ukuranFile);
+
+        assertTrue(repository.hapus(String.format("978%010d", 3)));
+        assertTrue(repository.simpan(new Buku("9999999999999", "Baru", "Pengarang", 1, 1000.0)));
+
+        // Slot bekas dipakai ulang, file tidak bertambah
+        assertEquals(ukuranFile, Files.size(fileKecil));
+        assertEquals(10, repository.ukuran());
+        assertEquals("Judul 9", repository.cariByIsbn(String.format("978%010d", 9)).get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Teks melebihi lebar kolom atau buku tidak valid - ditolak")
+    void testSimpanTidakValid() {
+        StringBuilder judulPanjang = new StringBuilder();
+        for (int i = 0; i <= MappedFileRepositoryBuku.MAKS_JUDUL; i++) {
+            judulPanjang.append('a');
+        }
+
+        assertFalse(repository.simpan(new Buku("1234567890", judulPanjang.toString(), "John Doe", 1, 0.0)));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Buku()));
+        assertEquals(0, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("File yang bukan katalog - ditolak saat dibuka")
+    void testFileTidakValid() throws IOException {
+        Path fileLain = folder.resolve("lain.dat");
+        Files.write(fileLain, new byte[MappedFileRepositoryBuku.UKURAN_HEADER]);
+
+        assertThrows(IOException.class, () -> new MappedFileRepositoryBuku(fileLain));
+    }
+
+    @Test
+    @DisplayName("Akses setelah close - IllegalStateException")
+    void testAksesSetelahClose() throws IOException {
+        repository.close();
+
+        assertThrows(IllegalStateException.class, () -> repository.cariByIsbn("1234567890"));
+        assertThrows(IllegalStateException.class, () -> repository.simpan(buku1));
+    }
+
+    @Test
+    @DisplayName("Pinjam bersamaan tidak pernah membuat stok negatif")
+    void testKurangiBersamaan() throws InterruptedException {
+        repository.simpan(buku1);
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        for (int t = 0; t < jumlahThread; t++) {
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 10; i++) {
+                    if (repository.kurangiJumlahTersedia("1234567890")) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(5, berhasil.get());
+        List<Buku> semua = repository.cariSemua();
+        assertEquals(0, semua.get(0).getJumlahTersedia());
+    }
+}
\ No newline at end of file
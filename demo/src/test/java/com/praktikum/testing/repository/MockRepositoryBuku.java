@@ -97,6 +97,41 @@ public class MockRepositoryBuku implements RepositoryBuku {
         return true;
     }
 
+    @Override
+    public boolean kurangiJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        // computeIfPresent pada ConcurrentHashMap berjalan atomik untuk satu key
+        boolean[] berhasil = new boolean[1];
+        bukuMap.computeIfPresent(isbn, (key, buku) -> {
+            if (buku.getJumlahTersedia() > 0) {
+                buku.setJumlahTersedia(buku.getJumlahTersedia() - 1);
+                berhasil[0] = true;
+            }
+            return buku;
+        });
+        return berhasil[0];
+    }
+
+    @Override
+    public boolean tambahJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        boolean[] berhasil = new boolean[1];
+        bukuMap.computeIfPresent(isbn, (key, buku) -> {
+            if (buku.getJumlahTersedia() < buku.getJumlahTotal()) {
+                buku.setJumlahTersedia(buku.getJumlahTersedia() + 1);
+                berhasil[0] = true;
+            }
+            return buku;
+        });
+        return berhasil[0];
+    }
+
     @Override
     public List<Buku> cariSemua() {
         // Mengembalikan salinan (ArrayList baru) dari semua nilai dalam Map
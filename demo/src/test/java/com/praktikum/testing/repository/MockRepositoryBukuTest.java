@@ -6,6 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.stream.Collectors; // Diperlukan untuk stream assertion */
 
@@ -311,6 +316,73 @@ public class MockRepositoryBukuTest {
         assertFalse(hasil, "Harus gagal untuk buku yang tidak ada");
     }
 
+    // --- Test Kurangi/Tambah Jumlah Tersedia (atomik) ---
+
+    @Test
+    @DisplayName("Kurangi jumlah tersedia - berhenti di 0")
+    void testKurangiJumlahTersediaBerhentiDiNol() {
+        // Arrange
+        Buku bukuSedikit = new Buku("2222222222", "Buku Langka", "Penulis", 2, 100000.0);
+        mockRepository.simpan(bukuSedikit);
+
+        // Act & Assert
+        assertTrue(mockRepository.kurangiJumlahTersedia("2222222222"));
+        assertTrue(mockRepository.kurangiJumlahTersedia("2222222222"));
+        assertFalse(mockRepository.kurangiJumlahTersedia("2222222222"), "Stok habis harus gagal");
+        assertEquals(0, mockRepository.cariByIsbn("2222222222").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Tambah jumlah tersedia - tidak melebihi jumlah total")
+    void testTambahJumlahTersediaTidakMelebihiTotal() {
+        // Arrange
+        mockRepository.simpan(buku1); // JumlahTotal = 5, JumlahTersedia = 5
+
+        // Act & Assert
+        assertFalse(mockRepository.tambahJumlahTersedia("1234567890"), "Stok penuh harus gagal");
+        assertTrue(mockRepository.kurangiJumlahTersedia("1234567890"));
+        assertTrue(mockRepository.tambahJumlahTersedia("1234567890"));
+        assertEquals(5, mockRepository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Kurangi/tambah jumlah tersedia - buku tidak ada atau ISBN null harus gagal")
+    void testKurangiTambahBukuTidakAda() {
+        assertFalse(mockRepository.kurangiJumlahTersedia("9999999999"));
+        assertFalse(mockRepository.tambahJumlahTersedia("9999999999"));
+        assertFalse(mockRepository.kurangiJumlahTersedia(null));
+        assertFalse(mockRepository.tambahJumlahTersedia(null));
+    }
+
+    @Test
+    @DisplayName("Kurangi jumlah tersedia bersamaan - tidak pernah oversold")
+    void testKurangiJumlahTersediaBersamaan() throws InterruptedException {
+        // Arrange: 3 salinan, 16 thread berebut meminjam
+        Buku bukuPopuler = new Buku("3333333333", "Buku Populer", "Penulis", 3, 100000.0);
+        mockRepository.simpan(bukuPopuler);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger jumlahBerhasil = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 16; i++) {
+            executor.submit(() -> {
+                mulai.await();
+                if (mockRepository.kurangiJumlahTersedia("3333333333")) {
+                    jumlahBerhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(3, jumlahBerhasil.get(), "Hanya 3 peminjam yang boleh berhasil");
+        assertEquals(0, mockRepository.cariByIsbn("3333333333").get().getJumlahTersedia());
+    }
+
     // --- Test Cari Semua ---
 
     @Test
@@ -410,4 +482,40 @@ public class MockRepositoryBukuTest {
         // Assert
         assertEquals(0, mockRepository.ukuran(), "Repository harus kosong setelah dibersihkan");
     }
+
+    // --- Test Streaming dan Paginasi (implementasi default interface) ---
+
+    @Test
+    @DisplayName("Paginasi default menelusuri buku terurut ISBN")
+    void testPaginasiDefault() {
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.simpan(buku3);
+
+        HalamanBuku halaman1 = mockRepository.cariSemuaPerHalaman(null, 2);
+        HalamanBuku halaman2 = mockRepository.cariSemuaPerHalaman(halaman1.getTokenLanjutan(), 2);
+
+        assertEquals("0987654321", halaman1.getIsi().get(0).getIsbn());
+        assertEquals("1111111111", halaman1.getIsi().get(1).getIsbn());
+        assertTrue(halaman1.adaLanjutan());
+        assertEquals(1, halaman2.getIsi().size());
+        assertEquals("1234567890", halaman2.getIsi().get(0).getIsbn());
+        assertFalse(halaman2.adaLanjutan());
+        assertEquals(2, mockRepository.streamByPengarang("John").count());
+    }
+
+    @Test
+    @DisplayName("Paginasi default dengan batas Integer.MAX_VALUE mengembalikan seluruh katalog")
+    void testPaginasiDefaultBatasMaksimum() {
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.simpan(buku3);
+
+        HalamanBuku halaman = mockRepository.cariSemuaPerHalaman(null, Integer.MAX_VALUE);
+
+        assertEquals(3, halaman.getIsi().size());
+        assertEquals("0987654321", halaman.getIsi().get(0).getIsbn());
+        assertFalse(halaman.adaLanjutan());
+        assertTrue(mockRepository.cariSemuaPerHalaman("1234567890", Integer.MAX_VALUE).getIsi().isEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Buku dengan kunci ISBN numerik")
+public class NumericIsbnRepositoryBukuTest {
+
+    private NumericIsbnRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new NumericIsbnRepositoryBuku();
+        repository.simpan(new Buku("978-0-306-40615-7", "Pemrograman Java", "John Doe", 2, 150000.0));
+        repository.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0));
+    }
+
+    @Test
+    @DisplayName("ISBN bertanda hubung, polos, dan ISBN-10 menunjuk ke entri yang sama")
+    void testBentukIsbnSetara() {
+        assertTrue(repository.cariByIsbn("9780306406157").isPresent());
+        assertTrue(repository.ada("0-306-40615-2"));
+        assertEquals("978-0-306-40615-7", repository.cariByIsbn("0306406152").get().getIsbn());
+
+        // Simpan ulang dengan bentuk lain menimpa entri yang sama
+        assertTrue(repository.simpan(new Buku("9780306406157", "Pemrograman Java Edisi 2", "John Doe", 2, 1.0)));
+        assertEquals(2, repository.ukuran());
+        assertEquals("Pemrograman Java Edisi 2", repository.cariByIsbn("978-0306406157").get().getJudul());
+
+        assertTrue(repository.hapus("0-306-40615-2"));
+        assertFalse(repository.ada("9780306406157"));
+    }
+
+    @Test
+    @DisplayName("ISBN yang bukan 10/13 digit ditolak")
+    void testIsbnTidakValid() {
+        assertFalse(repository.simpan(new Buku("123", "Judul", "Pengarang", 1, 1.0)));
+        assertFalse(repository.simpan(new Buku(null, "Judul", "Pengarang", 1, 1.0)));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.cariByIsbn("123").isPresent());
+        assertFalse(repository.cariByIsbn(null).isPresent());
+        assertFalse(repository.hapus("abc"));
+    }
+
+    @Test
+    @DisplayName("Pencarian judul/pengarang dan operasi stok")
+    void testPencarianDanStok() {
+        assertEquals(1, repository.cariByJudul("java").size());
+        assertEquals(1, repository.cariByPengarang("Jane Smith").size());
+        assertEquals(2, repository.cariSemua().size());
+
+        assertTrue(repository.kurangiJumlahTersedia("0306406152"));
+        assertTrue(repository.kurangiJumlahTersedia("9780306406157"));
+        assertFalse(repository.kurangiJumlahTersedia("978-0-306-40615-7"));
+        assertTrue(repository.tambahJumlahTersedia("9780306406157"));
+        assertEquals(1, repository.cariByIsbn("9780306406157").get().getJumlahTersedia());
+        assertFalse(repository.updateJumlahTersedia("9780306406157", 5));
+        assertTrue(repository.updateJumlahTersedia("9780306406157", 2));
+    }
+
+    @Test
+    @DisplayName("Peminjaman bersamaan tidak melebihi stok")
+    void testKurangiBersamaan() throws InterruptedException {
+        repository.simpan(new Buku("9786020332956", "Buku Populer", "Penulis", 100, 1.0));
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (repository.kurangiJumlahTersedia("978-602-03-3295-6")) {
+                    berhasil.incrementAndGet();
+                }
+                // Tulis bersamaan ke ISBN lain memicu resize saat baca berlangsung
+                repository.simpan(new Buku(String.format("979%010d", berhasil.get()), "X", "Y", 1, 1.0));
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, berhasil.get());
+        assertEquals(0, repository.cariByIsbn("9786020332956").get().getJumlahTersedia());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.praktikum.testing.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Peta ISBN (open addressing long)")
+public class PetaIsbnTest {
+
+    @Test
+    @DisplayName("Put, get, dan remove dasar")
+    void testDasar() {
+        PetaIsbn<String> peta = new PetaIsbn<>();
+
+        assertNull(peta.put(9780306406157L, "a"));
+        assertEquals("a", peta.put(9780306406157L, "b"));
+        assertEquals("b", peta.get(9780306406157L));
+        assertNull(peta.get(9780306406158L));
+        assertNull(peta.get(-1));
+        assertEquals(1, peta.size());
+
+        assertEquals("b", peta.remove(9780306406157L));
+        assertNull(peta.remove(9780306406157L));
+        assertEquals(0, peta.size());
+        assertThrows(IllegalArgumentException.class, () -> peta.put(-1, "x"));
+        assertThrows(IllegalArgumentException.class, () -> peta.put(1, null));
+    }
+
+    @Test
+    @DisplayName("Operasi acak tetap setara dengan HashMap (resize dan backward shift)")
+    void testSetaraHashMap() {
+        PetaIsbn<Long> peta = new PetaIsbn<>();
+        Map<Long, Long> acuan = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Rentang kunci kecil agar banyak kunci yang ditimpa dan dihapus ulang
+            long kode = 9780000000000L + random.nextInt(5_000);
+            int operasi = random.nextInt(3);
+            if (operasi == 0) {
+                assertEquals(acuan.put(kode, (long) i), peta.put(kode, (long) i));
+            } else if (operasi == 1) {
+                assertEquals(acuan.remove(kode), peta.remove(kode));
+            } else {
+                assertEquals(acuan.get(kode), peta.get(kode));
+            }
+        }
+
+        assertEquals(acuan.size(), peta.size());
+        assertEquals(new HashSet<>(acuan.values()), new HashSet<>(peta.nilai()));
+        for (Map.Entry<Long, Long> entri : acuan.entrySet()) {
+            assertEquals(entri.getValue(), peta.get(entri.getKey()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Buku ter-shard")
+public class ShardedRepositoryBukuTest {
+
+    private ShardedRepositoryBuku repository;
+    private InMemoryRepositoryBuku acuan;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedRepositoryBuku(4);
+        acuan = new InMemoryRepositoryBuku();
+        for (int i = 0; i < 200; i++) {
+            Buku buku = new Buku(String.format("978%010d", i), (i % 2 == 0 ? "Pemrograman Java " : "Basis Data ") + i,
+                    "Pengarang " + (i % 7), 2, 1000.0);
+            repository.simpan(buku);
+            acuan.simpan(buku);
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi per ISBN hanya menyentuh satu shard dan data tersebar ke semua shard")
+    void testRoutingSatuShard() {
+        ShardedRepositoryBuku sharded = new ShardedRepositoryBuku(4, NumericIsbnRepositoryBuku::new);
+        sharded.simpan(new Buku("978-0-306-40615-7", "Judul", "Pengarang", 1, 1.0));
+
+        // Bentuk ISBN lain diarahkan ke shard yang sama
+        assertSame(sharded.shardUntuk("978-0-306-40615-7"), sharded.shardUntuk("0306406152"));
+        assertTrue(sharded.cariByIsbn("9780306406157").isPresent());
+        assertTrue(sharded.kurangiJumlahTersedia("0-306-40615-2"));
+
+        int[] perShard = new int[4];
+        for (Buku buku : acuan.cariSemua()) {
+            perShard[repository.indeksShard(buku.getIsbn())]++;
+            assertTrue(repository.shardUntuk(buku.getIsbn()).cariByIsbn(buku.getIsbn()).isPresent());
+        }
+        for (int jumlah : perShard) {
+            assertTrue(jumlah > 20, Arrays.toString(perShard));
+        }
+        assertFalse(repository.cariByIsbn(null).isPresent());
+        assertFalse(repository.simpan(null));
+    }
+
+    @Test
+    @DisplayName("Pencarian fan-out sama dengan satu repository")
+    void testFanOutSamaDenganAcuan() {
+        assertEquals(isbn(acuan.cariByJudul("java")), isbn(repository.cariByJudul("java")));
+        assertEquals(isbn(acuan.cariByPengarang("pengarang 3")), isbn(repository.cariByPengarang("pengarang 3")));
+        assertEquals(isbn(acuan.cariSemua()), isbn(repository.cariSemua()));
+        assertEquals(isbn(acuan.cariSemua()), isbn(repository.streamSemua().collect(Collectors.toList())));
+        assertEquals(100, repository.streamByJudul("data").count());
+        assertTrue(repository.cariByJudul(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Batch dan paginasi lintas shard")
+    void testBatchDanPaginasi() {
+        List<Buku> batch = Arrays.asList(new Buku("9790000000001", "A", "B", 1, 1.0), null,
+                new Buku("9790000000002", "C", "D", 1, 1.0), new Buku(null, "E", "F", 1, 1.0));
+        assertEquals(Arrays.asList(true, false, true, false), repository.simpanBatch(batch));
+
+        Map<String, Buku> hasil = repository.cariByIsbnBatch(
+                Arrays.asList("9790000000001", "9790000000002", "9780000000005", "0000000000000"));
+        assertEquals(3, hasil.size());
+
+        List<String> terbaca = new ArrayList<>();
+        HalamanBuku halaman = repository.cariSemuaPerHalaman(null, 30);
+        terbaca.addAll(isbnUrutHalaman(halaman));
+        while (halaman.adaLanjutan()) {
+            halaman = repository.cariSemuaPerHalaman(halaman.getTokenLanjutan(), 30);
+            terbaca.addAll(isbnUrutHalaman(halaman));
+        }
+        assertEquals(isbn(repository.cariSemua()), terbaca);
+        assertEquals(202, terbaca.size());
+
+        // Halaman pas di batas: tidak ada halaman kosong sesudahnya
+        assertFalse(repository.cariSemuaPerHalaman(terbaca.get(171), 30).adaLanjutan());
+    }
+
+    @Test
+    @DisplayName("Peminjaman bersamaan tidak melebihi stok")
+    void testKurangiBersamaan() throws InterruptedException {
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            int nomor = i % 200;
+            executor.submit(() -> {
+                if (repository.kurangiJumlahTersedia(String.format("978%010d", nomor))) {
+                    berhasil.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(400, berhasil.get());
+        assertTrue(repository.cariSemua().stream().allMatch(buku -> buku.getJumlahTersedia() == 0));
+    }
+
+    @Test
+    @DisplayName("Konstruktor menolak konfigurasi tidak valid")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRepositoryBuku(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRepositoryBuku(new ArrayList<>(), null));
+        assertEquals(4, repository.getJumlahShard());
+    }
+
+    private static List<String> isbn(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> isbnUrutHalaman(HalamanBuku halaman) {
+        List<String> hasil = halaman.getIsi().stream().map(Buku::getIsbn).collect(Collectors.toList());
+        List<String> terurut = new ArrayList<>(hasil);
+        terurut.sort(Comparator.naturalOrder());
+        assertEquals(terurut, hasil);
+        return hasil;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Snapshot Biner Katalog")
+public class SnapshotKatalogTest {
+
+    @TempDir
+    Path folder;
+
+    private Path file;
+    private InMemoryRepositoryBuku sumber;
+
+    @BeforeEach
+    void setUp() {
+        file = folder.resolve("katalog.snap");
+        sumber = new InMemoryRepositoryBuku();
+        for (int i = 0; i < 1000; i++) {
+            Buku buku = new Buku(String.format("978%010d", i), "Buku ke-" + i, "Pengarang " + (i % 10), 3, 1000.0 + i);
+            buku.setJumlahTersedia(i % 4);
+            sumber.simpan(buku);
+        }
+    }
+
+    private static List<Buku> urut(List<Buku> daftar) {
+        return daftar.stream().sorted(Comparator.comparing(Buku::getIsbn)).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Tulis lalu baca menghasilkan katalog yang sama, dengan pengarang dari kamus")
+    void testTulisBacaSama() throws IOException {
+        sumber.simpan(new Buku("9789999999999", "Tanpa Pengarang", null, 1, 0.0));
+        sumber.simpan(new Buku("9789999999998", "Judul Unicode \u00e9\u4e66", "Pengarang \u00fc", 1, 0.0));
+
+        assertEquals(1002, SnapshotKatalog.tulis(sumber, file, 128));
+
+        try (SnapshotKatalog snapshot = SnapshotKatalog.buka(file)) {
+            assertEquals(1002, snapshot.getJumlahBuku());
+            assertEquals(8, snapshot.getJumlahSegmen());
+
+            List<Buku> hasil = snapshot.bacaSemua();
+            List<Buku> harapan = urut(sumber.cariSemua());
+            List<Buku> aktual = urut(hasil);
+            for (int i = 0; i < harapan.size(); i++) {
+                Buku h = harapan.get(i);
+                Buku a = aktual.get(i);
+                assertEquals(h.getIsbn(), a.getIsbn());
+                assertEquals(h.getJudul(), a.getJudul());
+                assertEquals(h.getPengarang(), a.getPengarang());
+                assertEquals(h.getJumlahTotal(), a.getJumlahTotal());
+                assertEquals(h.getJumlahTersedia(), a.getJumlahTersedia());
+                assertEquals(h.getHarga(), a.getHarga());
+            }
+
+            // Pengarang yang sama berbagi satu objek String dari kamus
+            List<Buku> pengarang3 = hasil.stream()
+                    .filter(b -> "Pengarang 3".equals(b.getPengarang())).collect(Collectors.toList());
+            assertEquals(100, pengarang3.size());
+            assertSame(pengarang3.get(0).getPengarang(), pengarang3.get(99).getPengarang());
+        }
+    }
+
+    @Test
+    @DisplayName("cariByIsbn memakai indeks ISBN tanpa memuat semua segmen")
+    void testCariByIsbnLewatIndeks() throws IOException {
+        // ISBN bukan 10/13 digit, dan dua bentuk ISBN yang kode kanoniknya sama
+        sumber.simpan(new Buku("KODE-LOKAL-1", "Arsip", "Perpustakaan", 1, 0.0));
+        sumber.simpan(new Buku("978-0-306-40615-7", "Bertanda Hubung", "A", 1, 0.0));
+        sumber.simpan(new Buku("9780306406157", "Polos", "B", 1, 0.0));
+        SnapshotKatalog.tulis(sumber, file, 64);
+
+        try (SnapshotKatalog snapshot = SnapshotKatalog.buka(file)) {
+            assertEquals("Buku ke-500", snapshot.cariByIsbn("9780000000500").get().getJudul());
+            assertEquals(2, snapshot.cariByIsbn("9780000000502").get().getJumlahTersedia());
+            assertEquals("Arsip", snapshot.cariByIsbn("KODE-LOKAL-1").get().getJudul());
+            assertEquals("Bertanda Hubung", snapshot.cariByIsbn("978-0-306-40615-7").get().getJudul());
+            assertEquals("Polos", snapshot.cariByIsbn("9780306406157").get().getJudul());
+            assertFalse(snapshot.cariByIsbn("0-306-40615-2").isPresent());
+            assertFalse(snapshot.cariByIsbn("9781111111111").isPresent());
+            assertFalse(snapshot.cariByIsbn(null).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("muatKe memuat semua segmen paralel ke repository tujuan")
+    void testMuatKeRepository() throws IOException {
+        SnapshotKatalog.tulis(sumber, file, 100);
+
+        ShardedRepositoryBuku tujuan = new ShardedRepositoryBuku(4);
+        try (SnapshotKatalog snapshot = SnapshotKatalog.buka(file)) {
+            assertEquals(1000, snapshot.muatKe(tujuan));
+        }
+        assertEquals(1000, tujuan.cariSemua().size());
+        assertEquals(100, tujuan.cariByPengarang("Pengarang 7").size());
+        assertEquals(3, tujuan.cariByIsbn("9780000000999").get().getJumlahTersedia());
+
+        // Snapshot kosong tetap valid
+        SnapshotKatalog.tulis(new InMemoryRepositoryBuku(), file);
+        try (SnapshotKatalog snapshot = SnapshotKatalog.buka(file)) {
+            assertEquals(0, snapshot.getJumlahBuku());
+            assertTrue(snapshot.bacaSemua().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("File yang bukan snapshot atau terpotong ditolak")
+    void testFileRusakDitolak() throws IOException {
+        Path bukanSnapshot = folder.resolve("lain.dat");
+        Files.write(bukanSnapshot, new byte[128]);
+        assertThrows(IOException.class, () -> SnapshotKatalog.buka(bukanSnapshot));
+
+        SnapshotKatalog.tulis(sumber, file);
+        byte[] isi = Files.readAllBytes(file);
+        Path terpotong = folder.resolve("terpotong.snap");
+        Files.write(terpotong, Arrays.copyOf(isi, isi.length - 10));
+        assertThrows(IOException.class, () -> SnapshotKatalog.buka(terpotong));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.metrik.RegistriMetrik;
+import com.praktikum.testing.metrik.SnapshotMetrik;
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.repository.InstrumentedRepositoryBuku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Instrumentasi Service dan Repository")
+public class InstrumentedServicePerpustakaanTest {
+
+    @TempDir
+    Path folder;
+
+    private RegistriMetrik registri;
+    private InstrumentedServicePerpustakaan service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        InMemoryRepositoryBuku repositoryAsal = new InMemoryRepositoryBuku();
+        repositoryAsal.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0));
+        repositoryAsal.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0));
+
+        service = new InstrumentedServicePerpustakaan(new InstrumentedRepositoryBuku(repositoryAsal, registri),
+                new KalkulatorDenda(), registri);
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id", "081234567890",
+                Anggota.TipeAnggota.UMUM);
+    }
+
+    @Test
+    @DisplayName("Reservasi tidak ikut dihitung sebagai pinjamBuku")
+    void testReservasiTidakDihitungSebagaiPinjam() throws Exception {
+        assertEquals(ServicePerpustakaan.StatusTransaksi.BERHASIL,
+                service.reservasiBuku("1234567890", anggota).get());
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(0, snapshot.penghitung("ServicePerpustakaan.pinjamBuku.BERHASIL"));
+        assertEquals(0, snapshot.latensi("ServicePerpustakaan.pinjamBuku").getJumlah());
+        assertTrue(anggota.sedangMeminjam("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Alasan gagal pinjam dan kembali dihitung per status")
+    void testAlasanTransaksiDihitung() {
+        Anggota anggotaLain = new Anggota("A002", "Jane", "jane@student.ac.id", "081234567891",
+                Anggota.TipeAnggota.UMUM);
+
+        assertTrue(service.pinjamBuku("1234567890", anggota));
+        assertFalse(service.pinjamBuku("1234567890", anggota));       // sudah meminjam
+        assertFalse(service.pinjamBuku("1234567890", anggotaLain));   // stok habis
+        assertTrue(service.pinjamBuku("0987654321", anggota));
+        assertFalse(service.pinjamBuku("0987654321", anggota));       // sudah meminjam
+        assertFalse(service.pinjamBuku("1111111111", anggota));       // batas pinjam UMUM = 2
+        assertFalse(service.pinjamBuku("123", anggota));              // ISBN tidak valid
+        assertFalse(service.kembalikanBuku("1234567890", anggotaLain));
+        assertTrue(service.kembalikanBuku("1234567890", anggota));
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        String prefiks = "ServicePerpustakaan.pinjamBuku.";
+        assertEquals(2, snapshot.penghitung(prefiks + "BERHASIL"));
+        assertEquals(2, snapshot.penghitung(prefiks + "SUDAH_MEMINJAM"));
+        assertEquals(1, snapshot.penghitung(prefiks + "STOK_TIDAK_TERSEDIA"));
+        assertEquals(1, snapshot.penghitung(prefiks + "BATAS_PINJAM_TERCAPAI"));
+        assertEquals(1, snapshot.penghitung(prefiks + "DATA_TIDAK_VALID"));
+        assertEquals(7, snapshot.latensi("ServicePerpustakaan.pinjamBuku").getJumlah());
+        assertEquals(1, snapshot.penghitung("ServicePerpustakaan.kembalikanBuku.TIDAK_MEMINJAM"));
+        assertEquals(1, snapshot.penghitung("ServicePerpustakaan.kembalikanBuku.BERHASIL"));
+    }
+
+    @Test
+    @DisplayName("Ketersediaan dan reservasi dicatat dengan latensi dan hasilnya")
+    void testMetrikKetersediaanDanReservasi() {
+        Anggota anggotaLain = new Anggota("A002", "Jane", "jane@student.ac.id", "081234567891",
+                Anggota.TipeAnggota.UMUM);
+
+        assertTrue(service.bukuTersedia("1234567890"));
+        assertFalse(service.bukuTersedia("9999999999"));
+        assertEquals(3, service.getJumlahTersedia("0987654321"));
+        assertEquals(ServicePerpustakaan.StatusTransaksi.BERHASIL,
+                service.reservasiBuku("1234567890", anggota).getNow(null));
+        CompletableFuture<ServicePerpustakaan.StatusTransaksi> menunggu =
+                service.reservasiBuku("1234567890", anggotaLain);
+        assertFalse(menunggu.isDone());
+        assertEquals(0, service.getJumlahTersedia("1234567890"));
+        assertTrue(service.batalkanReservasi("1234567890", anggotaLain));
+        assertFalse(service.batalkanReservasi("1234567890", anggotaLain));
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        String prefiks = "ServicePerpustakaan.";
+        assertEquals(2, snapshot.latensi(prefiks + "bukuTersedia").getJumlah());
+        assertEquals(1, snapshot.penghitung(prefiks + "bukuTersedia.berhasil"));
+        assertEquals(1, snapshot.penghitung(prefiks + "bukuTersedia.gagal"));
+        assertEquals(2, snapshot.latensi(prefiks + "getJumlahTersedia").getJumlah());
+        assertEquals(1, snapshot.penghitung(prefiks + "getJumlahTersedia.gagal"));
+        assertEquals(2, snapshot.latensi(prefiks + "reservasiBuku").getJumlah());
+        assertEquals(1, snapshot.penghitung(prefiks + "reservasiBuku.BERHASIL"));
+        assertEquals(1, snapshot.penghitung(prefiks + "reservasiBuku.MENUNGGU"));
+        assertEquals(2, snapshot.latensi(prefiks + "batalkanReservasi").getJumlah());
+        assertEquals(1, snapshot.penghitung(prefiks + "batalkanReservasi.berhasil"));
+        assertEquals(1, snapshot.penghitung(prefiks + "batalkanReservasi.gagal"));
+    }
+
+    @Test
+    @DisplayName("Exception dari jurnal dihitung sebagai error, bukan sebagai status")
+    void testErrorJurnalDihitung() throws IOException {
+        JurnalTransaksi jurnalGagal = new JurnalTransaksi(folder.resolve("jurnal.log")) {
+            @Override
+            public long catat(JenisTransaksi jenis, String isbn, String idAnggota) {
+                throw new UncheckedIOException(new IOException("Disk penuh"));
+            }
+        };
+        try {
+            InMemoryRepositoryBuku repositoryAsal = new InMemoryRepositoryBuku();
+            repositoryAsal.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0));
+            service = new InstrumentedServicePerpustakaan(repositoryAsal, new KalkulatorDenda(), jurnalGagal, registri);
+
+            assertThrows(UncheckedIOException.class, () -> service.pinjamBuku("1234567890", anggota));
+            assertThrows(UncheckedIOException.class, () -> service.reservasiBuku("1234567890", anggota));
+        } finally {
+            jurnalGagal.close();
+        }
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(1, snapshot.penghitung("ServicePerpustakaan.pinjamBuku.error"));
+        assertEquals(0, snapshot.penghitung("ServicePerpustakaan.pinjamBuku.BERHASIL"));
+        assertEquals(1, snapshot.latensi("ServicePerpustakaan.pinjamBuku").getJumlah());
+        assertEquals(1, snapshot.penghitung("ServicePerpustakaan.reservasiBuku.error"));
+        assertEquals(0, snapshot.penghitung("ServicePerpustakaan.reservasiBuku.BERHASIL"));
+        assertFalse(anggota.sedangMeminjam("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Repository terinstrumentasi mencatat latensi dan hasil per method")
+    void testMetrikRepository() {
+        service.cariBukuByIsbn("1234567890");
+        service.cariBukuByIsbn("9999999999");
+        service.pinjamBuku("1234567890", anggota);
+        service.cariBukuByJudul("java");
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(2, snapshot.latensi("RepositoryBuku.cariByIsbn").getJumlah());
+        assertEquals(1, snapshot.penghitung("RepositoryBuku.cariByIsbn.berhasil"));
+        assertEquals(1, snapshot.penghitung("RepositoryBuku.cariByIsbn.gagal"));
+        assertEquals(1, snapshot.penghitung("RepositoryBuku.kurangiJumlahTersedia.berhasil"));
+        assertEquals(1, snapshot.penghitung("RepositoryBuku.cariByJudul.berhasil"));
+        assertEquals(2, snapshot.latensi("ServicePerpustakaan.cariBukuByIsbn").getJumlah());
+        assertTrue(snapshot.latensi("ServicePerpustakaan.pinjamBuku").getMaksimum() > 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,240 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.repository.MappedFileRepositoryBuku;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Jurnal Transaksi (group commit)")
+public class JurnalTransaksiTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Entri terbaca kembali setelah jurnal dibuka ulang")
+    void testCatatDanBacaUlang() throws IOException {
+        Path file = folder.resolve("jurnal.log");
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            assertTrue(jurnal.getEntriSaatDibuka().isEmpty());
+            assertEquals(1, jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "1234567890", "A001"));
+            assertEquals(2, jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, "1234567890", "A001"));
+            assertEquals(2, jurnal.getNomorTahanLama());
+        }
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            List<JurnalTransaksi.Entri> entri = jurnal.getEntriSaatDibuka();
+            assertEquals(2, entri.size());
+            assertEquals(JurnalTransaksi.JenisTransaksi.PINJAM, entri.get(0).getJenis());
+            assertEquals("1234567890", entri.get(0).getIsbn());
+            assertEquals("A001", entri.get(0).getIdAnggota());
+            assertEquals(JurnalTransaksi.JenisTransaksi.KEMBALI, entri.get(1).getJenis());
+
+            // Nomor urut melanjutkan dari entri terakhir
+            assertEquals(3, jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "0987654321", "A002"));
+        }
+    }
+
+    @Test
+    @DisplayName("Ekor file yang terpotong dibuang saat dibuka")
+    void testEkorTerpotongDibuang() throws IOException {
+        Path file = folder.resolve("jurnal.log");
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "1234567890", "A001");
+            jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "0987654321", "A001");
+        }
+        long ukuranUtuh = Files.size(file);
+
+        // Simulasi crash di tengah penulisan entri berikutnya
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            assertEquals(2, jurnal.getEntriSaatDibuka().size());
+            assertEquals(ukuranUtuh, Files.size(file));
+            jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, "1234567890", "A001");
+        }
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            assertEquals(3, jurnal.getEntriSaatDibuka().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Transaksi bersamaan digabung dalam lebih sedikit force()")
+    void testGroupCommit() throws Exception {
+        Path file = folder.resolve("jurnal.log");
+        int jumlahThread = 8;
+        int transaksiPerThread = 25;
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file, TimeUnit.MILLISECONDS.toNanos(2))) {
+            CountDownLatch mulai = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+            for (int t = 0; t < jumlahThread; t++) {
+                String idAnggota = "A" + t;
+                executor.submit(() -> {
+                    mulai.await();
+                    for (int i = 0; i < transaksiPerThread; i++) {
+                        jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "1234567890", idAnggota);
+                    }
+                    return null;
+                });
+            }
+            mulai.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            int total = jumlahThread * transaksiPerThread;
+            assertEquals(total, jurnal.getNomorTahanLama());
+            assertTrue(jurnal.getJumlahForce() < total, "force: " + jurnal.getJumlahForce());
+        }
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            List<JurnalTransaksi.Entri> entri = jurnal.getEntriSaatDibuka();
+            assertEquals(jumlahThread * transaksiPerThread, entri.size());
+            for (int i = 0; i < entri.size(); i++) {
+                assertEquals(i + 1, entri.get(i).getNomor());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Pemanggil yang di-interrupt tidak merusak jurnal")
+    void testCatatDariThreadTerinterupsi() throws IOException {
+        Path file = folder.resolve("jurnal.log");
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            Thread.currentThread().interrupt();
+            try {
+                assertEquals(1, jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "1234567890", "A001"));
+                assertTrue(Thread.currentThread().isInterrupted()); // flag interrupt dipertahankan
+            } finally {
+                Thread.interrupted();
+            }
+            assertEquals(2, jurnal.catat(JurnalTransaksi.JenisTransaksi.KEMBALI, "1234567890", "A001"));
+            assertEquals(2, jurnal.getNomorTahanLama());
+        }
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            assertEquals(2, jurnal.getEntriSaatDibuka().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Replay jurnal memulihkan stok dan daftar pinjaman setelah restart")
+    void testReplaySaatStartup() throws IOException {
+        Path file = folder.resolve("jurnal.log");
+        Buku buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        Anggota anggota = new Anggota("A001", "Budi", "budi@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+
+        // Sesi pertama: pinjam dua buku, kembalikan satu
+        InMemoryRepositoryBuku repository = new InMemoryRepositoryBuku();
+        repository.simpan(buku);
+        repository.simpan(new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0));
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda(), jurnal);
+            assertTrue(service.pinjamBuku("1234567890", anggota));
+            assertTrue(service.pinjamBuku("0987654321", anggota));
+            assertTrue(service.kembalikanBuku("0987654321", anggota));
+            assertFalse(service.kembalikanBuku("0987654321", anggota)); // gagal, tidak dicatat
+            assertEquals(3, jurnal.getNomorTahanLama());
+        }
+
+        // Restart: katalog awal dimuat ulang, anggota dari data master
+        InMemoryRepositoryBuku repositoryBaru = new InMemoryRepositoryBuku();
+        repositoryBaru.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0));
+        repositoryBaru.simpan(new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0));
+        Anggota anggotaBaru = new Anggota("A001", "Budi", "budi@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+        Map<String, Anggota> anggotaById = new HashMap<>();
+        anggotaById.put("A001", anggotaBaru);
+
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            ServicePerpustakaan service = new ServicePerpustakaan(repositoryBaru, new KalkulatorDenda(), jurnal);
+            assertEquals(3, service.putarUlangJurnal(anggotaById::get));
+
+            assertEquals(4, service.getJumlahTersedia("1234567890"));
+            assertEquals(3, service.getJumlahTersedia("0987654321"));
+            assertEquals(1, anggotaBaru.getJumlahBukuDipinjam());
+            assertTrue(anggotaBaru.getIdBukuDipinjam().contains("1234567890"));
+        }
+    }
+
+    @Test
+    @DisplayName("Replay ke katalog persisten tidak menerapkan stok dua kali; anggota tak dikenal tetap mengubah stok")
+    void testReplayKatalogPersisten() throws IOException {
+        Path file = folder.resolve("jurnal.log");
+        Path fileKatalog = folder.resolve("katalog.dat");
+        Anggota anggota = new Anggota("A001", "Budi", "budi@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+        Map<String, Anggota> anggotaById = new HashMap<>();
+        anggotaById.put("A001", anggota);
+
+        // Sesi pertama: katalog baru, lalu pinjam dua buku dan kembalikan satu
+        try (MappedFileRepositoryBuku katalog = new MappedFileRepositoryBuku(fileKatalog);
+             JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            katalog.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0));
+            katalog.simpan(new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0));
+            ServicePerpustakaan service = new ServicePerpustakaan(katalog, new KalkulatorDenda(), jurnal);
+            assertEquals(0, service.putarUlangJurnal(anggotaById::get, katalog));
+            assertTrue(service.pinjamBuku("1234567890", anggota));
+            assertTrue(service.pinjamBuku("0987654321", anggota));
+            assertTrue(service.kembalikanBuku("0987654321", anggota));
+            assertEquals(3, katalog.getNomorJurnal());
+        }
+
+        // Restart: stok di katalog sudah benar, hanya daftar pinjaman anggota yang dibangun ulang
+        Anggota anggotaBaru = new Anggota("A001", "Budi", "budi@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+        anggotaById.put("A001", anggotaBaru);
+        try (MappedFileRepositoryBuku katalog = new MappedFileRepositoryBuku(fileKatalog);
+             JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            ServicePerpustakaan service = new ServicePerpustakaan(katalog, new KalkulatorDenda(), jurnal);
+            assertEquals(3, service.putarUlangJurnal(anggotaById::get, katalog));
+            assertEquals(4, service.getJumlahTersedia("1234567890"));
+            assertEquals(3, service.getJumlahTersedia("0987654321"));
+            assertTrue(anggotaBaru.sedangMeminjam("1234567890"));
+        }
+
+        // Katalog di memori dengan anggota tak dikenal: stok tetap diterapkan
+        InMemoryRepositoryBuku repository = new InMemoryRepositoryBuku();
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0));
+        repository.simpan(new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0));
+        try (JurnalTransaksi jurnal = new JurnalTransaksi(file)) {
+            ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda(), jurnal);
+            assertEquals(3, service.putarUlangJurnal(id -> null));
+            assertEquals(4, service.getJumlahTersedia("1234567890"));
+            assertEquals(3, service.getJumlahTersedia("0987654321"));
+        }
+    }
+
+    @Test
+    @DisplayName("Catat setelah ditutup atau dengan parameter null - ditolak")
+    void testCatatTidakValid() throws IOException {
+        JurnalTransaksi jurnal = new JurnalTransaksi(folder.resolve("jurnal.log"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> jurnal.catat(null, "1234567890", "A001"));
+        jurnal.close();
+        assertThrows(IllegalStateException.class,
+                () -> jurnal.catat(JurnalTransaksi.JenisTransaksi.PINJAM, "1234567890", "A001"));
+    }
+}
\ No newline at end of file
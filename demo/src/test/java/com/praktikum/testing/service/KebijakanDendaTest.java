@@ -0,0 +1,112 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kebijakan Denda (Rupiah utuh, bisa diganti saat berjalan)")
+public class KebijakanDendaTest {
+
+    private static final LocalDate HARI_INI = LocalDate.of(2024, 6, 1);
+
+    @AfterEach
+    void kembalikanKebijakanBawaan() {
+        KalkulatorDenda.gantiKebijakan(KebijakanDenda.bawaan());
+    }
+
+    @Test
+    @DisplayName("Kebijakan bawaan sama dengan tarif lama")
+    void testKebijakanBawaan() {
+        KebijakanDenda kebijakan = KebijakanDenda.bawaan();
+
+        assertEquals(3, kebijakan.getHariToleransi());
+        assertEquals(0, kebijakan.hitungDenda(3, Anggota.TipeAnggota.MAHASISWA));
+        assertEquals(4000, kebijakan.hitungDenda(4, Anggota.TipeAnggota.MAHASISWA));
+        assertEquals(7500, kebijakan.hitungDenda(5, Anggota.TipeAnggota.DOSEN));
+        assertEquals(50000, kebijakan.hitungDenda(100, Anggota.TipeAnggota.MAHASISWA));
+        assertEquals(75000, kebijakan.hitungDenda(100, Anggota.TipeAnggota.UMUM));
+        assertThrows(IllegalArgumentException.class, () -> kebijakan.hitungDenda(5, null));
+    }
+
+    @Test
+    @DisplayName("Keterlambatan sangat lama tidak overflow")
+    void testTidakOverflow() {
+        assertEquals(50000, KebijakanDenda.bawaan().hitungDenda(Long.MAX_VALUE, Anggota.TipeAnggota.MAHASISWA));
+
+        Properties konfigurasi = new Properties();
+        konfigurasi.setProperty("denda.tarifHarian.DOSEN", String.valueOf(Long.MAX_VALUE / 2));
+        konfigurasi.setProperty("denda.maksimal.DOSEN", String.valueOf(Long.MAX_VALUE));
+        KebijakanDenda kebijakan = KebijakanDenda.dari(konfigurasi);
+        assertEquals(Long.MAX_VALUE, kebijakan.hitungDenda(1_000_000, Anggota.TipeAnggota.DOSEN));
+    }
+
+    @Test
+    @DisplayName("Properties menimpa sebagian nilai, sisanya memakai bawaan")
+    void testDariProperties() {
+        Properties konfigurasi = new Properties();
+        konfigurasi.setProperty("denda.hariToleransi", "0");
+        konfigurasi.setProperty("denda.tarifHarian.MAHASISWA", " 500 ");
+
+        KebijakanDenda kebijakan = KebijakanDenda.dari(konfigurasi);
+
+        assertEquals(500, kebijakan.hitungDenda(1, Anggota.TipeAnggota.MAHASISWA));
+        assertEquals(50000, kebijakan.getDendaMaksimal(Anggota.TipeAnggota.MAHASISWA));
+        assertEquals(1500, kebijakan.getTarifHarian(Anggota.TipeAnggota.DOSEN));
+    }
+
+    @Test
+    @DisplayName("Nilai konfigurasi tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        Properties bukanAngka = new Properties();
+        bukanAngka.setProperty("denda.tarifHarian.UMUM", "1500.5");
+        Properties negatif = new Properties();
+        negatif.setProperty("denda.hariToleransi", "-1");
+
+        assertThrows(IllegalArgumentException.class, () -> KebijakanDenda.dari(bukanAngka));
+        assertThrows(IllegalArgumentException.class, () -> KebijakanDenda.dari(negatif));
+        assertThrows(IllegalArgumentException.class, () -> KebijakanDenda.dari(null));
+    }
+
+    @Test
+    @DisplayName("Muat dari file lalu ganti kebijakan KalkulatorDenda dan MesinDendaMassal")
+    void testMuatDanGantiKebijakan(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("denda.properties");
+        Files.write(file, Arrays.asList(
+                "# kebijakan libur semester",
+                "denda.hariToleransi=7",
+                "denda.tarifHarian.MAHASISWA=250"), StandardCharsets.UTF_8);
+        KebijakanDenda kebijakanBaru = KebijakanDenda.muat(file);
+
+        Anggota anggota = new Anggota("M001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890",
+                HARI_INI.minusDays(17), HARI_INI.minusDays(10));
+        assertEquals(10000, KalkulatorDenda.hitungDendaRupiah(peminjaman, anggota, HARI_INI));
+
+        KebijakanDenda lama = KalkulatorDenda.gantiKebijakan(kebijakanBaru);
+
+        assertSame(KebijakanDenda.bawaan(), lama);
+        assertSame(kebijakanBaru, KalkulatorDenda.getKebijakan());
+        assertEquals(2500, KalkulatorDenda.hitungDendaRupiah(peminjaman, anggota, HARI_INI));
+        assertEquals(250.0, KalkulatorDenda.getTarifDendaHarian(Anggota.TipeAnggota.MAHASISWA));
+        HasilDendaMassal hasil = new MesinDendaMassal().hitung(Collections.singletonList(peminjaman),
+                Collections.singletonMap("M001", anggota), KonteksEvaluasi.pada(HARI_INI));
+        assertEquals(2500.0, hasil.getTotalDenda());
+
+        Peminjaman dalamToleransi = new Peminjaman("P002", "M001", "1234567890",
+                HARI_INI.minusDays(14), HARI_INI.minusDays(7));
+        assertEquals(0, KalkulatorDenda.hitungDendaRupiah(dalamToleransi, anggota, HARI_INI));
+        assertThrows(IllegalArgumentException.class, () -> KalkulatorDenda.gantiKebijakan(null));
+    }
+}
\ No newline at end of file
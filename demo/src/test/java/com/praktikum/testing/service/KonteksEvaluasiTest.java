@@ -0,0 +1,92 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+
+@DisplayName("Test Konteks Evaluasi (tanggal acuan)")
+public class KonteksEvaluasiTest {
+
+    // Semua test memakai tanggal tetap, tidak bergantung pada tanggal sistem
+    private static final LocalDate TANGGAL_ACUAN = LocalDate.of(2024, 3, 15);
+
+    private Anggota anggotaDosen;
+    private Peminjaman peminjaman;
+
+    @BeforeEach
+    void setUp() {
+        anggotaDosen = new Anggota("D001", "Alice Lecturer", "alice@univ.ac.id",
+                                   "081234567891", Anggota.TipeAnggota.DOSEN);
+        // Jatuh tempo 10 Maret -> 5 hari terlambat pada 15 Maret
+        peminjaman = new Peminjaman("P001", "D001", "1234567890",
+                                    LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 10));
+    }
+
+    @Test
+    @DisplayName("Denda, adaDenda, dan durasi dihitung terhadap tanggal acuan")
+    void testEvaluasiPadaTanggalAcuan() {
+        KonteksEvaluasi konteks = KonteksEvaluasi.pada(TANGGAL_ACUAN);
+
+        // 5 hari terlambat * 1500.0 (tarif dosen) = 7500.0
+        assertEquals(7500.0, konteks.hitungDenda(peminjaman, anggotaDosen));
+        assertTrue(konteks.adaDenda(peminjaman));
+        assertEquals(12, konteks.getDurasiPeminjaman(peminjaman));
+
+        // Sebelum jatuh tempo: tidak ada denda
+        KonteksEvaluasi sebelumJatuhTempo = KonteksEvaluasi.pada(LocalDate.of(2024, 3, 9));
+        assertEquals(0.0, sebelumJatuhTempo.hitungDenda(peminjaman, anggotaDosen));
+        assertFalse(sebelumJatuhTempo.adaDenda(peminjaman));
+    }
+
+    @Test
+    @DisplayName("Clock dibaca sekali dan menentukan tanggal acuan")
+    void testDariClock() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneId.of("Asia/Jakarta"));
+
+        KonteksEvaluasi konteks = KonteksEvaluasi.dari(clock);
+
+        assertEquals(TANGGAL_ACUAN, konteks.getTanggalAcuan());
+        assertEquals(7500.0, konteks.hitungDenda(peminjaman, anggotaDosen));
+    }
+
+    @Test
+    @DisplayName("Peminjaman yang sudah dikembalikan memakai tanggal kembali, bukan tanggal acuan")
+    void testSudahDikembalikan() {
+        peminjaman.setSudahDikembalikan(true);
+        peminjaman.setTanggalKembali(LocalDate.of(2024, 3, 20)); // 10 hari terlambat
+
+        KonteksEvaluasi konteks = KonteksEvaluasi.pada(LocalDate.of(2030, 1, 1));
+
+        assertEquals(15000.0, konteks.hitungDenda(peminjaman, anggotaDosen));
+        assertEquals(17, konteks.getDurasiPeminjaman(peminjaman));
+    }
+
+    @Test
+    @DisplayName("Mesin denda massal memakai tanggal acuan yang sama")
+    void testMesinDendaMassal() {
+        HasilDendaMassal hasil = new MesinDendaMassal().hitung(Collections.singletonList(peminjaman),
+                Collections.singletonMap("D001", anggotaDosen), KonteksEvaluasi.pada(TANGGAL_ACUAN));
+
+        assertEquals(7500.0, hasil.getTotalDendaPerAnggota().get("D001"));
+    }
+
+    @Test
+    @DisplayName("Exception untuk tanggal acuan atau clock null")
+    void testException() {
+        assertThrows(IllegalArgumentException.class, () -> KonteksEvaluasi.pada(null));
+        assertThrows(IllegalArgumentException.class, () -> KonteksEvaluasi.dari(null));
+        assertThrows(IllegalArgumentException.class,
+                     () -> KalkulatorDenda.hitungDenda(peminjaman, anggotaDosen, null));
+        assertThrows(IllegalArgumentException.class,
+                     () -> KonteksEvaluasi.pada(TANGGAL_ACUAN).getDurasiPeminjaman(null));
+    }
+}
\ No newline at end of file
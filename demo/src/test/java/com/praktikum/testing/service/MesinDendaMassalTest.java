@@ -0,0 +1,149 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@DisplayName("Test Mesin Denda Massal")
+public class MesinDendaMassalTest {
+
+    private MesinDendaMassal mesinDenda;
+    private Map<String, Anggota> anggotaById;
+
+    @BeforeEach
+    void setUp() {
+        mesinDenda = new MesinDendaMassal();
+        anggotaById = new HashMap<>();
+        anggotaById.put("M001", new Anggota("M001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA));
+        anggotaById.put("D001", new Anggota("D001", "Alice Lecturer", "alice@univ.ac.id",
+                "081234567891", Anggota.TipeAnggota.DOSEN));
+        anggotaById.put("U001", new Anggota("U001", "Public User", "user@email.com",
+                "081234567892", Anggota.TipeAnggota.UMUM));
+    }
+
+    private static Peminjaman peminjamanTerlambat(String id, String idAnggota, int hariTerlambat) {
+        LocalDate jatuhTempo = LocalDate.now().minusDays(hariTerlambat);
+        return new Peminjaman(id, idAnggota, "1234567890", jatuhTempo.minusDays(7), jatuhTempo);
+    }
+
+    @Test
+    @DisplayName("Total per anggota dan histogram untuk data kecil")
+    void testHitungDataKecil() {
+        // Arrange
+        List<Peminjaman> daftar = new ArrayList<>();
+        daftar.add(peminjamanTerlambat("P1", "M001", 5));   // 5000 -> ringan
+        daftar.add(peminjamanTerlambat("P2", "M001", 100)); // 50000 (batas) -> berat
+        daftar.add(peminjamanTerlambat("P3", "D001", 10));  // 15000 -> sedang
+        daftar.add(peminjamanTerlambat("P4", "U001", 2));   // masa toleransi -> tidak ada
+        daftar.add(peminjamanTerlambat("P5", "U001", -3));  // belum jatuh tempo -> tidak ada
+
+        // Act
+        HasilDendaMassal hasil = mesinDenda.hitung(daftar, anggotaById);
+
+        // Assert
+        assertEquals(55000.0, hasil.getTotalDendaPerAnggota().get("M001"));
+        assertEquals(15000.0, hasil.getTotalDendaPerAnggota().get("D001"));
+        assertEquals(0.0, hasil.getTotalDendaPerAnggota().get("U001"));
+        assertEquals(70000.0, hasil.getTotalDenda());
+        assertEquals(5, hasil.getJumlahPeminjaman());
+        assertEquals(Long.valueOf(2), hasil.getHistogramDeskripsi().get("Tidak ada denda"));
+        assertEquals(Long.valueOf(1), hasil.getHistogramDeskripsi().get("Denda ringan"));
+        assertEquals(Long.valueOf(1), hasil.getHistogramDeskripsi().get("Denda sedang"));
+        assertEquals(Long.valueOf(1), hasil.getHistogramDeskripsi().get("Denda berat"));
+    }
+
+    @Test
+    @DisplayName("Hasil paralel sama dengan KalkulatorDenda.hitungDenda per peminjaman")
+    void testSetaraHitungDenda() {
+        // Arrange: cukup banyak data agar dipecah menjadi beberapa tugas fork-join
+        Random random = new Random(7);
+        List<Peminjaman> daftar = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String idAnggota = "A" + random.nextInt(2_000);
+            anggotaById.computeIfAbsent(idAnggota, id -> new Anggota(id, "Nama", "a@b.com", "081234567890",
+                    Anggota.TipeAnggota.values()[random.nextInt(3)]));
+            Peminjaman peminjaman = peminjamanTerlambat("P" + i, idAnggota, random.nextInt(120) - 10);
+            if (i % 5 == 0) {
+                peminjaman.setSudahDikembalikan(true);
+                peminjaman.setTanggalKembali(peminjaman.getTanggalJatuhTempo().plusDays(random.nextInt(20)));
+            }
+            daftar.add(peminjaman);
+        }
+
+        Map<String, Double> totalAcuan = new HashMap<>();
+        long[] histogramAcuan = new long[4];
+        for (Peminjaman peminjaman : daftar) {
+            double denda = KalkulatorDenda.hitungDenda(peminjaman, anggotaById.get(peminjaman.getIdAnggota()));
+            totalAcuan.merge(peminjaman.getIdAnggota(), denda, Double::sum);
+            histogramAcuan[KalkulatorDenda.getKategoriDenda(denda)]++;
+        }
+
+        // Act
+        HasilDendaMassal hasil = mesinDenda.hitung(daftar.stream(), anggotaById);
+
+        // Assert
+        assertEquals(totalAcuan.size(), hasil.getTotalDendaPerAnggota().size());
+        for (Map.Entry<String, Double> entri : totalAcuan.entrySet()) {
+            assertEquals(entri.getValue(), hasil.getTotalDendaPerAnggota().get(entri.getKey()), 1e-6);
+        }
+        int k = 0;
+        for (long jumlah : hasil.getHistogramDeskripsi().values()) {
+            assertEquals(histogramAcuan[k++], jumlah);
+        }
+    }
+
+    @Test
+    @DisplayName("Exception untuk masukan null atau anggota tidak dikenal")
+    void testException() {
+        assertThrows(IllegalArgumentException.class, () -> mesinDenda.hitung((List<Peminjaman>) null, anggotaById));
+        assertThrows(IllegalArgumentException.class,
+                () -> mesinDenda.hitung(Collections.singletonList(peminjamanTerlambat("P1", "X999", 5)), anggotaById));
+    }
+
+    @Test
+    @DisplayName("Stream dibaca per potongan, tidak dikumpulkan seluruhnya lebih dulu")
+    void testStreamDibacaPerPotongan() {
+        // Arrange: anggota tidak dikenal di awal stream yang sangat panjang
+        ForkJoinPool pool = new ForkJoinPool(2);
+        MesinDendaMassal mesin = new MesinDendaMassal(pool);
+        AtomicLong dibaca = new AtomicLong();
+        Stream<Peminjaman> stream = Stream.iterate(0, i -> i + 1)
+                .limit(10_000_000)
+                .map(i -> peminjamanTerlambat("P" + i, i == 0 ? "X999" : "M001", 5))
+                .peek(p -> dibaca.incrementAndGet());
+
+        try {
+            // Act & Assert: gagal sebelum stream habis dibaca
+            assertThrows(IllegalArgumentException.class, () -> mesin.hitung(stream, anggotaById));
+            assertTrue(dibaca.get() <= 4L * MesinDendaMassal.UKURAN_POTONGAN);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Masukan kosong menghasilkan histogram nol")
+    void testMasukanKosong() {
+        HasilDendaMassal hasil = mesinDenda.hitung(Collections.<Peminjaman>emptyList(), anggotaById);
+
+        assertEquals(0, hasil.getJumlahPeminjaman());
+        assertTrue(hasil.getTotalDendaPerAnggota().isEmpty());
+        assertEquals(4, hasil.getHistogramDeskripsi().size());
+        assertEquals(0.0, hasil.getTotalDenda());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Perpustakaan Asinkron")
+public class ServicePerpustakaanAsyncTest {
+
+    private InMemoryRepositoryBuku repository;
+    private ServicePerpustakaanAsync serviceAsync;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryBuku();
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 500, 150000.0));
+        repository.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0));
+        serviceAsync = new ServicePerpustakaanAsync(new ServicePerpustakaan(repository, new KalkulatorDenda()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceAsync.close();
+    }
+
+    private static Anggota anggota(int i) {
+        return new Anggota("A" + i, "Anggota " + i, "a" + i + "@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembali asinkron")
+    void testPinjamDanKembaliAsinkron() throws Exception {
+        Anggota anggota = anggota(1);
+
+        assertTrue(serviceAsync.pinjamBuku("0987654321", anggota).get(5, TimeUnit.SECONDS));
+        assertEquals(2, serviceAsync.getJumlahTersedia("0987654321").get(5, TimeUnit.SECONDS));
+        assertTrue(serviceAsync.kembalikanBuku("0987654321", anggota).get(5, TimeUnit.SECONDS));
+        assertFalse(serviceAsync.kembalikanBuku("0987654321", anggota).get(5, TimeUnit.SECONDS));
+        assertTrue(serviceAsync.bukuTersedia("0987654321").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Pencarian asinkron")
+    void testPencarianAsinkron() throws Exception {
+        assertTrue(serviceAsync.cariBukuByIsbn("1234567890").get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, serviceAsync.cariBukuByJudul("java").get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, serviceAsync.cariBukuByPengarang("smith").get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    @DisplayName("Banyak pinjaman bersamaan tidak melebihi stok")
+    void testBanyakPinjamanBersamaan() {
+        List<CompletableFuture<Boolean>> hasil = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            hasil.add(serviceAsync.pinjamBuku("1234567890", anggota(i)));
+        }
+        CompletableFuture.allOf(hasil.toArray(new CompletableFuture[0])).join();
+
+        long berhasil = hasil.stream().filter(CompletableFuture::join).count();
+        assertEquals(500, berhasil);
+        assertEquals(0, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Executor default sesuai versi JVM")
+    void testExecutorDefault() {
+        ExecutorService virtual = ServicePerpustakaanAsync.buatExecutorVirtualThread();
+        assertEquals(virtual != null, serviceAsync.isMemakaiVirtualThread());
+        if (virtual != null) {
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Executor milik pemanggil dipakai dan tidak ditutup")
+    void testExecutorMilikPemanggil() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "executor-uji"));
+        try {
+            ServicePerpustakaanAsync async = new ServicePerpustakaanAsync(
+                    new ServicePerpustakaan(repository, new KalkulatorDenda()), executor);
+
+            // Tahan executor agar callback pasti terdaftar sebelum tugas selesai
+            CountDownLatch tahan = new CountDownLatch(1);
+            executor.submit(() -> {
+                tahan.await();
+                return null;
+            });
+            CompletableFuture<String> namaThreadFuture = async.cariBukuByIsbn("1234567890")
+                    .thenApply(buku -> Thread.currentThread().getName());
+            tahan.countDown();
+            String namaThread = namaThreadFuture.get(5, TimeUnit.SECONDS);
+            async.close();
+
+            assertEquals("executor-uji", namaThread);
+            assertFalse(executor.isShutdown());
+            assertFalse(async.isMemakaiVirtualThread());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryBuku;
+import com.praktikum.testing.service.ServicePerpustakaan.StatusTransaksi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Reservasi Buku")
+public class ServicePerpustakaanReservasiTest {
+
+    private static final String ISBN = "1234567890";
+
+    @TempDir
+    Path folder;
+
+    private InMemoryRepositoryBuku repository;
+    private ServicePerpustakaan service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryBuku();
+        repository.simpan(new Buku(ISBN, "Pemrograman Java", "John Doe", 1, 150000.0));
+        service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+    }
+
+    private static Anggota anggota(int i) {
+        return new Anggota("A" + i, "Anggota " + i, "a" + i + "@univ.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    private int stok() {
+        return repository.cariByIsbn(ISBN).get().getJumlahTersedia();
+    }
+
+    /**
+     * Jurnal yang membatalkan future reservasi tepat setelah PINJAM untuk anggotanya dicatat,
+     * yaitu setelah slot dipesan tetapi sebelum future diselesaikan.
+     */
+    private static class JurnalPembatal extends JurnalTransaksi {
+        volatile String idAnggota;
+        volatile CompletableFuture<StatusTransaksi> reservasi;
+
+        JurnalPembatal(Path file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        public long catat(JenisTransaksi jenis, String isbn, String idAnggota) {
+            long nomor = super.catat(jenis, isbn, idAnggota);
+            if (jenis == JenisTransaksi.PINJAM && idAnggota.equals(this.idAnggota)) {
+                reservasi.cancel(false);
+            }
+            return nomor;
+        }
+    }
+
+    @Test
+    @DisplayName("Stok tersedia langsung dipinjam; stok habis masuk antrian dan diserahkan FIFO saat kembali")
+    void testPenyerahanFifo() throws Exception {
+        Anggota peminjam = anggota(1);
+        Anggota kedua = anggota(2);
+        Anggota ketiga = anggota(3);
+
+        assertEquals(StatusTransaksi.BERHASIL, service.reservasiBuku(ISBN, peminjam).getNow(null));
+        CompletableFuture<StatusTransaksi> reservasiKedua = service.reservasiBuku(ISBN, kedua);
+        CompletableFuture<StatusTransaksi> reservasiKetiga = service.reservasiBuku(ISBN, ketiga);
+        assertFalse(reservasiKedua.isDone());
+        assertSame(reservasiKedua, service.reservasiBuku(ISBN, kedua)); // reservasi ulang tidak menggandakan
+        assertEquals(2, service.getJumlahMenunggu(ISBN));
+
+        // Salinan pindah langsung ke penunggu pertama; stok tidak pernah naik
+        assertTrue(service.kembalikanBuku(ISBN, peminjam));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiKedua.get(1, TimeUnit.SECONDS));
+        assertTrue(kedua.sedangMeminjam(ISBN));
+        assertFalse(reservasiKetiga.isDone());
+        assertEquals(0, stok());
+
+        assertTrue(service.kembalikanBuku(ISBN, kedua));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiKetiga.get(1, TimeUnit.SECONDS));
+        assertEquals(0, service.getJumlahMenunggu(ISBN));
+
+        // Antrian kosong: pengembalian terakhir mengisi stok seperti biasa
+        assertTrue(service.kembalikanBuku(ISBN, ketiga));
+        assertEquals(1, stok());
+        assertEquals(StatusTransaksi.DATA_TIDAK_VALID, service.reservasiBuku("9999999999", kedua).getNow(null));
+    }
+
+    @Test
+    @DisplayName("Penunggu yang tidak bisa meminjam dilewati, dan pembatalan melepas tempat di antrian")
+    void testPenungguDilewatiDanDibatalkan() throws Exception {
+        repository.simpan(new Buku("1111111111", "Buku A", "X", 1, 1000.0));
+        repository.simpan(new Buku("2222222222", "Buku B", "X", 1, 1000.0));
+        repository.simpan(new Buku("3333333333", "Buku C", "X", 1, 1000.0));
+        Anggota peminjam = anggota(1);
+        Anggota penuh = anggota(2);
+        Anggota batal = anggota(3);
+        Anggota tidakAktif = anggota(4);
+        Anggota terakhir = anggota(5);
+        assertTrue(service.pinjamBuku(ISBN, peminjam));
+
+        CompletableFuture<StatusTransaksi> reservasiPenuh = service.reservasiBuku(ISBN, penuh);
+        CompletableFuture<StatusTransaksi> reservasiBatal = service.reservasiBuku(ISBN, batal);
+        CompletableFuture<StatusTransaksi> reservasiTidakAktif = service.reservasiBuku(ISBN, tidakAktif);
+        CompletableFuture<StatusTransaksi> reservasiTerakhir = service.reservasiBuku(ISBN, terakhir);
+
+        // Sambil menunggu, anggota 2 mencapai batas pinjam dan anggota 4 dinonaktifkan
+        assertTrue(service.pinjamBuku("1111111111", penuh));
+        assertTrue(service.pinjamBuku("2222222222", penuh));
+        assertTrue(service.pinjamBuku("3333333333", penuh));
+        tidakAktif.setAktif(false);
+        assertTrue(service.batalkanReservasi(ISBN, batal));
+        assertFalse(service.batalkanReservasi(ISBN, batal));
+        assertTrue(reservasiBatal.isCancelled());
+
+        assertTrue(service.kembalikanBuku(ISBN, peminjam));
+        assertEquals(StatusTransaksi.BATAS_PINJAM_TERCAPAI, reservasiPenuh.get(1, TimeUnit.SECONDS));
+        assertEquals(StatusTransaksi.ANGGOTA_TIDAK_AKTIF, reservasiTidakAktif.get(1, TimeUnit.SECONDS));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiTerakhir.get(1, TimeUnit.SECONDS));
+        assertEquals(0, stok());
+        assertEquals(0, service.getJumlahMenunggu(ISBN));
+    }
+
+    @Test
+    @DisplayName("Future yang dibatalkan pemanggil tidak menghilangkan salinan")
+    void testFutureDibatalkanPemanggil() throws Exception {
+        Path file = folder.resolve("jurnal.log");
+        JurnalPembatal jurnal = new JurnalPembatal(file);
+        service = new ServicePerpustakaan(repository, new KalkulatorDenda(), jurnal);
+        Anggota peminjam = anggota(1);
+        Anggota batalSaatDiserahkan = anggota(2);
+        Anggota penerima = anggota(3);
+        Anggota batalSaatMenunggu = anggota(4);
+        assertTrue(service.pinjamBuku(ISBN, peminjam));
+
+        CompletableFuture<StatusTransaksi> reservasiKedua = service.reservasiBuku(ISBN, batalSaatDiserahkan);
+        CompletableFuture<StatusTransaksi> reservasiKetiga = service.reservasiBuku(ISBN, penerima);
+        jurnal.idAnggota = batalSaatDiserahkan.getIdAnggota();
+        jurnal.reservasi = reservasiKedua;
+
+        // Dibatalkan setelah slot dipesan: pinjaman dibatalkan dan salinan pindah ke penunggu berikutnya
+        assertTrue(service.kembalikanBuku(ISBN, peminjam));
+        assertTrue(reservasiKedua.isCancelled());
+        assertFalse(batalSaatDiserahkan.sedangMeminjam(ISBN));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiKetiga.get(1, TimeUnit.SECONDS));
+        assertEquals(0, stok());
+
+        // Dibatalkan langsung lewat future saat masih menunggu: salinan kembali ke stok
+        CompletableFuture<StatusTransaksi> reservasiKeempat = service.reservasiBuku(ISBN, batalSaatMenunggu);
+        assertTrue(reservasiKeempat.cancel(false));
+        assertTrue(service.kembalikanBuku(ISBN, penerima));
+        assertFalse(batalSaatMenunggu.sedangMeminjam(ISBN));
+        assertEquals(1, stok());
+        assertEquals(0, service.getJumlahMenunggu(ISBN));
+        jurnal.close();
+
+        // Jurnal memuat entri pembatalan, sehingga replay menghasilkan keadaan yang sama
+        try (JurnalTransaksi dibukaUlang = new JurnalTransaksi(file)) {
+            assertEquals(Arrays.asList("PINJAM A1", "KEMBALI A1", "PINJAM A2", "KEMBALI A2", "PINJAM A3", "KEMBALI A3"),
+                    dibukaUlang.getEntriSaatDibuka().stream()
+                            .map(e -> e.getJenis() + " " + e.getIdAnggota())
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Jumlah menunggu mengikuti pembatalan lewat future maupun batalkanReservasi")
+    void testJumlahMenungguSetelahPembatalan() throws Exception {
+        Anggota peminjam = anggota(1);
+        Anggota pertama = anggota(2);
+        Anggota kedua = anggota(3);
+        Anggota ketiga = anggota(4);
+        assertTrue(service.pinjamBuku(ISBN, peminjam));
+
+        CompletableFuture<StatusTransaksi> reservasiPertama = service.reservasiBuku(ISBN, pertama);
+        CompletableFuture<StatusTransaksi> reservasiKedua = service.reservasiBuku(ISBN, kedua);
+        CompletableFuture<StatusTransaksi> reservasiKetiga = service.reservasiBuku(ISBN, ketiga);
+        assertEquals(3, service.getJumlahMenunggu(ISBN));
+
+        // Dibatalkan langsung lewat future: langsung keluar dari hitungan
+        assertTrue(reservasiKedua.cancel(false));
+        assertEquals(2, service.getJumlahMenunggu(ISBN));
+        assertFalse(service.batalkanReservasi(ISBN, kedua));
+
+        // Reservasi ulang setelah dibatalkan membuat future baru di belakang antrian
+        CompletableFuture<StatusTransaksi> reservasiUlang = service.reservasiBuku(ISBN, kedua);
+        assertNotSame(reservasiKedua, reservasiUlang);
+        assertEquals(3, service.getJumlahMenunggu(ISBN));
+
+        assertTrue(service.batalkanReservasi(ISBN, pertama));
+        assertTrue(reservasiPertama.isCancelled());
+        assertEquals(2, service.getJumlahMenunggu(ISBN));
+
+        // Entri yang dibatalkan dilewati: salinan diserahkan ke anggota 4, lalu ke anggota 3
+        assertTrue(service.kembalikanBuku(ISBN, peminjam));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiKetiga.get(1, TimeUnit.SECONDS));
+        assertFalse(reservasiUlang.isDone());
+        assertEquals(1, service.getJumlahMenunggu(ISBN));
+        assertTrue(service.kembalikanBuku(ISBN, ketiga));
+        assertEquals(StatusTransaksi.BERHASIL, reservasiUlang.get(1, TimeUnit.SECONDS));
+        assertEquals(0, service.getJumlahMenunggu(ISBN));
+        assertEquals(0, stok());
+    }
+
+    @Test
+    @DisplayName("Reservasi dan pengembalian bersamaan tidak menghilangkan salinan")
+    void testReservasiBersamaan() throws Exception {
+        final int jumlahAnggota = 16;
+        final int putaran = 200;
+        repository.simpan(new Buku(ISBN, "Pemrograman Java", "John Doe", 3, 150000.0));
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahAnggota);
+        CountDownLatch mulai = new CountDownLatch(1);
+        List<Future<?>> hasil = new ArrayList<>();
+        try {
+            for (int i = 0; i < jumlahAnggota; i++) {
+                final Anggota anggota = anggota(i);
+                hasil.add(executor.submit(() -> {
+                    mulai.await();
+                    for (int p = 0; p < putaran; p++) {
+                        // Setiap reservasi akhirnya mendapat salinan, lalu salinannya dikembalikan
+                        assertEquals(StatusTransaksi.BERHASIL, service.reservasiBuku(ISBN, anggota).get(10, TimeUnit.SECONDS));
+                        assertTrue(service.kembalikanBuku(ISBN, anggota));
+                    }
+                    return null;
+                }));
+            }
+            mulai.countDown();
+            for (Future<?> f : hasil) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(3, stok());
+        assertEquals(0, service.getJumlahMenunggu(ISBN));
+    }
+}
\ No newline at end of file
@@ -11,8 +11,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -97,6 +103,44 @@ public class ServicePerpustakaanTest {
         verifyNoInteractions(mockRepositoryBuku);
     }
 
+    @Test
+    @DisplayName("Tambah buku batch - satu multi-get dan satu simpan batch, hasil per item")
+    void testTambahBukuBatch() {
+        // Arrange
+        Buku bukuBaru = new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0);
+        Buku bukuSudahAda = new Buku("1111111111", "Java Advanced", "John Doe", 4, 180000.0);
+        Buku bukuTidakValid = new Buku("123", "", "Pengarang", 0, -100.0);
+        Buku bukuDuplikatDiBatch = new Buku("0987654321", "Algoritma Edisi 2", "Jane Smith", 3, 210000.0);
+        List<Buku> batch = Arrays.asList(bukuBaru, bukuSudahAda, bukuTidakValid, bukuDuplikatDiBatch);
+
+        when(mockRepositoryBuku.cariByIsbnBatch(any()))
+                .thenReturn(Collections.singletonMap("1111111111", bukuSudahAda));
+        when(mockRepositoryBuku.simpanBatch(Collections.singletonList(bukuBaru)))
+                .thenReturn(Collections.singletonList(true));
+
+        // Act
+        List<Boolean> hasil = servicePerpustakaan.tambahBukuBatch(batch);
+
+        // Assert
+        assertEquals(Arrays.asList(true, false, false, false), hasil);
+        verify(mockRepositoryBuku, times(1)).cariByIsbnBatch(any());
+        verify(mockRepositoryBuku, times(1)).simpanBatch(anyList());
+        verify(mockRepositoryBuku, never()).cariByIsbn(anyString());
+        verify(mockRepositoryBuku, never()).simpan(any(Buku.class));
+    }
+
+    @Test
+    @DisplayName("Tambah buku batch - semua tidak valid tidak menyentuh repository")
+    void testTambahBukuBatchSemuaTidakValid() {
+        // Act
+        List<Boolean> hasil = servicePerpustakaan.tambahBukuBatch(
+                Arrays.asList(null, new Buku("123", "", "Pengarang", 0, -100.0)));
+
+        // Assert
+        assertEquals(Arrays.asList(false, false), hasil);
+        verifyNoInteractions(mockRepositoryBuku);
+    }
+
     // --- Test Hapus Buku ---
 
     @Test
@@ -174,12 +218,8 @@ public class ServicePerpustakaanTest {
     @DisplayName("Pinjam buku berhasil ketika semua kondisi terpenuhi")
     void testPinjamBukuBerhasil() {
         // Arrange
-        bukuTest.setJumlahTersedia(3); // Stok tersedia: 3
-        // 1. Ketika dicari, kembalikan Optional berisi buku (tersedia)
-        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        // 2. Ketika diupdate stok, kembalikan true
-        // Stok baru harus 3 - 1 = 2
-        when(mockRepositoryBuku.updateJumlahTersedia("1234567890", 2)).thenReturn(true);
+        // Ketika satu salinan dipesan secara atomik, kembalikan true (stok masih ada)
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(true);
         
         // Atur anggota agar bisa pinjam (saat ini 0 pinjaman, batas 3)
         anggotaTest.getIdBukuDipinjam().clear();
@@ -191,18 +231,18 @@ public class ServicePerpustakaanTest {
         assertTrue(hasil, "Harus berhasil meminjam buku");
         // Cek bahwa buku telah ditambahkan ke daftar pinjaman anggota
         assertTrue(anggotaTest.getIdBukuDipinjam().contains("1234567890")); 
-        // Verifikasi pembaruan stok dipanggil dengan nilai yang benar
-        verify(mockRepositoryBuku).updateJumlahTersedia("1234567890", 2); 
-        verify(mockRepositoryBuku).cariByIsbn("1234567890");
+        // Verifikasi stok dikurangi lewat satu operasi atomik, tanpa baca-lalu-tulis
+        verify(mockRepositoryBuku).kurangiJumlahTersedia("1234567890");
+        verify(mockRepositoryBuku, never()).cariByIsbn(anyString());
+        verify(mockRepositoryBuku, never()).updateJumlahTersedia(anyString(), anyInt());
     }
 
     @Test
     @DisplayName("Pinjam buku gagal ketika buku tidak tersedia")
     void testPinjamBukuGagalKetikaTidakTersedia() {
         // Arrange
-        bukuTest.setJumlahTersedia(0); // Stok tersedia: 0
-        // Ketika dicari, kembalikan Optional berisi buku (tapi tidak tersedia)
-        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
+        // Stok tersedia: 0, sehingga pemesanan atomik gagal
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(false);
 
         // Act
         boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggotaTest);
@@ -213,7 +253,7 @@ public class ServicePerpustakaanTest {
         assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
         // Verifikasi bahwa update stok tidak pernah dipanggil
         verify(mockRepositoryBuku, never()).updateJumlahTersedia(anyString(), anyInt()); 
-        verify(mockRepositoryBuku).cariByIsbn("1234567890");
+        verify(mockRepositoryBuku).kurangiJumlahTersedia("1234567890");
     }
 
     @Test
@@ -249,21 +289,78 @@ public class ServicePerpustakaanTest {
         verifyNoInteractions(mockRepositoryBuku);
     }
 
+    @Test
+    @DisplayName("Pinjam buku yang sedang dipinjam anggota yang sama - gagal tanpa mengurangi stok")
+    void testPinjamBukuGagalSudahDipinjam() {
+        // Arrange
+        anggotaTest.tambahBukuDipinjam("1234567890");
+
+        // Act
+        boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggotaTest);
+
+        // Assert
+        assertFalse(hasil, "Anggota tidak boleh meminjam salinan kedua dari buku yang sama");
+        verifyNoInteractions(mockRepositoryBuku);
+    }
+
+    @Test
+    @DisplayName("Pinjam bersamaan oleh anggota yang sama tidak melewati batas pinjam")
+    void testPinjamBersamaanTidakMelewatiBatas() throws InterruptedException {
+        // Arrange
+        when(mockRepositoryBuku.kurangiJumlahTersedia(anyString())).thenReturn(true);
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        // Act: setiap thread meminjam buku berbeda untuk anggota yang sama
+        for (int t = 0; t < jumlahThread; t++) {
+            String isbn = "97800000000" + (10 + t);
+            executor.submit(() -> {
+                mulai.await();
+                if (servicePerpustakaan.pinjamBuku(isbn, anggotaTest)) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert: batas mahasiswa adalah 3
+        assertEquals(3, berhasil.get());
+        assertEquals(3, anggotaTest.getJumlahBukuDipinjam());
+        verify(mockRepositoryBuku, times(3)).kurangiJumlahTersedia(anyString());
+    }
+
+    @Test
+    @DisplayName("prosesPinjam memberi alasan kegagalan")
+    void testProsesPinjamAlasan() {
+        // Arrange
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(ServicePerpustakaan.StatusTransaksi.STOK_TIDAK_TERSEDIA,
+                servicePerpustakaan.prosesPinjam("1234567890", anggotaTest));
+        assertEquals(ServicePerpustakaan.StatusTransaksi.DATA_TIDAK_VALID,
+                servicePerpustakaan.prosesPinjam(null, anggotaTest));
+        anggotaTest.setAktif(false);
+        assertEquals(ServicePerpustakaan.StatusTransaksi.ANGGOTA_TIDAK_AKTIF,
+                servicePerpustakaan.prosesPinjam("1234567890", anggotaTest));
+    }
+
     // --- Test Kembalikan Buku ---
 
     @Test
     @DisplayName("Kembalikan buku berhasil")
     void testKembalikanBukuBerhasil() {
         // Arrange
-        bukuTest.setJumlahTersedia(2); // Stok tersedia saat ini: 2
         // Anggota sudah meminjam buku ini
         anggotaTest.tambahBukuDipinjam("1234567890");
         
-        // 1. Ketika dicari, kembalikan Optional berisi buku
-        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        // 2. Ketika diupdate stok, kembalikan true
-        // Stok baru harus 2 + 1 = 3
-        when(mockRepositoryBuku.updateJumlahTersedia("1234567890", 3)).thenReturn(true);
+        // Ketika satu salinan dilepas secara atomik, kembalikan true
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(true);
         
         // Act
         boolean hasil = servicePerpustakaan.kembalikanBuku("1234567890", anggotaTest);
@@ -272,9 +369,25 @@ public class ServicePerpustakaanTest {
         assertTrue(hasil, "Harus berhasil mengembalikan buku");
         // Cek bahwa buku telah dihapus dari daftar pinjaman anggota
         assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890")); 
-        // Verifikasi pembaruan stok dipanggil dengan nilai yang benar
-        verify(mockRepositoryBuku).updateJumlahTersedia("1234567890", 3);
-        verify(mockRepositoryBuku).cariByIsbn("1234567890");
+        // Verifikasi stok ditambah lewat satu operasi atomik
+        verify(mockRepositoryBuku).tambahJumlahTersedia("1234567890");
+        verify(mockRepositoryBuku, never()).cariByIsbn(anyString());
+    }
+
+    @Test
+    @DisplayName("Kembalikan buku gagal ketika stok di repository sudah penuh")
+    void testKembalikanBukuGagalStokPenuh() {
+        // Arrange
+        anggotaTest.tambahBukuDipinjam("1234567890");
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(false);
+
+        // Act
+        boolean hasil = servicePerpustakaan.kembalikanBuku("1234567890", anggotaTest);
+
+        // Assert
+        assertFalse(hasil, "Tidak boleh berhasil jika stok tidak bisa ditambah");
+        // Buku tetap tercatat sebagai dipinjam
+        assertTrue(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
     }
 
     @Test
@@ -292,6 +405,37 @@ public class ServicePerpustakaanTest {
         verifyNoInteractions(mockRepositoryBuku); 
     }
     
+    @Test
+    @DisplayName("Kembalikan bersamaan buku yang sama hanya berhasil sekali")
+    void testKembalikanBersamaanHanyaSekali() throws InterruptedException {
+        // Arrange
+        anggotaTest.tambahBukuDipinjam("1234567890");
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(true);
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        // Act
+        for (int t = 0; t < jumlahThread; t++) {
+            executor.submit(() -> {
+                mulai.await();
+                if (servicePerpustakaan.kembalikanBuku("1234567890", anggotaTest)) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert: stok hanya ditambah satu kali
+        assertEquals(1, berhasil.get());
+        assertFalse(anggotaTest.sedangMeminjam("1234567890"));
+        verify(mockRepositoryBuku, times(1)).tambahJumlahTersedia("1234567890");
+    }
+
     // --- Test Ketersediaan dan Jumlah Stok ---
 
     @Test
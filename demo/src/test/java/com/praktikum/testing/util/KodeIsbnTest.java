@@ -0,0 +1,56 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kodek ISBN numerik")
+public class KodeIsbnTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9780306406157", "978-0-306-40615-7", "978 0 306 40615 7", "0306406152", "0-306-40615-2"})
+    @DisplayName("Bentuk bertanda hubung dan ISBN-10 menghasilkan kode ISBN-13 yang sama")
+    void testBentukSetara(String isbn) {
+        assertEquals(9780306406157L, KodeIsbn.kode(isbn));
+    }
+
+    @Test
+    @DisplayName("ISBN-10 dengan digit cek X diubah ke ISBN-13")
+    void testIsbn10DenganX() {
+        assertEquals(9780804429573L, KodeIsbn.kode("080442957X"));
+        assertEquals(KodeIsbn.kode("080442957x"), KodeIsbn.kode("0-8044-2957-X"));
+        assertTrue(MesinValidasi.checksumIsbnValid(KodeIsbn.keString(KodeIsbn.kode("080442957X"))));
+    }
+
+    @Test
+    @DisplayName("ISBN-10 dengan checksum salah tetap unik dan tidak bertabrakan")
+    void testIsbn10ChecksumSalah() {
+        long a = KodeIsbn.kode("1234567890");
+        long b = KodeIsbn.kode("1234567891");
+
+        assertTrue(a >= 0);
+        assertNotEquals(a, b);
+        assertEquals("1234567890", KodeIsbn.keString(a));
+        assertEquals(a, KodeIsbn.kode("123-456-7890"));
+        // ISBN-13 dengan checksum salah dipakai apa adanya
+        assertEquals(1234567890123L, KodeIsbn.kode("1234567890123"));
+        assertEquals("0000000000001", KodeIsbn.keString(1L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123", "12345678901", "12345678901234", "123456789X1", "X123456789",
+            "978030640615X", "abcdefghij", "1234567891X"})
+    @DisplayName("Masukan yang bukan ISBN-10/13 tidak valid")
+    void testTidakValid(String isbn) {
+        assertEquals(KodeIsbn.TIDAK_VALID, KodeIsbn.kode(isbn));
+    }
+
+    @Test
+    @DisplayName("Null tidak valid dan kode negatif ditolak keString")
+    void testNull() {
+        assertEquals(KodeIsbn.TIDAK_VALID, KodeIsbn.kode(null));
+        assertThrows(IllegalArgumentException.class, () -> KodeIsbn.keString(-1));
+    }
+}
\ No newline at end of file
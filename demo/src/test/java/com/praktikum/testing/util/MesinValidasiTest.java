@@ -0,0 +1,101 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mesin Validasi (pemindai tanpa regex)")
+public class MesinValidasiTest {
+
+    // Pola regex lama, dipakai sebagai acuan kesetaraan jawaban
+    private static final String REGEX_EMAIL =
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,4}$";
+
+    private static boolean emailLama(String email) {
+        return email != null && !email.trim().isEmpty() && email.matches(REGEX_EMAIL);
+    }
+
+    private static boolean teleponLama(String telepon) {
+        return telepon != null && !telepon.trim().isEmpty()
+                && telepon.replaceAll("[\\s\\-]", "").matches("(08|\\+628)[0-9]{8,11}$");
+    }
+
+    private static boolean isbnLama(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return false;
+        }
+        String isbnBersih = isbn.replaceAll("[\\s\\-]", "");
+        return isbnBersih.matches("[0-9]{10}") || isbnBersih.matches("[0-9]{13}");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mahasiswa@univ.ac.id", "test@gmail.com", "a.b.c@d-e.f.gh", "x+y&z*w@a1.b2.co",
+            "", " ", "email-tanpa-at.com", "email@", "@domain.com", "email@@domain.com", ".a@b.com",
+            "a.@b.com", "a..b@c.com", "a@b.c", "a@b.comms", "a@b.c0m", "a@.com", "a@b..com", "a@b.com.",
+            " a@b.com", "a@b.com ", "a@b-.com", "a@-b.com", "a@b.co-m", "\u00e9@b.com", "a@b"})
+    @DisplayName("Email: jawaban pemindai sama dengan regex lama")
+    void testEmailSetaraRegex(String email) {
+        assertEquals(emailLama(email), MesinValidasi.emailValid(email), email);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"081234567890", "+628123456789", "0812-3456-7890", "08 1234 5678", "0812345678901",
+            "08123456789012", "0812345", "", " ", "123456789", "07123456789", "081234", "+627123456789111",
+            "+62812345678", "+6281234567890", "+62 812-3456-789", "+", "08", "0a12345678", "08123456789a",
+            "-08123456789-", "\t081234567890\n", "+0812345678"})
+    @DisplayName("Telepon: jawaban pemindai sama dengan regex lama")
+    void testTeleponSetaraRegex(String telepon) {
+        assertEquals(teleponLama(telepon), MesinValidasi.nomorTeleponValid(telepon), telepon);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1234567890", "1234567890123", "123456789-0", "123-456789012-3", "12345 67890",
+            "123", "", " ", "---", "12345678901", "123456789012", "12345678901234", "123456789X", "abcdefghij",
+            "\u0661234567890"})
+    @DisplayName("ISBN: jawaban pemindai sama dengan regex lama")
+    void testIsbnSetaraRegex(String isbn) {
+        assertEquals(isbnLama(isbn), MesinValidasi.formatIsbnValid(isbn), isbn);
+    }
+
+    @Test
+    @DisplayName("Null selalu tidak valid")
+    void testNull() {
+        assertFalse(MesinValidasi.emailValid(null));
+        assertFalse(MesinValidasi.nomorTeleponValid(null));
+        assertFalse(MesinValidasi.formatIsbnValid(null));
+        assertFalse(MesinValidasi.checksumIsbnValid(null));
+        assertFalse(MesinValidasi.adaIsi(null));
+    }
+
+    @Test
+    @DisplayName("Checksum ISBN-10 dan ISBN-13")
+    void testChecksumIsbn() {
+        // ISBN-10 valid (termasuk digit cek 'X')
+        assertTrue(MesinValidasi.checksumIsbnValid("0-306-40615-2"));
+        assertTrue(MesinValidasi.checksumIsbnValid("080442957X"));
+        // ISBN-13 valid
+        assertTrue(MesinValidasi.checksumIsbnValid("978-0-306-40615-7"));
+        assertTrue(MesinValidasi.checksumIsbnValid("9786020332956"));
+
+        // Format benar tetapi checksum salah
+        assertFalse(MesinValidasi.checksumIsbnValid("1234567890"));
+        assertFalse(MesinValidasi.checksumIsbnValid("9780306406158"));
+        // 'X' hanya boleh sebagai digit terakhir ISBN-10
+        assertFalse(MesinValidasi.checksumIsbnValid("X123456789"));
+        assertFalse(MesinValidasi.checksumIsbnValid("978030640615X"));
+        // Panjang salah
+        assertFalse(MesinValidasi.checksumIsbnValid("97803064061570"));
+        assertFalse(MesinValidasi.checksumIsbnValid(""));
+    }
+
+    @Test
+    @DisplayName("adaIsi setara dengan trim().isEmpty()")
+    void testAdaIsi() {
+        String[] masukan = {"teks", " teks ", "", "   ", "\t\n", "\u0000", "\u00a0"};
+        for (String s : masukan) {
+            assertEquals(!s.trim().isEmpty(), MesinValidasi.adaIsi(s));
+        }
+    }
+}
\ No newline at end of file